@@ -120,7 +120,12 @@ public enum NativeArrayEncoding
         return magic;
     }
 
-    static NativeArrayEncoding tryGetIntEncoding(ByteOrder byteOrder, byte sizeInBytes)
+    /**
+     * Returns the integer encoding with the given <var>byteOrder</var> and
+     * <var>sizeInBytes</var>, or <code>null</code>, if there is no such encoding. An encoding with
+     * one byte has to be requested with {@link ByteOrder#NATIVE}.
+     */
+    public static NativeArrayEncoding tryGetIntEncoding(ByteOrder byteOrder, byte sizeInBytes)
     {
         assert byteOrder != null;
         if (sizeInBytes == 1 && byteOrder == ByteOrder.NATIVE)
@@ -140,7 +145,11 @@ public enum NativeArrayEncoding
         return null;
     }
 
-    static NativeArrayEncoding tryGetFloatEncoding(ByteOrder byteOrder, byte sizeInBytes)
+    /**
+     * Returns the floating point encoding with the given <var>byteOrder</var> and
+     * <var>sizeInBytes</var>, or <code>null</code>, if there is no such encoding.
+     */
+    public static NativeArrayEncoding tryGetFloatEncoding(ByteOrder byteOrder, byte sizeInBytes)
     {
         assert byteOrder != null;
         if (sizeInBytes == 4)
@@ -22,6 +22,9 @@ import static ch.systemsx.cisd.base.convert.NativeData.INT_SIZE;
 import static ch.systemsx.cisd.base.convert.NativeData.LONG_SIZE;
 import static ch.systemsx.cisd.base.convert.NativeData.SHORT_SIZE;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
 import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
 import ch.systemsx.cisd.base.mdarray.MDDoubleArray;
@@ -55,6 +58,8 @@ public class NativeTaggedArray
 
     private static final int RANK_1 = 1;
 
+    private static final int HEADER_SIZE_1D = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
+
     /**
      * A class to return the array encoding and dimensions of a native tagged array.
      */
@@ -105,6 +110,114 @@ public class NativeTaggedArray
         return new NativeArrayTag(encodingOrNull, dimensions);
     }
 
+    private static int getHeaderSize(int rank)
+    {
+        return MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
+    }
+
+    private static ByteOrder resolve(ByteOrder byteOrder)
+    {
+        return (byteOrder == ByteOrder.NATIVE) ? NATIVE_BYTE_ORDER : byteOrder;
+    }
+
+    private static void checkBounds(byte[] dest, int offset, int encodedSize)
+    {
+        if (offset < 0 || offset > dest.length - encodedSize)
+        {
+            throw new IndexOutOfBoundsException("Tagged array of " + encodedSize
+                    + " bytes does not fit into destination of length " + dest.length
+                    + " at offset " + offset + ".");
+        }
+    }
+
+    private static void checkBounds(ByteBuffer dest, int encodedSize)
+    {
+        if (dest.remaining() < encodedSize)
+        {
+            throw new BufferOverflowException();
+        }
+    }
+
+    private static void putInt(byte[] dest, int index, int value, ByteOrder byteOrder)
+    {
+        if (byteOrder == ByteOrder.LITTLE_ENDIAN)
+        {
+            dest[index] = (byte) value;
+            dest[index + 1] = (byte) (value >>> 8);
+            dest[index + 2] = (byte) (value >>> 16);
+            dest[index + 3] = (byte) (value >>> 24);
+        } else
+        {
+            dest[index] = (byte) (value >>> 24);
+            dest[index + 1] = (byte) (value >>> 16);
+            dest[index + 2] = (byte) (value >>> 8);
+            dest[index + 3] = (byte) value;
+        }
+    }
+
+    private static void putMagic(byte[] dest, int offset, NativeArrayEncoding encoding, int rank)
+    {
+        final byte[] magic = encoding.getMagic();
+        assert magic.length == MAGIC_SIZE;
+        System.arraycopy(magic, 0, dest, offset, MAGIC_SIZE);
+        dest[offset + RANK_INDEX] = (byte) rank;
+    }
+
+    private static int putHeader1D(byte[] dest, int offset, NativeArrayEncoding encoding,
+            int length, ByteOrder byteOrder)
+    {
+        putMagic(dest, offset, encoding, RANK_1);
+        putInt(dest, offset + LENGTH_INDEX, length, byteOrder);
+        return HEADER_SIZE_1D;
+    }
+
+    private static int putHeader(byte[] dest, int offset, NativeArrayEncoding encoding,
+            MDAbstractArray<?> data, ByteOrder byteOrder)
+    {
+        final int rank = data.rank();
+        putMagic(dest, offset, encoding, rank);
+        for (int i = 0; i < rank; ++i)
+        {
+            putInt(dest, offset + LENGTH_INDEX + i * LENGTH_SIZE, data.size(i), byteOrder);
+        }
+        return getHeaderSize(rank);
+    }
+
+    // The byte order of dest needs to be set by the caller.
+    private static void putMagic(ByteBuffer dest, int position, NativeArrayEncoding encoding,
+            int rank)
+    {
+        final byte[] magic = encoding.getMagic();
+        assert magic.length == MAGIC_SIZE;
+        for (int i = 0; i < MAGIC_SIZE; ++i)
+        {
+            dest.put(position + i, magic[i]);
+        }
+        dest.put(position + RANK_INDEX, (byte) rank);
+    }
+
+    // The byte order of dest needs to be set by the caller.
+    private static int putHeader1D(ByteBuffer dest, int position, NativeArrayEncoding encoding,
+            int length)
+    {
+        putMagic(dest, position, encoding, RANK_1);
+        dest.putInt(position + LENGTH_INDEX, length);
+        return HEADER_SIZE_1D;
+    }
+
+    // The byte order of dest needs to be set by the caller.
+    private static int putHeader(ByteBuffer dest, int position, NativeArrayEncoding encoding,
+            MDAbstractArray<?> data)
+    {
+        final int rank = data.rank();
+        putMagic(dest, position, encoding, rank);
+        for (int i = 0; i < rank; ++i)
+        {
+            dest.putInt(position + LENGTH_INDEX + i * LENGTH_SIZE, data.size(i));
+        }
+        return getHeaderSize(rank);
+    }
+
     //
     // Float
     //
@@ -122,16 +235,8 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(float[] data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetFloatEncoding(byteOrder, (byte) FLOAT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
-        final byte[] byteArr = new byte[headerSize + FLOAT_SIZE * data.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = RANK_1;
-        NativeData.copyIntToByte(new int[]
-            { data.length }, 0, byteArr, LENGTH_INDEX, 1, byteOrder);
-        NativeData.copyFloatToByte(data, 0, byteArr, headerSize, data.length, byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
@@ -148,21 +253,184 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(MDFloatArray data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetFloatEncoding(byteOrder, (byte) FLOAT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final byte rank = (byte) data.rank();
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
-        final float[] flatDataArray = data.getAsFlatArray();
-        final byte[] byteArr = new byte[headerSize + FLOAT_SIZE * flatDataArray.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = rank;
-        NativeData.copyIntToByte(data.dimensions(), 0, byteArr, LENGTH_INDEX, rank, byteOrder);
-        NativeData.copyFloatToByte(flatDataArray, 0, byteArr, headerSize, flatDataArray.length,
-                byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(float[] data)
+    {
+        return HEADER_SIZE_1D + FLOAT_SIZE * data.length;
+    }
+
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(MDFloatArray data)
+    {
+        return getHeaderSize(data.rank()) + FLOAT_SIZE * data.size();
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(float[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, float[] data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(float[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, float[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader1D(dest, offset, NativeArrayEncoding.tryGetFloatEncoding(order,
+                        (byte) FLOAT_SIZE), data.length, order);
+        NativeData.copyFloatToByte(data, 0, dest, offset + headerSize, data.length, order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(float[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, float[] data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(float[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, float[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader1D(dest, position, NativeArrayEncoding.tryGetFloatEncoding(order,
+                            (byte) FLOAT_SIZE), data.length);
+            dest.position(position + headerSize);
+            dest.asFloatBuffer().put(data, 0, data.length);
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDFloatArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDFloatArray data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDFloatArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDFloatArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader(dest, offset, NativeArrayEncoding.tryGetFloatEncoding(order,
+                        (byte) FLOAT_SIZE), data, order);
+        NativeData.copyFloatToByte(data.getAsFlatArray(), 0, dest, offset + headerSize,
+                data.size(), order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDFloatArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDFloatArray data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDFloatArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDFloatArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader(dest, position, NativeArrayEncoding.tryGetFloatEncoding(order,
+                            (byte) FLOAT_SIZE), data);
+            dest.position(position + headerSize);
+            dest.asFloatBuffer().put(data.getAsFlatArray(), 0, data.size());
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
     /**
      * Returns the tagged array <var>data</var> as a float array or <code>null</code>, if
      * <var>data</var> is not a tagged 1D float array.
@@ -234,16 +502,8 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(double[] data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetFloatEncoding(byteOrder, (byte) DOUBLE_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
-        final byte[] byteArr = new byte[headerSize + DOUBLE_SIZE * data.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = RANK_1;
-        NativeData.copyIntToByte(new int[]
-            { data.length }, 0, byteArr, LENGTH_INDEX, 1, byteOrder);
-        NativeData.copyDoubleToByte(data, 0, byteArr, headerSize, data.length, byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
@@ -260,21 +520,184 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(MDDoubleArray data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetFloatEncoding(byteOrder, (byte) DOUBLE_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final byte rank = (byte) data.rank();
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
-        final double[] flatDataArray = data.getAsFlatArray();
-        final byte[] byteArr = new byte[headerSize + DOUBLE_SIZE * flatDataArray.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = rank;
-        NativeData.copyIntToByte(data.dimensions(), 0, byteArr, LENGTH_INDEX, rank, byteOrder);
-        NativeData.copyDoubleToByte(flatDataArray, 0, byteArr, headerSize, flatDataArray.length,
-                byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(double[] data)
+    {
+        return HEADER_SIZE_1D + DOUBLE_SIZE * data.length;
+    }
+
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(MDDoubleArray data)
+    {
+        return getHeaderSize(data.rank()) + DOUBLE_SIZE * data.size();
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(double[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, double[] data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(double[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, double[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader1D(dest, offset, NativeArrayEncoding.tryGetFloatEncoding(order,
+                        (byte) DOUBLE_SIZE), data.length, order);
+        NativeData.copyDoubleToByte(data, 0, dest, offset + headerSize, data.length, order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(double[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, double[] data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(double[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, double[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader1D(dest, position, NativeArrayEncoding.tryGetFloatEncoding(order,
+                            (byte) DOUBLE_SIZE), data.length);
+            dest.position(position + headerSize);
+            dest.asDoubleBuffer().put(data, 0, data.length);
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDDoubleArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDDoubleArray data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDDoubleArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDDoubleArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader(dest, offset, NativeArrayEncoding.tryGetFloatEncoding(order,
+                        (byte) DOUBLE_SIZE), data, order);
+        NativeData.copyDoubleToByte(data.getAsFlatArray(), 0, dest, offset + headerSize,
+                data.size(), order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDDoubleArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDDoubleArray data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDDoubleArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDDoubleArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader(dest, position, NativeArrayEncoding.tryGetFloatEncoding(order,
+                            (byte) DOUBLE_SIZE), data);
+            dest.position(position + headerSize);
+            dest.asDoubleBuffer().put(data.getAsFlatArray(), 0, data.size());
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
     /**
      * Returns the tagged array <var>data</var> as a double array or <code>null</code>, if
      * <var>data</var> is not a tagged 1D double array.
@@ -346,16 +769,8 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(short[] data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) SHORT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
-        final byte[] byteArr = new byte[headerSize + SHORT_SIZE * data.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = RANK_1;
-        NativeData.copyIntToByte(new int[]
-            { data.length }, 0, byteArr, LENGTH_INDEX, 1, byteOrder);
-        NativeData.copyShortToByte(data, 0, byteArr, headerSize, data.length, byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
@@ -372,21 +787,184 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(MDShortArray data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) SHORT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final byte rank = (byte) data.rank();
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
-        final short[] flatDataArray = data.getAsFlatArray();
-        final byte[] byteArr = new byte[headerSize + SHORT_SIZE * flatDataArray.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = rank;
-        NativeData.copyIntToByte(data.dimensions(), 0, byteArr, LENGTH_INDEX, rank, byteOrder);
-        NativeData.copyShortToByte(flatDataArray, 0, byteArr, headerSize, flatDataArray.length,
-                byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(short[] data)
+    {
+        return HEADER_SIZE_1D + SHORT_SIZE * data.length;
+    }
+
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(MDShortArray data)
+    {
+        return getHeaderSize(data.rank()) + SHORT_SIZE * data.size();
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(short[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, short[] data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(short[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, short[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader1D(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) SHORT_SIZE), data.length, order);
+        NativeData.copyShortToByte(data, 0, dest, offset + headerSize, data.length, order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(short[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, short[] data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(short[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, short[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader1D(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) SHORT_SIZE), data.length);
+            dest.position(position + headerSize);
+            dest.asShortBuffer().put(data, 0, data.length);
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDShortArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDShortArray data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDShortArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDShortArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) SHORT_SIZE), data, order);
+        NativeData.copyShortToByte(data.getAsFlatArray(), 0, dest, offset + headerSize,
+                data.size(), order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDShortArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDShortArray data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDShortArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDShortArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) SHORT_SIZE), data);
+            dest.position(position + headerSize);
+            dest.asShortBuffer().put(data.getAsFlatArray(), 0, data.size());
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
     /**
      * Returns the tagged array <var>data</var> as a short array or <code>null</code>, if
      * <var>data</var> is not a tagged 1D short array.
@@ -460,16 +1038,8 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(int[] data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) INT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
-        final byte[] byteArr = new byte[headerSize + INT_SIZE * data.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = RANK_1;
-        NativeData.copyIntToByte(new int[]
-            { data.length }, 0, byteArr, LENGTH_INDEX, 1, byteOrder);
-        NativeData.copyIntToByte(data, 0, byteArr, headerSize, data.length, byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
@@ -486,21 +1056,184 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(MDIntArray data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) INT_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final byte rank = (byte) data.rank();
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
-        final int[] flatDataArray = data.getAsFlatArray();
-        final byte[] byteArr = new byte[headerSize + INT_SIZE * flatDataArray.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = rank;
-        NativeData.copyIntToByte(data.dimensions(), 0, byteArr, LENGTH_INDEX, rank, byteOrder);
-        NativeData.copyIntToByte(flatDataArray, 0, byteArr, headerSize, flatDataArray.length,
-                byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(int[] data)
+    {
+        return HEADER_SIZE_1D + INT_SIZE * data.length;
+    }
+
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(MDIntArray data)
+    {
+        return getHeaderSize(data.rank()) + INT_SIZE * data.size();
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(int[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, int[] data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(int[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, int[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader1D(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) INT_SIZE), data.length, order);
+        NativeData.copyIntToByte(data, 0, dest, offset + headerSize, data.length, order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(int[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, int[] data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(int[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, int[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader1D(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) INT_SIZE), data.length);
+            dest.position(position + headerSize);
+            dest.asIntBuffer().put(data, 0, data.length);
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDIntArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDIntArray data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDIntArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDIntArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) INT_SIZE), data, order);
+        NativeData.copyIntToByte(data.getAsFlatArray(), 0, dest, offset + headerSize,
+                data.size(), order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDIntArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDIntArray data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDIntArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDIntArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) INT_SIZE), data);
+            dest.position(position + headerSize);
+            dest.asIntBuffer().put(data.getAsFlatArray(), 0, data.size());
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
     /**
      * Returns the tagged array <var>data</var> as an int array or <code>null</code>, if
      * <var>data</var> is not a tagged 1D int array.
@@ -572,16 +1305,8 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(long[] data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) LONG_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + 1 * LENGTH_SIZE;
-        final byte[] byteArr = new byte[headerSize + LONG_SIZE * data.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = RANK_1;
-        NativeData.copyIntToByte(new int[]
-            { data.length }, 0, byteArr, LENGTH_INDEX, 1, byteOrder);
-        NativeData.copyLongToByte(data, 0, byteArr, headerSize, data.length, byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
@@ -598,21 +1323,184 @@ public class NativeTaggedArray
      */
     public static byte[] toByteArray(MDLongArray data, ByteOrder byteOrder)
     {
-        final byte[] magic =
-                NativeArrayEncoding.tryGetIntEncoding(byteOrder, (byte) LONG_SIZE).getMagic();
-        assert magic.length == MAGIC_SIZE;
-        final byte rank = (byte) data.rank();
-        final int headerSize = MAGIC_SIZE + RANK_SIZE + rank * LENGTH_SIZE;
-        final long[] flatDataArray = data.getAsFlatArray();
-        final byte[] byteArr = new byte[headerSize + LONG_SIZE * flatDataArray.length];
-        System.arraycopy(magic, 0, byteArr, 0, MAGIC_SIZE);
-        byteArr[RANK_INDEX] = rank;
-        NativeData.copyIntToByte(data.dimensions(), 0, byteArr, LENGTH_INDEX, rank, byteOrder);
-        NativeData.copyLongToByte(flatDataArray, 0, byteArr, headerSize, flatDataArray.length,
-                byteOrder);
+        final byte[] byteArr = new byte[encodedSize(data)];
+        encodeInto(byteArr, 0, data, byteOrder);
         return byteArr;
     }
 
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(long[] data)
+    {
+        return HEADER_SIZE_1D + LONG_SIZE * data.length;
+    }
+
+    /**
+     * Returns the size in bytes of the tagged array that <var>data</var> is encoded into.
+     */
+    public static int encodedSize(MDLongArray data)
+    {
+        return getHeaderSize(data.rank()) + LONG_SIZE * data.size();
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(long[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, long[] data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(long[])}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, long[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader1D(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) LONG_SIZE), data.length, order);
+        NativeData.copyLongToByte(data, 0, dest, offset + headerSize, data.length, order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(long[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, long[] data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(long[])}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, long[] data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader1D(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) LONG_SIZE), data.length);
+            dest.position(position + headerSize);
+            dest.asLongBuffer().put(data, 0, data.length);
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDLongArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDLongArray data)
+    {
+        return encodeInto(dest, offset, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at <var>offset</var>.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDLongArray)}.
+     * @throws IndexOutOfBoundsException If <var>dest</var> is too small to hold the tagged array.
+     */
+    public static int encodeInto(byte[] dest, int offset, MDLongArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, offset, encodedSize);
+        final int headerSize =
+                putHeader(dest, offset, NativeArrayEncoding.tryGetIntEncoding(order,
+                        (byte) LONG_SIZE), data, order);
+        NativeData.copyLongToByte(data.getAsFlatArray(), 0, dest, offset + headerSize,
+                data.size(), order);
+        return encodedSize;
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in native byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDLongArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDLongArray data)
+    {
+        return encodeInto(dest, data, NATIVE_BYTE_ORDER);
+    }
+
+    /**
+     * Encodes <var>data</var> as a tagged array in given byte order into <var>dest</var>, starting
+     * at its current position. The position of <var>dest</var> is advanced by the number of bytes
+     * written, its byte order is left unchanged.
+     * 
+     * @return The number of bytes written, that is {@link #encodedSize(MDLongArray)}.
+     * @throws BufferOverflowException If <var>dest</var> has not enough bytes remaining to hold the
+     *             tagged array.
+     */
+    public static int encodeInto(ByteBuffer dest, MDLongArray data, ByteOrder byteOrder)
+    {
+        final ByteOrder order = resolve(byteOrder);
+        final int encodedSize = encodedSize(data);
+        checkBounds(dest, encodedSize);
+        final int position = dest.position();
+        if (dest.hasArray())
+        {
+            encodeInto(dest.array(), dest.arrayOffset() + position, data, order);
+        } else
+        {
+            final java.nio.ByteOrder originalOrder = dest.order();
+            dest.order(order.getNioByteOrder());
+            final int headerSize =
+                    putHeader(dest, position, NativeArrayEncoding.tryGetIntEncoding(order,
+                            (byte) LONG_SIZE), data);
+            dest.position(position + headerSize);
+            dest.asLongBuffer().put(data.getAsFlatArray(), 0, data.size());
+            dest.order(originalOrder);
+        }
+        dest.position(position + encodedSize);
+        return encodedSize;
+    }
+
     /**
      * Returns the tagged array <var>data</var> as a long array or <code>null</code>, if
      * <var>data</var> is not a tagged 1D long array.
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.image;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+import ch.systemsx.cisd.base.mdarray.MDAbstractArray;
+import ch.systemsx.cisd.base.mdarray.MDByteArray;
+import ch.systemsx.cisd.base.mdarray.MDShortArray;
+
+/**
+ * Adapters between MD arrays of pixels and {@link BufferedImage}s / {@link WritableRaster}s that
+ * share the pixel data instead of copying it, so that an {@link IImageTransformer} can work on
+ * pixels that are held in MD arrays.
+ * <p>
+ * An MD array of dimensions <code>{ height, width }</code> is a gray image, an MD array of
+ * dimensions <code>{ height, width, bands }</code> is an interleaved image with 1 (gray), 3 (RGB)
+ * or 4 (RGBA, not premultiplied) bands in this order. An {@link MDByteArray} holds 8 bit samples,
+ * an {@link MDShortArray} 16 bit samples (unsigned, as in
+ * {@link BufferedImage#TYPE_USHORT_GRAY}). Writing to the raster or image writes to the MD array
+ * and vice versa. The pixels of a frozen MD array are copied, so that it is not changed.
+ * <p>
+ * In the other direction, a raster is wrapped without copying if its samples are stored in one
+ * bank, interleaved in band order without gaps and starting at the beginning of the bank, which
+ * is the case for the rasters created by this class, for {@link BufferedImage#TYPE_BYTE_GRAY}
+ * and {@link BufferedImage#TYPE_USHORT_GRAY}. Other rasters (e.g.
+ * {@link BufferedImage#TYPE_3BYTE_BGR} or {@link BufferedImage#TYPE_INT_RGB}) are copied into a
+ * new MD array with the same layout, with the bands in the order of the raster's color model.
+ *
+ * @author agent
+ */
+public final class MDArrayImages
+{
+    private MDArrayImages()
+    {
+        // Not to be instantiated.
+    }
+
+    //
+    // MD array to raster / image
+    //
+
+    /**
+     * Returns a raster of 8 bit samples that is backed by the flat array of <var>array</var>, or
+     * by a copy of it if <var>array</var> is frozen.
+     *
+     * @throws IllegalArgumentException If <var>array</var> does not have the dimensions of an
+     *             image.
+     */
+    public static WritableRaster toRaster(MDByteArray array)
+    {
+        final int[] layout = getLayout(array);
+        final byte[] samples =
+                array.isFrozen() ? array.getAsFlatArray().clone() : array.getAsFlatArray();
+        return createRaster(new DataBufferByte(samples, array.size()), layout);
+    }
+
+    /**
+     * Returns a raster of 16 bit samples that is backed by the flat array of <var>array</var>, or
+     * by a copy of it if <var>array</var> is frozen.
+     *
+     * @throws IllegalArgumentException If <var>array</var> does not have the dimensions of an
+     *             image.
+     */
+    public static WritableRaster toRaster(MDShortArray array)
+    {
+        final int[] layout = getLayout(array);
+        final short[] samples =
+                array.isFrozen() ? array.getAsFlatArray().clone() : array.getAsFlatArray();
+        return createRaster(new DataBufferUShort(samples, array.size()), layout);
+    }
+
+    /**
+     * Returns an 8 bit gray, RGB or RGBA image that is backed by the flat array of
+     * <var>array</var> (see {@link #toRaster(MDByteArray)}). A gray image is of type
+     * {@link BufferedImage#TYPE_BYTE_GRAY}.
+     *
+     * @throws IllegalArgumentException If <var>array</var> does not have the dimensions of an
+     *             image.
+     */
+    public static BufferedImage toImage(MDByteArray array)
+    {
+        final WritableRaster raster = toRaster(array);
+        return new BufferedImage(createColorModel(raster.getNumBands(), DataBuffer.TYPE_BYTE),
+                raster, false, null);
+    }
+
+    /**
+     * Returns a 16 bit gray, RGB or RGBA image that is backed by the flat array of
+     * <var>array</var> (see {@link #toRaster(MDShortArray)}). A gray image is of type
+     * {@link BufferedImage#TYPE_USHORT_GRAY}.
+     *
+     * @throws IllegalArgumentException If <var>array</var> does not have the dimensions of an
+     *             image.
+     */
+    public static BufferedImage toImage(MDShortArray array)
+    {
+        final WritableRaster raster = toRaster(array);
+        return new BufferedImage(createColorModel(raster.getNumBands(), DataBuffer.TYPE_USHORT),
+                raster, false, null);
+    }
+
+    //
+    // Raster / image to MD array
+    //
+
+    /**
+     * Returns an MD array of 8 bit samples of <var>raster</var>, of dimensions
+     * <code>{ height, width }</code> for a raster with one band and
+     * <code>{ height, width, bands }</code> otherwise. The MD array shares the samples with
+     * <var>raster</var> if the raster's layout allows it (see class comment), otherwise the
+     * samples are copied and truncated to 8 bits.
+     */
+    public static MDByteArray toMDByteArray(Raster raster)
+    {
+        final int[] dimensions = getDimensions(raster);
+        if (canWrap(raster, DataBuffer.TYPE_BYTE))
+        {
+            return new MDByteArray(((DataBufferByte) raster.getDataBuffer()).getData(),
+                    dimensions);
+        }
+        final int[] samples = getSamples(raster);
+        final byte[] values = new byte[samples.length];
+        for (int i = 0; i < samples.length; ++i)
+        {
+            values[i] = (byte) samples[i];
+        }
+        return new MDByteArray(values, dimensions);
+    }
+
+    /**
+     * Returns an MD array of 16 bit samples of <var>raster</var>, of dimensions
+     * <code>{ height, width }</code> for a raster with one band and
+     * <code>{ height, width, bands }</code> otherwise. The MD array shares the samples with
+     * <var>raster</var> if the raster's layout allows it (see class comment), otherwise the
+     * samples are copied and truncated to 16 bits.
+     */
+    public static MDShortArray toMDShortArray(Raster raster)
+    {
+        final int[] dimensions = getDimensions(raster);
+        if (canWrap(raster, DataBuffer.TYPE_USHORT))
+        {
+            return new MDShortArray(((DataBufferUShort) raster.getDataBuffer()).getData(),
+                    dimensions);
+        }
+        final int[] samples = getSamples(raster);
+        final short[] values = new short[samples.length];
+        for (int i = 0; i < samples.length; ++i)
+        {
+            values[i] = (short) samples[i];
+        }
+        return new MDShortArray(values, dimensions);
+    }
+
+    /**
+     * Returns an MD array of 8 bit samples of the raster of <var>image</var>.
+     *
+     * @see #toMDByteArray(Raster)
+     */
+    public static MDByteArray toMDByteArray(BufferedImage image)
+    {
+        return toMDByteArray(image.getRaster());
+    }
+
+    /**
+     * Returns an MD array of 16 bit samples of the raster of <var>image</var>.
+     *
+     * @see #toMDShortArray(Raster)
+     */
+    public static MDShortArray toMDShortArray(BufferedImage image)
+    {
+        return toMDShortArray(image.getRaster());
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Returns <code>{ height, width, bands }</code> of an MD array that represents an image.
+     */
+    private static int[] getLayout(MDAbstractArray<?> array)
+    {
+        final int[] dimensions = array.dimensions();
+        final int bands = (dimensions.length == 3) ? dimensions[2] : 1;
+        if ((dimensions.length != 2 && dimensions.length != 3)
+                || (bands != 1 && bands != 3 && bands != 4))
+        {
+            throw new IllegalArgumentException("An image needs dimensions { height, width } or "
+                    + "{ height, width, bands } with 1, 3 or 4 bands, but got dimensions "
+                    + Arrays.toString(dimensions) + ".");
+        }
+        if (dimensions[0] == 0 || dimensions[1] == 0)
+        {
+            throw new IllegalArgumentException("An image cannot be empty.");
+        }
+        return new int[]
+            { dimensions[0], dimensions[1], bands };
+    }
+
+    private static WritableRaster createRaster(DataBuffer buffer, int[] layout)
+    {
+        final int height = layout[0];
+        final int width = layout[1];
+        final int bands = layout[2];
+        return Raster.createInterleavedRaster(buffer, width, height, width * bands, bands,
+                getBandOffsets(bands), null);
+    }
+
+    private static int[] getBandOffsets(int bands)
+    {
+        final int[] offsets = new int[bands];
+        for (int i = 0; i < bands; ++i)
+        {
+            offsets[i] = i;
+        }
+        return offsets;
+    }
+
+    private static ColorModel createColorModel(int bands, int transferType)
+    {
+        if (bands == 1)
+        {
+            return new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_GRAY), false,
+                    false, Transparency.OPAQUE, transferType);
+        }
+        final boolean alpha = (bands == 4);
+        return new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB), alpha, false,
+                alpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE, transferType);
+    }
+
+    private static int[] getDimensions(Raster raster)
+    {
+        final int bands = raster.getNumBands();
+        return (bands == 1) ? new int[]
+            { raster.getHeight(), raster.getWidth() } : new int[]
+            { raster.getHeight(), raster.getWidth(), bands };
+    }
+
+    /**
+     * Returns <code>true</code> if the samples of <var>raster</var> are the complete bank of its
+     * data buffer, of <var>dataType</var>, interleaved in band order without gaps.
+     */
+    private static boolean canWrap(Raster raster, int dataType)
+    {
+        final DataBuffer buffer = raster.getDataBuffer();
+        final SampleModel model = raster.getSampleModel();
+        if (buffer.getDataType() != dataType || buffer.getNumBanks() != 1
+                || buffer.getOffset() != 0 || model instanceof PixelInterleavedSampleModel == false)
+        {
+            return false;
+        }
+        final PixelInterleavedSampleModel interleaved = (PixelInterleavedSampleModel) model;
+        final int bands = raster.getNumBands();
+        final int width = raster.getWidth();
+        if (interleaved.getPixelStride() != bands
+                || interleaved.getScanlineStride() != width * bands
+                || raster.getMinX() != raster.getSampleModelTranslateX()
+                || raster.getMinY() != raster.getSampleModelTranslateY()
+                || buffer.getSize() != width * raster.getHeight() * bands)
+        {
+            return false;
+        }
+        final int[] bandOffsets = interleaved.getBandOffsets();
+        for (int i = 0; i < bands; ++i)
+        {
+            if (bandOffsets[i] != i)
+            {
+                return false;
+            }
+        }
+        final int bankLength =
+                (dataType == DataBuffer.TYPE_BYTE) ? ((DataBufferByte) buffer).getData().length
+                        : ((DataBufferUShort) buffer).getData().length;
+        return bankLength == buffer.getSize();
+    }
+
+    /**
+     * Returns the samples of <var>raster</var>, interleaved in row-major order.
+     */
+    private static int[] getSamples(Raster raster)
+    {
+        return raster.getPixels(raster.getMinX(), raster.getMinY(), raster.getWidth(),
+                raster.getHeight(), (int[]) null);
+    }
+
+}
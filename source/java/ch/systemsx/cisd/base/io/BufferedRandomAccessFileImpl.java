@@ -0,0 +1,963 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.io;
+
+import static ch.systemsx.cisd.base.convert.NativeData.changeByteOrder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import ch.systemsx.cisd.base.exceptions.CheckedExceptionTunnel;
+import ch.systemsx.cisd.base.exceptions.IOExceptionUnchecked;
+
+/**
+ * A file implementation of {@link IRandomAccessFile} with a page buffer in user space.
+ * <p>
+ * Reads and writes of single values and small arrays are served from the buffer, so that the
+ * underlying {@link RandomAccessFile} is only accessed once per page rather than once per value.
+ * Bulk reads and writes of at least the page size bypass the buffer. A seek within the current
+ * page only moves the position in the buffer.
+ * <p>
+ * Written data are kept in the buffer and written back to the file when another part of the file
+ * is paged in, on {@link #flush()}, {@link #synchronize()}, {@link #setLength(long)} and
+ * {@link #close()}. Thus, errors of a write may only be reported by a later call, and the modes
+ * <code>"rws"</code> and <code>"rwd"</code> only take effect when the buffer is written back.
+ * Call {@link #flush()} before accessing the file by other means, e.g. through
+ * {@link #getChannel()}. Other than that, the behavior is the one of {@link RandomAccessFileImpl}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author agent
+ */
+public class BufferedRandomAccessFileImpl implements IRandomAccessFile
+{
+    /** The default size of the page buffer in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** The minimal size of the page buffer in bytes, needed to hold any primitive value. */
+    private static final int MIN_BUFFER_SIZE = 8;
+
+    private final RandomAccessFile randomAccessFile;
+
+    private final boolean readOnly;
+
+    private final byte[] buffer;
+
+    /** The position in the file of the first byte of the buffer. */
+    private long bufferStart;
+
+    /**
+     * The number of valid bytes in the buffer. The buffer always holds the (possibly modified)
+     * content of the file from <var>bufferStart</var> to <code>bufferStart + bufferLength</code>.
+     */
+    private int bufferLength;
+
+    /** The current position in the buffer, never larger than <var>bufferLength</var>. */
+    private int bufferPosition;
+
+    /** The start of the region of the buffer that has not yet been written back. */
+    private int dirtyStart;
+
+    /** The end of the region of the buffer that has not yet been written back. */
+    private int dirtyEnd;
+
+    /** The file pointer of the underlying file, to avoid superfluous seeks. */
+    private long filePosition;
+
+    private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+    private boolean changeByteOrder = ByteOrder.LITTLE_ENDIAN.equals(byteOrder);
+
+    private long markedPosition = -1;
+
+    public BufferedRandomAccessFileImpl(RandomAccessFile randomAccessFile)
+            throws IOExceptionUnchecked
+    {
+        this(randomAccessFile, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a buffered file for <var>randomAccessFile</var>, starting at its current file
+     * pointer.
+     */
+    public BufferedRandomAccessFileImpl(RandomAccessFile randomAccessFile, int bufferSize)
+            throws IOExceptionUnchecked
+    {
+        this(randomAccessFile, false, bufferSize);
+    }
+
+    public BufferedRandomAccessFileImpl(String name, String mode) throws IOExceptionUnchecked
+    {
+        this(name, mode, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BufferedRandomAccessFileImpl(String name, String mode, int bufferSize)
+            throws IOExceptionUnchecked
+    {
+        this(open(new File(name), mode), "r".equals(mode), bufferSize);
+    }
+
+    public BufferedRandomAccessFileImpl(File file, String mode) throws IOExceptionUnchecked
+    {
+        this(file, mode, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BufferedRandomAccessFileImpl(File file, String mode, int bufferSize)
+            throws IOExceptionUnchecked
+    {
+        this(open(file, mode), "r".equals(mode), bufferSize);
+    }
+
+    private BufferedRandomAccessFileImpl(RandomAccessFile randomAccessFile, boolean readOnly,
+            int bufferSize) throws IOExceptionUnchecked
+    {
+        if (bufferSize < MIN_BUFFER_SIZE)
+        {
+            throw new IllegalArgumentException("Buffer size " + bufferSize
+                    + " is smaller than the minimum of " + MIN_BUFFER_SIZE + ".");
+        }
+        this.randomAccessFile = randomAccessFile;
+        this.readOnly = readOnly;
+        this.buffer = new byte[bufferSize];
+        try
+        {
+            this.filePosition = randomAccessFile.getFilePointer();
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+        this.bufferStart = filePosition;
+    }
+
+    private static RandomAccessFile open(File file, String mode) throws IOExceptionUnchecked
+    {
+        try
+        {
+            return new RandomAccessFile(file, mode);
+        } catch (FileNotFoundException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    /**
+     * Returns the file descriptor of the underlying file. Call {@link #flush()} before using it.
+     */
+    public final FileDescriptor getFD() throws IOException
+    {
+        return randomAccessFile.getFD();
+    }
+
+    /**
+     * Returns the channel of the underlying file. Call {@link #flush()} before using it. The
+     * position of the channel is not related to the file pointer of this object.
+     */
+    public final FileChannel getChannel()
+    {
+        return randomAccessFile.getChannel();
+    }
+
+    /**
+     * Returns the size of the page buffer in bytes.
+     */
+    public int getBufferSize()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    public ByteOrder getByteOrder()
+    {
+        return byteOrder;
+    }
+
+    @Override
+    public void setByteOrder(ByteOrder byteOrder)
+    {
+        this.byteOrder = byteOrder;
+        this.changeByteOrder = ByteOrder.LITTLE_ENDIAN.equals(byteOrder);
+    }
+
+    //
+    // Buffer management
+    //
+
+    private long position()
+    {
+        return bufferStart + bufferPosition;
+    }
+
+    private void seekFile(long pos) throws IOException
+    {
+        if (pos != filePosition)
+        {
+            randomAccessFile.seek(pos);
+            filePosition = pos;
+        }
+    }
+
+    /**
+     * Writes the modified region of the buffer back to the file.
+     */
+    private void flushBuffer() throws IOException
+    {
+        if (dirtyEnd > dirtyStart)
+        {
+            seekFile(bufferStart + dirtyStart);
+            randomAccessFile.write(buffer, dirtyStart, dirtyEnd - dirtyStart);
+            filePosition += dirtyEnd - dirtyStart;
+            dirtyStart = dirtyEnd = 0;
+        }
+    }
+
+    /**
+     * Writes back and empties the buffer and moves it to <var>pos</var>.
+     */
+    private void resetBuffer(long pos) throws IOException
+    {
+        flushBuffer();
+        bufferStart = pos;
+        bufferLength = 0;
+        bufferPosition = 0;
+    }
+
+    /**
+     * Ensures that at least <var>count</var> bytes (at most the buffer size) can be read from the
+     * buffer at the current position, unless the end of the file is reached.
+     *
+     * @return The number of bytes that can be read from the buffer.
+     */
+    private int fill(int count) throws IOException
+    {
+        int available = bufferLength - bufferPosition;
+        if (available >= count)
+        {
+            return available;
+        }
+        flushBuffer();
+        // Keep the remaining bytes and read the rest of the page behind them.
+        System.arraycopy(buffer, bufferPosition, buffer, 0, available);
+        bufferStart += bufferPosition;
+        bufferPosition = 0;
+        bufferLength = available;
+        seekFile(bufferStart + bufferLength);
+        while (bufferLength < count)
+        {
+            final int n = randomAccessFile.read(buffer, bufferLength, buffer.length - bufferLength);
+            if (n < 0)
+            {
+                break;
+            }
+            filePosition += n;
+            bufferLength += n;
+        }
+        return bufferLength;
+    }
+
+    /**
+     * Ensures that <var>count</var> bytes can be read from the buffer at the current position.
+     *
+     * @return The position in the buffer to read from.
+     * @throws EOFException If the end of the file is reached before.
+     */
+    private int prepareRead(int count) throws IOException
+    {
+        if (fill(count) < count)
+        {
+            throw new EOFException();
+        }
+        final int pos = bufferPosition;
+        bufferPosition += count;
+        return pos;
+    }
+
+    /**
+     * Ensures that <var>count</var> bytes can be written to the buffer at the current position
+     * and marks them as modified.
+     *
+     * @return The position in the buffer to write to.
+     */
+    private int prepareWrite(int count) throws IOException
+    {
+        checkWritable();
+        if (buffer.length - bufferPosition < count)
+        {
+            resetBuffer(position());
+        }
+        final int pos = bufferPosition;
+        markDirty(pos, pos + count);
+        bufferPosition += count;
+        if (bufferPosition > bufferLength)
+        {
+            bufferLength = bufferPosition;
+        }
+        return pos;
+    }
+
+    private void markDirty(int start, int end)
+    {
+        if (dirtyEnd == dirtyStart)
+        {
+            dirtyStart = start;
+            dirtyEnd = end;
+        } else
+        {
+            dirtyStart = Math.min(dirtyStart, start);
+            dirtyEnd = Math.max(dirtyEnd, end);
+        }
+    }
+
+    private void checkWritable() throws IOException
+    {
+        if (readOnly)
+        {
+            throw new IOException("File is opened read-only.");
+        }
+    }
+
+    private short getShort(int pos)
+    {
+        final short s = (short) ((buffer[pos] << 8) | (buffer[pos + 1] & 0xff));
+        return changeByteOrder ? changeByteOrder(s) : s;
+    }
+
+    private int getInt(int pos)
+    {
+        final int i = getIntBigEndian(pos);
+        return changeByteOrder ? changeByteOrder(i) : i;
+    }
+
+    private long getLong(int pos)
+    {
+        final long l =
+                ((long) getIntBigEndian(pos) << 32) | (getIntBigEndian(pos + 4) & 0xffffffffL);
+        return changeByteOrder ? changeByteOrder(l) : l;
+    }
+
+    private int getIntBigEndian(int pos)
+    {
+        return (buffer[pos] << 24) | ((buffer[pos + 1] & 0xff) << 16)
+                | ((buffer[pos + 2] & 0xff) << 8) | (buffer[pos + 3] & 0xff);
+    }
+
+    private void putShort(int pos, short value)
+    {
+        final short s = changeByteOrder ? changeByteOrder(value) : value;
+        buffer[pos] = (byte) (s >>> 8);
+        buffer[pos + 1] = (byte) s;
+    }
+
+    private void putInt(int pos, int value)
+    {
+        putIntBigEndian(pos, changeByteOrder ? changeByteOrder(value) : value);
+    }
+
+    private void putLong(int pos, long value)
+    {
+        final long l = changeByteOrder ? changeByteOrder(value) : value;
+        putIntBigEndian(pos, (int) (l >>> 32));
+        putIntBigEndian(pos + 4, (int) l);
+    }
+
+    private void putIntBigEndian(int pos, int i)
+    {
+        buffer[pos] = (byte) (i >>> 24);
+        buffer[pos + 1] = (byte) (i >>> 16);
+        buffer[pos + 2] = (byte) (i >>> 8);
+        buffer[pos + 3] = (byte) i;
+    }
+
+    //
+    // IRandomAccessFile
+    //
+
+    @Override
+    public int read() throws IOExceptionUnchecked
+    {
+        try
+        {
+            if (fill(1) < 1)
+            {
+                return -1;
+            }
+            return buffer[bufferPosition++] & 0xff;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOExceptionUnchecked
+    {
+        if (off < 0 || len < 0 || len > b.length - off)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0)
+        {
+            return 0;
+        }
+        try
+        {
+            int total = 0;
+            while (len > 0)
+            {
+                final int available = bufferLength - bufferPosition;
+                if (available > 0)
+                {
+                    final int n = Math.min(available, len);
+                    System.arraycopy(buffer, bufferPosition, b, off, n);
+                    bufferPosition += n;
+                    total += n;
+                    off += n;
+                    len -= n;
+                } else if (len >= buffer.length)
+                {
+                    // Large reads go to the file directly.
+                    final long pos = position();
+                    resetBuffer(pos);
+                    seekFile(pos);
+                    final int n = randomAccessFile.read(b, off, len);
+                    if (n < 0)
+                    {
+                        break;
+                    }
+                    filePosition += n;
+                    bufferStart += n;
+                    total += n;
+                    off += n;
+                    len -= n;
+                } else if (fill(1) == 0)
+                {
+                    break;
+                }
+            }
+            return (total == 0) ? -1 : total;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public int read(byte[] b) throws IOExceptionUnchecked
+    {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public final void readFully(byte[] b) throws IOExceptionUnchecked
+    {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public final void readFully(byte[] b, int off, int len) throws IOExceptionUnchecked
+    {
+        if (len == 0)
+        {
+            return;
+        }
+        if (read(b, off, len) < len)
+        {
+            throw new IOExceptionUnchecked(new EOFException());
+        }
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOExceptionUnchecked
+    {
+        return (int) skip(n);
+    }
+
+    @Override
+    public void write(int b) throws IOExceptionUnchecked
+    {
+        try
+        {
+            buffer[prepareWrite(1)] = (byte) b;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public void write(byte[] b) throws IOExceptionUnchecked
+    {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOExceptionUnchecked
+    {
+        if (off < 0 || len < 0 || len > b.length - off)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        try
+        {
+            checkWritable();
+            if (len >= buffer.length)
+            {
+                // Large writes go to the file directly.
+                final long pos = position();
+                resetBuffer(pos);
+                seekFile(pos);
+                randomAccessFile.write(b, off, len);
+                filePosition += len;
+                bufferStart += len;
+                return;
+            }
+            while (len > 0)
+            {
+                if (bufferPosition == buffer.length)
+                {
+                    resetBuffer(position());
+                }
+                final int n = Math.min(buffer.length - bufferPosition, len);
+                System.arraycopy(b, off, buffer, prepareWrite(n), n);
+                off += n;
+                len -= n;
+            }
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public long getFilePointer() throws IOExceptionUnchecked
+    {
+        return position();
+    }
+
+    @Override
+    public void seek(long pos) throws IOExceptionUnchecked
+    {
+        try
+        {
+            if (pos < 0)
+            {
+                throw new IOException("Negative seek offset");
+            }
+            if (pos >= bufferStart && pos <= bufferStart + bufferLength)
+            {
+                bufferPosition = (int) (pos - bufferStart);
+            } else
+            {
+                resetBuffer(pos);
+            }
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public long length() throws IOExceptionUnchecked
+    {
+        try
+        {
+            // An empty buffer may be positioned behind the end of the file.
+            final long fileLength = randomAccessFile.length();
+            return (bufferLength > 0) ? Math.max(fileLength, bufferStart + bufferLength)
+                    : fileLength;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public void setLength(long newLength) throws IOExceptionUnchecked
+    {
+        try
+        {
+            final long pos = position();
+            resetBuffer(Math.min(pos, newLength));
+            randomAccessFile.setLength(newLength);
+            filePosition = randomAccessFile.getFilePointer();
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOExceptionUnchecked
+    {
+        try
+        {
+            try
+            {
+                flushBuffer();
+            } finally
+            {
+                randomAccessFile.close();
+            }
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final boolean readBoolean() throws IOExceptionUnchecked
+    {
+        return readByte() != 0;
+    }
+
+    @Override
+    public final byte readByte() throws IOExceptionUnchecked
+    {
+        try
+        {
+            return buffer[prepareRead(1)];
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final int readUnsignedByte() throws IOExceptionUnchecked
+    {
+        return readByte() & 0xff;
+    }
+
+    @Override
+    public final short readShort() throws IOExceptionUnchecked
+    {
+        try
+        {
+            return getShort(prepareRead(2));
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final int readUnsignedShort() throws IOExceptionUnchecked
+    {
+        return readShort() & 0xffff;
+    }
+
+    @Override
+    public final char readChar() throws IOExceptionUnchecked
+    {
+        return (char) readShort();
+    }
+
+    @Override
+    public final int readInt() throws IOExceptionUnchecked
+    {
+        try
+        {
+            return getInt(prepareRead(4));
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final long readLong() throws IOExceptionUnchecked
+    {
+        try
+        {
+            return getLong(prepareRead(8));
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final float readFloat() throws IOExceptionUnchecked
+    {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public final double readDouble() throws IOExceptionUnchecked
+    {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public final String readLine() throws IOExceptionUnchecked
+    {
+        final StringBuilder input = new StringBuilder();
+        int c = -1;
+        boolean eol = false;
+        while (eol == false)
+        {
+            switch (c = read())
+            {
+                case -1:
+                case '\n':
+                    eol = true;
+                    break;
+                case '\r':
+                    eol = true;
+                    final long cur = position();
+                    if (read() != '\n')
+                    {
+                        seek(cur);
+                    }
+                    break;
+                default:
+                    input.append((char) c);
+                    break;
+            }
+        }
+        if (c == -1 && input.length() == 0)
+        {
+            return null;
+        }
+        return input.toString();
+    }
+
+    @Override
+    public final String readUTF() throws IOExceptionUnchecked
+    {
+        try
+        {
+            // The length is always big endian, as for RandomAccessFile.
+            final int pos = prepareRead(2);
+            final int length = ((buffer[pos] & 0xff) << 8) | (buffer[pos + 1] & 0xff);
+            final byte[] bytes = new byte[2 + length];
+            bytes[0] = buffer[pos];
+            bytes[1] = buffer[pos + 1];
+            readFully(bytes, 2, length);
+            return DataInputStream.readUTF(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final void writeBoolean(boolean v) throws IOExceptionUnchecked
+    {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public final void writeByte(int v) throws IOExceptionUnchecked
+    {
+        write(v);
+    }
+
+    @Override
+    public final void writeShort(int v) throws IOExceptionUnchecked
+    {
+        try
+        {
+            putShort(prepareWrite(2), (short) v);
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final void writeChar(int v) throws IOExceptionUnchecked
+    {
+        writeShort(v);
+    }
+
+    @Override
+    public final void writeInt(int v) throws IOExceptionUnchecked
+    {
+        try
+        {
+            putInt(prepareWrite(4), v);
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final void writeLong(long v) throws IOExceptionUnchecked
+    {
+        try
+        {
+            putLong(prepareWrite(8), v);
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public final void writeFloat(float v) throws IOExceptionUnchecked
+    {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public final void writeDouble(double v) throws IOExceptionUnchecked
+    {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public final void writeBytes(String s) throws IOExceptionUnchecked
+    {
+        final byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < bytes.length; ++i)
+        {
+            bytes[i] = (byte) s.charAt(i);
+        }
+        write(bytes);
+    }
+
+    @Override
+    public final void writeChars(String s) throws IOExceptionUnchecked
+    {
+        // Always big endian, as for RandomAccessFile.
+        final byte[] bytes = new byte[2 * s.length()];
+        for (int i = 0; i < s.length(); ++i)
+        {
+            final char c = s.charAt(i);
+            bytes[2 * i] = (byte) (c >>> 8);
+            bytes[2 * i + 1] = (byte) c;
+        }
+        write(bytes);
+    }
+
+    @Override
+    public final void writeUTF(String str) throws IOExceptionUnchecked
+    {
+        try
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(str.length() + 2);
+            new DataOutputStream(bytes).writeUTF(str);
+            write(bytes.toByteArray());
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOExceptionUnchecked
+    {
+        if (n <= 0)
+        {
+            return 0;
+        }
+        final long pos = position();
+        final long newpos = Math.min(length(), pos + n);
+        seek(newpos);
+        return newpos - pos;
+    }
+
+    @Override
+    public int available() throws IOExceptionUnchecked
+    {
+        return (int) Math.min(length() - position(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void mark(int readlimit)
+    {
+        markedPosition = position();
+    }
+
+    @Override
+    public void reset() throws IOExceptionUnchecked
+    {
+        if (markedPosition == -1)
+        {
+            throw new IOExceptionUnchecked(new IOException("mark() not called"));
+        }
+        seek(markedPosition);
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+        return true;
+    }
+
+    /**
+     * Writes the modified part of the page buffer back to the file.
+     */
+    @Override
+    public void flush() throws IOExceptionUnchecked
+    {
+        try
+        {
+            flushBuffer();
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    @Override
+    public void synchronize() throws IOExceptionUnchecked
+    {
+        try
+        {
+            flushBuffer();
+            randomAccessFile.getFD().sync();
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public int hashCode()
+    {
+        return randomAccessFile.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return randomAccessFile.equals(obj);
+    }
+
+    @Override
+    public String toString()
+    {
+        return randomAccessFile.toString();
+    }
+
+}
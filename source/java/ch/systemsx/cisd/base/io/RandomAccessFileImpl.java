@@ -436,7 +436,7 @@ public class RandomAccessFileImpl implements IRandomAccessFile
     {
         try
         {
-            randomAccessFile.writeShort(changeByteOrder ? changeByteOrder(v) : v);
+            randomAccessFile.writeShort(changeByteOrder ? changeByteOrder((short) v) : v);
         } catch (IOException ex)
         {
             throw CheckedExceptionTunnel.wrapIfNecessary(ex);
@@ -448,7 +448,7 @@ public class RandomAccessFileImpl implements IRandomAccessFile
     {
         try
         {
-            randomAccessFile.writeChar(changeByteOrder ? changeByteOrder(v) : v);
+            randomAccessFile.writeChar(changeByteOrder ? changeByteOrder((char) v) : v);
         } catch (IOException ex)
         {
             throw CheckedExceptionTunnel.wrapIfNecessary(ex);
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * A minimal implementation of the <a href="https://google.github.io/flatbuffers/">FlatBuffers</a>
+ * binary format, as far as it is needed to write and read the metadata of Arrow IPC files.
+ * <p>
+ * The {@link Builder} writes a buffer back to front, like the reference implementation: children
+ * (strings, vectors, tables) are written before their parents and referenced by their offset from
+ * the end of the buffer. The static methods read tables from a little-endian {@link ByteBuffer}
+ * with absolute positions; a position of -1 denotes an absent field.
+ *
+ * @author agent
+ */
+final class FlatBuffers
+{
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * A builder of a FlatBuffers buffer.
+     */
+    static final class Builder
+    {
+        private ByteBuffer buffer;
+
+        private int space;
+
+        private int minAlign = 1;
+
+        private int[] vtable;
+
+        private int objectStart;
+
+        Builder(int initialSize)
+        {
+            this.buffer = ByteBuffer.allocate(Math.max(16, initialSize));
+            this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+            this.space = buffer.capacity();
+        }
+
+        /**
+         * Returns the current offset from the end of the buffer.
+         */
+        int offset()
+        {
+            return buffer.capacity() - space;
+        }
+
+        /**
+         * Aligns the buffer such that <var>size</var> bytes are aligned to <var>size</var> after
+         * <var>additionalBytes</var> have been written.
+         */
+        private void prep(int size, int additionalBytes)
+        {
+            minAlign = Math.max(minAlign, size);
+            final int alignSize = (~(offset() + additionalBytes) + 1) & (size - 1);
+            while (space < alignSize + size + additionalBytes)
+            {
+                grow();
+            }
+            for (int i = 0; i < alignSize; ++i)
+            {
+                buffer.put(--space, (byte) 0);
+            }
+        }
+
+        private void grow()
+        {
+            final int oldCapacity = buffer.capacity();
+            final ByteBuffer newBuffer = ByteBuffer.allocate(2 * oldCapacity);
+            newBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            System.arraycopy(buffer.array(), 0, newBuffer.array(), oldCapacity, oldCapacity);
+            space += oldCapacity;
+            buffer = newBuffer;
+        }
+
+        void addByte(byte value)
+        {
+            prep(1, 0);
+            buffer.put(--space, value);
+        }
+
+        void addShort(short value)
+        {
+            prep(2, 0);
+            space -= 2;
+            buffer.putShort(space, value);
+        }
+
+        void addInt(int value)
+        {
+            prep(4, 0);
+            space -= 4;
+            buffer.putInt(space, value);
+        }
+
+        void addLong(long value)
+        {
+            prep(8, 0);
+            space -= 8;
+            buffer.putLong(space, value);
+        }
+
+        /**
+         * Adds a reference to the object at <var>targetOffset</var>.
+         */
+        void addOffset(int targetOffset)
+        {
+            prep(4, 0);
+            addInt(offset() - targetOffset + 4);
+        }
+
+        /**
+         * Writes <var>value</var> as a string and returns its offset.
+         */
+        int createString(String value)
+        {
+            final byte[] bytes = value.getBytes(UTF8);
+            prep(4, bytes.length + 1);
+            buffer.put(--space, (byte) 0);
+            space -= bytes.length;
+            System.arraycopy(bytes, 0, buffer.array(), space, bytes.length);
+            addInt(bytes.length);
+            return offset();
+        }
+
+        /**
+         * Starts a vector of <var>numElements</var> elements of <var>elementSize</var> bytes. The
+         * elements have to be added in reverse order.
+         */
+        void startVector(int elementSize, int numElements, int alignment)
+        {
+            prep(4, elementSize * numElements);
+            prep(alignment, elementSize * numElements);
+        }
+
+        /**
+         * Ends a vector of <var>numElements</var> elements and returns its offset.
+         */
+        int endVector(int numElements)
+        {
+            addInt(numElements);
+            return offset();
+        }
+
+        /**
+         * Writes a vector of references to the objects at <var>offsets</var> and returns its
+         * offset.
+         */
+        int createOffsetVector(int[] offsets)
+        {
+            startVector(4, offsets.length, 4);
+            for (int i = offsets.length - 1; i >= 0; --i)
+            {
+                addOffset(offsets[i]);
+            }
+            return endVector(offsets.length);
+        }
+
+        void startTable(int numFields)
+        {
+            vtable = new int[numFields];
+            objectStart = offset();
+        }
+
+        void addByteField(int slot, byte value)
+        {
+            addByte(value);
+            vtable[slot] = offset();
+        }
+
+        void addShortField(int slot, short value)
+        {
+            addShort(value);
+            vtable[slot] = offset();
+        }
+
+        void addIntField(int slot, int value)
+        {
+            addInt(value);
+            vtable[slot] = offset();
+        }
+
+        void addLongField(int slot, long value)
+        {
+            addLong(value);
+            vtable[slot] = offset();
+        }
+
+        void addOffsetField(int slot, int targetOffset)
+        {
+            addOffset(targetOffset);
+            vtable[slot] = offset();
+        }
+
+        /**
+         * Ends the current table, writes its vtable and returns the offset of the table.
+         */
+        int endTable()
+        {
+            addInt(0);
+            final int objectOffset = offset();
+            int numFields = vtable.length;
+            while (numFields > 0 && vtable[numFields - 1] == 0)
+            {
+                --numFields;
+            }
+            for (int i = numFields - 1; i >= 0; --i)
+            {
+                addShort((short) ((vtable[i] != 0) ? objectOffset - vtable[i] : 0));
+            }
+            addShort((short) (objectOffset - objectStart));
+            addShort((short) ((numFields + 2) * 2));
+            final int vtableOffset = offset();
+            buffer.putInt(buffer.capacity() - objectOffset, vtableOffset - objectOffset);
+            vtable = null;
+            return objectOffset;
+        }
+
+        /**
+         * Finishes the buffer with the root table at <var>rootOffset</var> and returns its bytes.
+         */
+        byte[] finish(int rootOffset)
+        {
+            prep(minAlign, 4);
+            addOffset(rootOffset);
+            final byte[] result = new byte[offset()];
+            System.arraycopy(buffer.array(), space, result, 0, result.length);
+            return result;
+        }
+    }
+
+    private FlatBuffers()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Returns the position of the root table of the buffer that starts at <var>start</var>.
+     */
+    static int getRoot(ByteBuffer buffer, int start)
+    {
+        return start + buffer.getInt(start);
+    }
+
+    /**
+     * Returns the position of field <var>slot</var> of the table at <var>table</var>, or -1, if
+     * the field is absent.
+     */
+    static int getFieldPosition(ByteBuffer buffer, int table, int slot)
+    {
+        final int vtable = table - buffer.getInt(table);
+        final int vtableSize = buffer.getShort(vtable) & 0xFFFF;
+        final int entry = 4 + 2 * slot;
+        if (entry >= vtableSize)
+        {
+            return -1;
+        }
+        final int fieldOffset = buffer.getShort(vtable + entry) & 0xFFFF;
+        return (fieldOffset == 0) ? -1 : table + fieldOffset;
+    }
+
+    static byte getByte(ByteBuffer buffer, int table, int slot, byte defaultValue)
+    {
+        final int position = getFieldPosition(buffer, table, slot);
+        return (position < 0) ? defaultValue : buffer.get(position);
+    }
+
+    static short getShort(ByteBuffer buffer, int table, int slot, short defaultValue)
+    {
+        final int position = getFieldPosition(buffer, table, slot);
+        return (position < 0) ? defaultValue : buffer.getShort(position);
+    }
+
+    static int getInt(ByteBuffer buffer, int table, int slot, int defaultValue)
+    {
+        final int position = getFieldPosition(buffer, table, slot);
+        return (position < 0) ? defaultValue : buffer.getInt(position);
+    }
+
+    static long getLong(ByteBuffer buffer, int table, int slot, long defaultValue)
+    {
+        final int position = getFieldPosition(buffer, table, slot);
+        return (position < 0) ? defaultValue : buffer.getLong(position);
+    }
+
+    /**
+     * Returns the position of the table, vector or string that field <var>slot</var> refers to,
+     * or -1, if the field is absent.
+     */
+    static int getReference(ByteBuffer buffer, int table, int slot)
+    {
+        final int position = getFieldPosition(buffer, table, slot);
+        return (position < 0) ? -1 : position + buffer.getInt(position);
+    }
+
+    /**
+     * Returns the number of elements of the vector at <var>vector</var>, 0 for an absent vector.
+     */
+    static int getVectorLength(ByteBuffer buffer, int vector)
+    {
+        return (vector < 0) ? 0 : buffer.getInt(vector);
+    }
+
+    /**
+     * Returns the position of the first element of the vector at <var>vector</var>.
+     */
+    static int getVectorStart(int vector)
+    {
+        return vector + 4;
+    }
+
+    /**
+     * Returns the position of the table that element <var>index</var> of the vector of tables at
+     * <var>vector</var> refers to.
+     */
+    static int getTableElement(ByteBuffer buffer, int vector, int index)
+    {
+        final int position = getVectorStart(vector) + 4 * index;
+        return position + buffer.getInt(position);
+    }
+
+    /**
+     * Returns the string that field <var>slot</var> refers to, or <code>null</code>, if the field
+     * is absent.
+     */
+    static String getString(ByteBuffer buffer, int table, int slot)
+    {
+        final int string = getReference(buffer, table, slot);
+        return (string < 0) ? null : getString(buffer, string);
+    }
+
+    /**
+     * Returns the string at <var>string</var>.
+     */
+    static String getString(ByteBuffer buffer, int string)
+    {
+        final byte[] bytes = new byte[buffer.getInt(string)];
+        for (int i = 0; i < bytes.length; ++i)
+        {
+            bytes[i] = buffer.get(string + 4 + i);
+        }
+        return new String(bytes, UTF8);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * Factory for the common {@link IGrowthPolicy}s.
+ *
+ * @author agent
+ */
+public final class GrowthPolicies
+{
+    /**
+     * The default policy: doubles the capacity.
+     */
+    public static final IGrowthPolicy DOUBLING = factor(2.0);
+
+    /**
+     * Grows the capacity to exactly the number of hyper-rows required.
+     */
+    public static final IGrowthPolicy EXACT = increment(1);
+
+    private GrowthPolicies()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Returns a policy that multiplies the capacity by <var>factor</var>.
+     * 
+     * @param factor The growth factor, needs to be larger than 1.
+     */
+    public static IGrowthPolicy factor(final double factor)
+    {
+        if (factor <= 1.0)
+        {
+            throw new IllegalArgumentException("Growth factor " + factor
+                    + " needs to be larger than 1.");
+        }
+        return new IGrowthPolicy()
+            {
+                @Override
+                public int computeNewCapacity(int capacityHyperRows, int requiredHyperRows)
+                {
+                    final double newCapacity = Math.ceil(capacityHyperRows * factor);
+                    return (int) Math.max(requiredHyperRows,
+                            Math.min(Integer.MAX_VALUE, newCapacity));
+                }
+
+                @Override
+                public String toString()
+                {
+                    return "factor(" + factor + ")";
+                }
+            };
+    }
+
+    /**
+     * Returns a policy that adds <var>increment</var> hyper-rows to the capacity.
+     * 
+     * @param increment The number of hyper-rows to add, needs to be positive.
+     */
+    public static IGrowthPolicy increment(final int increment)
+    {
+        if (increment <= 0)
+        {
+            throw new IllegalArgumentException("Growth increment " + increment
+                    + " needs to be positive.");
+        }
+        return new IGrowthPolicy()
+            {
+                @Override
+                public int computeNewCapacity(int capacityHyperRows, int requiredHyperRows)
+                {
+                    return (int) Math.max(requiredHyperRows,
+                            Math.min(Integer.MAX_VALUE, (long) capacityHyperRows + increment));
+                }
+
+                @Override
+                public String toString()
+                {
+                    return "increment(" + increment + ")";
+                }
+            };
+    }
+
+    /**
+     * Returns a policy that grows like <var>policy</var>, but adds at most
+     * <var>maxIncrement</var> hyper-rows to the capacity in one step (unless more hyper-rows are
+     * required).
+     * 
+     * @param maxIncrement The maximal number of hyper-rows to add, needs to be positive.
+     */
+    public static IGrowthPolicy capped(final IGrowthPolicy policy, final int maxIncrement)
+    {
+        if (maxIncrement <= 0)
+        {
+            throw new IllegalArgumentException("Maximal growth increment " + maxIncrement
+                    + " needs to be positive.");
+        }
+        return new IGrowthPolicy()
+            {
+                @Override
+                public int computeNewCapacity(int capacityHyperRows, int requiredHyperRows)
+                {
+                    final int newCapacity =
+                            policy.computeNewCapacity(capacityHyperRows, requiredHyperRows);
+                    final long cap = (long) capacityHyperRows + maxIncrement;
+                    return (int) Math.max(requiredHyperRows, Math.min(newCapacity, cap));
+                }
+
+                @Override
+                public String toString()
+                {
+                    return "capped(" + policy + ", " + maxIncrement + ")";
+                }
+            };
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * The kernels behind {@link MDArrayKernels}. All kernels work on the index range
+ * <code>[from, to)</code> of flat arrays.
+ *
+ * @author agent
+ */
+interface IArrayKernels
+{
+    /**
+     * Returns a short description of the implementation.
+     */
+    String getName();
+
+    /**
+     * <code>result[i] = x[i] * factor</code>
+     */
+    void scale(float[] x, float factor, float[] result, int from, int to);
+
+    /**
+     * <code>result[i] = x[i] * factor</code>
+     */
+    void scale(double[] x, double factor, double[] result, int from, int to);
+
+    /**
+     * <code>result[i] = (x[i] &lt; threshold) ? 0 : x[i]</code>
+     */
+    void threshold(float[] x, float threshold, float[] result, int from, int to);
+
+    /**
+     * <code>result[i] = (x[i] &lt; threshold) ? 0 : x[i]</code>
+     */
+    void threshold(double[] x, double threshold, double[] result, int from, int to);
+
+    /**
+     * <code>y[i] += alpha * x[i]</code>
+     */
+    void axpy(float alpha, float[] x, float[] y, int from, int to);
+
+    /**
+     * <code>y[i] += alpha * x[i]</code>
+     */
+    void axpy(double alpha, double[] x, double[] y, int from, int to);
+
+    /**
+     * Returns the sum of <code>x[i] * y[i]</code>.
+     */
+    float dot(float[] x, float[] y, int from, int to);
+
+    /**
+     * Returns the sum of <code>x[i] * y[i]</code>.
+     */
+    double dot(double[] x, double[] y, int from, int to);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * A policy that decides how much the capacity of an appendable multi-dimensional array grows when
+ * it runs out of hyper-rows. Implementations for the common cases are available in
+ * {@link GrowthPolicies}.
+ *
+ * @author agent
+ */
+public interface IGrowthPolicy
+{
+    /**
+     * Returns the new capacity in hyper-rows.
+     * 
+     * @param capacityHyperRows The current capacity in hyper-rows.
+     * @param requiredHyperRows The number of hyper-rows that the array needs to hold. Always
+     *            larger than <var>capacityHyperRows</var>.
+     * @return The new capacity. A value smaller than <var>requiredHyperRows</var> is treated as
+     *         <var>requiredHyperRows</var>.
+     */
+    int computeNewCapacity(int capacityHyperRows, int requiredHyperRows);
+}
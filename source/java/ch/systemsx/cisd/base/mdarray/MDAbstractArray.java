@@ -16,7 +16,10 @@
 
 package ch.systemsx.cisd.base.mdarray;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 
 import org.apache.commons.lang.ArrayUtils;
@@ -44,6 +47,19 @@ public abstract class MDAbstractArray<T> implements Serializable,
 
     protected int size;
 
+    /**
+     * The row-major strides of the array. They do not depend on <code>dimensions[0]</code>, thus
+     * changing the number of hyper-rows does not change them.
+     */
+    protected transient int[] strides;
+
+    private transient IGrowthPolicy growthPolicy;
+
+    private transient boolean frozen;
+
+    /** The cached hash code of a frozen array, 0 if not yet computed. */
+    private transient int hashCode;
+
     /**
      * A class to represent an entry (index and value) of a {@link MDArray}, used for iteration.
      */
@@ -86,6 +102,7 @@ public abstract class MDAbstractArray<T> implements Serializable,
         assert dimensions != null;
 
         this.dimensions = dimensions;
+        this.strides = MDAbstractArrayView.computeStrides(dimensions);
         this.hyperRowLength = computeHyperRowLength(dimensions);
         if (hyperRowLength == 0)
         {
@@ -142,6 +159,15 @@ public abstract class MDAbstractArray<T> implements Serializable,
         return dimensions.clone();
     }
 
+    /**
+     * Returns a copy of the row-major strides of the multi-dimensional array, i.e. the distance in
+     * the flattened array between neighboring elements along each dimension.
+     */
+    public int[] strides()
+    {
+        return strides.clone();
+    }
+
     /**
      * Returns a copy of the dimensions of the multi-dimensional array as <code>long[]</code>.
      */
@@ -221,16 +247,75 @@ public abstract class MDAbstractArray<T> implements Serializable,
     public abstract int capacity();
 
     /**
-     * Increase the number of hyper-rows by <var>count</var>. Doubles the capacity if needed.
+     * Returns the policy that determines how the capacity grows in
+     * {@link #incNumberOfHyperRows(int)}. The default is {@link GrowthPolicies#DOUBLING}.
+     */
+    public IGrowthPolicy getGrowthPolicy()
+    {
+        return (growthPolicy == null) ? GrowthPolicies.DOUBLING : growthPolicy;
+    }
+
+    /**
+     * Sets the policy that determines how the capacity grows in
+     * {@link #incNumberOfHyperRows(int)}. The policy is not serialized.
+     */
+    public void setGrowthPolicy(IGrowthPolicy growthPolicy)
+    {
+        this.growthPolicy = growthPolicy;
+    }
+
+    /**
+     * Freezes the array. A frozen array can no longer be changed through its <code>set</code>
+     * methods, by changing the number of hyper-rows or as the destination of the operations of
+     * this package (e.g. {@link MDFloatArrayOperations}, {@link MDArrayRegions}), which throw an
+     * {@link IllegalStateException}. Views of a frozen array (e.g. {@link MDFloatArrayView}) are
+     * read-only. In return, the hash code of a frozen array is computed only once, which makes
+     * frozen arrays cheap keys of hash maps.
+     * <p>
+     * Changes made through the array returned by {@link #getAsFlatArray()} are not detected and
+     * must not be made on a frozen array. Freezing cannot be undone and is not serialized.
+     */
+    public void freeze()
+    {
+        this.frozen = true;
+    }
+
+    /**
+     * Returns <code>true</code>, if this array is frozen.
+     * 
+     * @see #freeze()
+     */
+    public boolean isFrozen()
+    {
+        return frozen;
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if this array is frozen.
+     */
+    protected void checkNotFrozen()
+    {
+        if (frozen)
+        {
+            throw new IllegalStateException("Array is frozen.");
+        }
+    }
+
+    /**
+     * Increase the number of hyper-rows by <var>count</var>. Grows the capacity according to the
+     * growth policy if needed.
      * 
      * @return The new number of rows.
      */
     public int incNumberOfHyperRows(int count)
     {
+        checkNotFrozen();
         dimensions[0] += count;
         if (dimensions[0] > capacityHyperRows)
         {
-            capacityHyperRows = Math.max(capacityHyperRows * 2, dimensions[0]);
+            capacityHyperRows =
+                    Math.max(getGrowthPolicy().computeNewCapacity(capacityHyperRows,
+                            dimensions[0]), dimensions[0]);
             adaptCapacityHyperRows();
         }
         size += count * hyperRowLength;
@@ -244,11 +329,25 @@ public abstract class MDAbstractArray<T> implements Serializable,
      */
     public int decNumberOfHyperRows(int count)
     {
+        checkNotFrozen();
         dimensions[0] -= count;
         size -= count * hyperRowLength;
         return dimensions[0];
     }
 
+    /**
+     * Reduces the capacity to the current number of hyper-rows, releasing the memory of unused
+     * hyper-rows. Copies the array if the capacity is larger than the number of hyper-rows.
+     */
+    public void trimToSize()
+    {
+        if (capacityHyperRows > dimensions[0])
+        {
+            capacityHyperRows = dimensions[0];
+            adaptCapacityHyperRows();
+        }
+    }
+
     /**
      * Computes the linear index for the multi-dimensional <var>indices</var> provided.
      */
@@ -257,12 +356,78 @@ public abstract class MDAbstractArray<T> implements Serializable,
         assert indices != null;
         assert indices.length == dimensions.length;
 
-        int index = indices[0];
-        for (int i = 1; i < indices.length; ++i)
+        final int[] s = strides;
+        switch (indices.length)
         {
-            index = index * dimensions[i] + indices[i];
+            case 1:
+                return indices[0];
+            case 2:
+                return s[0] * indices[0] + indices[1];
+            case 3:
+                return s[0] * indices[0] + s[1] * indices[1] + indices[2];
+            case 4:
+                return s[0] * indices[0] + s[1] * indices[1] + s[2] * indices[2] + indices[3];
+            default:
+                int index = indices[indices.length - 1];
+                for (int i = 0; i < indices.length - 1; ++i)
+                {
+                    index += s[i] * indices[i];
+                }
+                return index;
+        }
+    }
+
+    /**
+     * Computes the linear indices for <var>count</var> multi-dimensional indices at once. The
+     * multi-dimensional indices are provided consecutively in <var>indices</var>, i.e. the index
+     * of element <var>i</var> along dimension <var>d</var> is
+     * <code>indices[i * rank() + d]</code>. The linear index of element <var>i</var> is written
+     * to <code>linearIndices[i]</code>.
+     */
+    public void computeIndices(int[] indices, int[] linearIndices, int count)
+    {
+        final int rank = dimensions.length;
+        if (indices.length < count * rank || linearIndices.length < count)
+        {
+            throw new IndexOutOfBoundsException("Arrays too small for " + count
+                    + " indices of rank " + rank + ".");
+        }
+        final int[] s = strides;
+        switch (rank)
+        {
+            case 1:
+                System.arraycopy(indices, 0, linearIndices, 0, count);
+                break;
+            case 2:
+            {
+                final int s0 = s[0];
+                for (int i = 0, j = 0; i < count; ++i, j += 2)
+                {
+                    linearIndices[i] = s0 * indices[j] + indices[j + 1];
+                }
+                break;
+            }
+            case 3:
+            {
+                final int s0 = s[0];
+                final int s1 = s[1];
+                for (int i = 0, j = 0; i < count; ++i, j += 3)
+                {
+                    linearIndices[i] = s0 * indices[j] + s1 * indices[j + 1] + indices[j + 2];
+                }
+                break;
+            }
+            default:
+                for (int i = 0, j = 0; i < count; ++i, j += rank)
+                {
+                    int index = indices[j + rank - 1];
+                    for (int d = 0; d < rank - 1; ++d)
+                    {
+                        index += s[d] * indices[j + d];
+                    }
+                    linearIndices[i] = index;
+                }
         }
-        return index;
     }
 
     /**
@@ -271,6 +436,15 @@ public abstract class MDAbstractArray<T> implements Serializable,
     public int[] computeReverseIndex(int linearIndex)
     {
         final int[] index = new int[dimensions.length];
+        computeReverseIndex(linearIndex, index);
+        return index;
+    }
+
+    /**
+     * Computes the multi-dimensional index from the <var>linearIndex</var> into <var>index</var>.
+     */
+    void computeReverseIndex(int linearIndex, int[] index)
+    {
         int workIndex = linearIndex;
         int blockSize = size;
         for (int i = 0; i < dimensions.length; ++i)
@@ -279,7 +453,6 @@ public abstract class MDAbstractArray<T> implements Serializable,
             index[i] = workIndex / blockSize;
             workIndex = workIndex - index[i] * blockSize;
         }
-        return index;
     }
 
     /**
@@ -289,7 +462,7 @@ public abstract class MDAbstractArray<T> implements Serializable,
     {
         assert 2 == dimensions.length;
 
-        return dimensions[1] * indexX + indexY;
+        return strides[0] * indexX + indexY;
     }
 
     /**
@@ -300,7 +473,33 @@ public abstract class MDAbstractArray<T> implements Serializable,
     {
         assert 3 == dimensions.length;
 
-        return dimensions[2] * (dimensions[1] * indexX + indexY) + indexZ;
+        return strides[0] * indexX + strides[1] * indexY + indexZ;
+    }
+
+    /**
+     * Computes the linear index for the four-dimensional (<var>indexX, indexY, indexZ,
+     * indexW</var>) provided.
+     */
+    public int computeIndex(int indexX, int indexY, int indexZ, int indexW)
+    {
+        assert 4 == dimensions.length;
+
+        return strides[0] * indexX + strides[1] * indexY + strides[2] * indexZ + indexW;
+    }
+
+    /**
+     * Returns the largest length not larger than <var>arrayLength</var> that is a multiple of the
+     * hyper-row length of <var>dimensions</var>, i.e. the part of a backing array of length
+     * <var>arrayLength</var> that can hold complete hyper-rows.
+     */
+    static int getUsableLength(int[] dimensions, int arrayLength)
+    {
+        int hyperRowLen = 1;
+        for (int i = 1; i < dimensions.length; ++i)
+        {
+            hyperRowLen *= dimensions[i];
+        }
+        return (hyperRowLen == 0) ? arrayLength : arrayLength - arrayLength % hyperRowLen;
     }
 
     /**
@@ -416,10 +615,61 @@ public abstract class MDAbstractArray<T> implements Serializable,
         return intLength;
     }
 
+    /**
+     * Throws an {@link IllegalArgumentException} if <var>array1</var> and <var>array2</var> do not
+     * have the same dimensions.
+     */
+    static void checkSameDimensions(MDAbstractArray<?> array1, MDAbstractArray<?> array2)
+    {
+        if (Arrays.equals(array1.dimensions, array2.dimensions) == false)
+        {
+            throw new IllegalArgumentException("Dimensions "
+                    + ArrayUtils.toString(array1.dimensions) + " and "
+                    + ArrayUtils.toString(array2.dimensions) + " differ.");
+        }
+    }
+
+    /**
+     * Returns the dimensions of <var>array</var> with the axis <var>axis</var> removed. For an
+     * array of rank 1, <code>{ 1 }</code> is returned.
+     */
+    static int[] getReducedDimensions(MDAbstractArray<?> array, int axis)
+    {
+        final int[] dims = array.dimensions;
+        if (axis < 0 || axis >= dims.length)
+        {
+            throw new IllegalArgumentException("Axis " + axis + " out of range for array of rank "
+                    + dims.length + ".");
+        }
+        if (dims.length == 1)
+        {
+            return new int[]
+                { 1 };
+        }
+        final int[] result = new int[dims.length - 1];
+        System.arraycopy(dims, 0, result, 0, axis);
+        System.arraycopy(dims, axis + 1, result, axis, dims.length - axis - 1);
+        return result;
+    }
+
+    /**
+     * Returns a new {@link MDArrayCursor} that is positioned before the first element of this
+     * array.
+     */
+    public MDArrayCursor cursor()
+    {
+        return new MDArrayCursor(this);
+    }
+
     //
     // Iterable
     //
 
+    /**
+     * Returns an iterator over the entries of this array. Note that this iterator creates one
+     * {@link ArrayEntry} per element and boxes the values. Use {@link #cursor()} or the
+     * <code>forEach()</code> methods of the primitive arrays to iterate without allocations.
+     */
     @Override
     public Iterator<ArrayEntry> iterator()
     {
@@ -450,10 +700,52 @@ public abstract class MDAbstractArray<T> implements Serializable,
             };
     }
 
+    //
+    // Serializable
+    //
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException
+    {
+        stream.defaultReadObject();
+        this.strides = MDAbstractArrayView.computeStrides(dimensions);
+    }
+
     //
     // Object
     //
 
+    /**
+     * Computes the hash code of the array from its dimensions and its first {@link #size()}
+     * values.
+     */
+    protected abstract int computeHashCode();
+
+    /**
+     * Returns <code>true</code>, if this array and <var>other</var> are both frozen and have
+     * different cached hash codes, i.e. if they are known to be not equal.
+     */
+    protected boolean haveDifferentHashCodes(MDAbstractArray<?> other)
+    {
+        return frozen && other.frozen && hashCode != 0 && other.hashCode != 0
+                && hashCode != other.hashCode;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        if (frozen == false)
+        {
+            return computeHashCode();
+        }
+        int result = hashCode;
+        if (result == 0)
+        {
+            result = computeHashCode();
+            hashCode = result;
+        }
+        return result;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,550 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.lang.reflect.Array;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Base class of a view on the flat backing array of a multi-dimensional array. A view is defined
+ * by an <var>offset</var> into the backing array and one <var>stride</var> per dimension: the
+ * element at <code>(i<sub>0</sub>, ..., i<sub>n-1</sub>)</code> is stored at
+ * <code>offset + i<sub>0</sub> * strides[0] + ... + i<sub>n-1</sub> * strides[n-1]</code>.
+ * <p>
+ * Slicing, stepping, permuting axes and (where possible) reshaping create new views on the same
+ * backing array without copying. Changes made through a view write through to the backing array
+ * and vice versa. A copy is only made when a flat array is requested for a view that does not
+ * cover its backing array contiguously.
+ * <p>
+ * A view of a frozen array (see {@link MDAbstractArray#freeze()}) and all views derived from it
+ * are read-only: their <code>set</code> methods throw an {@link IllegalStateException}.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractArrayView<T>
+{
+    protected final Object backingArray;
+
+    protected final int offset;
+
+    protected final int[] dimensions;
+
+    protected final int[] strides;
+
+    protected final int size;
+
+    protected final boolean readOnly;
+
+    protected MDAbstractArrayView(Object backingArray, int offset, int[] dimensions,
+            int[] strides)
+    {
+        this(backingArray, offset, dimensions, strides, false);
+    }
+
+    protected MDAbstractArrayView(Object backingArray, int offset, int[] dimensions,
+            int[] strides, boolean readOnly)
+    {
+        assert backingArray != null;
+        assert dimensions != null;
+        assert strides != null;
+
+        if (dimensions.length != strides.length)
+        {
+            throw new IllegalArgumentException("Rank of dimensions (" + dimensions.length
+                    + ") and strides (" + strides.length + ") differ.");
+        }
+        if (dimensions.length == 0)
+        {
+            throw new IllegalArgumentException("A view needs to have a rank of at least 1.");
+        }
+        this.backingArray = backingArray;
+        this.offset = offset;
+        this.dimensions = dimensions;
+        this.strides = strides;
+        this.size = MDAbstractArray.getLength(dimensions);
+        this.readOnly = readOnly;
+        checkBounds();
+    }
+
+    private void checkBounds()
+    {
+        if (size == 0)
+        {
+            return;
+        }
+        long maxIndex = offset;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (strides[i] < 0)
+            {
+                throw new IllegalArgumentException("Stride " + i + " is negative (" + strides[i]
+                        + ")");
+            }
+            maxIndex += (long) (dimensions[i] - 1) * strides[i];
+        }
+        if (offset < 0 || maxIndex >= Array.getLength(backingArray))
+        {
+            throw new IndexOutOfBoundsException("View [" + offset + ", " + maxIndex
+                    + "] exceeds backing array of length " + Array.getLength(backingArray) + ".");
+        }
+    }
+
+    /**
+     * Returns <code>true</code>, if this view is read-only because it is a view of a frozen array.
+     */
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if this view is read-only.
+     */
+    protected void checkNotReadOnly()
+    {
+        if (readOnly)
+        {
+            throw new IllegalStateException("View of a frozen array is read-only.");
+        }
+    }
+
+    /**
+     * Returns the row-major strides of an array with the given <var>dimensions</var>.
+     */
+    public static int[] computeStrides(int[] dimensions)
+    {
+        final int[] strides = new int[dimensions.length];
+        int stride = 1;
+        for (int i = dimensions.length - 1; i >= 0; --i)
+        {
+            strides[i] = stride;
+            stride *= dimensions[i];
+        }
+        return strides;
+    }
+
+    /**
+     * Creates a new view of the same type on the same backing array.
+     */
+    protected abstract MDAbstractArrayView<T> createView(int newOffset, int[] newDimensions,
+            int[] newStrides);
+
+    /**
+     * Copies <var>count</var> elements that are <var>stride</var> apart in the backing array,
+     * starting at <var>srcPos</var>, to <var>dest</var>, starting at <var>destPos</var>.
+     */
+    protected abstract void copyStrided(int srcPos, int stride, Object dest, int destPos,
+            int count);
+
+    /**
+     * Return an object which has the same value as the element of the view specified by
+     * <var>indices</var>.
+     */
+    public abstract T getAsObject(int... indices);
+
+    /**
+     * Sets the element of the view specified by <var>indices</var> to the particular
+     * <var>value</var>.
+     */
+    public abstract void setToObject(T value, int... indices);
+
+    /**
+     * Returns the rank of the view.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the extent of the view along its <var>dim</var>-th axis.
+     */
+    public int size(int dim)
+    {
+        assert dim < dimensions.length;
+
+        return dimensions[dim];
+    }
+
+    /**
+     * Returns a copy of the dimensions of the view.
+     */
+    public int[] dimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns a copy of the strides of the view.
+     */
+    public int[] strides()
+    {
+        return strides.clone();
+    }
+
+    /**
+     * Returns the offset of the first element of the view in the backing array.
+     */
+    public int offset()
+    {
+        return offset;
+    }
+
+    /**
+     * Returns the number of elements in the view.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns <code>true</code>, if the elements of this view are stored in row-major order without
+     * gaps in the backing array.
+     */
+    public boolean isContiguous()
+    {
+        int expectedStride = 1;
+        for (int i = dimensions.length - 1; i >= 0; --i)
+        {
+            if (dimensions[i] != 1 && strides[i] != expectedStride)
+            {
+                return false;
+            }
+            expectedStride *= dimensions[i];
+        }
+        return true;
+    }
+
+    /**
+     * Computes the index in the backing array for the multi-dimensional <var>indices</var>
+     * provided.
+     */
+    public int computeIndex(int... indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+
+        int index = offset;
+        for (int i = 0; i < indices.length; ++i)
+        {
+            index += indices[i] * strides[i];
+        }
+        return index;
+    }
+
+    /**
+     * Computes the index in the backing array for the two-dimensional (<var>indexX, indexY</var>)
+     * provided.
+     */
+    public int computeIndex(int indexX, int indexY)
+    {
+        assert 2 == dimensions.length;
+
+        return offset + indexX * strides[0] + indexY * strides[1];
+    }
+
+    /**
+     * Computes the index in the backing array for the three-dimensional (<var>indexX, indexY,
+     * indexZ</var>) provided.
+     */
+    public int computeIndex(int indexX, int indexY, int indexZ)
+    {
+        assert 3 == dimensions.length;
+
+        return offset + indexX * strides[0] + indexY * strides[1] + indexZ * strides[2];
+    }
+
+    /**
+     * Returns a view with the <var>axis</var> fixed to <var>index</var>. The returned view has a
+     * rank one less than this view.
+     */
+    public MDAbstractArrayView<T> slice(int axis, int index)
+    {
+        checkAxis(axis);
+        if (dimensions.length == 1)
+        {
+            throw new IllegalArgumentException("Cannot slice a one-dimensional view.");
+        }
+        if (index < 0 || index >= dimensions[axis])
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for axis "
+                    + axis + " of size " + dimensions[axis] + ".");
+        }
+        return createView(offset + index * strides[axis], ArrayUtils.remove(dimensions, axis),
+                ArrayUtils.remove(strides, axis));
+    }
+
+    /**
+     * Returns a view with the <var>axis</var> restricted to the elements from <var>start</var>
+     * (inclusive) to <var>end</var> (exclusive), taking every <var>step</var>-th element.
+     */
+    public MDAbstractArrayView<T> range(int axis, int start, int end, int step)
+    {
+        checkAxis(axis);
+        if (step <= 0)
+        {
+            throw new IllegalArgumentException("Step needs to be positive (" + step + ").");
+        }
+        if (start < 0 || end > dimensions[axis] || start > end)
+        {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end
+                    + ") out of bounds for axis " + axis + " of size " + dimensions[axis] + ".");
+        }
+        final int[] newDimensions = dimensions.clone();
+        final int[] newStrides = strides.clone();
+        newDimensions[axis] = (end - start + step - 1) / step;
+        newStrides[axis] = strides[axis] * step;
+        return createView(offset + start * strides[axis], newDimensions, newStrides);
+    }
+
+    /**
+     * Returns a view of the block of size <var>blockDimensions</var> that starts at
+     * <var>blockOffset</var>.
+     */
+    public MDAbstractArrayView<T> block(int[] blockOffset, int[] blockDimensions)
+    {
+        if (blockOffset.length != dimensions.length || blockDimensions.length != dimensions.length)
+        {
+            throw new IllegalArgumentException("Block rank does not match view rank "
+                    + dimensions.length + ".");
+        }
+        int newOffset = offset;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (blockOffset[i] < 0 || blockDimensions[i] < 0
+                    || blockOffset[i] + blockDimensions[i] > dimensions[i])
+            {
+                throw new IndexOutOfBoundsException("Block out of bounds for axis " + i + ".");
+            }
+            newOffset += blockOffset[i] * strides[i];
+        }
+        return createView(newOffset, blockDimensions.clone(), strides.clone());
+    }
+
+    /**
+     * Returns a view with the axes permuted: axis <var>i</var> of the returned view is axis
+     * <var>axes[i]</var> of this view.
+     */
+    public MDAbstractArrayView<T> permute(int... axes)
+    {
+        if (axes.length != dimensions.length)
+        {
+            throw new IllegalArgumentException("Permutation " + ArrayUtils.toString(axes)
+                    + " does not match view rank " + dimensions.length + ".");
+        }
+        final boolean[] seen = new boolean[axes.length];
+        final int[] newDimensions = new int[axes.length];
+        final int[] newStrides = new int[axes.length];
+        for (int i = 0; i < axes.length; ++i)
+        {
+            checkAxis(axes[i]);
+            if (seen[axes[i]])
+            {
+                throw new IllegalArgumentException("Permutation " + ArrayUtils.toString(axes)
+                        + " contains axis " + axes[i] + " twice.");
+            }
+            seen[axes[i]] = true;
+            newDimensions[i] = dimensions[axes[i]];
+            newStrides[i] = strides[axes[i]];
+        }
+        return createView(offset, newDimensions, newStrides);
+    }
+
+    /**
+     * Returns a view with the order of all axes reversed. For a two-dimensional view, this is the
+     * transposed matrix.
+     */
+    public MDAbstractArrayView<T> transpose()
+    {
+        final int[] axes = new int[dimensions.length];
+        for (int i = 0; i < axes.length; ++i)
+        {
+            axes[i] = axes.length - 1 - i;
+        }
+        return permute(axes);
+    }
+
+    /**
+     * Returns a view with the <var>newDimensions</var> and the same elements in row-major order.
+     *
+     * @throws IllegalArgumentException If the number of elements differs or if the elements of this
+     *             view are not laid out such that the view can be reshaped without copying.
+     */
+    public MDAbstractArrayView<T> reshape(int... newDimensions)
+    {
+        if (MDAbstractArray.getLength(newDimensions) != size)
+        {
+            throw new IllegalArgumentException("Cannot reshape view of size " + size + " to "
+                    + ArrayUtils.toString(newDimensions) + ".");
+        }
+        final int[] newStrides = tryComputeReshapeStrides(newDimensions);
+        if (newStrides == null)
+        {
+            throw new IllegalArgumentException("View cannot be reshaped to "
+                    + ArrayUtils.toString(newDimensions) + " without copying.");
+        }
+        return createView(offset, newDimensions.clone(), newStrides);
+    }
+
+    /**
+     * Computes the strides of the reshaped view by matching groups of old axes to groups of new axes
+     * with the same number of elements. Each group of old axes needs to be contiguous in itself.
+     */
+    private int[] tryComputeReshapeStrides(int[] newDimensions)
+    {
+        final int[] newStrides = new int[newDimensions.length];
+        if (size == 0)
+        {
+            return computeStrides(newDimensions);
+        }
+        // Axes of length 1 do not matter for the layout.
+        int oldRank = 0;
+        final int[] oldDimensions = new int[dimensions.length];
+        final int[] oldStrides = new int[dimensions.length];
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (dimensions[i] != 1)
+            {
+                oldDimensions[oldRank] = dimensions[i];
+                oldStrides[oldRank] = strides[i];
+                ++oldRank;
+            }
+        }
+        int oi = 0;
+        int oj = 1;
+        int ni = 0;
+        int nj = 1;
+        while (ni < newDimensions.length && oi < oldRank)
+        {
+            long np = newDimensions[ni];
+            long op = oldDimensions[oi];
+            while (np != op)
+            {
+                if (np < op)
+                {
+                    np *= newDimensions[nj++];
+                } else
+                {
+                    op *= oldDimensions[oj++];
+                }
+            }
+            for (int ok = oi; ok < oj - 1; ++ok)
+            {
+                if (oldStrides[ok] != oldDimensions[ok + 1] * oldStrides[ok + 1])
+                {
+                    return null;
+                }
+            }
+            newStrides[nj - 1] = oldStrides[oj - 1];
+            for (int nk = nj - 1; nk > ni; --nk)
+            {
+                newStrides[nk - 1] = newStrides[nk] * newDimensions[nk];
+            }
+            ni = nj++;
+            oi = oj++;
+        }
+        // Trailing axes of length 1.
+        for (int nk = ni; nk < newDimensions.length; ++nk)
+        {
+            newStrides[nk] = 1;
+        }
+        return newStrides;
+    }
+
+    private void checkAxis(int axis)
+    {
+        if (axis < 0 || axis >= dimensions.length)
+        {
+            throw new IllegalArgumentException("Axis " + axis + " out of range for view of rank "
+                    + dimensions.length + ".");
+        }
+    }
+
+    /**
+     * Returns <code>true</code>, if this view covers its backing array exactly and in row-major
+     * order, so that the backing array can be used as the flat array of the view.
+     */
+    protected boolean isBackingArrayFlatArray()
+    {
+        return offset == 0 && size == Array.getLength(backingArray) && isContiguous();
+    }
+
+    /**
+     * Copies the elements of this view in row-major order to <var>dest</var>.
+     */
+    protected void copyToFlatArray(Object dest)
+    {
+        if (size == 0)
+        {
+            return;
+        }
+        if (isContiguous())
+        {
+            System.arraycopy(backingArray, offset, dest, 0, size);
+            return;
+        }
+        final int lastAxis = dimensions.length - 1;
+        final int runLength = dimensions[lastAxis];
+        final int runStride = strides[lastAxis];
+        final int[] counter = new int[lastAxis];
+        int srcPos = offset;
+        for (int destPos = 0; destPos < size; destPos += runLength)
+        {
+            if (runStride == 1)
+            {
+                System.arraycopy(backingArray, srcPos, dest, destPos, runLength);
+            } else
+            {
+                copyStrided(srcPos, runStride, dest, destPos, runLength);
+            }
+            // Advance the counter over the outer axes.
+            for (int i = lastAxis - 1; i >= 0; --i)
+            {
+                srcPos += strides[i];
+                if (++counter[i] < dimensions[i])
+                {
+                    break;
+                }
+                srcPos -= counter[i] * strides[i];
+                counter[i] = 0;
+            }
+        }
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions));
+        b.append(", offset=");
+        b.append(offset);
+        b.append(", strides=");
+        b.append(ArrayUtils.toString(strides));
+        b.append(')');
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Base class of an appendable multi-dimensional array that stores its hyper-rows in chunks of a
+ * fixed number of hyper-rows. Growing the array allocates new chunks, but never copies the
+ * hyper-rows that are already stored, and shrinking it releases chunks that are no longer used.
+ * This is meant for streaming buffers that grow to large sizes, where copying the whole array on
+ * growth, as {@link MDAbstractArray#incNumberOfHyperRows(int)} does, would take too long or
+ * would temporarily need twice the memory.
+ * <p>
+ * The number of hyper-rows per chunk is a power of 2.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractChunkedArray<T>
+{
+    /** The number of elements that a chunk of the default size holds at least. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    protected final int[] dimensions;
+
+    protected final int[] strides;
+
+    protected final int hyperRowLength;
+
+    /** The log2 of the number of hyper-rows per chunk. */
+    protected final int chunkShift;
+
+    /** The number of hyper-rows per chunk minus 1. */
+    protected final int chunkMask;
+
+    protected int numberOfChunks;
+
+    /**
+     * Creates the array with no hyper-rows. Sub-classes need to call
+     * {@link #incNumberOfHyperRows(int)} with <code>dimensions[0]</code> to allocate the initial
+     * hyper-rows.
+     */
+    protected MDAbstractChunkedArray(int[] dimensions, int hyperRowsPerChunk)
+    {
+        assert dimensions != null;
+
+        if (dimensions.length == 0)
+        {
+            throw new IllegalArgumentException(
+                    "A chunked array needs to have a rank of at least 1.");
+        }
+        if (hyperRowsPerChunk <= 0 || Integer.bitCount(hyperRowsPerChunk) != 1)
+        {
+            throw new IllegalArgumentException("Hyper-rows per chunk (" + hyperRowsPerChunk
+                    + ") is not a power of 2.");
+        }
+        this.dimensions = dimensions.clone();
+        this.dimensions[0] = 0;
+        this.strides = MDAbstractArrayView.computeStrides(this.dimensions);
+        this.hyperRowLength = strides[0];
+        if ((long) hyperRowLength * hyperRowsPerChunk > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Chunk of " + hyperRowsPerChunk
+                    + " hyper-rows of length " + hyperRowLength + " is too large.");
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(hyperRowsPerChunk);
+        this.chunkMask = hyperRowsPerChunk - 1;
+    }
+
+    /**
+     * Returns the default number of hyper-rows per chunk for an array with
+     * <var>dimensions</var>: the smallest power of 2 such that a chunk holds at least
+     * {@link #DEFAULT_CHUNK_SIZE} elements.
+     */
+    public static int getDefaultHyperRowsPerChunk(int[] dimensions)
+    {
+        int hyperRowLength = 1;
+        for (int i = 1; i < dimensions.length; ++i)
+        {
+            hyperRowLength *= dimensions[i];
+        }
+        if (hyperRowLength >= DEFAULT_CHUNK_SIZE)
+        {
+            return 1;
+        }
+        final int rows = (DEFAULT_CHUNK_SIZE + Math.max(1, hyperRowLength) - 1)
+                / Math.max(1, hyperRowLength);
+        return (Integer.bitCount(rows) == 1) ? rows : Integer.highestOneBit(rows) << 1;
+    }
+
+    /**
+     * Adapts the number of allocated chunks to <var>newNumberOfChunks</var>, allocating new
+     * chunks or releasing chunks at the end.
+     */
+    protected abstract void adaptNumberOfChunks(int newNumberOfChunks);
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public abstract T getAsObject(int... indices);
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public abstract void setToObject(T value, int... indices);
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the extent of the array along its <var>dim</var>-th axis.
+     */
+    public int size(int dim)
+    {
+        assert dim < dimensions.length;
+
+        return dimensions[dim];
+    }
+
+    /**
+     * Returns a copy of the dimensions of the array.
+     */
+    public int[] dimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns the number of elements in the array.
+     */
+    public int size()
+    {
+        return dimensions[0] * hyperRowLength;
+    }
+
+    /**
+     * Returns the number of hyper-rows in the array.
+     */
+    public int numberOfHyperRows()
+    {
+        return dimensions[0];
+    }
+
+    /**
+     * Returns the number of hyper-rows that a chunk holds.
+     */
+    public int hyperRowsPerChunk()
+    {
+        return chunkMask + 1;
+    }
+
+    /**
+     * Returns the number of hyper-rows the array can hold without allocating new chunks.
+     */
+    public int capacityHyperRows()
+    {
+        return numberOfChunks << chunkShift;
+    }
+
+    /**
+     * Increase the number of hyper-rows by <var>count</var>. Allocates new chunks if needed, but
+     * never copies existing hyper-rows.
+     * 
+     * @return The new number of rows.
+     */
+    public int incNumberOfHyperRows(int count)
+    {
+        final int newNumberOfHyperRows = dimensions[0] + count;
+        final int requiredChunks = (int) (((long) newNumberOfHyperRows + chunkMask) >>> chunkShift);
+        if (requiredChunks > numberOfChunks)
+        {
+            adaptNumberOfChunks(requiredChunks);
+            numberOfChunks = requiredChunks;
+        }
+        dimensions[0] = newNumberOfHyperRows;
+        return newNumberOfHyperRows;
+    }
+
+    /**
+     * Decrease the number of hyper-rows by <var>count</var>. Chunks are kept for re-use, call
+     * {@link #trimToSize()} to release them.
+     * 
+     * @return The new number of rows.
+     */
+    public int decNumberOfHyperRows(int count)
+    {
+        if (count > dimensions[0])
+        {
+            throw new IllegalArgumentException("Cannot remove " + count + " hyper-rows from "
+                    + dimensions[0] + " hyper-rows.");
+        }
+        dimensions[0] -= count;
+        return dimensions[0];
+    }
+
+    /**
+     * Releases all chunks that are not needed to hold the current hyper-rows.
+     */
+    public void trimToSize()
+    {
+        final int requiredChunks = (dimensions[0] + chunkMask) >>> chunkShift;
+        if (requiredChunks < numberOfChunks)
+        {
+            adaptNumberOfChunks(requiredChunks);
+            numberOfChunks = requiredChunks;
+        }
+    }
+
+    /**
+     * Computes the index of the element defined by <var>indices</var> in its chunk. The chunk is
+     * <code>indices[0] &gt;&gt;&gt; chunkShift</code>.
+     */
+    public int computeIndexInChunk(int... indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+
+        int index = (indices[0] & chunkMask) * hyperRowLength;
+        for (int i = 1; i < indices.length; ++i)
+        {
+            index += strides[i] * indices[i];
+        }
+        return index;
+    }
+
+    /**
+     * Computes the index of the two-dimensional (<var>indexX, indexY</var>) in its chunk.
+     */
+    public int computeIndexInChunk(int indexX, int indexY)
+    {
+        assert 2 == dimensions.length;
+
+        return (indexX & chunkMask) * hyperRowLength + indexY;
+    }
+
+    /**
+     * Computes the index of the three-dimensional (<var>indexX, indexY, indexZ</var>) in its
+     * chunk.
+     */
+    public int computeIndexInChunk(int indexX, int indexY, int indexZ)
+    {
+        assert 3 == dimensions.length;
+
+        return (indexX & chunkMask) * hyperRowLength + strides[1] * indexY + indexZ;
+    }
+
+    /**
+     * Checks that a source array of <var>srcLength</var> elements holds <var>count</var>
+     * hyper-rows starting at <var>srcPos</var>.
+     */
+    protected void checkSourceRange(int srcLength, int srcPos, int count)
+    {
+        if (srcPos < 0 || (long) srcPos + (long) count * hyperRowLength > srcLength)
+        {
+            throw new IndexOutOfBoundsException("Source array of length " + srcLength
+                    + " does not hold " + count + " hyper-rows of length " + hyperRowLength
+                    + " starting at " + srcPos + ".");
+        }
+    }
+
+    /**
+     * Checks that <var>hyperRow</var> is in <code>[0, numberOfHyperRows())</code>.
+     */
+    protected void checkHyperRow(int hyperRow)
+    {
+        if (hyperRow < 0 || hyperRow >= dimensions[0])
+        {
+            throw new IndexOutOfBoundsException("Hyper-row " + hyperRow + " out of range [0, "
+                    + dimensions[0] + ").");
+        }
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions));
+        b.append(", chunks=");
+        b.append(numberOfChunks);
+        b.append('x');
+        b.append(hyperRowsPerChunk());
+        b.append(')');
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Base class of a multi-dimensional array that many threads can append hyper-rows to
+ * concurrently without locking.
+ * <p>
+ * Appending is done in three steps:
+ * <ol>
+ * <li>A producer reserves hyper-rows with {@link #reserveHyperRows(int)}, which atomically hands
+ * out the index of the first reserved hyper-row.</li>
+ * <li>The producer writes the reserved hyper-rows. No other thread writes them, so there is no
+ * contention.</li>
+ * <li>The producer commits the hyper-rows with {@link #commitHyperRows(int, int)}.</li>
+ * </ol>
+ * The sub-classes offer <code>appendHyperRows()</code> methods that do all three steps. A producer
+ * that reserves hyper-rows itself needs to commit them even if writing fails, as no hyper-row
+ * after an uncommitted one is ever published.
+ * <p>
+ * Hyper-rows can be committed in any order, but readers only see the <i>published prefix</i>: the
+ * hyper-rows <code>[0, numberOfPublishedHyperRows())</code>, which are all committed. All writes
+ * to a published hyper-row are visible to a thread that reads it.
+ * <p>
+ * The hyper-rows are stored in segments. The first segment holds
+ * <var>initialSegmentHyperRows</var> hyper-rows, and each further segment is twice as large as
+ * the one before. When the array grows, a new segment is allocated, but existing segments are
+ * never copied.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractConcurrentArray<T>
+{
+    /** The number of elements that the first segment of the default size holds at most. */
+    public static final int DEFAULT_INITIAL_SEGMENT_SIZE = 1 << 16;
+
+    /**
+     * A segment of hyper-rows together with the flags that mark which hyper-rows have been
+     * committed.
+     */
+    protected static final class Segment
+    {
+        final Object data;
+
+        final AtomicIntegerArray committed;
+
+        Segment(Object data, int numberOfHyperRows)
+        {
+            this.data = data;
+            this.committed = new AtomicIntegerArray(numberOfHyperRows);
+        }
+    }
+
+    protected final int[] hyperRowDimensions;
+
+    protected final int[] strides;
+
+    protected final int hyperRowLength;
+
+    /** The log2 of the number of hyper-rows of the first segment. */
+    protected final int firstSegmentShift;
+
+    /** The maximal number of hyper-rows the array can hold. */
+    protected final int maxHyperRows;
+
+    private final AtomicReferenceArray<Segment> segments;
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Creates an array with <code>dimensions[0]</code> published hyper-rows that are all 0.
+     */
+    protected MDAbstractConcurrentArray(int[] dimensions, int initialSegmentHyperRows)
+    {
+        assert dimensions != null;
+
+        if (dimensions.length == 0)
+        {
+            throw new IllegalArgumentException(
+                    "A concurrent array needs to have a rank of at least 1.");
+        }
+        if (initialSegmentHyperRows <= 0 || Integer.bitCount(initialSegmentHyperRows) != 1)
+        {
+            throw new IllegalArgumentException("Initial segment hyper-rows ("
+                    + initialSegmentHyperRows + ") is not a power of 2.");
+        }
+        this.hyperRowDimensions = ArrayUtils.subarray(dimensions, 1, dimensions.length);
+        this.strides = MDAbstractArrayView.computeStrides(dimensions);
+        this.hyperRowLength = strides[0];
+        this.firstSegmentShift = Integer.numberOfTrailingZeros(initialSegmentHyperRows);
+        this.maxHyperRows =
+                Math.min(Integer.MAX_VALUE - initialSegmentHyperRows,
+                        Integer.MAX_VALUE / Math.max(1, hyperRowLength));
+        this.segments = new AtomicReferenceArray<Segment>(getSegmentIndex(maxHyperRows - 1) + 1);
+        if (dimensions[0] > 0)
+        {
+            commitHyperRows(reserveHyperRows(dimensions[0]), dimensions[0]);
+        }
+    }
+
+    /**
+     * Returns the default number of hyper-rows in the first segment for an array with
+     * <var>dimensions</var>: the largest power of 2 such that the first segment holds at most
+     * {@link #DEFAULT_INITIAL_SEGMENT_SIZE} elements, but at least 1.
+     */
+    public static int getDefaultInitialSegmentHyperRows(int[] dimensions)
+    {
+        int hyperRowLength = 1;
+        for (int i = 1; i < dimensions.length; ++i)
+        {
+            hyperRowLength *= dimensions[i];
+        }
+        return Integer.highestOneBit(Math.max(1, DEFAULT_INITIAL_SEGMENT_SIZE
+                / Math.max(1, hyperRowLength)));
+    }
+
+    /**
+     * Creates the data array of a segment of <var>length</var> elements.
+     */
+    protected abstract Object createSegmentData(int length);
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public abstract T getAsObject(int... indices);
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public abstract void setToObject(T value, int... indices);
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return hyperRowDimensions.length + 1;
+    }
+
+    /**
+     * Returns the dimensions of the published prefix of the array.
+     */
+    public int[] dimensions()
+    {
+        final int[] result = new int[hyperRowDimensions.length + 1];
+        result[0] = published.get();
+        System.arraycopy(hyperRowDimensions, 0, result, 1, hyperRowDimensions.length);
+        return result;
+    }
+
+    /**
+     * Returns the number of elements in a hyper-row.
+     */
+    public int getHyperRowLength()
+    {
+        return hyperRowLength;
+    }
+
+    /**
+     * Returns the number of hyper-rows that are published, i.e. visible to readers.
+     */
+    public int numberOfPublishedHyperRows()
+    {
+        return published.get();
+    }
+
+    /**
+     * Returns the number of hyper-rows that have been reserved, including those that are not yet
+     * committed.
+     */
+    public int numberOfReservedHyperRows()
+    {
+        return reserved.get();
+    }
+
+    /**
+     * Atomically reserves <var>count</var> hyper-rows for writing.
+     * 
+     * @return The index of the first reserved hyper-row.
+     * @throws IllegalStateException If the array cannot hold <var>count</var> more hyper-rows.
+     */
+    public int reserveHyperRows(int count)
+    {
+        if (count <= 0)
+        {
+            throw new IllegalArgumentException("Count " + count + " needs to be positive.");
+        }
+        while (true)
+        {
+            final int current = reserved.get();
+            final long next = (long) current + count;
+            if (next > maxHyperRows)
+            {
+                throw new IllegalStateException("Cannot reserve " + count + " hyper-rows, "
+                        + current + " of at most " + maxHyperRows + " hyper-rows are in use.");
+            }
+            if (reserved.compareAndSet(current, (int) next))
+            {
+                // Allocate the segments up front, so that writers and readers find them.
+                for (int i = getSegmentIndex(current); i <= getSegmentIndex((int) next - 1); ++i)
+                {
+                    getSegment(i);
+                }
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Commits the <var>count</var> hyper-rows starting at <var>firstHyperRow</var> that have
+     * been reserved and written before. Publishes all hyper-rows that are committed and follow
+     * the current published prefix without a gap.
+     */
+    public void commitHyperRows(int firstHyperRow, int count)
+    {
+        checkReserved(firstHyperRow, count);
+        for (int row = firstHyperRow; row < firstHyperRow + count; ++row)
+        {
+            final int segmentIndex = getSegmentIndex(row);
+            getSegment(segmentIndex).committed.set(row - getSegmentStart(segmentIndex), 1);
+        }
+        advancePublication();
+    }
+
+    private void advancePublication()
+    {
+        while (true)
+        {
+            final int current = published.get();
+            final int limit = reserved.get();
+            int next = current;
+            while (next < limit && isCommitted(next))
+            {
+                ++next;
+            }
+            if (next == current || published.compareAndSet(current, next))
+            {
+                return;
+            }
+        }
+    }
+
+    private boolean isCommitted(int hyperRow)
+    {
+        final int segmentIndex = getSegmentIndex(hyperRow);
+        final int rowInSegment = hyperRow - getSegmentStart(segmentIndex);
+        return getSegment(segmentIndex).committed.get(rowInSegment) != 0;
+    }
+
+    /**
+     * Returns the index of the segment that holds <var>hyperRow</var>.
+     */
+    protected int getSegmentIndex(int hyperRow)
+    {
+        return 31 - Integer.numberOfLeadingZeros(hyperRow + (1 << firstSegmentShift))
+                - firstSegmentShift;
+    }
+
+    /**
+     * Returns the index of the first hyper-row in the segment with <var>segmentIndex</var>.
+     */
+    protected int getSegmentStart(int segmentIndex)
+    {
+        return (1 << (firstSegmentShift + segmentIndex)) - (1 << firstSegmentShift);
+    }
+
+    /**
+     * Returns the index of the hyper-row after the last hyper-row in the segment with
+     * <var>segmentIndex</var>.
+     */
+    protected int getSegmentEnd(int segmentIndex)
+    {
+        final long end = (1L << (firstSegmentShift + segmentIndex + 1)) - (1L << firstSegmentShift);
+        return (int) Math.min(maxHyperRows, end);
+    }
+
+    /**
+     * Returns the segment with <var>segmentIndex</var>, allocating it if it does not yet exist.
+     */
+    protected Segment getSegment(int segmentIndex)
+    {
+        final Segment segment = segments.get(segmentIndex);
+        if (segment != null)
+        {
+            return segment;
+        }
+        final int rows = getSegmentEnd(segmentIndex) - getSegmentStart(segmentIndex);
+        final Segment newSegment = new Segment(createSegmentData(rows * hyperRowLength), rows);
+        if (segments.compareAndSet(segmentIndex, null, newSegment))
+        {
+            return newSegment;
+        }
+        return segments.get(segmentIndex);
+    }
+
+    /**
+     * Computes the index of the element defined by <var>indices</var> in the segment with
+     * <var>segmentIndex</var>.
+     */
+    protected int computeIndexInSegment(int segmentIndex, int... indices)
+    {
+        assert indices.length == strides.length;
+
+        int index = (indices[0] - getSegmentStart(segmentIndex)) * hyperRowLength;
+        for (int i = 1; i < indices.length; ++i)
+        {
+            index += strides[i] * indices[i];
+        }
+        return index;
+    }
+
+    /**
+     * Checks that a source array of <var>srcLength</var> elements holds <var>count</var>
+     * hyper-rows starting at <var>srcPos</var>.
+     */
+    protected void checkSourceRange(int srcLength, int srcPos, int count)
+    {
+        if (srcPos < 0 || (long) srcPos + (long) count * hyperRowLength > srcLength)
+        {
+            throw new IndexOutOfBoundsException("Source array of length " + srcLength
+                    + " does not hold " + count + " hyper-rows of length " + hyperRowLength
+                    + " starting at " + srcPos + ".");
+        }
+    }
+
+    /**
+     * Checks that <var>hyperRow</var> is published.
+     */
+    protected void checkPublished(int hyperRow)
+    {
+        if (hyperRow < 0 || hyperRow >= published.get())
+        {
+            throw new IndexOutOfBoundsException("Hyper-row " + hyperRow
+                    + " is not published, published hyper-rows: [0, " + published.get() + ").");
+        }
+    }
+
+    /**
+     * Checks that the <var>count</var> hyper-rows starting at <var>firstHyperRow</var> are
+     * reserved.
+     */
+    protected void checkReserved(int firstHyperRow, int count)
+    {
+        if (firstHyperRow < 0 || count < 0 || (long) firstHyperRow + count > reserved.get())
+        {
+            throw new IndexOutOfBoundsException("Hyper-rows [" + firstHyperRow + ", "
+                    + ((long) firstHyperRow + count) + ") are not reserved, reserved hyper-rows: "
+                    + "[0, " + reserved.get() + ").");
+        }
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions()));
+        b.append(", reserved=");
+        b.append(reserved.get());
+        b.append(')');
+        return b.toString();
+    }
+
+}
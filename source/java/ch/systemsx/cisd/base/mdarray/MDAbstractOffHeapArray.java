@@ -0,0 +1,360 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * Base class of a multi-dimensional array that is stored off-heap and can thus hold more than
+ * <code>Integer.MAX_VALUE</code> elements. The <var>dimensions</var> of an array are provided as a
+ * <code>long[]</code> and linear indices are of type <code>long</code>.
+ * <p>
+ * The elements are stored in native byte order in a sequence of direct {@link ByteBuffer}s, called
+ * <i>segments</i>. All segments but the last have the same length, which is a power of two, so that
+ * finding an element only needs a shift and a mask. Contrary to {@link MDAbstractArray}, the
+ * dimensions of an off-heap array are fixed.
+ * <p>
+ * The memory of the segments is not part of the Java heap and is limited by
+ * <code>-XX:MaxDirectMemorySize</code> (which defaults to the maximal heap size). The JVM frees it
+ * only once the segments have been garbage collected, which a small heap may not trigger in time.
+ * Call {@link #close()} as soon as an array is no longer needed, so that the segments can be
+ * reclaimed by the next garbage collection even while the array object is still referenced.
+ * <p>
+ * {@link #copyToByte(long, byte[], int, int, NativeData.ByteOrder)} and
+ * {@link #copyFromByte(byte[], int, long, int, NativeData.ByteOrder)} do not use the conversion
+ * methods of {@link NativeData}, as these work on Java arrays only and would need an additional
+ * copy through the heap. They use NIO views of the segments with the requested byte order instead.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractOffHeapArray<T> implements Closeable
+{
+    /** The default size of a segment in bytes, as a power of 2 (1 GB). */
+    static final int DEFAULT_SEGMENT_SIZE_SHIFT = 30;
+
+    protected final long[] dimensions;
+
+    protected final long size;
+
+    /** The number of elements in a segment, as a power of 2. */
+    protected final int segmentShift;
+
+    protected final int segmentLength;
+
+    protected final long segmentMask;
+
+    protected final ByteBuffer[] segments;
+
+    private boolean closed;
+
+    protected MDAbstractOffHeapArray(long[] dimensions, int elementSize, int segmentSizeShift)
+    {
+        assert dimensions != null;
+        assert Integer.bitCount(elementSize) == 1;
+        assert segmentSizeShift >= 3 && segmentSizeShift <= DEFAULT_SEGMENT_SIZE_SHIFT;
+
+        this.dimensions = dimensions.clone();
+        this.size = getLength(dimensions);
+        this.segmentShift = segmentSizeShift - Integer.numberOfTrailingZeros(elementSize);
+        this.segmentLength = 1 << segmentShift;
+        this.segmentMask = segmentLength - 1;
+        final long numberOfSegments = (size + segmentMask) >>> segmentShift;
+        this.segments = new ByteBuffer[(int) numberOfSegments];
+        for (int i = 0; i < segments.length; ++i)
+        {
+            final long segmentElements = Math.min(segmentLength, size - ((long) i << segmentShift));
+            segments[i] =
+                    ByteBuffer.allocateDirect((int) segmentElements * elementSize).order(
+                            java.nio.ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the extent of the array along its <var>dim</var>-th axis.
+     */
+    public long size(int dim)
+    {
+        assert dim < dimensions.length;
+
+        return dimensions[dim];
+    }
+
+    /**
+     * Returns a copy of the dimensions of the multi-dimensional array.
+     */
+    public long[] longDimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns a copy of the dimensions of the multi-dimensional array as <code>int[]</code>.
+     *
+     * @throws IllegalArgumentException If one of the dimensions overflows the <code>int</code>
+     *             type.
+     */
+    public int[] dimensions()
+    {
+        return MDAbstractArray.toInt(dimensions);
+    }
+
+    /**
+     * Returns the number of elements in the array.
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the number of segments the elements of this array are stored in.
+     */
+    public int numberOfSegments()
+    {
+        return segments.length;
+    }
+
+    /**
+     * Releases the segments of this array. The off-heap memory is freed by the next garbage
+     * collection that finds no other reference to the segments. Any access to the elements after
+     * closing throws an {@link IllegalStateException}. Closing an array a second time has no
+     * effect.
+     * <p>
+     * <b>Closing an array must not happen concurrently with accessing it.</b>
+     */
+    @Override
+    public void close()
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+        Arrays.fill(segments, null);
+        releaseViews();
+    }
+
+    /**
+     * Returns <code>true</code> if this array has been closed.
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Drops all references to the typed views of the segments.
+     */
+    protected abstract void releaseViews();
+
+    /**
+     * Return an object which has the same value as the element of the array specified by
+     * <var>linearIndex</var>.
+     */
+    public abstract T getAsObject(long linearIndex);
+
+    /**
+     * Return an object which has the same value as the element of the array specified by
+     * <var>indices</var>.
+     */
+    public abstract T getAsObject(long... indices);
+
+    /**
+     * Sets the element of the array specified by <var>indices</var> to the particular
+     * <var>value</var>.
+     */
+    public abstract void setToObject(T value, long... indices);
+
+    /**
+     * Sets the element of the array specified by <var>linearIndex</var> to the particular
+     * <var>value</var>.
+     */
+    public abstract void setToObject(T value, long linearIndex);
+
+    /**
+     * Copies <var>length</var> elements, starting at <var>linearIndex</var>, into the byte array
+     * <var>dest</var>, starting at <var>destStart</var>, using the byte order
+     * <var>byteOrder</var>.
+     */
+    public abstract void copyToByte(long linearIndex, byte[] dest, int destStart, int length,
+            NativeData.ByteOrder byteOrder);
+
+    /**
+     * Copies <var>length</var> elements from the byte array <var>src</var>, starting at
+     * <var>srcStart</var> and encoded in byte order <var>byteOrder</var>, into this array,
+     * starting at <var>linearIndex</var>.
+     */
+    public abstract void copyFromByte(byte[] src, int srcStart, long linearIndex, int length,
+            NativeData.ByteOrder byteOrder);
+
+    /**
+     * Computes the linear index for the multi-dimensional <var>indices</var> provided.
+     */
+    public long computeIndex(long... indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+
+        long index = indices[0];
+        for (int i = 1; i < indices.length; ++i)
+        {
+            index = index * dimensions[i] + indices[i];
+        }
+        return index;
+    }
+
+    /**
+     * Computes the linear index for the two-dimensional (<var>indexX, indexY</var>) provided.
+     */
+    public long computeIndex(long indexX, long indexY)
+    {
+        assert 2 == dimensions.length;
+
+        return dimensions[1] * indexX + indexY;
+    }
+
+    /**
+     * Computes the linear index for the three-dimensional (<var>indexX, indexY, indexZ</var>)
+     * provided.
+     */
+    public long computeIndex(long indexX, long indexY, long indexZ)
+    {
+        assert 3 == dimensions.length;
+
+        return dimensions[2] * (dimensions[1] * indexX + indexY) + indexZ;
+    }
+
+    /**
+     * Computes the multi-dimensional index from the <var>linearIndex</var>.
+     */
+    public long[] computeReverseIndex(long linearIndex)
+    {
+        final long[] index = new long[dimensions.length];
+        long workIndex = linearIndex;
+        for (int i = dimensions.length - 1; i >= 0; --i)
+        {
+            index[i] = workIndex % dimensions[i];
+            workIndex /= dimensions[i];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the segment that holds the element at <var>linearIndex</var>.
+     */
+    protected final int segment(long linearIndex)
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Array is closed.");
+        }
+        return (int) (linearIndex >>> segmentShift);
+    }
+
+    /**
+     * Returns the index of the element at <var>linearIndex</var> within its segment.
+     */
+    protected final int offset(long linearIndex)
+    {
+        return (int) (linearIndex & segmentMask);
+    }
+
+    protected final void checkRange(long linearIndex, int length)
+    {
+        if (linearIndex < 0 || length < 0 || linearIndex > size - length)
+        {
+            throw new IndexOutOfBoundsException("Range [" + linearIndex + ", "
+                    + (linearIndex + length) + ") is out of bounds [0, " + size + ").");
+        }
+    }
+
+    static java.nio.ByteOrder getNioByteOrder(NativeData.ByteOrder byteOrder)
+    {
+        switch (byteOrder)
+        {
+            case LITTLE_ENDIAN:
+                return java.nio.ByteOrder.LITTLE_ENDIAN;
+            case BIG_ENDIAN:
+                return java.nio.ByteOrder.BIG_ENDIAN;
+            default:
+                return java.nio.ByteOrder.nativeOrder();
+        }
+    }
+
+    /**
+     * Returns the one-dimensional length of the multi-dimensional array defined by
+     * <var>dimensions</var>.
+     *
+     * @throws IllegalArgumentException If <var>dimensions</var> overflow the <code>long</code>
+     *             type.
+     */
+    public static long getLength(final long[] dimensions)
+    {
+        assert dimensions != null;
+
+        if (dimensions.length == 0)
+        {
+            return 0;
+        }
+        long length = 1;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (dimensions[i] < 0)
+            {
+                throw new IllegalArgumentException("Dimension " + i + " is negative ("
+                        + dimensions[i] + ")");
+            }
+            if (dimensions[i] != 0 && length > Long.MAX_VALUE / dimensions[i])
+            {
+                throw new IllegalArgumentException("Length is too large");
+            }
+            length *= dimensions[i];
+        }
+        return length;
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions));
+        b.append(')');
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Base class of a sparse multi-dimensional array that only stores its non-zero entries. The
+ * entries are kept in row-major order in primitive arrays, with an index in one of the
+ * {@link SparseFormat}s.
+ * <p>
+ * Reading an element is a binary search over the non-zero entries (of the hyper-row for
+ * {@link SparseFormat#CSR}). Setting an element to a non-zero value that has been 0 before, or to
+ * 0, inserts or removes an entry, which shifts all following entries. Thus sparse arrays are best
+ * built in row-major order or converted from dense arrays.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractSparseArray<T>
+{
+    protected final int[] dimensions;
+
+    protected final int[] strides;
+
+    protected final int size;
+
+    protected SparseIndex index;
+
+    /** The values of the non-zero entries, a primitive array. */
+    protected Object values;
+
+    protected MDAbstractSparseArray(int[] dimensions)
+    {
+        assert dimensions != null;
+
+        if (dimensions.length == 0)
+        {
+            throw new IllegalArgumentException(
+                    "A sparse array needs to have a rank of at least 1.");
+        }
+        this.dimensions = dimensions.clone();
+        this.strides = MDAbstractArrayView.computeStrides(dimensions);
+        this.size = MDAbstractArray.getLength(dimensions);
+    }
+
+    /**
+     * Initializes the entries from the first <var>count</var> elements of
+     * <var>sortedLinearIndices</var> and <var>initialValues</var>. Takes ownership of both arrays.
+     */
+    protected void initialize(SparseFormat format, int[] sortedLinearIndices,
+            Object initialValues, int count)
+    {
+        this.index = SparseIndex.create(format, dimensions, sortedLinearIndices, count);
+        this.values = initialValues;
+    }
+
+    /**
+     * Creates a primitive array of <var>length</var> for the values.
+     */
+    protected abstract Object createValues(int length);
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public abstract T getAsObject(int... indices);
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public abstract void setToObject(T value, int... indices);
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the extent of the array along its <var>dim</var>-th axis.
+     */
+    public int size(int dim)
+    {
+        assert dim < dimensions.length;
+
+        return dimensions[dim];
+    }
+
+    /**
+     * Returns a copy of the dimensions of the array.
+     */
+    public int[] dimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns the number of elements in the array, including the zeros.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the number of non-zero entries that are stored.
+     */
+    public int numberOfNonZeros()
+    {
+        return index.size();
+    }
+
+    /**
+     * Returns the storage format of the index.
+     */
+    public SparseFormat getFormat()
+    {
+        return index.getFormat();
+    }
+
+    /**
+     * Returns a copy of the linear indices of the non-zero entries, in ascending order.
+     */
+    public int[] getNonZeroLinearIndices()
+    {
+        return ArrayUtils.subarray(index.getLinearIndices(), 0, index.size());
+    }
+
+    /**
+     * Computes the linear index for the multi-dimensional <var>indices</var> provided.
+     */
+    public int computeIndex(int... indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+
+        int linearIndex = indices[indices.length - 1];
+        for (int i = 0; i < indices.length - 1; ++i)
+        {
+            linearIndex += strides[i] * indices[i];
+        }
+        return linearIndex;
+    }
+
+    /**
+     * Computes the linear index for the two-dimensional (<var>indexX, indexY</var>) provided.
+     */
+    public int computeIndex(int indexX, int indexY)
+    {
+        assert 2 == dimensions.length;
+
+        return strides[0] * indexX + indexY;
+    }
+
+    /**
+     * Computes the linear index for the three-dimensional (<var>indexX, indexY, indexZ</var>)
+     * provided.
+     */
+    public int computeIndex(int indexX, int indexY, int indexZ)
+    {
+        assert 3 == dimensions.length;
+
+        return strides[0] * indexX + strides[1] * indexY + indexZ;
+    }
+
+    /**
+     * Checks that <var>linearIndex</var> is an index of this array.
+     */
+    protected void checkLinearIndex(int linearIndex)
+    {
+        if (linearIndex < 0 || linearIndex >= size)
+        {
+            throw new IndexOutOfBoundsException("Linear index " + linearIndex
+                    + " is out of range [0, " + size + ").");
+        }
+    }
+
+    /**
+     * Computes the multi-dimensional index from the <var>linearIndex</var> into
+     * <var>indices</var>.
+     */
+    protected void computeReverseIndex(int linearIndex, int[] indices)
+    {
+        int workIndex = linearIndex;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            indices[i] = workIndex / strides[i];
+            workIndex -= indices[i] * strides[i];
+        }
+    }
+
+    /**
+     * Returns the position of the entry with <var>linearIndex</var>, inserting an entry if there
+     * is none yet.
+     */
+    protected int findOrInsert(int linearIndex)
+    {
+        final int pos = index.find(linearIndex);
+        if (pos >= 0)
+        {
+            return pos;
+        }
+        final int insertionPoint = -(pos + 1);
+        final int count = index.size();
+        if (count == index.capacity())
+        {
+            setCapacity(Math.max(count + 1, count + (count >> 1)));
+        }
+        System.arraycopy(values, insertionPoint, values, insertionPoint + 1, count
+                - insertionPoint);
+        index.insert(insertionPoint, linearIndex);
+        return insertionPoint;
+    }
+
+    /**
+     * Removes the entry with <var>linearIndex</var>, if there is one.
+     */
+    protected void remove(int linearIndex)
+    {
+        final int pos = index.find(linearIndex);
+        if (pos >= 0)
+        {
+            System.arraycopy(values, pos + 1, values, pos, index.size() - pos - 1);
+            index.remove(pos);
+        }
+    }
+
+    /**
+     * Reduces the storage to the number of non-zero entries.
+     */
+    public void trimToSize()
+    {
+        if (index.capacity() > index.size())
+        {
+            setCapacity(index.size());
+        }
+    }
+
+    private void setCapacity(int newCapacity)
+    {
+        final Object newValues = createValues(newCapacity);
+        System.arraycopy(values, 0, newValues, 0, index.size());
+        values = newValues;
+        index.setCapacity(newCapacity);
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions));
+        b.append(", ");
+        b.append(getFormat());
+        b.append(", nonZeros=");
+        b.append(numberOfNonZeros());
+        b.append(')');
+        return b.toString();
+    }
+
+}
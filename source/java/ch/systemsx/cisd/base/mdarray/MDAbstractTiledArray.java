@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Base class of a multi-dimensional array that is stored in tiles (cache blocks) rather than in
+ * row-major order. The array is divided into tiles of <var>tileDimensions</var>. The elements of
+ * one tile are stored consecutively in row-major order, and the tiles are stored in row-major
+ * order of the tile grid. Tiles at the upper border of a dimension that is not a multiple of the
+ * tile dimension are padded.
+ * <p>
+ * Elements that are close to each other along any axis end up close to each other in memory, thus
+ * column scans, transposes and neighborhood filters on large 2D or 3D arrays stay in the cache.
+ * The sub-classes provide <code>getLine()</code> and <code>setLine()</code> to copy all elements
+ * along one axis (e.g. a column) and <code>transpose()</code> for two-dimensional arrays, which
+ * work tile by tile.
+ * <p>
+ * All tile dimensions need to be powers of 2, so that the index computation can use shifts and
+ * masks.
+ *
+ * @author agent
+ */
+public abstract class MDAbstractTiledArray<T>
+{
+    /** The number of elements in a tile of the default tile dimensions. */
+    public static final int DEFAULT_TILE_SIZE_SHIFT = 12;
+
+    protected final int[] dimensions;
+
+    protected final int[] tileDimensions;
+
+    protected final int size;
+
+    /** The log2 of <code>tileDimensions</code>. */
+    protected final int[] tileShifts;
+
+    /** <code>tileDimensions - 1</code>. */
+    protected final int[] tileMasks;
+
+    /** The number of tiles along each axis. */
+    protected final int[] tilesPerAxis;
+
+    /** The log2 of the number of elements in a tile. */
+    protected final int tileSizeShift;
+
+    /** The length of the backing array, including the padding. */
+    protected final int backingArrayLength;
+
+    protected MDAbstractTiledArray(int[] dimensions, int[] tileDimensions)
+    {
+        assert dimensions != null;
+        assert tileDimensions != null;
+
+        if (dimensions.length == 0)
+        {
+            throw new IllegalArgumentException("A tiled array needs to have a rank of at least 1.");
+        }
+        if (dimensions.length != tileDimensions.length)
+        {
+            throw new IllegalArgumentException("Rank of dimensions (" + dimensions.length
+                    + ") and tile dimensions (" + tileDimensions.length + ") differ.");
+        }
+        this.dimensions = dimensions.clone();
+        this.tileDimensions = tileDimensions.clone();
+        this.size = MDAbstractArray.getLength(dimensions);
+        this.tileShifts = new int[dimensions.length];
+        this.tileMasks = new int[dimensions.length];
+        this.tilesPerAxis = new int[dimensions.length];
+        int shift = 0;
+        long numberOfTiles = 1;
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (tileDimensions[i] <= 0 || Integer.bitCount(tileDimensions[i]) != 1)
+            {
+                throw new IllegalArgumentException("Tile dimension " + i + " ("
+                        + tileDimensions[i] + ") is not a power of 2.");
+            }
+            tileShifts[i] = Integer.numberOfTrailingZeros(tileDimensions[i]);
+            tileMasks[i] = tileDimensions[i] - 1;
+            tilesPerAxis[i] = (dimensions[i] + tileMasks[i]) >>> tileShifts[i];
+            shift += tileShifts[i];
+            numberOfTiles *= tilesPerAxis[i];
+        }
+        this.tileSizeShift = shift;
+        final long length = (shift < 31) ? numberOfTiles << shift : Long.MAX_VALUE;
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Tiled array " + ArrayUtils.toString(dimensions)
+                    + " with tiles " + ArrayUtils.toString(tileDimensions) + " is too large.");
+        }
+        this.backingArrayLength = (int) length;
+    }
+
+    /**
+     * Returns tile dimensions for an array of the given <var>rank</var> with about
+     * <code>2^DEFAULT_TILE_SIZE_SHIFT</code> elements per tile, e.g. <code>{ 64, 64 }</code> for a
+     * rank of 2 and <code>{ 16, 16, 16 }</code> for a rank of 3.
+     */
+    public static int[] getDefaultTileDimensions(int rank)
+    {
+        final int[] result = new int[rank];
+        final int shift = Math.max(1, DEFAULT_TILE_SIZE_SHIFT / Math.max(1, rank));
+        for (int i = 0; i < rank; ++i)
+        {
+            result[i] = 1 << shift;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public abstract T getAsObject(int... indices);
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public abstract void setToObject(T value, int... indices);
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the extent of the array along its <var>dim</var>-th axis.
+     */
+    public int size(int dim)
+    {
+        assert dim < dimensions.length;
+
+        return dimensions[dim];
+    }
+
+    /**
+     * Returns a copy of the dimensions of the array.
+     */
+    public int[] dimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns a copy of the tile dimensions of the array.
+     */
+    public int[] tileDimensions()
+    {
+        return tileDimensions.clone();
+    }
+
+    /**
+     * Returns the number of elements in the array.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Computes the index in the backing array for the multi-dimensional <var>indices</var>
+     * provided.
+     */
+    public int computeIndex(int... indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+
+        int tileIndex = 0;
+        int indexInTile = 0;
+        for (int i = 0; i < indices.length; ++i)
+        {
+            tileIndex = tileIndex * tilesPerAxis[i] + (indices[i] >>> tileShifts[i]);
+            indexInTile = (indexInTile << tileShifts[i]) | (indices[i] & tileMasks[i]);
+        }
+        return (tileIndex << tileSizeShift) | indexInTile;
+    }
+
+    /**
+     * Computes the index in the backing array for the two-dimensional (<var>indexX, indexY</var>)
+     * provided.
+     */
+    public int computeIndex(int indexX, int indexY)
+    {
+        assert 2 == dimensions.length;
+
+        final int tileIndex =
+                (indexX >>> tileShifts[0]) * tilesPerAxis[1] + (indexY >>> tileShifts[1]);
+        final int indexInTile =
+                ((indexX & tileMasks[0]) << tileShifts[1]) | (indexY & tileMasks[1]);
+        return (tileIndex << tileSizeShift) | indexInTile;
+    }
+
+    /**
+     * Computes the index in the backing array for the three-dimensional (<var>indexX, indexY,
+     * indexZ</var>) provided.
+     */
+    public int computeIndex(int indexX, int indexY, int indexZ)
+    {
+        assert 3 == dimensions.length;
+
+        final int tileIndex =
+                ((indexX >>> tileShifts[0]) * tilesPerAxis[1] + (indexY >>> tileShifts[1]))
+                        * tilesPerAxis[2] + (indexZ >>> tileShifts[2]);
+        final int indexInTileXY =
+                ((indexX & tileMasks[0]) << tileShifts[1]) | (indexY & tileMasks[1]);
+        final int indexInTile = (indexInTileXY << tileShifts[2]) | (indexZ & tileMasks[2]);
+        return (tileIndex << tileSizeShift) | indexInTile;
+    }
+
+    /**
+     * Returns the number of tiles, including the tiles that are padding only.
+     */
+    protected int getNumberOfTiles()
+    {
+        return backingArrayLength >>> tileSizeShift;
+    }
+
+    /**
+     * Returns the distance in the backing array between two elements that are neighbors along
+     * <var>axis</var> and in the same tile.
+     */
+    protected int getStrideInTile(int axis)
+    {
+        int shift = 0;
+        for (int i = axis + 1; i < tileShifts.length; ++i)
+        {
+            shift += tileShifts[i];
+        }
+        return 1 << shift;
+    }
+
+    /**
+     * Returns a copy of <var>indices</var> for the start of a line along <var>axis</var>, i.e.
+     * with the index of <var>axis</var> set to 0.
+     */
+    protected int[] getLineStart(int axis, int[] indices)
+    {
+        assert indices != null;
+        assert indices.length == dimensions.length;
+        assert axis >= 0 && axis < dimensions.length;
+
+        final int[] index = indices.clone();
+        index[axis] = 0;
+        return index;
+    }
+
+    /**
+     * Returns <var>twoDimensions</var> with the two entries swapped.
+     *
+     * @throws IllegalArgumentException If this array is not two-dimensional.
+     */
+    protected int[] getTransposed(int[] twoDimensions)
+    {
+        if (dimensions.length != 2)
+        {
+            throw new IllegalArgumentException("Only a two-dimensional array can be transposed, "
+                    + "but the array has rank " + dimensions.length + ".");
+        }
+        return new int[]
+            { twoDimensions[1], twoDimensions[0] };
+    }
+
+    /**
+     * Returns the index of the tile of the transposed array that holds the elements of
+     * <var>tile</var> of this two-dimensional array.
+     */
+    protected int getTransposedTile(int tile)
+    {
+        final int tileX = tile / tilesPerAxis[1];
+        final int tileY = tile - tileX * tilesPerAxis[1];
+        return tileY * tilesPerAxis[0] + tileX;
+    }
+
+    /**
+     * Copies the elements of <var>src</var>, a flat array in row-major order, into the tiled
+     * <var>backingArray</var>. The copy is done in runs of one tile row.
+     */
+    protected void copyFromRowMajor(Object src, Object backingArray)
+    {
+        copyRowMajor(src, backingArray, true);
+    }
+
+    /**
+     * Copies the elements of the tiled <var>backingArray</var> into <var>dest</var>, a flat array
+     * in row-major order. The copy is done in runs of one tile row.
+     */
+    protected void copyToRowMajor(Object backingArray, Object dest)
+    {
+        copyRowMajor(dest, backingArray, false);
+    }
+
+    private void copyRowMajor(Object rowMajor, Object tiled, boolean toTiled)
+    {
+        if (size == 0)
+        {
+            return;
+        }
+        final int lastAxis = dimensions.length - 1;
+        final int rowLength = dimensions[lastAxis];
+        final int tileWidth = tileDimensions[lastAxis];
+        final int[] index = new int[dimensions.length];
+        int rowStart = 0;
+        while (true)
+        {
+            for (int start = 0; start < rowLength; start += tileWidth)
+            {
+                index[lastAxis] = start;
+                final int tiledIndex = computeIndex(index);
+                final int length = Math.min(tileWidth, rowLength - start);
+                if (toTiled)
+                {
+                    System.arraycopy(rowMajor, rowStart + start, tiled, tiledIndex, length);
+                } else
+                {
+                    System.arraycopy(tiled, tiledIndex, rowMajor, rowStart + start, length);
+                }
+            }
+            rowStart += rowLength;
+            // Advance the index of all axes but the last one.
+            int axis = lastAxis - 1;
+            while (axis >= 0 && ++index[axis] == dimensions[axis])
+            {
+                index[axis] = 0;
+                --axis;
+            }
+            if (axis < 0)
+            {
+                return;
+            }
+        }
+    }
+
+    //
+    // Object
+    //
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder b = new StringBuilder();
+        b.append(ClassUtils.getShortCanonicalName(this.getClass()));
+        b.append('(');
+        b.append(ArrayUtils.toString(dimensions));
+        b.append(", tiles=");
+        b.append(ArrayUtils.toString(tileDimensions));
+        b.append(')');
+        return b.toString();
+    }
+
+}
@@ -230,11 +230,23 @@ public class MDArray<T> extends MDAbstractArray<T>
         return flattenedArray[computeIndex(indexX, indexY, indexZ)];
     }
 
+    /**
+     * Returns the value of a four-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var>, <var>indexZ</var> and <var>indexW</var>.
+     * <p>
+     * <b>Do not call for arrays other than four-dimensional!</b>
+     */
+    public T get(int indexX, int indexY, int indexZ, int indexW)
+    {
+        return flattenedArray[computeIndex(indexX, indexY, indexZ, indexW)];
+    }
+
     /**
      * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
      */
     public void set(T value, int... indices)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indices)] = value;
     }
 
@@ -246,6 +258,7 @@ public class MDArray<T> extends MDAbstractArray<T>
      */
     public void set(T value, int index)
     {
+        checkNotFrozen();
         flattenedArray[index] = value;
     }
 
@@ -257,6 +270,7 @@ public class MDArray<T> extends MDAbstractArray<T>
      */
     public void set(T value, int indexX, int indexY)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indexX, indexY)] = value;
     }
 
@@ -268,9 +282,22 @@ public class MDArray<T> extends MDAbstractArray<T>
      */
     public void set(T value, int indexX, int indexY, int indexZ)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indexX, indexY, indexZ)] = value;
     }
 
+    /**
+     * Sets the <var>value</var> of a four-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var>, <var>indexZ</var> and <var>indexW</var>.
+     * <p>
+     * <b>Do not call for arrays other than four-dimensional!</b>
+     */
+    public void set(T value, int indexX, int indexY, int indexZ, int indexW)
+    {
+        checkNotFrozen();
+        flattenedArray[computeIndex(indexX, indexY, indexZ, indexW)] = value;
+    }
+
     /**
      * Returns the component type of this array.
      */
@@ -285,11 +312,11 @@ public class MDArray<T> extends MDAbstractArray<T>
     //
 
     @Override
-    public int hashCode()
+    protected int computeHashCode()
     {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(getValuesAsFlatArray());
+        result = prime * result + MDArrayHashing.hashCode(flattenedArray, size);
         result = prime * result + Arrays.hashCode(dimensions);
         return result;
     }
@@ -310,22 +337,17 @@ public class MDArray<T> extends MDAbstractArray<T>
             return false;
         }
         final MDArray<T> other = toMDArray(obj);
-        if (Arrays.equals(getValuesAsFlatArray(), other.getValuesAsFlatArray()) == false)
+        if (Arrays.equals(dimensions, other.dimensions) == false)
         {
             return false;
         }
-        if (Arrays.equals(dimensions, other.dimensions) == false)
+        if (haveDifferentHashCodes(other))
         {
             return false;
         }
-        return true;
+        return MDArrayHashing.equals(flattenedArray, other.flattenedArray, size);
     }
 
-    private T[] getValuesAsFlatArray()
-    {
-        return (dimensions[0] < capacityHyperRows) ? getCopyAsFlatArray() : getAsFlatArray(); 
-    }
-    
     @SuppressWarnings("unchecked")
     private MDArray<T> toMDArray(Object obj)
     {
@@ -0,0 +1,714 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+
+import ch.systemsx.cisd.base.exceptions.CheckedExceptionTunnel;
+import ch.systemsx.cisd.base.exceptions.IOExceptionUnchecked;
+
+/**
+ * Export and import of MD arrays as columns of files in the
+ * <a href="https://arrow.apache.org/docs/format/Columnar.html">Apache Arrow IPC file format</a>.
+ * <p>
+ * Each MD array becomes a column of primitive type (<code>Int8</code> to <code>Int64</code>,
+ * <code>Float32</code> or <code>Float64</code>) without null values, holding the flattened array
+ * in row-major order. The dimensions are stored in the custom metadata of the field under the key
+ * {@link #SHAPE_METADATA_KEY} as a comma separated list, e.g. <code>"2,3,4"</code>; columns without
+ * this key are imported as one-dimensional arrays. Since all columns of an Arrow record batch have
+ * the same length, all exported arrays need to have the same number of elements.
+ * <p>
+ * An export writes the complete file into one direct (off-heap) {@link ByteBuffer}, which can be
+ * handed to Arrow readers or written to a file, and can be reused for subsequent exports. The
+ * values of each array are transferred with one bulk copy through a little-endian view buffer, so
+ * there is no work per element in Java code. An import reads from any {@link ByteBuffer}, e.g. a
+ * memory mapped file, the same way. Unsigned Arrow integer columns are imported into the signed
+ * array type of the same width, keeping the bits.
+ *
+ * @author agent
+ */
+public final class MDArrayArrowIO
+{
+    /** The key of the custom field metadata that holds the dimensions of an array. */
+    public static final String SHAPE_METADATA_KEY = "mdarray.shape";
+
+    private static final byte[] MAGIC = new byte[]
+        { 'A', 'R', 'R', 'O', 'W', '1' };
+
+    /** The alignment of the data buffers in the message body. */
+    private static final int BUFFER_ALIGNMENT = 64;
+
+    private static final short METADATA_VERSION_V5 = 4;
+
+    private static final byte HEADER_SCHEMA = 1;
+
+    private static final byte HEADER_RECORD_BATCH = 3;
+
+    private static final byte TYPE_INT = 2;
+
+    private static final byte TYPE_FLOATING_POINT = 3;
+
+    private static final short PRECISION_SINGLE = 1;
+
+    private static final short PRECISION_DOUBLE = 2;
+
+    private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+    /**
+     * The element types of the columns.
+     */
+    private enum ColumnType
+    {
+        BYTE(1), SHORT(2), INT(4), LONG(8), FLOAT(4), DOUBLE(8);
+
+        final int size;
+
+        private ColumnType(int size)
+        {
+            this.size = size;
+        }
+    }
+
+    private MDArrayArrowIO()
+    {
+        // Not to be instantiated.
+    }
+
+    //
+    // Export
+    //
+
+    /**
+     * Returns a new direct buffer with an Arrow IPC file with the <var>columns</var>, in the
+     * iteration order of the map.
+     *
+     * @throws IllegalArgumentException If <var>columns</var> is empty, contains arrays of
+     *             different sizes or arrays of non-primitive type.
+     */
+    public static ByteBuffer toByteBuffer(Map<String, ? extends MDAbstractArray<?>> columns)
+    {
+        return toByteBuffer(columns, null);
+    }
+
+    /**
+     * Returns a buffer with an Arrow IPC file with the <var>columns</var>, in the iteration order
+     * of the map. If <var>reuseBuffer</var> is not <code>null</code> and large enough, the file is
+     * written into it, otherwise a new direct buffer is allocated. The returned buffer spans the
+     * file from its position to its limit.
+     *
+     * @throws IllegalArgumentException If <var>columns</var> is empty, contains arrays of
+     *             different sizes or arrays of non-primitive type.
+     */
+    public static ByteBuffer toByteBuffer(Map<String, ? extends MDAbstractArray<?>> columns,
+            ByteBuffer reuseBuffer)
+    {
+        if (columns.isEmpty())
+        {
+            throw new IllegalArgumentException("At least one column is needed.");
+        }
+        final List<String> names = new ArrayList<String>(columns.keySet());
+        final List<MDAbstractArray<?>> arrays = new ArrayList<MDAbstractArray<?>>(columns.values());
+        final int numberOfRows = arrays.get(0).size();
+        final ColumnType[] types = new ColumnType[arrays.size()];
+        for (int i = 0; i < types.length; ++i)
+        {
+            types[i] = getColumnType(arrays.get(i));
+            if (arrays.get(i).size() != numberOfRows)
+            {
+                throw new IllegalArgumentException("Column '" + names.get(i) + "' has "
+                        + arrays.get(i).size() + " elements, but column '" + names.get(0)
+                        + "' has " + numberOfRows + ".");
+            }
+        }
+        // Layout of the record batch body: an empty validity buffer and a data buffer per column.
+        final long[] dataOffsets = new long[types.length];
+        long bodyLength = 0;
+        for (int i = 0; i < types.length; ++i)
+        {
+            dataOffsets[i] = bodyLength;
+            bodyLength += align((long) numberOfRows * types[i].size, BUFFER_ALIGNMENT);
+        }
+        final byte[] schemaMessage = createSchemaMessage(names, arrays, types);
+        final byte[] batchMessage =
+                createRecordBatchMessage(numberOfRows, types, dataOffsets, bodyLength);
+        final int schemaBlockLength = 8 + align(schemaMessage.length, 8);
+        final int batchBlockLength = 8 + align(batchMessage.length, 8);
+        final long batchOffset = 8 + schemaBlockLength;
+        final long bodyStart = batchOffset + batchBlockLength;
+        final byte[] footer =
+                createFooter(names, arrays, types, batchOffset, batchBlockLength, bodyLength);
+        final long fileLength = bodyStart + bodyLength + 8 + footer.length + 4 + MAGIC.length;
+        if (fileLength > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Arrow file of " + fileLength
+                    + " bytes is too large for a buffer.");
+        }
+        final ByteBuffer buffer;
+        if (reuseBuffer != null && reuseBuffer.capacity() >= fileLength)
+        {
+            buffer = reuseBuffer;
+            buffer.clear();
+        } else
+        {
+            buffer = ByteBuffer.allocateDirect((int) fileLength);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC);
+        putZeros(buffer, 2);
+        putMessage(buffer, schemaMessage);
+        putMessage(buffer, batchMessage);
+        for (int i = 0; i < types.length; ++i)
+        {
+            buffer.position((int) (bodyStart + dataOffsets[i]));
+            copyToBuffer(arrays.get(i), types[i], numberOfRows, buffer);
+            final long end = dataOffsets[i] + (long) numberOfRows * types[i].size;
+            buffer.position((int) (bodyStart + end));
+            putZeros(buffer, align(end, BUFFER_ALIGNMENT) - end);
+        }
+        // End-of-stream marker.
+        buffer.putInt(CONTINUATION_MARKER);
+        buffer.putInt(0);
+        buffer.put(footer);
+        buffer.putInt(footer.length);
+        buffer.put(MAGIC);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the <var>columns</var> to <var>file</var> in the Arrow IPC file format.
+     *
+     * @see #toByteBuffer(Map)
+     */
+    public static void write(File file, Map<String, ? extends MDAbstractArray<?>> columns)
+            throws IOExceptionUnchecked
+    {
+        final ByteBuffer buffer = toByteBuffer(columns);
+        FileOutputStream out = null;
+        try
+        {
+            out = new FileOutputStream(file);
+            final FileChannel channel = out.getChannel();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            out.close();
+            out = null;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    //
+    // Import
+    //
+
+    /**
+     * Reads the columns of the Arrow IPC file in <var>file</var> from its position to its limit.
+     * The position of <var>file</var> is not changed.
+     *
+     * @return The arrays of the columns by column name, in schema order.
+     * @throws IllegalArgumentException If <var>file</var> is not an Arrow IPC file or contains
+     *             columns that are not supported.
+     */
+    public static Map<String, MDAbstractArray<?>> fromByteBuffer(ByteBuffer file)
+    {
+        final ByteBuffer buffer = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int base = file.position();
+        final int length = file.remaining();
+        if (length < 2 * 8 + 4 || hasMagic(buffer, base) == false
+                || hasMagic(buffer, base + length - MAGIC.length) == false)
+        {
+            throw new IllegalArgumentException("Not an Arrow IPC file.");
+        }
+        final int footerLength = buffer.getInt(base + length - MAGIC.length - 4);
+        final int footer =
+                FlatBuffers.getRoot(buffer, base + length - MAGIC.length - 4 - footerLength);
+        final int schema = FlatBuffers.getReference(buffer, footer, 1);
+        if (FlatBuffers.getShort(buffer, schema, 0, (short) 0) != 0)
+        {
+            throw new IllegalArgumentException("Big-endian Arrow files are not supported.");
+        }
+        final int fields = FlatBuffers.getReference(buffer, schema, 1);
+        final int numberOfColumns = FlatBuffers.getVectorLength(buffer, fields);
+        final String[] names = new String[numberOfColumns];
+        final ColumnType[] types = new ColumnType[numberOfColumns];
+        final int[][] dimensions = new int[numberOfColumns][];
+        for (int i = 0; i < numberOfColumns; ++i)
+        {
+            final int field = FlatBuffers.getTableElement(buffer, fields, i);
+            names[i] = FlatBuffers.getString(buffer, field, 0);
+            types[i] = readColumnType(buffer, field, names[i]);
+            dimensions[i] = readShape(buffer, field);
+        }
+        // Record batches: offset (long), metaDataLength (int), padding, bodyLength (long).
+        final int blocks = FlatBuffers.getReference(buffer, footer, 3);
+        final int numberOfBatches = FlatBuffers.getVectorLength(buffer, blocks);
+        final int[] batchHeaders = new int[numberOfBatches];
+        final int[] batchBodies = new int[numberOfBatches];
+        long numberOfRows = 0;
+        for (int b = 0; b < numberOfBatches; ++b)
+        {
+            final int block = FlatBuffers.getVectorStart(blocks) + 24 * b;
+            final int offset = base + (int) buffer.getLong(block);
+            final int metadataStart =
+                    (buffer.getInt(offset) == CONTINUATION_MARKER) ? offset + 8 : offset + 4;
+            final int message = FlatBuffers.getRoot(buffer, metadataStart);
+            if (FlatBuffers.getByte(buffer, message, 1, (byte) 0) != HEADER_RECORD_BATCH)
+            {
+                throw new IllegalArgumentException("Block " + b + " is not a record batch.");
+            }
+            batchHeaders[b] = FlatBuffers.getReference(buffer, message, 2);
+            batchBodies[b] = offset + buffer.getInt(block + 8);
+            if (FlatBuffers.getFieldPosition(buffer, batchHeaders[b], 3) >= 0)
+            {
+                throw new IllegalArgumentException("Compressed record batches are not supported.");
+            }
+            numberOfRows += FlatBuffers.getLong(buffer, batchHeaders[b], 0, 0L);
+        }
+        if (numberOfRows > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Columns of " + numberOfRows
+                    + " rows are too large for an array.");
+        }
+        final Map<String, MDAbstractArray<?>> result =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        for (int i = 0; i < numberOfColumns; ++i)
+        {
+            int[] columnDimensions = dimensions[i];
+            if (columnDimensions == null
+                    || MDAbstractArray.getLength(columnDimensions) != numberOfRows)
+            {
+                columnDimensions = new int[]
+                    { (int) numberOfRows };
+            }
+            final MDAbstractArray<?> array = createArray(types[i], columnDimensions);
+            int row = 0;
+            for (int b = 0; b < numberOfBatches; ++b)
+            {
+                final int batch = batchHeaders[b];
+                final int nodes = FlatBuffers.getReference(buffer, batch, 1);
+                final int node = FlatBuffers.getVectorStart(nodes) + 16 * i;
+                final int rows = (int) buffer.getLong(node);
+                if (buffer.getLong(node + 8) != 0)
+                {
+                    throw new IllegalArgumentException("Column '" + names[i]
+                            + "' has null values, which are not supported.");
+                }
+                final int buffers = FlatBuffers.getReference(buffer, batch, 2);
+                final int data = FlatBuffers.getVectorStart(buffers) + 16 * (2 * i + 1);
+                buffer.position(batchBodies[b] + (int) buffer.getLong(data));
+                copyFromBuffer(buffer, types[i], array, row, rows);
+                row += rows;
+            }
+            result.put(names[i], array);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the columns of the Arrow IPC file <var>file</var>. The file is memory mapped.
+     *
+     * @see #fromByteBuffer(ByteBuffer)
+     */
+    public static Map<String, MDAbstractArray<?>> read(File file) throws IOExceptionUnchecked
+    {
+        FileInputStream in = null;
+        try
+        {
+            in = new FileInputStream(file);
+            final FileChannel channel = in.getChannel();
+            final Map<String, MDAbstractArray<?>> result =
+                    fromByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            in.close();
+            in = null;
+            return result;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    //
+    // Metadata
+    //
+
+    private static byte[] createSchemaMessage(List<String> names,
+            List<MDAbstractArray<?>> arrays, ColumnType[] types)
+    {
+        final FlatBuffers.Builder builder = new FlatBuffers.Builder(1024);
+        final int schema = createSchema(builder, names, arrays, types);
+        builder.startTable(5);
+        builder.addLongField(3, 0L);
+        builder.addOffsetField(2, schema);
+        builder.addShortField(0, METADATA_VERSION_V5);
+        builder.addByteField(1, HEADER_SCHEMA);
+        return builder.finish(builder.endTable());
+    }
+
+    private static int createSchema(FlatBuffers.Builder builder, List<String> names,
+            List<MDAbstractArray<?>> arrays, ColumnType[] types)
+    {
+        final int[] fields = new int[types.length];
+        for (int i = 0; i < fields.length; ++i)
+        {
+            fields[i] = createField(builder, names.get(i), arrays.get(i), types[i]);
+        }
+        final int fieldVector = builder.createOffsetVector(fields);
+        builder.startTable(4);
+        builder.addOffsetField(1, fieldVector);
+        builder.addShortField(0, (short) 0);
+        return builder.endTable();
+    }
+
+    private static int createField(FlatBuffers.Builder builder, String name,
+            MDAbstractArray<?> array, ColumnType type)
+    {
+        final int nameOffset = builder.createString(name);
+        final int typeOffset;
+        final byte typeType;
+        if (type == ColumnType.FLOAT || type == ColumnType.DOUBLE)
+        {
+            builder.startTable(1);
+            builder.addShortField(0, (type == ColumnType.FLOAT) ? PRECISION_SINGLE
+                    : PRECISION_DOUBLE);
+            typeOffset = builder.endTable();
+            typeType = TYPE_FLOATING_POINT;
+        } else
+        {
+            builder.startTable(2);
+            builder.addIntField(0, 8 * type.size);
+            builder.addByteField(1, (byte) 1);
+            typeOffset = builder.endTable();
+            typeType = TYPE_INT;
+        }
+        final int key = builder.createString(SHAPE_METADATA_KEY);
+        final int value = builder.createString(toShapeString(array.dimensions));
+        builder.startTable(2);
+        builder.addOffsetField(0, key);
+        builder.addOffsetField(1, value);
+        final int keyValue = builder.endTable();
+        final int metadata = builder.createOffsetVector(new int[]
+            { keyValue });
+        final int children = builder.createOffsetVector(new int[0]);
+        builder.startTable(7);
+        builder.addOffsetField(0, nameOffset);
+        builder.addOffsetField(3, typeOffset);
+        builder.addOffsetField(5, children);
+        builder.addOffsetField(6, metadata);
+        builder.addByteField(1, (byte) 0);
+        builder.addByteField(2, typeType);
+        return builder.endTable();
+    }
+
+    private static byte[] createRecordBatchMessage(int numberOfRows, ColumnType[] types,
+            long[] dataOffsets, long bodyLength)
+    {
+        final FlatBuffers.Builder builder = new FlatBuffers.Builder(1024);
+        // Buffer structs: offset (long), length (long); written back to front.
+        builder.startVector(16, 2 * types.length, 8);
+        for (int i = types.length - 1; i >= 0; --i)
+        {
+            builder.addLong((long) numberOfRows * types[i].size);
+            builder.addLong(dataOffsets[i]);
+            builder.addLong(0L);
+            builder.addLong(dataOffsets[i]);
+        }
+        final int buffers = builder.endVector(2 * types.length);
+        // FieldNode structs: length (long), null count (long).
+        builder.startVector(16, types.length, 8);
+        for (int i = types.length - 1; i >= 0; --i)
+        {
+            builder.addLong(0L);
+            builder.addLong(numberOfRows);
+        }
+        final int nodes = builder.endVector(types.length);
+        builder.startTable(4);
+        builder.addLongField(0, numberOfRows);
+        builder.addOffsetField(1, nodes);
+        builder.addOffsetField(2, buffers);
+        final int recordBatch = builder.endTable();
+        builder.startTable(5);
+        builder.addLongField(3, bodyLength);
+        builder.addOffsetField(2, recordBatch);
+        builder.addShortField(0, METADATA_VERSION_V5);
+        builder.addByteField(1, HEADER_RECORD_BATCH);
+        return builder.finish(builder.endTable());
+    }
+
+    private static byte[] createFooter(List<String> names, List<MDAbstractArray<?>> arrays,
+            ColumnType[] types, long batchOffset, int batchBlockLength, long bodyLength)
+    {
+        final FlatBuffers.Builder builder = new FlatBuffers.Builder(1024);
+        final int schema = createSchema(builder, names, arrays, types);
+        // Block struct: offset (long), metaDataLength (int), padding, bodyLength (long).
+        builder.startVector(24, 1, 8);
+        builder.addLong(bodyLength);
+        builder.addInt(0);
+        builder.addInt(batchBlockLength);
+        builder.addLong(batchOffset);
+        final int recordBatches = builder.endVector(1);
+        builder.startTable(5);
+        builder.addOffsetField(1, schema);
+        builder.addOffsetField(3, recordBatches);
+        builder.addShortField(0, METADATA_VERSION_V5);
+        return builder.finish(builder.endTable());
+    }
+
+    private static void putMessage(ByteBuffer buffer, byte[] message)
+    {
+        final int paddedLength = align(message.length, 8);
+        buffer.putInt(CONTINUATION_MARKER);
+        buffer.putInt(paddedLength);
+        buffer.put(message);
+        putZeros(buffer, paddedLength - message.length);
+    }
+
+    private static ColumnType readColumnType(ByteBuffer buffer, int field, String name)
+    {
+        final byte typeType = FlatBuffers.getByte(buffer, field, 2, (byte) 0);
+        final int type = FlatBuffers.getReference(buffer, field, 3);
+        if (typeType == TYPE_INT)
+        {
+            switch (FlatBuffers.getInt(buffer, type, 0, 0))
+            {
+                case 8:
+                    return ColumnType.BYTE;
+                case 16:
+                    return ColumnType.SHORT;
+                case 32:
+                    return ColumnType.INT;
+                case 64:
+                    return ColumnType.LONG;
+            }
+        } else if (typeType == TYPE_FLOATING_POINT)
+        {
+            switch (FlatBuffers.getShort(buffer, type, 0, (short) 0))
+            {
+                case PRECISION_SINGLE:
+                    return ColumnType.FLOAT;
+                case PRECISION_DOUBLE:
+                    return ColumnType.DOUBLE;
+            }
+        }
+        throw new IllegalArgumentException("Column '" + name + "' has an unsupported type.");
+    }
+
+    /**
+     * Returns the dimensions stored in the custom metadata of <var>field</var>, or
+     * <code>null</code>, if there are none.
+     */
+    private static int[] readShape(ByteBuffer buffer, int field)
+    {
+        final int metadata = FlatBuffers.getReference(buffer, field, 6);
+        for (int i = 0; i < FlatBuffers.getVectorLength(buffer, metadata); ++i)
+        {
+            final int keyValue = FlatBuffers.getTableElement(buffer, metadata, i);
+            if (SHAPE_METADATA_KEY.equals(FlatBuffers.getString(buffer, keyValue, 0)))
+            {
+                final String[] parts = FlatBuffers.getString(buffer, keyValue, 1).split(",");
+                final int[] dimensions = new int[parts.length];
+                try
+                {
+                    for (int j = 0; j < parts.length; ++j)
+                    {
+                        dimensions[j] = Integer.parseInt(parts[j].trim());
+                    }
+                } catch (NumberFormatException ex)
+                {
+                    return null;
+                }
+                return dimensions;
+            }
+        }
+        return null;
+    }
+
+    private static String toShapeString(int[] dimensions)
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            if (i > 0)
+            {
+                builder.append(',');
+            }
+            builder.append(dimensions[i]);
+        }
+        return builder.toString();
+    }
+
+    //
+    // Data
+    //
+
+    private static ColumnType getColumnType(MDAbstractArray<?> array)
+    {
+        if (array instanceof MDByteArray)
+        {
+            return ColumnType.BYTE;
+        } else if (array instanceof MDShortArray)
+        {
+            return ColumnType.SHORT;
+        } else if (array instanceof MDIntArray)
+        {
+            return ColumnType.INT;
+        } else if (array instanceof MDLongArray)
+        {
+            return ColumnType.LONG;
+        } else if (array instanceof MDFloatArray)
+        {
+            return ColumnType.FLOAT;
+        } else if (array instanceof MDDoubleArray)
+        {
+            return ColumnType.DOUBLE;
+        }
+        throw new IllegalArgumentException("Arrays of type " + array.getClass().getSimpleName()
+                + " cannot be exported to Arrow.");
+    }
+
+    private static MDAbstractArray<?> createArray(ColumnType type, int[] dimensions)
+    {
+        switch (type)
+        {
+            case BYTE:
+                return new MDByteArray(dimensions);
+            case SHORT:
+                return new MDShortArray(dimensions);
+            case INT:
+                return new MDIntArray(dimensions);
+            case LONG:
+                return new MDLongArray(dimensions);
+            case FLOAT:
+                return new MDFloatArray(dimensions);
+            default:
+                return new MDDoubleArray(dimensions);
+        }
+    }
+
+    /**
+     * Copies the first <var>length</var> elements of <var>array</var> to <var>buffer</var>,
+     * starting at its position, in the byte order of <var>buffer</var>.
+     */
+    private static void copyToBuffer(MDAbstractArray<?> array, ColumnType type, int length,
+            ByteBuffer buffer)
+    {
+        switch (type)
+        {
+            case BYTE:
+                buffer.put(((MDByteArray) array).getAsFlatArray(), 0, length);
+                break;
+            case SHORT:
+                buffer.asShortBuffer().put(((MDShortArray) array).getAsFlatArray(), 0, length);
+                break;
+            case INT:
+                buffer.asIntBuffer().put(((MDIntArray) array).getAsFlatArray(), 0, length);
+                break;
+            case LONG:
+                buffer.asLongBuffer().put(((MDLongArray) array).getAsFlatArray(), 0, length);
+                break;
+            case FLOAT:
+                buffer.asFloatBuffer().put(((MDFloatArray) array).getAsFlatArray(), 0, length);
+                break;
+            case DOUBLE:
+                buffer.asDoubleBuffer().put(((MDDoubleArray) array).getAsFlatArray(), 0, length);
+                break;
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements from <var>buffer</var>, starting at its position, into
+     * <var>array</var>, starting at <var>start</var>.
+     */
+    private static void copyFromBuffer(ByteBuffer buffer, ColumnType type,
+            MDAbstractArray<?> array, int start, int length)
+    {
+        switch (type)
+        {
+            case BYTE:
+                buffer.get(((MDByteArray) array).getAsFlatArray(), start, length);
+                break;
+            case SHORT:
+                buffer.asShortBuffer().get(((MDShortArray) array).getAsFlatArray(), start, length);
+                break;
+            case INT:
+                buffer.asIntBuffer().get(((MDIntArray) array).getAsFlatArray(), start, length);
+                break;
+            case LONG:
+                buffer.asLongBuffer().get(((MDLongArray) array).getAsFlatArray(), start, length);
+                break;
+            case FLOAT:
+                buffer.asFloatBuffer().get(((MDFloatArray) array).getAsFlatArray(), start, length);
+                break;
+            case DOUBLE:
+                buffer.asDoubleBuffer().get(((MDDoubleArray) array).getAsFlatArray(), start,
+                        length);
+                break;
+        }
+    }
+
+    private static boolean hasMagic(ByteBuffer buffer, int position)
+    {
+        for (int i = 0; i < MAGIC.length; ++i)
+        {
+            if (buffer.get(position + i) != MAGIC[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void putZeros(ByteBuffer buffer, long count)
+    {
+        for (long i = 0; i < count; ++i)
+        {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static int align(int value, int alignment)
+    {
+        return (value + alignment - 1) & -alignment;
+    }
+
+    private static long align(long value, int alignment)
+    {
+        return (value + alignment - 1) & -alignment;
+    }
+
+}
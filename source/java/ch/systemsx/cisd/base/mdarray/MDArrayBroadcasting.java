@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.ArrayUtils;
+
+/**
+ * Helper class for element-wise operations on two arrays of different, but compatible dimensions,
+ * following the broadcasting rules of NumPy.
+ * <p>
+ * The dimensions are aligned at the last axis, missing leading axes count as axes of length 1.
+ * Two dimensions are compatible if they are equal or one of them is 1; the dimension of the
+ * result is the larger one. An operand with dimension 1 on an axis is read with stride 0 along
+ * this axis, so the smaller operand is never expanded to the dimensions of the result.
+ * <p>
+ * To make the loops fast, the axes of the result are collapsed as far as possible: axes of length
+ * 1 are dropped and neighboring axes are merged if both operands step through them contiguously.
+ * What is left is a sequence of runs along the innermost axis, on which each operand has the
+ * stride 1 or 0.
+ *
+ * @author agent
+ */
+final class MDArrayBroadcasting
+{
+    /**
+     * The element-wise operations that support broadcasting.
+     */
+    enum Operation
+    {
+        ADD, SUBTRACT, MULTIPLY
+    }
+
+    /**
+     * An action on a run of <var>length</var> elements of the result starting at
+     * <var>resultPos</var>. Along the run, the position of operand <var>a</var> starts at
+     * <var>posA</var> and advances by <var>strideA</var>, which is 0 or 1, the same holds for
+     * operand <var>b</var>.
+     */
+    interface IRunAction
+    {
+        void run(int resultPos, int posA, int strideA, int posB, int strideB, int length);
+    }
+
+    private MDArrayBroadcasting()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Returns the dimensions of the result of an element-wise operation on arrays with the
+     * dimensions <var>dimensionsA</var> and <var>dimensionsB</var>.
+     *
+     * @throws IllegalArgumentException If the dimensions are not compatible.
+     */
+    static int[] getBroadcastDimensions(int[] dimensionsA, int[] dimensionsB)
+    {
+        final int rank = Math.max(dimensionsA.length, dimensionsB.length);
+        final int[] result = new int[rank];
+        for (int i = 0; i < rank; ++i)
+        {
+            final int dimA = getAlignedDimension(dimensionsA, rank, i);
+            final int dimB = getAlignedDimension(dimensionsB, rank, i);
+            if (dimA != dimB && dimA != 1 && dimB != 1)
+            {
+                throw new IllegalArgumentException("Dimensions "
+                        + ArrayUtils.toString(dimensionsA) + " and "
+                        + ArrayUtils.toString(dimensionsB) + " cannot be broadcast together.");
+            }
+            result[i] = (dimA == 1) ? dimB : dimA;
+        }
+        return result;
+    }
+
+    /**
+     * Checks that <var>result</var> has the dimensions of an element-wise operation on
+     * <var>a</var> and <var>b</var>.
+     *
+     * @return The dimensions of <var>result</var>.
+     * @throws IllegalArgumentException If the dimensions of <var>a</var> and <var>b</var> are not
+     *             compatible or the dimensions of <var>result</var> do not fit.
+     */
+    static int[] checkBroadcastDimensions(MDAbstractArray<?> a, MDAbstractArray<?> b,
+            MDAbstractArray<?> result)
+    {
+        final int[] dimensions = getBroadcastDimensions(a.dimensions, b.dimensions);
+        if (Arrays.equals(dimensions, result.dimensions) == false)
+        {
+            throw new IllegalArgumentException("Result dimensions "
+                    + ArrayUtils.toString(result.dimensions) + " differ from broadcast dimensions "
+                    + ArrayUtils.toString(dimensions) + ".");
+        }
+        return dimensions;
+    }
+
+    /**
+     * Runs <var>action</var> on all runs of an element-wise operation on arrays with the
+     * dimensions <var>dimensionsA</var> and <var>dimensionsB</var>, which have the result
+     * dimensions <var>dimensions</var>. Large operations are split into ranges of the result that
+     * run in parallel.
+     */
+    static void forRuns(int[] dimensionsA, int[] dimensionsB, int[] dimensions,
+            final IRunAction action)
+    {
+        final int length = MDAbstractArray.getLength(dimensions);
+        if (length == 0)
+        {
+            return;
+        }
+        final int rank = dimensions.length;
+        final int[] stridesA = getBroadcastStrides(dimensionsA, rank);
+        final int[] stridesB = getBroadcastStrides(dimensionsB, rank);
+        // Collapse the axes, innermost first, into shape / collapsedA / collapsedB.
+        final int[] shape = new int[Math.max(1, rank)];
+        final int[] collapsedA = new int[shape.length];
+        final int[] collapsedB = new int[shape.length];
+        int collapsedRank = 0;
+        for (int i = rank - 1; i >= 0; --i)
+        {
+            if (dimensions[i] == 1)
+            {
+                continue;
+            }
+            if (collapsedRank > 0)
+            {
+                final int inner = collapsedRank - 1;
+                if (stridesA[i] == collapsedA[inner] * shape[inner]
+                        && stridesB[i] == collapsedB[inner] * shape[inner])
+                {
+                    shape[inner] *= dimensions[i];
+                    continue;
+                }
+            }
+            shape[collapsedRank] = dimensions[i];
+            collapsedA[collapsedRank] = stridesA[i];
+            collapsedB[collapsedRank] = stridesB[i];
+            ++collapsedRank;
+        }
+        if (collapsedRank == 0)
+        {
+            shape[0] = 1;
+            collapsedRank = 1;
+        }
+        // Reverse to row-major order.
+        final int outerRank = collapsedRank - 1;
+        final int[] outerShape = new int[outerRank];
+        final int[] outerStridesA = new int[outerRank];
+        final int[] outerStridesB = new int[outerRank];
+        for (int i = 0; i < outerRank; ++i)
+        {
+            outerShape[i] = shape[collapsedRank - 1 - i];
+            outerStridesA[i] = collapsedA[collapsedRank - 1 - i];
+            outerStridesB[i] = collapsedB[collapsedRank - 1 - i];
+        }
+        final int runLength = shape[0];
+        final int runStrideA = collapsedA[0];
+        final int runStrideB = collapsedB[0];
+        ParallelLoops.forRange(length, new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    forRuns(outerShape, outerStridesA, outerStridesB, runLength, runStrideA,
+                            runStrideB, from, to, action);
+                }
+            });
+    }
+
+    /**
+     * Runs <var>action</var> on the result elements <code>[from, to)</code>, splitting the runs at
+     * the range boundaries.
+     */
+    private static void forRuns(int[] outerShape, int[] stridesA, int[] stridesB, int runLength,
+            int runStrideA, int runStrideB, int from, int to, IRunAction action)
+    {
+        final int outerRank = outerShape.length;
+        final int[] index = new int[outerRank];
+        int remainder = from / runLength;
+        int posA = 0;
+        int posB = 0;
+        for (int i = outerRank - 1; i >= 0; --i)
+        {
+            index[i] = remainder % outerShape[i];
+            remainder /= outerShape[i];
+            posA += index[i] * stridesA[i];
+            posB += index[i] * stridesB[i];
+        }
+        int within = from % runLength;
+        int resultPos = from;
+        while (resultPos < to)
+        {
+            final int len = Math.min(runLength - within, to - resultPos);
+            action.run(resultPos, posA + within * runStrideA, runStrideA, posB + within
+                    * runStrideB, runStrideB, len);
+            resultPos += len;
+            within = 0;
+            // Advance the outer index, innermost outer axis first.
+            int axis = outerRank - 1;
+            while (axis >= 0)
+            {
+                ++index[axis];
+                posA += stridesA[axis];
+                posB += stridesB[axis];
+                if (index[axis] < outerShape[axis])
+                {
+                    break;
+                }
+                posA -= index[axis] * stridesA[axis];
+                posB -= index[axis] * stridesB[axis];
+                index[axis] = 0;
+                --axis;
+            }
+        }
+    }
+
+    private static int getAlignedDimension(int[] dimensions, int rank, int axis)
+    {
+        final int alignedAxis = axis - (rank - dimensions.length);
+        return (alignedAxis < 0) ? 1 : dimensions[alignedAxis];
+    }
+
+    /**
+     * Returns the strides of an array with <var>dimensions</var>, aligned to <var>rank</var> axes,
+     * with stride 0 on all axes of length 1.
+     */
+    private static int[] getBroadcastStrides(int[] dimensions, int rank)
+    {
+        final int[] strides = new int[rank];
+        int stride = 1;
+        for (int i = rank - 1; i >= 0; --i)
+        {
+            final int dimension = getAlignedDimension(dimensions, rank, i);
+            strides[i] = (dimension == 1) ? 0 : stride;
+            stride *= dimension;
+        }
+        return strides;
+    }
+
+}
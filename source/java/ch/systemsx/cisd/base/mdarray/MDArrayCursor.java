@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+/**
+ * A reusable, mutable cursor over the elements of a {@link MDAbstractArray} in row-major order.
+ * The multi-dimensional index is advanced incrementally and kept in one array, so traversing an
+ * array with a cursor does not allocate any objects. Typical use:
+ * 
+ * <pre>
+ * final MDArrayCursor cursor = array.cursor();
+ * final float[] values = array.getAsFlatArray();
+ * while (cursor.next())
+ * {
+ *     final int[] index = cursor.getIndex();
+ *     final float value = values[cursor.getLinearIndex()];
+ *     ...
+ * }
+ * </pre>
+ * 
+ * @author agent
+ */
+public final class MDArrayCursor
+{
+    private final MDAbstractArray<?> array;
+
+    private final int[] index;
+
+    private int linearIndex;
+
+    MDArrayCursor(MDAbstractArray<?> array)
+    {
+        this.array = array;
+        this.index = new int[array.rank()];
+        reset();
+    }
+
+    /**
+     * Moves the cursor before the first element of the array.
+     */
+    public void reset()
+    {
+        Arrays.fill(index, 0);
+        index[index.length - 1] = -1;
+        linearIndex = -1;
+    }
+
+    /**
+     * Moves the cursor to the element with <var>newLinearIndex</var>. The next call of
+     * {@link #next()} will move to the element following it.
+     */
+    public void moveTo(int newLinearIndex)
+    {
+        if (newLinearIndex < 0 || newLinearIndex >= array.size)
+        {
+            throw new IndexOutOfBoundsException("Linear index " + newLinearIndex
+                    + " out of range [0, " + array.size + ").");
+        }
+        array.computeReverseIndex(newLinearIndex, index);
+        linearIndex = newLinearIndex;
+    }
+
+    /**
+     * Returns <code>true</code>, if there is an element after the current position of the cursor.
+     */
+    public boolean hasNext()
+    {
+        return linearIndex + 1 < array.size;
+    }
+
+    /**
+     * Moves the cursor to the next element.
+     * 
+     * @return <code>true</code>, if the cursor has been moved, <code>false</code>, if the cursor
+     *         was already on the last element.
+     */
+    public boolean next()
+    {
+        if (hasNext() == false)
+        {
+            return false;
+        }
+        ++linearIndex;
+        final int[] dims = array.dimensions;
+        int axis = index.length - 1;
+        while (++index[axis] == dims[axis] && axis > 0)
+        {
+            index[axis] = 0;
+            --axis;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the linear index of the current element, or -1, if the cursor is before the first
+     * element.
+     */
+    public int getLinearIndex()
+    {
+        return linearIndex;
+    }
+
+    /**
+     * Returns the multi-dimensional index of the current element.
+     * <p>
+     * <b>The returned array is owned by the cursor and changes when the cursor moves. Do not
+     * modify it!</b>
+     */
+    public int[] getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Returns the index of the current element along <var>axis</var>.
+     */
+    public int getIndex(int axis)
+    {
+        return index[axis];
+    }
+
+}
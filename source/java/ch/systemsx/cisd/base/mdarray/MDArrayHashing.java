@@ -0,0 +1,540 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * Helper methods to compute the hash code of and to compare the first <var>length</var> elements
+ * of arrays.
+ * <p>
+ * The results are the same as the ones of <code>java.util.Arrays.hashCode()</code> and
+ * <code>java.util.Arrays.equals()</code> applied to the first <var>length</var> elements, but no
+ * copy of the arrays is made and large arrays are processed in parallel. The hash code of a range
+ * is the polynomial <code>sum(h(a[i]) * 31^(to - 1 - i))</code>, so the hash codes of two
+ * adjacent ranges can be combined with the power of 31 of the right range. Within a range, four
+ * elements are combined per step to shorten the chain of dependent multiplications.
+ *
+ * @author agent
+ */
+final class MDArrayHashing
+{
+    private static final int P1 = 31;
+
+    private static final int P2 = P1 * P1;
+
+    private static final int P3 = P2 * P1;
+
+    private static final int P4 = P3 * P1;
+
+    private MDArrayHashing()
+    {
+        // Not to be instantiated.
+    }
+
+    static int hashCode(final byte[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final byte[] array1, final byte[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final short[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final short[] array1, final short[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final int[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final int[] array1, final int[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final long[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final long[] array1, final long[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final float[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final float[] array1, final float[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final double[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final double[] array1, final double[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    static int hashCode(final Object[] array, int length)
+    {
+        final int[] result =
+                ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<int[]>()
+                    {
+                        @Override
+                        public int[] reduce(int from, int to)
+                        {
+                            int hash = 0;
+                            int power = 1;
+                            int i = from;
+                            for (; i + 3 < to; i += 4)
+                            {
+                                hash =
+                                        P4 * hash + P3 * hash(array[i]) + P2
+                                                * hash(array[i + 1]) + P1 * hash(array[i + 2])
+                                                + hash(array[i + 3]);
+                                power *= P4;
+                            }
+                            for (; i < to; ++i)
+                            {
+                                hash = P1 * hash + hash(array[i]);
+                                power *= P1;
+                            }
+                            return new int[]
+                                { hash, power };
+                        }
+
+                        @Override
+                        public int[] merge(int[] left, int[] right)
+                        {
+                            return combine(left, right);
+                        }
+                    });
+        return result[0] + result[1];
+    }
+
+    static boolean equals(final Object[] array1, final Object[] array2, int length)
+    {
+        return ParallelLoops.reduceRange(length, new ParallelLoops.IRangeReduction<Boolean>()
+            {
+                @Override
+                public Boolean reduce(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        if (same(array1[i], array2[i]) == false)
+                        {
+                            return Boolean.FALSE;
+                        }
+                    }
+                    return Boolean.TRUE;
+                }
+
+                @Override
+                public Boolean merge(Boolean left, Boolean right)
+                {
+                    return left && right;
+                }
+            });
+    }
+
+    /**
+     * Combines the <code>{ hash, power }</code> pairs of two adjacent ranges.
+     */
+    private static int[] combine(int[] left, int[] right)
+    {
+        return new int[]
+            { left[0] * right[1] + right[0], left[1] * right[1] };
+    }
+
+    private static int hash(int value)
+    {
+        return value;
+    }
+
+    private static int hash(long value)
+    {
+        return (int) (value ^ (value >>> 32));
+    }
+
+    private static int hash(float value)
+    {
+        return Float.floatToIntBits(value);
+    }
+
+    private static int hash(double value)
+    {
+        return hash(Double.doubleToLongBits(value));
+    }
+
+    private static int hash(Object value)
+    {
+        return (value == null) ? 0 : value.hashCode();
+    }
+
+    private static boolean same(int value1, int value2)
+    {
+        return value1 == value2;
+    }
+
+    private static boolean same(long value1, long value2)
+    {
+        return value1 == value2;
+    }
+
+    private static boolean same(float value1, float value2)
+    {
+        return Float.floatToIntBits(value1) == Float.floatToIntBits(value2);
+    }
+
+    private static boolean same(double value1, double value2)
+    {
+        return Double.doubleToLongBits(value1) == Double.doubleToLongBits(value2);
+    }
+
+    private static boolean same(Object value1, Object value2)
+    {
+        return (value1 == null) ? value2 == null : value1.equals(value2);
+    }
+
+}
@@ -0,0 +1,600 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * Computes histograms with equally wide bins of MD arrays or of regions of MD arrays.
+ * <p>
+ * The elements are split into a few large chunks, one or two per thread, each of which is counted
+ * into a partial histogram of its own. The partial histograms are added up at the end, so the
+ * threads never contend on shared counters. Values of integer arrays are binned with integer
+ * arithmetic (a shift if the bin width is a power of two) when the range bounds are integers;
+ * {@link #unsignedHistogram(MDShortArray)} and {@link #unsignedHistogram(MDByteArray)} use the
+ * value itself as bin index.
+ * <p>
+ * The returned {@link MDHistogram} reports the time the computation took and the throughput it
+ * achieved.
+ *
+ * @author agent
+ */
+public final class MDArrayHistograms
+{
+    /**
+     * Counts the elements <code>[start, end)</code> of a flat array into the slots of
+     * <var>partial</var>, see {@link Binning#getSlot(double)}.
+     */
+    private interface ICounter
+    {
+        void count(int start, int end, long[] partial);
+    }
+
+    /**
+     * Maps values to the slots of a partial histogram: slot 0 holds the underflow, slots
+     * <code>1</code> to <code>numberOfBins</code> the bins, the slot after them the overflow and
+     * the last slot the number of <code>NaN</code> values.
+     */
+    private static final class Binning
+    {
+        private final int numberOfBins;
+
+        private final double min;
+
+        private final double max;
+
+        private final double scale;
+
+        private final boolean clamp;
+
+        private final boolean integral;
+
+        private final long lowerBound;
+
+        private final long range;
+
+        private final int shift;
+
+        Binning(int numberOfBins, double min, double max, boolean clamp, boolean integerValues)
+        {
+            if (numberOfBins < 1 || numberOfBins > Integer.MAX_VALUE - 3)
+            {
+                throw new IllegalArgumentException("Illegal number of bins " + numberOfBins
+                        + ".");
+            }
+            if ((min < max) == false || Double.isInfinite(min) || Double.isInfinite(max))
+            {
+                throw new IllegalArgumentException("Illegal histogram range [" + min + ", " + max
+                        + "].");
+            }
+            this.numberOfBins = numberOfBins;
+            this.min = min;
+            this.max = max;
+            this.scale = numberOfBins / (max - min);
+            this.clamp = clamp;
+            // Integer arithmetic is exact as long as (value - min) * numberOfBins fits into a
+            // long.
+            this.integral =
+                    integerValues && Math.rint(min) == min && Math.rint(max) == max
+                            && max - min <= (1L << 32);
+            this.lowerBound = (long) min;
+            this.range = (long) max - (long) min;
+            this.shift =
+                    (integral && range % numberOfBins == 0 && Long
+                            .bitCount(range / numberOfBins) == 1) ? Long
+                            .numberOfTrailingZeros(range / numberOfBins) : -1;
+        }
+
+        int getNumberOfSlots()
+        {
+            return numberOfBins + 3;
+        }
+
+        int getSlot(long value)
+        {
+            if (integral == false)
+            {
+                return getSlot((double) value);
+            }
+            final long delta = value - lowerBound;
+            if (delta < 0)
+            {
+                return clamp ? 1 : 0;
+            }
+            if (delta >= range)
+            {
+                return (delta == range || clamp) ? numberOfBins : numberOfBins + 1;
+            }
+            return 1 + (int) ((shift >= 0) ? delta >>> shift : delta * numberOfBins / range);
+        }
+
+        int getSlot(double value)
+        {
+            if (value != value)
+            {
+                return numberOfBins + 2;
+            }
+            if (value < min)
+            {
+                return clamp ? 1 : 0;
+            }
+            if (value >= max)
+            {
+                return (value == max || clamp) ? numberOfBins : numberOfBins + 1;
+            }
+            // Rounding may put values just below max into a bin past the last one.
+            return 1 + Math.min((int) ((value - min) * scale), numberOfBins - 1);
+        }
+    }
+
+    private MDArrayHistograms()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDByteArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDByteArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDByteArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final byte[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, true);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i])];
+                    }
+                }
+            }, 1);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with one bin for each unsigned 8-bit value,
+     * i.e. with 256 bins over <code>[0, 256]</code>. The bin of a value is its unsigned
+     * value, so no range checks are needed.
+     */
+    public static MDHistogram unsignedHistogram(MDByteArray array)
+    {
+        final byte[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(256, 0, 256, false, true);
+        return compute(array.dimensions, new int[array.rank()], array.dimensions, binning,
+                new ICounter()
+                    {
+                        @Override
+                        public void count(int start, int end, long[] partial)
+                        {
+                            for (int i = start; i < end; ++i)
+                            {
+                                ++partial[(x[i] & 0xFF) + 1];
+                            }
+                        }
+                    }, 1);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var>, interpreting its values as unsigned 8-bit
+     * integers.
+     *
+     * @see #histogram(MDByteArray, int, double, double, boolean)
+     */
+    public static MDHistogram unsignedHistogram(MDByteArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return unsignedHistogram(array, new int[array.rank()], array.dimensions, numberOfBins,
+                min, max, clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>, interpreting its values as unsigned 8-bit
+     * integers.
+     *
+     * @see #histogram(MDByteArray, int, double, double, boolean)
+     */
+    public static MDHistogram unsignedHistogram(MDByteArray array, int[] offset,
+            int[] regionDimensions, int numberOfBins, double min, double max, boolean clamp)
+    {
+        final byte[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, true);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i] & 0xFF)];
+                    }
+                }
+            }, 1);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDShortArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDShortArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDShortArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final short[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, true);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i])];
+                    }
+                }
+            }, NativeData.SHORT_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with one bin for each unsigned 16-bit value,
+     * i.e. with 65536 bins over <code>[0, 65536]</code>. The bin of a value is its unsigned
+     * value, so no range checks are needed.
+     */
+    public static MDHistogram unsignedHistogram(MDShortArray array)
+    {
+        final short[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(65536, 0, 65536, false, true);
+        return compute(array.dimensions, new int[array.rank()], array.dimensions, binning,
+                new ICounter()
+                    {
+                        @Override
+                        public void count(int start, int end, long[] partial)
+                        {
+                            for (int i = start; i < end; ++i)
+                            {
+                                ++partial[(x[i] & 0xFFFF) + 1];
+                            }
+                        }
+                    }, NativeData.SHORT_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var>, interpreting its values as unsigned 16-bit
+     * integers.
+     *
+     * @see #histogram(MDShortArray, int, double, double, boolean)
+     */
+    public static MDHistogram unsignedHistogram(MDShortArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return unsignedHistogram(array, new int[array.rank()], array.dimensions, numberOfBins,
+                min, max, clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>, interpreting its values as unsigned 16-bit
+     * integers.
+     *
+     * @see #histogram(MDShortArray, int, double, double, boolean)
+     */
+    public static MDHistogram unsignedHistogram(MDShortArray array, int[] offset,
+            int[] regionDimensions, int numberOfBins, double min, double max, boolean clamp)
+    {
+        final short[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, true);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i] & 0xFFFF)];
+                    }
+                }
+            }, NativeData.SHORT_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDIntArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDIntArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDIntArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final int[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, true);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i])];
+                    }
+                }
+            }, NativeData.INT_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDLongArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDLongArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDLongArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final long[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, false);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot((double) x[i])];
+                    }
+                }
+            }, NativeData.LONG_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDFloatArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDFloatArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDFloatArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final float[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, false);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i])];
+                    }
+                }
+            }, NativeData.FLOAT_SIZE);
+    }
+
+    /**
+     * Computes a histogram of <var>array</var> with <var>numberOfBins</var> equally wide bins over
+     * <code>[min, max]</code>. If <var>clamp</var> is <code>true</code>, values outside of the
+     * range are counted in the first or last bin, otherwise they are counted as underflow or
+     * overflow.
+     */
+    public static MDHistogram histogram(MDDoubleArray array, int numberOfBins, double min,
+            double max, boolean clamp)
+    {
+        return histogram(array, new int[array.rank()], array.dimensions, numberOfBins, min, max,
+                clamp);
+    }
+
+    /**
+     * Computes a histogram of the region of <var>array</var> starting at <var>offset</var> with
+     * the dimensions <var>regionDimensions</var>.
+     *
+     * @see #histogram(MDDoubleArray, int, double, double, boolean)
+     */
+    public static MDHistogram histogram(MDDoubleArray array, int[] offset, int[] regionDimensions,
+            int numberOfBins, double min, double max, boolean clamp)
+    {
+        final double[] x = array.getAsFlatArray();
+        final Binning binning = new Binning(numberOfBins, min, max, clamp, false);
+        return compute(array.dimensions, offset, regionDimensions, binning, new ICounter()
+            {
+                @Override
+                public void count(int start, int end, long[] partial)
+                {
+                    for (int i = start; i < end; ++i)
+                    {
+                        ++partial[binning.getSlot(x[i])];
+                    }
+                }
+            }, NativeData.DOUBLE_SIZE);
+    }
+
+    /**
+     * Computes the histogram of the region of an array with the dimensions
+     * <var>dimensions</var>, counting the elements of the region with <var>counter</var>.
+     */
+    private static MDHistogram compute(int[] dimensions, int[] offset,
+            final int[] regionDimensions, final Binning binning, final ICounter counter,
+            int elementSize)
+    {
+        MDArrayRegions.checkRegion("Array", dimensions, offset, regionDimensions);
+        final long startTime = System.nanoTime();
+        final int rank = regionDimensions.length;
+        final int length = MDAbstractArray.getLength(regionDimensions);
+        final int[] strides = MDAbstractArrayView.computeStrides(dimensions);
+        // Merge inner axes into one run as long as the region covers them completely.
+        int runAxis = Math.max(0, rank - 1);
+        int runLength = (rank == 0) ? 1 : regionDimensions[runAxis];
+        while (runAxis > 0 && regionDimensions[runAxis] == dimensions[runAxis])
+        {
+            --runAxis;
+            runLength *= regionDimensions[runAxis];
+        }
+        final int outerRank = runAxis;
+        final int run = runLength;
+        final int start = MDArrayRegions.linearIndex(offset, strides);
+        final int numberOfSlots = binning.getNumberOfSlots();
+        // Use one or two chunks per thread, each of them large enough to amortize the creation
+        // and merging of its partial histogram.
+        final int grain =
+                Math.max(Math.max(ParallelLoops.THRESHOLD, numberOfSlots), length
+                        / ParallelLoops.getParallelism());
+        final long[] slots =
+                (length == 0) ? new long[numberOfSlots] : ParallelLoops.reduceRange(length,
+                        grain, new ParallelLoops.IRangeReduction<long[]>()
+                            {
+                                @Override
+                                public long[] reduce(int from, int to)
+                                {
+                                    final long[] partial = new long[numberOfSlots];
+                                    countRuns(counter, start, strides, regionDimensions,
+                                            outerRank, run, from, to, partial);
+                                    return partial;
+                                }
+
+                                @Override
+                                public long[] merge(long[] left, long[] right)
+                                {
+                                    for (int i = 0; i < left.length; ++i)
+                                    {
+                                        left[i] += right[i];
+                                    }
+                                    return left;
+                                }
+                            });
+        final int numberOfBins = binning.numberOfBins;
+        return new MDHistogram(binning.min, binning.max, Arrays.copyOfRange(slots, 1,
+                numberOfBins + 1), slots[0], slots[numberOfBins + 1], slots[numberOfBins + 2],
+                length, elementSize, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Counts the elements <code>[from, to)</code> of the region, where the elements are numbered
+     * in row-major order of the region and the region consists of runs of <var>runLength</var>
+     * consecutive elements, one for each index of the first <var>outerRank</var> axes.
+     */
+    private static void countRuns(ICounter counter, int start, int[] strides,
+            int[] regionDimensions, int outerRank, int runLength, int from, int to,
+            long[] partial)
+    {
+        final int[] index = new int[outerRank];
+        int remainder = from / runLength;
+        for (int i = outerRank - 1; i >= 0; --i)
+        {
+            index[i] = remainder % regionDimensions[i];
+            remainder /= regionDimensions[i];
+        }
+        int runPos = start;
+        for (int i = 0; i < outerRank; ++i)
+        {
+            runPos += index[i] * strides[i];
+        }
+        int within = from % runLength;
+        int remaining = to - from;
+        while (remaining > 0)
+        {
+            final int len = Math.min(runLength - within, remaining);
+            counter.count(runPos + within, runPos + within + len, partial);
+            remaining -= len;
+            within = 0;
+            // Advance the outer index, innermost outer axis first.
+            int axis = outerRank - 1;
+            while (axis >= 0)
+            {
+                ++index[axis];
+                runPos += strides[axis];
+                if (index[axis] < regionDimensions[axis])
+                {
+                    break;
+                }
+                runPos -= index[axis] * strides[axis];
+                index[axis] = 0;
+                --axis;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * Single-threaded numeric kernels for {@link MDFloatArray} and {@link MDDoubleArray}.
+ * <p>
+ * The kernels are dispatched at class initialization time. When running on Java 16 or newer with
+ * the module <code>jdk.incubator.vector</code> resolved (<code>--add-modules
+ * jdk.incubator.vector</code>), an implementation based on the Vector API is used, provided that
+ * the platform offers vectors of at least 128 bits. Otherwise a scalar implementation is used. The
+ * scalar implementation can be enforced by setting the property
+ * <code>mdarray.kernels.scalar</code> to <code>true</code>.
+ * <p>
+ * Both implementations give identical results for all kernels but the dot products, where the
+ * order of summation and thus the rounding may differ.
+ *
+ * @author agent
+ */
+public final class MDArrayKernels
+{
+    private static final String VECTOR_KERNELS_CLASS_NAME =
+            "ch.systemsx.cisd.base.mdarray.VectorArrayKernels";
+
+    private static final IArrayKernels KERNELS = createKernels();
+
+    private MDArrayKernels()
+    {
+        // Not to be instantiated.
+    }
+
+    private static IArrayKernels createKernels()
+    {
+        if (Boolean.getBoolean("mdarray.kernels.scalar"))
+        {
+            return new ScalarArrayKernels();
+        }
+        try
+        {
+            return (IArrayKernels) Class.forName(VECTOR_KERNELS_CLASS_NAME)
+                    .getDeclaredConstructor().newInstance();
+        } catch (Exception ex)
+        {
+            // Not available or vectors too short on this platform: fall through.
+        } catch (LinkageError err)
+        {
+            // The module jdk.incubator.vector is not resolved: fall through.
+        }
+        return new ScalarArrayKernels();
+    }
+
+    /**
+     * Returns a short description of the kernel implementation in use, e.g. <code>scalar</code> or
+     * <code>vector (256 bit)</code>.
+     */
+    public static String getImplementationName()
+    {
+        return KERNELS.getName();
+    }
+
+    /**
+     * Returns <code>true</code>, if the implementation based on the Vector API is in use.
+     */
+    public static boolean isVectorized()
+    {
+        return KERNELS instanceof ScalarArrayKernels == false;
+    }
+
+    //
+    // float
+    //
+
+    /**
+     * Multiplies all elements of <var>array</var> with <var>factor</var> and writes the products
+     * to <var>result</var>, which may be <var>array</var> itself.
+     */
+    public static void scale(MDFloatArray array, float factor, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(array, result);
+        KERNELS.scale(array.getAsFlatArray(), factor, result.getAsFlatArray(), 0, array.size());
+    }
+
+    /**
+     * Sets all elements of <var>array</var> that are smaller than <var>threshold</var> to 0 and
+     * writes the result to <var>result</var>, which may be <var>array</var> itself.
+     */
+    public static void threshold(MDFloatArray array, float threshold, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(array, result);
+        KERNELS.threshold(array.getAsFlatArray(), threshold, result.getAsFlatArray(), 0,
+                array.size());
+    }
+
+    /**
+     * Adds <code>alpha * x</code> to <var>y</var>.
+     */
+    public static void axpy(float alpha, MDFloatArray x, MDFloatArray y)
+    {
+        y.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(x, y);
+        KERNELS.axpy(alpha, x.getAsFlatArray(), y.getAsFlatArray(), 0, x.size());
+    }
+
+    /**
+     * Returns the dot product of <var>x</var> and <var>y</var>, i.e. the sum of the products of
+     * all corresponding elements.
+     */
+    public static float dot(MDFloatArray x, MDFloatArray y)
+    {
+        MDAbstractArray.checkSameDimensions(x, y);
+        return KERNELS.dot(x.getAsFlatArray(), y.getAsFlatArray(), 0, x.size());
+    }
+
+    //
+    // double
+    //
+
+    /**
+     * Multiplies all elements of <var>array</var> with <var>factor</var> and writes the products
+     * to <var>result</var>, which may be <var>array</var> itself.
+     */
+    public static void scale(MDDoubleArray array, double factor, MDDoubleArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(array, result);
+        KERNELS.scale(array.getAsFlatArray(), factor, result.getAsFlatArray(), 0, array.size());
+    }
+
+    /**
+     * Sets all elements of <var>array</var> that are smaller than <var>threshold</var> to 0 and
+     * writes the result to <var>result</var>, which may be <var>array</var> itself.
+     */
+    public static void threshold(MDDoubleArray array, double threshold, MDDoubleArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(array, result);
+        KERNELS.threshold(array.getAsFlatArray(), threshold, result.getAsFlatArray(), 0,
+                array.size());
+    }
+
+    /**
+     * Adds <code>alpha * x</code> to <var>y</var>.
+     */
+    public static void axpy(double alpha, MDDoubleArray x, MDDoubleArray y)
+    {
+        y.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(x, y);
+        KERNELS.axpy(alpha, x.getAsFlatArray(), y.getAsFlatArray(), 0, x.size());
+    }
+
+    /**
+     * Returns the dot product of <var>x</var> and <var>y</var>, i.e. the sum of the products of
+     * all corresponding elements.
+     */
+    public static double dot(MDDoubleArray x, MDDoubleArray y)
+    {
+        MDAbstractArray.checkSameDimensions(x, y);
+        return KERNELS.dot(x.getAsFlatArray(), y.getAsFlatArray(), 0, x.size());
+    }
+
+}
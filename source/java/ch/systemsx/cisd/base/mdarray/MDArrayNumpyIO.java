@@ -0,0 +1,875 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import ch.systemsx.cisd.base.convert.NativeArrayEncoding;
+import ch.systemsx.cisd.base.convert.NativeData;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+import ch.systemsx.cisd.base.exceptions.CheckedExceptionTunnel;
+import ch.systemsx.cisd.base.exceptions.IOExceptionUnchecked;
+
+/**
+ * Reading and writing of MD arrays in the
+ * <a href="https://numpy.org/doc/stable/reference/generated/numpy.lib.format.html">NumPy
+ * <code>.npy</code> format</a> and of maps of MD arrays in the <code>.npz</code> format (a zip
+ * file of <code>.npy</code> files, as written by <code>numpy.savez</code>).
+ * <p>
+ * The <code>descr</code> of a <code>.npy</code> header is mapped onto a
+ * {@link NativeArrayEncoding}, which determines the MD array type and the {@link ByteOrder} of the
+ * data: <code>i1</code>, <code>u1</code> and <code>b1</code> are read into an {@link MDByteArray},
+ * <code>i2</code> and <code>u2</code> into an {@link MDShortArray}, <code>i4</code> and
+ * <code>u4</code> into an {@link MDIntArray}, <code>i8</code> and <code>u8</code> into an
+ * {@link MDLongArray}, <code>f4</code> into an {@link MDFloatArray} and <code>f8</code> into an
+ * {@link MDDoubleArray}. Unsigned values keep their bits in the signed type of the same width.
+ * Arrays in Fortran order are converted to row-major order with a strided copy. A scalar (shape
+ * <code>()</code>) is read as an array of dimensions <code>{ 1 }</code>.
+ * <p>
+ * The data is decoded in chunks through {@link NativeData}. A <code>.npy</code> file is memory
+ * mapped for reading (in windows for files of more than 256 MB), members of a <code>.npz</code>
+ * file are read from the zip stream. Arrays are always written in row-major order with signed
+ * <code>descr</code>s, by default in little-endian byte order.
+ *
+ * @author agent
+ */
+public final class MDArrayNumpyIO
+{
+    private static final byte[] MAGIC = new byte[]
+        { (byte) 0x93, 'N', 'U', 'M', 'P', 'Y' };
+
+    private static final String NPY_EXTENSION = ".npy";
+
+    /** The alignment of the start of the data, as required by NumPy. */
+    private static final int HEADER_ALIGNMENT = 64;
+
+    /** The maximal header length of format version 1.0. */
+    private static final int MAX_VERSION1_HEADER_LENGTH = 0xFFFF;
+
+    /** The number of bytes decoded or encoded in one step. */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /** The size of the windows that a large file is mapped in. */
+    private static final long MAP_WINDOW_SIZE = 1L << 28;
+
+    private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final Pattern DESCR_PATTERN = Pattern
+            .compile("['\"]descr['\"]\\s*:\\s*['\"]([^'\"]*)['\"]");
+
+    private static final Pattern FORTRAN_ORDER_PATTERN = Pattern
+            .compile("['\"]fortran_order['\"]\\s*:\\s*(True|False)");
+
+    private static final Pattern SHAPE_PATTERN = Pattern
+            .compile("['\"]shape['\"]\\s*:\\s*\\(([^)]*)\\)");
+
+    /**
+     * The parsed header of a <code>.npy</code> file.
+     */
+    private static final class Header
+    {
+        final NativeArrayEncoding encoding;
+
+        final boolean fortranOrder;
+
+        final int[] dimensions;
+
+        Header(NativeArrayEncoding encoding, boolean fortranOrder, int[] dimensions)
+        {
+            this.encoding = encoding;
+            this.fortranOrder = fortranOrder;
+            this.dimensions = dimensions;
+        }
+    }
+
+    /**
+     * A source of the bytes of a <code>.npy</code> file.
+     */
+    private interface IByteSource
+    {
+        /**
+         * Reads exactly <var>length</var> bytes into <var>buffer</var>, starting at
+         * <var>offset</var>.
+         */
+        void readFully(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    /**
+     * A byte source that reads a file through memory mapped windows.
+     */
+    private static final class MappedFileSource implements IByteSource
+    {
+        private final FileChannel channel;
+
+        private final long size;
+
+        private long windowStart;
+
+        private MappedByteBuffer window;
+
+        MappedFileSource(FileChannel channel) throws IOException
+        {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public void readFully(byte[] buffer, int offset, int length) throws IOException
+        {
+            if (window == null || window.remaining() < length)
+            {
+                final long position = (window == null) ? 0 : windowStart + window.position();
+                if (position + length > size)
+                {
+                    throw new EOFException("Unexpected end of file at position " + size + ".");
+                }
+                windowStart = position;
+                window =
+                        channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                Math.min(size - position, Math.max(MAP_WINDOW_SIZE, length)));
+            }
+            window.get(buffer, offset, length);
+        }
+    }
+
+    /**
+     * A byte source that reads from a stream. The stream is not buffered, so that no bytes after
+     * the array are consumed.
+     */
+    private static final class StreamSource implements IByteSource
+    {
+        private final DataInputStream in;
+
+        StreamSource(InputStream in)
+        {
+            this.in = new DataInputStream(in);
+        }
+
+        @Override
+        public void readFully(byte[] buffer, int offset, int length) throws IOException
+        {
+            in.readFully(buffer, offset, length);
+        }
+    }
+
+    private MDArrayNumpyIO()
+    {
+        // Not to be instantiated.
+    }
+
+    //
+    // .npy
+    //
+
+    /**
+     * Reads the MD array from the <code>.npy</code> <var>file</var>, which is memory mapped.
+     *
+     * @throws IllegalArgumentException If <var>file</var> is not a <code>.npy</code> file or has
+     *             an unsupported <code>descr</code>.
+     */
+    public static MDAbstractArray<?> readNpy(File file) throws IOExceptionUnchecked
+    {
+        RandomAccessFile raf = null;
+        try
+        {
+            raf = new RandomAccessFile(file, "r");
+            final MDAbstractArray<?> result = read(new MappedFileSource(raf.getChannel()));
+            raf.close();
+            raf = null;
+            return result;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(raf);
+        }
+    }
+
+    /**
+     * Reads an MD array in <code>.npy</code> format from <var>in</var>. The stream is not closed.
+     *
+     * @throws IllegalArgumentException If <var>in</var> does not contain <code>.npy</code> data or
+     *             the data have an unsupported <code>descr</code>.
+     */
+    public static MDAbstractArray<?> readNpy(InputStream in) throws IOExceptionUnchecked
+    {
+        try
+        {
+            return read(new StreamSource(in));
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    /**
+     * Writes <var>array</var> to the <code>.npy</code> <var>file</var> in little-endian byte
+     * order.
+     *
+     * @throws IllegalArgumentException If <var>array</var> is not of a primitive type.
+     */
+    public static void writeNpy(File file, MDAbstractArray<?> array) throws IOExceptionUnchecked
+    {
+        writeNpy(file, array, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes <var>array</var> to the <code>.npy</code> <var>file</var> in <var>byteOrder</var>.
+     *
+     * @throws IllegalArgumentException If <var>array</var> is not of a primitive type.
+     */
+    public static void writeNpy(File file, MDAbstractArray<?> array, ByteOrder byteOrder)
+            throws IOExceptionUnchecked
+    {
+        OutputStream out = null;
+        try
+        {
+            out = new FileOutputStream(file);
+            write(out, array, byteOrder);
+            out.close();
+            out = null;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    /**
+     * Writes <var>array</var> in <code>.npy</code> format and in <var>byteOrder</var> to
+     * <var>out</var>. The stream is not closed.
+     *
+     * @throws IllegalArgumentException If <var>array</var> is not of a primitive type.
+     */
+    public static void writeNpy(OutputStream out, MDAbstractArray<?> array, ByteOrder byteOrder)
+            throws IOExceptionUnchecked
+    {
+        try
+        {
+            write(out, array, byteOrder);
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        }
+    }
+
+    //
+    // .npz
+    //
+
+    /**
+     * Reads all MD arrays from the <code>.npz</code> <var>file</var>. The keys of the map are the
+     * names of the zip entries without the extension <code>.npy</code>, in the order of the zip
+     * file.
+     *
+     * @throws IllegalArgumentException If an entry is not in <code>.npy</code> format or has an
+     *             unsupported <code>descr</code>.
+     */
+    public static Map<String, MDAbstractArray<?>> readNpz(File file) throws IOExceptionUnchecked
+    {
+        ZipFile zipFile = null;
+        try
+        {
+            zipFile = new ZipFile(file);
+            final Map<String, MDAbstractArray<?>> result =
+                    new LinkedHashMap<String, MDAbstractArray<?>>();
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements())
+            {
+                final ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory())
+                {
+                    continue;
+                }
+                final String name = entry.getName();
+                final String key =
+                        name.endsWith(NPY_EXTENSION) ? name.substring(0, name.length()
+                                - NPY_EXTENSION.length()) : name;
+                final InputStream in = zipFile.getInputStream(entry);
+                try
+                {
+                    result.put(key, read(new StreamSource(in)));
+                } finally
+                {
+                    IOUtils.closeQuietly(in);
+                }
+            }
+            zipFile.close();
+            zipFile = null;
+            return result;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(zipFile);
+        }
+    }
+
+    /**
+     * Writes the <var>arrays</var> to the <code>.npz</code> <var>file</var>, each as an entry
+     * with the key of the map and the extension <code>.npy</code>, in little-endian byte order.
+     * <p>
+     * If <var>compress</var> is <code>false</code>, the entries are deflated with compression
+     * level 0 rather than stored, so that they can be written in one pass. NumPy reads both.
+     *
+     * @throws IllegalArgumentException If one of the <var>arrays</var> is not of a primitive type.
+     */
+    public static void writeNpz(File file, Map<String, ? extends MDAbstractArray<?>> arrays,
+            boolean compress) throws IOExceptionUnchecked
+    {
+        ZipOutputStream out = null;
+        try
+        {
+            out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.setLevel(compress ? Deflater.DEFAULT_COMPRESSION : Deflater.NO_COMPRESSION);
+            for (Map.Entry<String, ? extends MDAbstractArray<?>> entry : arrays.entrySet())
+            {
+                out.putNextEntry(new ZipEntry(entry.getKey() + NPY_EXTENSION));
+                write(out, entry.getValue(), ByteOrder.LITTLE_ENDIAN);
+                out.closeEntry();
+            }
+            out.close();
+            out = null;
+        } catch (IOException ex)
+        {
+            throw CheckedExceptionTunnel.wrapIfNecessary(ex);
+        } finally
+        {
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    //
+    // Reading
+    //
+
+    private static MDAbstractArray<?> read(IByteSource source) throws IOException
+    {
+        final Header header = readHeader(source);
+        final int[] dimensions = header.dimensions;
+        final boolean transpose = header.fortranOrder && dimensions.length > 1;
+        // Data in Fortran order are the row-major data of the array with reversed dimensions.
+        final MDAbstractArray<?> array =
+                createArray(header.encoding, transpose ? reverse(dimensions) : dimensions);
+        final int elementSize = header.encoding.getSizeInBytes();
+        final int size = array.size();
+        final int chunkElements = CHUNK_SIZE / elementSize;
+        final byte[] chunk = new byte[Math.min(size, chunkElements) * elementSize];
+        for (int start = 0; start < size; start += chunkElements)
+        {
+            final int count = Math.min(chunkElements, size - start);
+            source.readFully(chunk, 0, count * elementSize);
+            copyFromBytes(chunk, count, array, start, header.encoding.getByteOrder());
+        }
+        return transpose ? fortranToRowMajor(array, dimensions) : array;
+    }
+
+    private static Header readHeader(IByteSource source) throws IOException
+    {
+        final byte[] prefix = new byte[MAGIC.length + 2];
+        source.readFully(prefix, 0, prefix.length);
+        for (int i = 0; i < MAGIC.length; ++i)
+        {
+            if (prefix[i] != MAGIC[i])
+            {
+                throw new IllegalArgumentException("Not a NumPy .npy file.");
+            }
+        }
+        final int majorVersion = prefix[MAGIC.length];
+        final int headerLength;
+        if (majorVersion == 1)
+        {
+            final byte[] length = new byte[2];
+            source.readFully(length, 0, length.length);
+            headerLength = (length[0] & 0xFF) | ((length[1] & 0xFF) << 8);
+        } else if (majorVersion == 2 || majorVersion == 3)
+        {
+            final byte[] length = new byte[4];
+            source.readFully(length, 0, length.length);
+            headerLength = NativeData.byteToInt(length, ByteOrder.LITTLE_ENDIAN)[0];
+            if (headerLength < 0)
+            {
+                throw new IllegalArgumentException("Invalid .npy header length " + headerLength
+                        + ".");
+            }
+        } else
+        {
+            throw new IllegalArgumentException("Unsupported .npy format version " + majorVersion
+                    + "." + prefix[MAGIC.length + 1] + ".");
+        }
+        final byte[] headerBytes = new byte[headerLength];
+        source.readFully(headerBytes, 0, headerLength);
+        final String header = new String(headerBytes, (majorVersion == 3) ? UTF8 : LATIN1);
+        return new Header(parseDescr(getHeaderValue(DESCR_PATTERN, header, "descr")),
+                "True".equals(getHeaderValue(FORTRAN_ORDER_PATTERN, header, "fortran_order")),
+                parseShape(getHeaderValue(SHAPE_PATTERN, header, "shape")));
+    }
+
+    private static String getHeaderValue(Pattern pattern, String header, String key)
+    {
+        final Matcher matcher = pattern.matcher(header);
+        if (matcher.find() == false)
+        {
+            throw new IllegalArgumentException("No valid key '" + key + "' in .npy header "
+                    + header.trim() + ".");
+        }
+        return matcher.group(1);
+    }
+
+    private static NativeArrayEncoding parseDescr(String descr)
+    {
+        NativeArrayEncoding encoding = null;
+        if (descr.length() >= 3)
+        {
+            final char kind = descr.charAt(1);
+            final byte size = parseSize(descr.substring(2));
+            final ByteOrder byteOrder = parseByteOrder(descr.charAt(0), size);
+            if (byteOrder != null)
+            {
+                if (kind == 'i' || kind == 'u' || (kind == 'b' && size == 1))
+                {
+                    encoding = NativeArrayEncoding.tryGetIntEncoding(byteOrder, size);
+                } else if (kind == 'f')
+                {
+                    encoding = NativeArrayEncoding.tryGetFloatEncoding(byteOrder, size);
+                }
+            }
+        }
+        if (encoding == null)
+        {
+            throw new IllegalArgumentException("Unsupported .npy descr '" + descr + "'.");
+        }
+        return encoding;
+    }
+
+    private static byte parseSize(String size)
+    {
+        return ("1".equals(size) || "2".equals(size) || "4".equals(size) || "8".equals(size)) ? Byte
+                .parseByte(size) : 0;
+    }
+
+    private static ByteOrder parseByteOrder(char order, byte size)
+    {
+        if (size == 1)
+        {
+            return (order == '|' || order == '<' || order == '>' || order == '=') ? ByteOrder.NATIVE
+                    : null;
+        }
+        switch (order)
+        {
+            case '<':
+                return ByteOrder.LITTLE_ENDIAN;
+            case '>':
+                return ByteOrder.BIG_ENDIAN;
+            case '=':
+                return NativeData.getNativeByteOrder();
+            default:
+                return null;
+        }
+    }
+
+    private static int[] parseShape(String shape)
+    {
+        final String[] elements = shape.split(",");
+        final int[] dimensions = new int[elements.length];
+        int rank = 0;
+        for (String element : elements)
+        {
+            String value = element.trim();
+            if (value.length() == 0)
+            {
+                continue;
+            }
+            if (value.endsWith("L"))
+            {
+                value = value.substring(0, value.length() - 1);
+            }
+            try
+            {
+                dimensions[rank] = Integer.parseInt(value);
+            } catch (NumberFormatException ex)
+            {
+                throw new IllegalArgumentException("Invalid .npy shape (" + shape + ").");
+            }
+            if (dimensions[rank] < 0)
+            {
+                throw new IllegalArgumentException("Invalid .npy shape (" + shape + ").");
+            }
+            ++rank;
+        }
+        if (rank == 0)
+        {
+            return new int[]
+                { 1 };
+        }
+        final int[] result = new int[rank];
+        System.arraycopy(dimensions, 0, result, 0, rank);
+        // Checks for overflow.
+        MDAbstractArray.getLength(result);
+        return result;
+    }
+
+    private static int[] reverse(int[] dimensions)
+    {
+        final int[] reversed = new int[dimensions.length];
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            reversed[i] = dimensions[dimensions.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    /**
+     * Returns a row-major copy of <var>fortran</var>, which holds an array of
+     * <var>dimensions</var> in Fortran (column-major) order.
+     */
+    private static MDAbstractArray<?> fortranToRowMajor(MDAbstractArray<?> fortran,
+            int[] dimensions)
+    {
+        final int rank = dimensions.length;
+        final int[] strides = new int[rank];
+        int stride = 1;
+        for (int i = 0; i < rank; ++i)
+        {
+            strides[i] = stride;
+            stride *= dimensions[i];
+        }
+        final MDAbstractArray<?> result = createArray(fortran, dimensions);
+        final int size = result.size();
+        if (size == 0)
+        {
+            return result;
+        }
+        final int runLength = dimensions[rank - 1];
+        final int runStride = strides[rank - 1];
+        final int[] index = new int[rank - 1];
+        int sourceStart = 0;
+        for (int targetStart = 0; targetStart < size; targetStart += runLength)
+        {
+            copyStrided(fortran, sourceStart, runStride, result, targetStart, runLength);
+            for (int i = rank - 2; i >= 0; --i)
+            {
+                sourceStart += strides[i];
+                if (++index[i] < dimensions[i])
+                {
+                    break;
+                }
+                sourceStart -= strides[i] * dimensions[i];
+                index[i] = 0;
+            }
+        }
+        return result;
+    }
+
+    private static void copyStrided(MDAbstractArray<?> source, int sourceStart, int sourceStride,
+            MDAbstractArray<?> target, int targetStart, int length)
+    {
+        if (source instanceof MDByteArray)
+        {
+            final byte[] in = ((MDByteArray) source).getAsFlatArray();
+            final byte[] out = ((MDByteArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        } else if (source instanceof MDShortArray)
+        {
+            final short[] in = ((MDShortArray) source).getAsFlatArray();
+            final short[] out = ((MDShortArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        } else if (source instanceof MDIntArray)
+        {
+            final int[] in = ((MDIntArray) source).getAsFlatArray();
+            final int[] out = ((MDIntArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        } else if (source instanceof MDLongArray)
+        {
+            final long[] in = ((MDLongArray) source).getAsFlatArray();
+            final long[] out = ((MDLongArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        } else if (source instanceof MDFloatArray)
+        {
+            final float[] in = ((MDFloatArray) source).getAsFlatArray();
+            final float[] out = ((MDFloatArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        } else
+        {
+            final double[] in = ((MDDoubleArray) source).getAsFlatArray();
+            final double[] out = ((MDDoubleArray) target).getAsFlatArray();
+            for (int i = 0, j = sourceStart; i < length; ++i, j += sourceStride)
+            {
+                out[targetStart + i] = in[j];
+            }
+        }
+    }
+
+    //
+    // Writing
+    //
+
+    private static void write(OutputStream out, MDAbstractArray<?> array, ByteOrder byteOrder)
+            throws IOException
+    {
+        final NativeArrayEncoding encoding = getEncoding(array, byteOrder);
+        out.write(createHeader(encoding, array.dimensions()));
+        final int elementSize = encoding.getSizeInBytes();
+        final int size = array.size();
+        final int chunkElements = CHUNK_SIZE / elementSize;
+        final byte[] chunk = new byte[Math.min(size, chunkElements) * elementSize];
+        for (int start = 0; start < size; start += chunkElements)
+        {
+            final int count = Math.min(chunkElements, size - start);
+            copyToBytes(array, start, count, chunk, encoding.getByteOrder());
+            out.write(chunk, 0, count * elementSize);
+        }
+    }
+
+    private static byte[] createHeader(NativeArrayEncoding encoding, int[] dimensions)
+    {
+        final StringBuilder header = new StringBuilder();
+        header.append("{'descr': '").append(getDescr(encoding));
+        header.append("', 'fortran_order': False, 'shape': (");
+        for (int i = 0; i < dimensions.length; ++i)
+        {
+            header.append(dimensions[i]).append((dimensions.length == 1) ? "," : "");
+            if (i < dimensions.length - 1)
+            {
+                header.append(", ");
+            }
+        }
+        header.append("), }");
+        int prefixLength = MAGIC.length + 4;
+        int version = 1;
+        if (header.length() + HEADER_ALIGNMENT > MAX_VERSION1_HEADER_LENGTH)
+        {
+            prefixLength += 2;
+            version = 2;
+        }
+        // Pads with spaces and a final newline, such that the data start aligned.
+        final int totalLength =
+                ((prefixLength + header.length() + 1 + HEADER_ALIGNMENT - 1) / HEADER_ALIGNMENT)
+                        * HEADER_ALIGNMENT;
+        while (prefixLength + header.length() + 1 < totalLength)
+        {
+            header.append(' ');
+        }
+        header.append('\n');
+        final int headerLength = header.length();
+        final byte[] result = new byte[totalLength];
+        System.arraycopy(MAGIC, 0, result, 0, MAGIC.length);
+        result[MAGIC.length] = (byte) version;
+        result[MAGIC.length + 1] = 0;
+        result[MAGIC.length + 2] = (byte) headerLength;
+        result[MAGIC.length + 3] = (byte) (headerLength >>> 8);
+        if (version == 2)
+        {
+            result[MAGIC.length + 4] = (byte) (headerLength >>> 16);
+            result[MAGIC.length + 5] = (byte) (headerLength >>> 24);
+        }
+        final byte[] headerBytes = header.toString().getBytes(LATIN1);
+        System.arraycopy(headerBytes, 0, result, prefixLength, headerBytes.length);
+        return result;
+    }
+
+    private static String getDescr(NativeArrayEncoding encoding)
+    {
+        final char order;
+        switch (encoding.getByteOrder())
+        {
+            case LITTLE_ENDIAN:
+                order = '<';
+                break;
+            case BIG_ENDIAN:
+                order = '>';
+                break;
+            default:
+                order = '|';
+                break;
+        }
+        return "" + order + (encoding.isFloatingPoint() ? 'f' : 'i') + encoding.getSizeInBytes();
+    }
+
+    //
+    // Types
+    //
+
+    private static NativeArrayEncoding getEncoding(MDAbstractArray<?> array, ByteOrder byteOrder)
+    {
+        final ByteOrder order =
+                (byteOrder == ByteOrder.NATIVE) ? NativeData.getNativeByteOrder() : byteOrder;
+        if (array instanceof MDByteArray)
+        {
+            return NativeArrayEncoding.INT8_NATIVE;
+        } else if (array instanceof MDShortArray)
+        {
+            return NativeArrayEncoding.tryGetIntEncoding(order, (byte) 2);
+        } else if (array instanceof MDIntArray)
+        {
+            return NativeArrayEncoding.tryGetIntEncoding(order, (byte) 4);
+        } else if (array instanceof MDLongArray)
+        {
+            return NativeArrayEncoding.tryGetIntEncoding(order, (byte) 8);
+        } else if (array instanceof MDFloatArray)
+        {
+            return NativeArrayEncoding.tryGetFloatEncoding(order, (byte) 4);
+        } else if (array instanceof MDDoubleArray)
+        {
+            return NativeArrayEncoding.tryGetFloatEncoding(order, (byte) 8);
+        }
+        throw new IllegalArgumentException("Arrays of type " + array.getClass().getSimpleName()
+                + " cannot be written in .npy format.");
+    }
+
+    private static MDAbstractArray<?> createArray(NativeArrayEncoding encoding, int[] dimensions)
+    {
+        switch (encoding.getSizeInBytes())
+        {
+            case 1:
+                return new MDByteArray(dimensions);
+            case 2:
+                return new MDShortArray(dimensions);
+            case 4:
+                return encoding.isFloatingPoint() ? new MDFloatArray(dimensions) : new MDIntArray(
+                        dimensions);
+            default:
+                return encoding.isFloatingPoint() ? new MDDoubleArray(dimensions)
+                        : new MDLongArray(dimensions);
+        }
+    }
+
+    private static MDAbstractArray<?> createArray(MDAbstractArray<?> template, int[] dimensions)
+    {
+        if (template instanceof MDByteArray)
+        {
+            return new MDByteArray(dimensions);
+        } else if (template instanceof MDShortArray)
+        {
+            return new MDShortArray(dimensions);
+        } else if (template instanceof MDIntArray)
+        {
+            return new MDIntArray(dimensions);
+        } else if (template instanceof MDLongArray)
+        {
+            return new MDLongArray(dimensions);
+        } else if (template instanceof MDFloatArray)
+        {
+            return new MDFloatArray(dimensions);
+        } else
+        {
+            return new MDDoubleArray(dimensions);
+        }
+    }
+
+    private static void copyFromBytes(byte[] in, int count, MDAbstractArray<?> array, int start,
+            ByteOrder byteOrder)
+    {
+        if (array instanceof MDByteArray)
+        {
+            System.arraycopy(in, 0, ((MDByteArray) array).getAsFlatArray(), start, count);
+        } else if (array instanceof MDShortArray)
+        {
+            NativeData.copyByteToShort(in, 0, ((MDShortArray) array).getAsFlatArray(), start,
+                    count, byteOrder);
+        } else if (array instanceof MDIntArray)
+        {
+            NativeData.copyByteToInt(in, 0, ((MDIntArray) array).getAsFlatArray(), start, count,
+                    byteOrder);
+        } else if (array instanceof MDLongArray)
+        {
+            NativeData.copyByteToLong(in, 0, ((MDLongArray) array).getAsFlatArray(), start,
+                    count, byteOrder);
+        } else if (array instanceof MDFloatArray)
+        {
+            NativeData.copyByteToFloat(in, 0, ((MDFloatArray) array).getAsFlatArray(), start,
+                    count, byteOrder);
+        } else
+        {
+            NativeData.copyByteToDouble(in, 0, ((MDDoubleArray) array).getAsFlatArray(), start,
+                    count, byteOrder);
+        }
+    }
+
+    private static void copyToBytes(MDAbstractArray<?> array, int start, int count, byte[] out,
+            ByteOrder byteOrder)
+    {
+        if (array instanceof MDByteArray)
+        {
+            System.arraycopy(((MDByteArray) array).getAsFlatArray(), start, out, 0, count);
+        } else if (array instanceof MDShortArray)
+        {
+            NativeData.copyShortToByte(((MDShortArray) array).getAsFlatArray(), start, out, 0,
+                    count, byteOrder);
+        } else if (array instanceof MDIntArray)
+        {
+            NativeData.copyIntToByte(((MDIntArray) array).getAsFlatArray(), start, out, 0, count,
+                    byteOrder);
+        } else if (array instanceof MDLongArray)
+        {
+            NativeData.copyLongToByte(((MDLongArray) array).getAsFlatArray(), start, out, 0,
+                    count, byteOrder);
+        } else if (array instanceof MDFloatArray)
+        {
+            NativeData.copyFloatToByte(((MDFloatArray) array).getAsFlatArray(), start, out, 0,
+                    count, byteOrder);
+        } else
+        {
+            NativeData.copyDoubleToByte(((MDDoubleArray) array).getAsFlatArray(), start, out, 0,
+                    count, byteOrder);
+        }
+    }
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * A pool that recycles the backing arrays of primitive MD arrays.
+ * <p>
+ * Arrays are leased with one of the <code>leaseXXXArray()</code> methods and returned to the pool
+ * by closing the {@link Lease}, preferably in a <code>try</code>-with-resources statement:
+ * 
+ * <pre>
+ * try (MDArrayPool.Lease&lt;MDDoubleArray&gt; lease = pool.leaseDoubleArray(100, 100))
+ * {
+ *     final MDDoubleArray array = lease.get();
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * The lengths of the backing arrays are rounded up to size classes: four classes per power of 2,
+ * so a backing array is at most 25% larger than needed. The spare elements are available as
+ * capacity for additional hyper-rows. Backing arrays are pooled by element type and size class, so
+ * arrays of different shapes but similar size share the same backing arrays.
+ * <p>
+ * The pool holds at most <var>maxPooledBytes</var> bytes of backing arrays. If a returned array
+ * exceeds this limit, the arrays returned least recently are evicted from the pool and left to the
+ * garbage collector.
+ * <p>
+ * The pool is thread-safe.
+ *
+ * @author agent
+ */
+public final class MDArrayPool
+{
+    /** The smallest size class. */
+    static final int MIN_SIZE_CLASS = 16;
+
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The lease of an MD array from a {@link MDArrayPool}. Closing the lease returns the backing
+     * array to the pool.
+     * <p>
+     * <b>The MD array must not be used after the lease has been closed, as its backing array may
+     * already be in use by another lease.</b> An exception is an array that has been frozen (see
+     * {@link MDAbstractArray#freeze()}), e.g. to be used as the key of a cache: its backing array
+     * is not returned to the pool, so that it stays unchanged.
+     */
+    public static final class Lease<A extends MDAbstractArray<?>> implements Closeable
+    {
+        private final MDArrayPool pool;
+
+        private final A array;
+
+        private final int elementSize;
+
+        private boolean closed;
+
+        Lease(MDArrayPool pool, A array, int elementSize)
+        {
+            this.pool = pool;
+            this.array = array;
+            this.elementSize = elementSize;
+        }
+
+        /**
+         * Returns the leased array.
+         * 
+         * @throws IllegalStateException If the lease has already been closed.
+         */
+        public A get()
+        {
+            if (closed)
+            {
+                throw new IllegalStateException("Lease is closed.");
+            }
+            return array;
+        }
+
+        /**
+         * Returns the backing array to the pool, unless the array is frozen. Closing a lease a
+         * second time has no effect. If the array was grown beyond its capacity, its new backing
+         * array is returned to the pool only if its length is a size class.
+         */
+        @Override
+        public void close()
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+            if (array.isFrozen() == false)
+            {
+                pool.release(array.getAsFlatArray(), elementSize);
+            }
+        }
+    }
+
+    private static final class Entry
+    {
+        final Object array;
+
+        final long bytes;
+
+        final ArrayDeque<Entry> bucket;
+
+        Entry(Object array, long bytes, ArrayDeque<Entry> bucket)
+        {
+            this.array = array;
+            this.bytes = bytes;
+            this.bucket = bucket;
+        }
+    }
+
+    private final long maxPooledBytes;
+
+    /** The buckets by element type and size class. The most recently returned entry is first. */
+    private final Map<Class<?>, Map<Integer, ArrayDeque<Entry>>> buckets =
+            new HashMap<Class<?>, Map<Integer, ArrayDeque<Entry>>>();
+
+    /** All pooled entries, the least recently returned entry first. */
+    private final LinkedHashSet<Entry> entries = new LinkedHashSet<Entry>();
+
+    private long pooledBytes;
+
+    /**
+     * Creates a pool that holds at most <var>maxPooledBytes</var> bytes of backing arrays.
+     */
+    public MDArrayPool(long maxPooledBytes)
+    {
+        if (maxPooledBytes < 0)
+        {
+            throw new IllegalArgumentException("Negative memory limit " + maxPooledBytes + ".");
+        }
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    /**
+     * Leases a {@link MDByteArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDByteArray> leaseByteArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        byte[] backingArray = (byte[]) acquire(byte.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new byte[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, (byte) 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDByteArray>(this, new MDByteArray(backingArray, dimensions.clone(),
+                usableLength), 1);
+    }
+
+    /**
+     * Leases a {@link MDShortArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDShortArray> leaseShortArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        short[] backingArray = (short[]) acquire(short.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new short[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, (short) 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDShortArray>(this, new MDShortArray(backingArray, dimensions.clone(),
+                usableLength), NativeData.SHORT_SIZE);
+    }
+
+    /**
+     * Leases a {@link MDIntArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDIntArray> leaseIntArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        int[] backingArray = (int[]) acquire(int.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new int[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDIntArray>(this, new MDIntArray(backingArray, dimensions.clone(),
+                usableLength), NativeData.INT_SIZE);
+    }
+
+    /**
+     * Leases a {@link MDLongArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDLongArray> leaseLongArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        long[] backingArray = (long[]) acquire(long.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new long[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, (long) 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDLongArray>(this, new MDLongArray(backingArray, dimensions.clone(),
+                usableLength), NativeData.LONG_SIZE);
+    }
+
+    /**
+     * Leases a {@link MDFloatArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDFloatArray> leaseFloatArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        float[] backingArray = (float[]) acquire(float.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new float[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, (float) 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDFloatArray>(this, new MDFloatArray(backingArray, dimensions.clone(),
+                usableLength), NativeData.FLOAT_SIZE);
+    }
+
+    /**
+     * Leases a {@link MDDoubleArray} with the <var>dimensions</var>. All elements of the array,
+     * including its spare capacity, are 0.
+     */
+    public Lease<MDDoubleArray> leaseDoubleArray(int... dimensions)
+    {
+        final int length = MDAbstractArray.getLength(dimensions, 0);
+        double[] backingArray = (double[]) acquire(double.class, getSizeClass(length));
+        if (backingArray == null)
+        {
+            backingArray = new double[getSizeClass(length)];
+        } else
+        {
+            Arrays.fill(backingArray, (double) 0);
+        }
+        final int usableLength = MDAbstractArray.getUsableLength(dimensions, backingArray.length);
+        return new Lease<MDDoubleArray>(this, new MDDoubleArray(backingArray, dimensions.clone(),
+                usableLength), NativeData.DOUBLE_SIZE);
+    }
+
+    /**
+     * Returns the maximal number of bytes of backing arrays held by the pool.
+     */
+    public long getMaxPooledBytes()
+    {
+        return maxPooledBytes;
+    }
+
+    /**
+     * Returns the number of bytes of backing arrays currently held by the pool.
+     */
+    public synchronized long getPooledBytes()
+    {
+        return pooledBytes;
+    }
+
+    /**
+     * Returns the number of backing arrays currently held by the pool.
+     */
+    public synchronized int getNumberOfPooledArrays()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Removes all backing arrays from the pool.
+     */
+    public synchronized void clear()
+    {
+        buckets.clear();
+        entries.clear();
+        pooledBytes = 0;
+    }
+
+    /**
+     * Returns the size class of <var>length</var>, i.e. the smallest length of a pooled backing
+     * array that can hold <var>length</var> elements.
+     */
+    static int getSizeClass(int length)
+    {
+        if (length <= MIN_SIZE_CLASS)
+        {
+            return MIN_SIZE_CLASS;
+        }
+        final long step = Integer.highestOneBit(length - 1) >> 2;
+        final long sizeClass = (length + step - 1) / step * step;
+        return (sizeClass > MAX_ARRAY_LENGTH) ? length : (int) sizeClass;
+    }
+
+    private synchronized Object acquire(Class<?> elementType, int sizeClass)
+    {
+        final Map<Integer, ArrayDeque<Entry>> typeBuckets = buckets.get(elementType);
+        final ArrayDeque<Entry> bucket = (typeBuckets == null) ? null : typeBuckets.get(sizeClass);
+        if (bucket == null || bucket.isEmpty())
+        {
+            return null;
+        }
+        final Entry entry = bucket.pollFirst();
+        entries.remove(entry);
+        pooledBytes -= entry.bytes;
+        return entry.array;
+    }
+
+    private synchronized void release(Object array, int elementSize)
+    {
+        final int length = Array.getLength(array);
+        final long bytes = (long) length * elementSize;
+        if (getSizeClass(length) != length || bytes > maxPooledBytes)
+        {
+            return;
+        }
+        final Class<?> elementType = array.getClass().getComponentType();
+        Map<Integer, ArrayDeque<Entry>> typeBuckets = buckets.get(elementType);
+        if (typeBuckets == null)
+        {
+            typeBuckets = new HashMap<Integer, ArrayDeque<Entry>>();
+            buckets.put(elementType, typeBuckets);
+        }
+        ArrayDeque<Entry> bucket = typeBuckets.get(length);
+        if (bucket == null)
+        {
+            bucket = new ArrayDeque<Entry>();
+            typeBuckets.put(length, bucket);
+        }
+        final Entry entry = new Entry(array, bytes, bucket);
+        bucket.addFirst(entry);
+        entries.add(entry);
+        pooledBytes += bytes;
+        evict();
+    }
+
+    private void evict()
+    {
+        final Iterator<Entry> it = entries.iterator();
+        while (pooledBytes > maxPooledBytes && it.hasNext())
+        {
+            final Entry eldest = it.next();
+            it.remove();
+            // The least recently returned entry of all buckets is the last one in its bucket.
+            eldest.bucket.pollLast();
+            pooledBytes -= eldest.bytes;
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+
+/**
+ * Bulk copies of rectangular regions (hyperslabs) between multi-dimensional arrays of the same
+ * type and rank, but possibly different dimensions.
+ * <p>
+ * A region is decomposed into maximal runs of elements that are contiguous in both the source and
+ * the destination, and every run is copied with one call to {@link System#arraycopy}. E.g. when a
+ * block covers whole hyper-rows in both arrays, all hyper-rows of the block are copied in one
+ * run. Large regions are copied in parallel, split along the outer dimensions.
+ * <p>
+ * The source and destination region must not overlap if they are in the same array.
+ *
+ * @author agent
+ */
+public final class MDArrayRegions
+{
+    private MDArrayRegions()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static <T> void copyRegion(MDArray<T> src, int[] srcOffset, MDArray<T> dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDByteArray src, int[] srcOffset, MDByteArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDShortArray src, int[] srcOffset, MDShortArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDIntArray src, int[] srcOffset, MDIntArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDLongArray src, int[] srcOffset, MDLongArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDFloatArray src, int[] srcOffset, MDFloatArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies the region of <var>blockShape</var> starting at <var>srcOffset</var> in
+     * <var>src</var> to <var>dst</var>, starting at <var>dstOffset</var>.
+     */
+    public static void copyRegion(MDDoubleArray src, int[] srcOffset, MDDoubleArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        dst.checkNotFrozen();
+        copyRegion(src.getAsFlatArray(), src.dimensions, srcOffset, dst.getAsFlatArray(),
+                dst.dimensions, dstOffset, blockShape);
+    }
+
+    /**
+     * Copies a region between the flat arrays <var>src</var> and <var>dst</var>, which store
+     * arrays with the dimensions <var>srcDimensions</var> and <var>dstDimensions</var> in
+     * row-major order.
+     */
+    static void copyRegion(final Object src, int[] srcDimensions, int[] srcOffset,
+            final Object dst, int[] dstDimensions, int[] dstOffset, final int[] blockShape)
+    {
+        final int rank = blockShape.length;
+        checkRegion("Source", srcDimensions, srcOffset, blockShape);
+        checkRegion("Destination", dstDimensions, dstOffset, blockShape);
+        final int length = MDAbstractArray.getLength(blockShape);
+        if (length == 0)
+        {
+            return;
+        }
+        final int[] srcStrides = MDAbstractArrayView.computeStrides(srcDimensions);
+        final int[] dstStrides = MDAbstractArrayView.computeStrides(dstDimensions);
+        // Merge inner axes into one run as long as the block covers them completely in both
+        // arrays.
+        int runAxis = rank - 1;
+        int runLength = blockShape[runAxis];
+        while (runAxis > 0 && blockShape[runAxis] == srcDimensions[runAxis]
+                && blockShape[runAxis] == dstDimensions[runAxis])
+        {
+            --runAxis;
+            runLength *= blockShape[runAxis];
+        }
+        final int outerRank = runAxis;
+        final int srcStart = linearIndex(srcOffset, srcStrides);
+        final int dstStart = linearIndex(dstOffset, dstStrides);
+        final int numberOfRuns = length / runLength;
+        final int run = runLength;
+        ParallelLoops.forRange(numberOfRuns, Math.max(1, ParallelLoops.THRESHOLD / runLength),
+                new ParallelLoops.IRangeAction()
+                    {
+                        @Override
+                        public void run(int from, int to)
+                        {
+                            copyRuns(src, srcStart, srcStrides, dst, dstStart, dstStrides,
+                                    blockShape, outerRank, run, from, to);
+                        }
+                    });
+    }
+
+    /**
+     * Copies the runs <code>[from, to)</code>, where the runs are numbered in row-major order of
+     * the first <var>outerRank</var> axes of the block.
+     */
+    private static void copyRuns(Object src, int srcStart, int[] srcStrides, Object dst,
+            int dstStart, int[] dstStrides, int[] blockShape, int outerRank, int runLength,
+            int from, int to)
+    {
+        final int[] index = new int[outerRank];
+        int remainder = from;
+        for (int i = outerRank - 1; i >= 0; --i)
+        {
+            index[i] = remainder % blockShape[i];
+            remainder /= blockShape[i];
+        }
+        int srcPos = srcStart;
+        int dstPos = dstStart;
+        for (int i = 0; i < outerRank; ++i)
+        {
+            srcPos += index[i] * srcStrides[i];
+            dstPos += index[i] * dstStrides[i];
+        }
+        for (int r = from; r < to; ++r)
+        {
+            System.arraycopy(src, srcPos, dst, dstPos, runLength);
+            // Advance the outer index, innermost outer axis first.
+            int axis = outerRank - 1;
+            while (axis >= 0)
+            {
+                ++index[axis];
+                srcPos += srcStrides[axis];
+                dstPos += dstStrides[axis];
+                if (index[axis] < blockShape[axis])
+                {
+                    break;
+                }
+                srcPos -= index[axis] * srcStrides[axis];
+                dstPos -= index[axis] * dstStrides[axis];
+                index[axis] = 0;
+                --axis;
+            }
+        }
+    }
+
+    static int linearIndex(int[] offset, int[] strides)
+    {
+        int index = 0;
+        for (int i = 0; i < offset.length; ++i)
+        {
+            index += offset[i] * strides[i];
+        }
+        return index;
+    }
+
+    static void checkRegion(String name, int[] dimensions, int[] offset, int[] blockShape)
+    {
+        if (dimensions.length != blockShape.length || offset.length != blockShape.length)
+        {
+            throw new IllegalArgumentException(name + " rank " + dimensions.length
+                    + ", offset rank " + offset.length + " and block rank " + blockShape.length
+                    + " differ.");
+        }
+        for (int i = 0; i < blockShape.length; ++i)
+        {
+            if (offset[i] < 0 || blockShape[i] < 0
+                    || (long) offset[i] + blockShape[i] > dimensions[i])
+            {
+                throw new IndexOutOfBoundsException(name + " region at "
+                        + ArrayUtils.toString(offset) + " of shape "
+                        + ArrayUtils.toString(blockShape) + " exceeds dimensions "
+                        + ArrayUtils.toString(dimensions) + ".");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+
+/**
+ * Helper methods to write the values of a primitive MD array to an object stream in bulk.
+ * <p>
+ * The format is the number of elements (<code>int</code>), the byte order of the data
+ * (<code>byte</code>, the ordinal of {@link ByteOrder}) and the raw values in this byte order. The
+ * values are written in the native byte order of the writer and converted chunk by chunk with
+ * {@link NativeData}, so no conversion is needed if reader and writer have the same byte order.
+ * <p>
+ * The primitive MD arrays replace themselves by a {@link SerializedArray} when they are
+ * serialized.
+ *
+ * @author agent
+ */
+final class MDArraySerialization
+{
+    /** The size of the buffer used to convert the values, in bytes. */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private MDArraySerialization()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * The serialized form of a primitive MD array: its dimensions, the element type and its first
+     * {@link MDAbstractArray#size()} values in bulk. As this class does not exist in releases
+     * that serialize the field <var>flattenedArray</var> of the MD arrays, these releases fail
+     * with a {@link ClassNotFoundException} on this format instead of reading an array without
+     * values.
+     */
+    static final class SerializedArray implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        private int[] dimensions;
+
+        private transient MDAbstractArray<?> array;
+
+        SerializedArray(MDAbstractArray<?> array)
+        {
+            this.dimensions = array.dimensions();
+            this.array = array;
+        }
+
+        private void writeObject(ObjectOutputStream stream) throws IOException
+        {
+            stream.defaultWriteObject();
+            if (array instanceof MDByteArray)
+            {
+                stream.writeByte('B');
+                writeBytes(stream, ((MDByteArray) array).getAsFlatArray(), array.size());
+            } else if (array instanceof MDShortArray)
+            {
+                stream.writeByte('S');
+                writeShorts(stream, ((MDShortArray) array).getAsFlatArray(), array.size());
+            } else if (array instanceof MDIntArray)
+            {
+                stream.writeByte('I');
+                writeInts(stream, ((MDIntArray) array).getAsFlatArray(), array.size());
+            } else if (array instanceof MDLongArray)
+            {
+                stream.writeByte('J');
+                writeLongs(stream, ((MDLongArray) array).getAsFlatArray(), array.size());
+            } else if (array instanceof MDFloatArray)
+            {
+                stream.writeByte('F');
+                writeFloats(stream, ((MDFloatArray) array).getAsFlatArray(), array.size());
+            } else if (array instanceof MDDoubleArray)
+            {
+                stream.writeByte('D');
+                writeDoubles(stream, ((MDDoubleArray) array).getAsFlatArray(), array.size());
+            } else
+            {
+                throw new NotSerializableException(array.getClass().getName());
+            }
+        }
+
+        private void readObject(ObjectInputStream stream) throws IOException,
+                ClassNotFoundException
+        {
+            stream.defaultReadObject();
+            if (dimensions == null)
+            {
+                throw new InvalidObjectException("Dimensions are missing.");
+            }
+            final int type = stream.readByte();
+            try
+            {
+                switch (type)
+                {
+                    case 'B':
+                        this.array = new MDByteArray(readBytes(stream), dimensions);
+                        break;
+                    case 'S':
+                        this.array = new MDShortArray(readShorts(stream), dimensions);
+                        break;
+                    case 'I':
+                        this.array = new MDIntArray(readInts(stream), dimensions);
+                        break;
+                    case 'J':
+                        this.array = new MDLongArray(readLongs(stream), dimensions);
+                        break;
+                    case 'F':
+                        this.array = new MDFloatArray(readFloats(stream), dimensions);
+                        break;
+                    case 'D':
+                        this.array = new MDDoubleArray(readDoubles(stream), dimensions);
+                        break;
+                    default:
+                        throw new InvalidObjectException("Illegal element type " + type + ".");
+                }
+            } catch (IllegalArgumentException ex)
+            {
+                throw new InvalidObjectException(ex.getMessage());
+            }
+        }
+
+        private Object readResolve()
+        {
+            return array;
+        }
+    }
+
+    static void writeBytes(ObjectOutputStream stream, byte[] data, int length) throws IOException
+    {
+        writeHeader(stream, length);
+        stream.write(data, 0, length);
+    }
+
+    static byte[] readBytes(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        readByteOrder(stream);
+        final byte[] data = new byte[length];
+        stream.readFully(data);
+        return data;
+    }
+
+    static void writeShorts(ObjectOutputStream stream, short[] data, int length)
+            throws IOException
+    {
+        final ByteOrder byteOrder = writeHeader(stream, length);
+        final int chunkLength = CHUNK_SIZE / NativeData.SHORT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.SHORT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            NativeData.copyShortToByte(data, start, buffer, 0, len, byteOrder);
+            stream.write(buffer, 0, len * NativeData.SHORT_SIZE);
+        }
+    }
+
+    static short[] readShorts(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        final ByteOrder byteOrder = readByteOrder(stream);
+        final short[] data = new short[length];
+        final int chunkLength = CHUNK_SIZE / NativeData.SHORT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.SHORT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            stream.readFully(buffer, 0, len * NativeData.SHORT_SIZE);
+            NativeData.copyByteToShort(buffer, 0, data, start, len, byteOrder);
+        }
+        return data;
+    }
+
+    static void writeInts(ObjectOutputStream stream, int[] data, int length) throws IOException
+    {
+        final ByteOrder byteOrder = writeHeader(stream, length);
+        final int chunkLength = CHUNK_SIZE / NativeData.INT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.INT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            NativeData.copyIntToByte(data, start, buffer, 0, len, byteOrder);
+            stream.write(buffer, 0, len * NativeData.INT_SIZE);
+        }
+    }
+
+    static int[] readInts(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        final ByteOrder byteOrder = readByteOrder(stream);
+        final int[] data = new int[length];
+        final int chunkLength = CHUNK_SIZE / NativeData.INT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.INT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            stream.readFully(buffer, 0, len * NativeData.INT_SIZE);
+            NativeData.copyByteToInt(buffer, 0, data, start, len, byteOrder);
+        }
+        return data;
+    }
+
+    static void writeLongs(ObjectOutputStream stream, long[] data, int length) throws IOException
+    {
+        final ByteOrder byteOrder = writeHeader(stream, length);
+        final int chunkLength = CHUNK_SIZE / NativeData.LONG_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.LONG_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            NativeData.copyLongToByte(data, start, buffer, 0, len, byteOrder);
+            stream.write(buffer, 0, len * NativeData.LONG_SIZE);
+        }
+    }
+
+    static long[] readLongs(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        final ByteOrder byteOrder = readByteOrder(stream);
+        final long[] data = new long[length];
+        final int chunkLength = CHUNK_SIZE / NativeData.LONG_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.LONG_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            stream.readFully(buffer, 0, len * NativeData.LONG_SIZE);
+            NativeData.copyByteToLong(buffer, 0, data, start, len, byteOrder);
+        }
+        return data;
+    }
+
+    static void writeFloats(ObjectOutputStream stream, float[] data, int length)
+            throws IOException
+    {
+        final ByteOrder byteOrder = writeHeader(stream, length);
+        final int chunkLength = CHUNK_SIZE / NativeData.FLOAT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.FLOAT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            NativeData.copyFloatToByte(data, start, buffer, 0, len, byteOrder);
+            stream.write(buffer, 0, len * NativeData.FLOAT_SIZE);
+        }
+    }
+
+    static float[] readFloats(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        final ByteOrder byteOrder = readByteOrder(stream);
+        final float[] data = new float[length];
+        final int chunkLength = CHUNK_SIZE / NativeData.FLOAT_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.FLOAT_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            stream.readFully(buffer, 0, len * NativeData.FLOAT_SIZE);
+            NativeData.copyByteToFloat(buffer, 0, data, start, len, byteOrder);
+        }
+        return data;
+    }
+
+    static void writeDoubles(ObjectOutputStream stream, double[] data, int length)
+            throws IOException
+    {
+        final ByteOrder byteOrder = writeHeader(stream, length);
+        final int chunkLength = CHUNK_SIZE / NativeData.DOUBLE_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.DOUBLE_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            NativeData.copyDoubleToByte(data, start, buffer, 0, len, byteOrder);
+            stream.write(buffer, 0, len * NativeData.DOUBLE_SIZE);
+        }
+    }
+
+    static double[] readDoubles(ObjectInputStream stream) throws IOException
+    {
+        final int length = readLength(stream);
+        final ByteOrder byteOrder = readByteOrder(stream);
+        final double[] data = new double[length];
+        final int chunkLength = CHUNK_SIZE / NativeData.DOUBLE_SIZE;
+        final byte[] buffer = new byte[Math.min(length, chunkLength) * NativeData.DOUBLE_SIZE];
+        for (int start = 0; start < length; start += chunkLength)
+        {
+            final int len = Math.min(chunkLength, length - start);
+            stream.readFully(buffer, 0, len * NativeData.DOUBLE_SIZE);
+            NativeData.copyByteToDouble(buffer, 0, data, start, len, byteOrder);
+        }
+        return data;
+    }
+
+    private static ByteOrder writeHeader(ObjectOutputStream stream, int length) throws IOException
+    {
+        final ByteOrder byteOrder = NativeData.getNativeByteOrder();
+        stream.writeInt(length);
+        stream.writeByte(byteOrder.ordinal());
+        return byteOrder;
+    }
+
+    private static int readLength(ObjectInputStream stream) throws IOException
+    {
+        final int length = stream.readInt();
+        if (length < 0)
+        {
+            throw new InvalidObjectException("Negative array length " + length + ".");
+        }
+        return length;
+    }
+
+    private static ByteOrder readByteOrder(ObjectInputStream stream) throws IOException
+    {
+        final int ordinal = stream.readByte();
+        if (ordinal < 0 || ordinal >= ByteOrder.values().length)
+        {
+            throw new InvalidObjectException("Illegal byte order " + ordinal + ".");
+        }
+        return ByteOrder.values()[ordinal];
+    }
+
+}
@@ -17,6 +17,7 @@
 package ch.systemsx.cisd.base.mdarray;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.util.Arrays;
 
@@ -33,6 +34,21 @@ public final class MDByteArray extends MDAbstractArray<Byte>
 
     private byte[] flattenedArray;
 
+    /**
+     * A processor of the values of a {@link MDByteArray}, used by
+     * {@link MDByteArray#forEach(IValueProcessor)}.
+     */
+    public interface IValueProcessor
+    {
+        /**
+         * Processes the <var>value</var> at the position <var>index</var>.
+         * <p>
+         * <b>The <var>index</var> array is reused for all elements. Do not modify it or keep a
+         * reference to it!</b>
+         */
+        void process(int[] index, byte value);
+    }
+
     /**
      * Creates an empty {@link MDIntArray} with the <var>dimensions</var>. Convenience method if
      * <var>dimensions</var> are available as {@code long[]}.
@@ -123,6 +139,24 @@ public final class MDByteArray extends MDAbstractArray<Byte>
         this.flattenedArray = flattenedArray;
     }
 
+    /**
+     * Creates a {@link MDByteArray} with the <var>dimensions</var> on <var>backingArray</var>,
+     * which may be longer than needed. The first <var>usableLength</var> elements of
+     * <var>backingArray</var> are used, where <var>usableLength</var> needs to be a multiple of the
+     * hyper-row length. The hyper-rows beyond <code>dimensions[0]</code> are used as capacity.
+     */
+    MDByteArray(byte[] backingArray, int[] dimensions, int usableLength)
+    {
+        super(dimensions, usableLength, 0);
+        if (usableLength > backingArray.length || usableLength < getLength(dimensions, 0))
+        {
+            throw new IllegalArgumentException("Usable length " + usableLength
+                    + " does not match backing array length " + backingArray.length
+                    + " and expected length " + getLength(dimensions, 0) + ".");
+        }
+        this.flattenedArray = backingArray;
+    }
+
     /**
      * Creates a {@link MDByteArray} from the given <var>matrix</var> of rank 2. Note that the values
      * in <var>matrix</var> will be copied and thus the created {@link MDIntArray} will be
@@ -252,11 +286,23 @@ public final class MDByteArray extends MDAbstractArray<Byte>
         return flattenedArray[computeIndex(indexX, indexY, indexZ)];
     }
 
+    /**
+     * Returns the value of a four-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var>, <var>indexZ</var> and <var>indexW</var>.
+     * <p>
+     * <b>Do not call for arrays other than four-dimensional!</b>
+     */
+    public byte get(int indexX, int indexY, int indexZ, int indexW)
+    {
+        return flattenedArray[computeIndex(indexX, indexY, indexZ, indexW)];
+    }
+
     /**
      * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
      */
     public void set(byte value, int... indices)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indices)] = value;
     }
 
@@ -268,6 +314,7 @@ public final class MDByteArray extends MDAbstractArray<Byte>
      */
     public void set(byte value, int index)
     {
+        checkNotFrozen();
         flattenedArray[index] = value;
     }
 
@@ -279,6 +326,7 @@ public final class MDByteArray extends MDAbstractArray<Byte>
      */
     public void set(byte value, int indexX, int indexY)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indexX, indexY)] = value;
     }
 
@@ -290,9 +338,22 @@ public final class MDByteArray extends MDAbstractArray<Byte>
      */
     public void set(byte value, int indexX, int indexY, int indexZ)
     {
+        checkNotFrozen();
         flattenedArray[computeIndex(indexX, indexY, indexZ)] = value;
     }
 
+    /**
+     * Sets the <var>value</var> of a four-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var>, <var>indexZ</var> and <var>indexW</var>.
+     * <p>
+     * <b>Do not call for arrays other than four-dimensional!</b>
+     */
+    public void set(byte value, int indexX, int indexY, int indexZ, int indexW)
+    {
+        checkNotFrozen();
+        flattenedArray[computeIndex(indexX, indexY, indexZ, indexW)] = value;
+    }
+
     /**
      * Creates and returns a matrix from a two-dimensional array.
      * <p>
@@ -310,16 +371,31 @@ public final class MDByteArray extends MDAbstractArray<Byte>
         return result;
     }
 
+    /**
+     * Calls <var>processor</var> for all elements of this array in row-major order. The
+     * multi-dimensional index is advanced incrementally and the values are not boxed, so no objects
+     * are created per element.
+     */
+    public void forEach(IValueProcessor processor)
+    {
+        final MDArrayCursor cursor = cursor();
+        final int[] index = cursor.getIndex();
+        while (cursor.next())
+        {
+            processor.process(index, flattenedArray[cursor.getLinearIndex()]);
+        }
+    }
+
     //
     // Object
     //
 
     @Override
-    public int hashCode()
+    protected int computeHashCode()
     {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(getValuesAsFlatArray());
+        result = prime * result + MDArrayHashing.hashCode(flattenedArray, size);
         result = prime * result + Arrays.hashCode(dimensions);
         return result;
     }
@@ -340,25 +416,37 @@ public final class MDByteArray extends MDAbstractArray<Byte>
             return false;
         }
         MDByteArray other = (MDByteArray) obj;
-        if (Arrays.equals(getValuesAsFlatArray(), other.getValuesAsFlatArray()) == false)
+        if (Arrays.equals(dimensions, other.dimensions) == false)
         {
             return false;
         }
-        if (Arrays.equals(dimensions, other.dimensions) == false)
+        if (haveDifferentHashCodes(other))
         {
             return false;
         }
-        return true;
+        return MDArrayHashing.equals(flattenedArray, other.flattenedArray, size);
     }
 
-    private byte[] getValuesAsFlatArray()
+    /**
+     * Replaces the array by a {@link MDArraySerialization.SerializedArray} when it is serialized,
+     * which writes the first {@link #size()} values in bulk.
+     */
+    private Object writeReplace()
     {
-        return (dimensions[0] < capacityHyperRows) ? getCopyAsFlatArray() : getAsFlatArray(); 
+        return new MDArraySerialization.SerializedArray(this);
     }
-    
+
+    /**
+     * Reads the legacy format, where the field <var>flattenedArray</var> holds the values,
+     * including unused capacity.
+     */
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException
     {
         stream.defaultReadObject();
+        if (flattenedArray == null)
+        {
+            throw new InvalidObjectException("Field flattenedArray is missing.");
+        }
         if (hyperRowLength == 0)
         {
             this.hyperRowLength = computeHyperRowLength(dimensions);
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * A multi-dimensional <code>byte</code> array that is stored off-heap and can hold more than
+ * <code>Integer.MAX_VALUE</code> elements.
+ *
+ * @author agent
+ */
+public final class MDByteOffHeapArray extends MDAbstractOffHeapArray<Byte>
+{
+    private final ByteBuffer[] views;
+
+    /**
+     * Creates an empty {@link MDByteOffHeapArray} with the <var>dimensions</var>.
+     */
+    public MDByteOffHeapArray(long[] dimensions)
+    {
+        this(dimensions, DEFAULT_SEGMENT_SIZE_SHIFT);
+    }
+
+    /**
+     * Creates a {@link MDByteOffHeapArray} with the dimensions and values of <var>array</var>.
+     */
+    public MDByteOffHeapArray(MDByteArray array)
+    {
+        this(array.longDimensions());
+        copyFrom(array.getAsFlatArray(), 0, 0, array.size());
+    }
+
+    MDByteOffHeapArray(long[] dimensions, int segmentSizeShift)
+    {
+        super(dimensions, 1, segmentSizeShift);
+        this.views = segments;
+    }
+
+    @Override
+    protected void releaseViews()
+    {
+        Arrays.fill(views, null);
+    }
+
+    @Override
+    public Byte getAsObject(long linearIndex)
+    {
+        return get(linearIndex);
+    }
+
+    @Override
+    public Byte getAsObject(long... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Byte value, long... indices)
+    {
+        set(value, indices);
+    }
+
+    @Override
+    public void setToObject(Byte value, long linearIndex)
+    {
+        set(value, linearIndex);
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public byte get(long... indices)
+    {
+        return get(computeIndex(indices));
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>linearIndex</var>. For a
+     * one-dimensional array, this is the index of the element.
+     */
+    public byte get(long linearIndex)
+    {
+        return views[segment(linearIndex)].get(offset(linearIndex));
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public byte get(long indexX, long indexY)
+    {
+        return get(computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public byte get(long indexX, long indexY, long indexZ)
+    {
+        return get(computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(byte value, long... indices)
+    {
+        set(value, computeIndex(indices));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>linearIndex</var>. For a
+     * one-dimensional array, this is the index of the element.
+     */
+    public void set(byte value, long linearIndex)
+    {
+        views[segment(linearIndex)].put(offset(linearIndex), value);
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(byte value, long indexX, long indexY)
+    {
+        set(value, computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(byte value, long indexX, long indexY, long indexZ)
+    {
+        set(value, computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Copies <var>length</var> elements, starting at <var>linearIndex</var>, into <var>dest</var>,
+     * starting at <var>destStart</var>.
+     */
+    public void copyTo(long linearIndex, byte[] dest, int destStart, int length)
+    {
+        checkRange(linearIndex, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final ByteBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.get(dest, destStart + done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements from <var>src</var>, starting at <var>srcStart</var>, into
+     * this array, starting at <var>linearIndex</var>.
+     */
+    public void copyFrom(byte[] src, int srcStart, long linearIndex, int length)
+    {
+        checkRange(linearIndex, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final ByteBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.put(src, srcStart + done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements, starting at <var>linearIndex</var>, into the byte array
+     * <var>dest</var>, starting at <var>destStart</var>. The <var>byteOrder</var> is ignored for
+     * <code>byte</code> values.
+     */
+    @Override
+    public void copyToByte(long linearIndex, byte[] dest, int destStart, int length,
+            NativeData.ByteOrder byteOrder)
+    {
+        checkRange(linearIndex, length);
+        final ByteBuffer target = ByteBuffer.wrap(dest, destStart, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final ByteBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.limit(offset + chunk);
+            target.put(view);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements from the byte array <var>src</var>, starting at
+     * <var>srcStart</var>, into this array, starting at <var>linearIndex</var>. The
+     * <var>byteOrder</var> is ignored for <code>byte</code> values.
+     */
+    @Override
+    public void copyFromByte(byte[] src, int srcStart, long linearIndex, int length,
+            NativeData.ByteOrder byteOrder)
+    {
+        checkRange(linearIndex, length);
+        final ByteBuffer source = ByteBuffer.wrap(src, srcStart, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final ByteBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            source.limit(done + chunk);
+            view.put(source);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Returns a copy of this array as a {@link MDByteArray}.
+     *
+     * @throws IllegalArgumentException If this array is too large to be represented as a
+     *             {@link MDByteArray}.
+     */
+    public MDByteArray toMDArray()
+    {
+        final MDByteArray result = new MDByteArray(dimensions);
+        copyTo(0, result.getAsFlatArray(), 0, result.size());
+        return result;
+    }
+
+}
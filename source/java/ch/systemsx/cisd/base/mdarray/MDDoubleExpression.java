@@ -0,0 +1,578 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.ArrayUtils;
+
+/**
+ * A lazy element-wise expression over {@link MDDoubleArray}s. Building an expression does not
+ * compute anything, it only records the operations. {@link #evaluate()} and
+ * {@link #evaluateInto(MDDoubleArray)} compute all operations in one fused pass over the operands,
+ * without temporary arrays:
+ * 
+ * <pre>
+ * MDDoubleExpression.of(image).subtract(dark).multiply(gain).divide(flat).evaluateInto(result);
+ * </pre>
+ * <p>
+ * The elements are computed in blocks of {@link #BLOCK_SIZE} elements that stay in the CPU cache
+ * while all operations are applied to them. Large arrays are split into ranges of blocks that are
+ * evaluated in parallel on a fork-join pool.
+ * <p>
+ * All array operands need to have the same dimensions; constants are combined with every element.
+ * Only the first {@link MDAbstractArray#size()} elements of the arrays are processed. The arrays
+ * are read when the expression is evaluated, not when it is built, so an expression can be
+ * evaluated repeatedly on changing data.
+ *
+ * @author agent
+ */
+public abstract class MDDoubleExpression
+{
+    /** The number of elements that are computed together. */
+    public static final int BLOCK_SIZE = 1024;
+
+    enum BinaryOperator
+    {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE, MIN, MAX
+    }
+
+    enum UnaryOperator
+    {
+        NEGATE, ABS, SQRT
+    }
+
+    /** The dimensions of the array operands, or <code>null</code> for a constant expression. */
+    final int[] dimensions;
+
+    MDDoubleExpression(int[] dimensions)
+    {
+        this.dimensions = dimensions;
+    }
+
+    //
+    // Factory methods
+    //
+
+    /**
+     * Returns an expression that evaluates to the elements of <var>array</var>.
+     */
+    public static MDDoubleExpression of(MDDoubleArray array)
+    {
+        return new ArrayExpression(array);
+    }
+
+    /**
+     * Returns an expression that evaluates to <var>value</var> for every element.
+     */
+    public static MDDoubleExpression constant(double value)
+    {
+        return new ConstantExpression(value);
+    }
+
+    //
+    // Operations
+    //
+
+    /**
+     * Returns the element-wise sum of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression add(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.ADD, this, other);
+    }
+
+    /**
+     * Returns the element-wise sum of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression add(MDDoubleArray other)
+    {
+        return add(of(other));
+    }
+
+    /**
+     * Returns the sum of this expression and <var>value</var>.
+     */
+    public MDDoubleExpression add(double value)
+    {
+        return add(constant(value));
+    }
+
+    /**
+     * Returns the element-wise difference of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression subtract(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.SUBTRACT, this, other);
+    }
+
+    /**
+     * Returns the element-wise difference of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression subtract(MDDoubleArray other)
+    {
+        return subtract(of(other));
+    }
+
+    /**
+     * Returns the difference of this expression and <var>value</var>.
+     */
+    public MDDoubleExpression subtract(double value)
+    {
+        return subtract(constant(value));
+    }
+
+    /**
+     * Returns the element-wise product of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression multiply(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.MULTIPLY, this, other);
+    }
+
+    /**
+     * Returns the element-wise product of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression multiply(MDDoubleArray other)
+    {
+        return multiply(of(other));
+    }
+
+    /**
+     * Returns the product of this expression and <var>value</var>.
+     */
+    public MDDoubleExpression multiply(double value)
+    {
+        return multiply(constant(value));
+    }
+
+    /**
+     * Returns the element-wise quotient of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression divide(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.DIVIDE, this, other);
+    }
+
+    /**
+     * Returns the element-wise quotient of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression divide(MDDoubleArray other)
+    {
+        return divide(of(other));
+    }
+
+    /**
+     * Returns the quotient of this expression and <var>value</var>.
+     */
+    public MDDoubleExpression divide(double value)
+    {
+        return divide(constant(value));
+    }
+
+    /**
+     * Returns the element-wise minimum of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression min(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.MIN, this, other);
+    }
+
+    /**
+     * Returns the element-wise maximum of this expression and <var>other</var>.
+     */
+    public MDDoubleExpression max(MDDoubleExpression other)
+    {
+        return new BinaryExpression(BinaryOperator.MAX, this, other);
+    }
+
+    /**
+     * Returns this expression clamped to the range <code>[min, max]</code>.
+     */
+    public MDDoubleExpression clamp(double min, double max)
+    {
+        return max(constant(min)).min(constant(max));
+    }
+
+    /**
+     * Returns the negated expression.
+     */
+    public MDDoubleExpression negate()
+    {
+        return new UnaryExpression(UnaryOperator.NEGATE, null, this);
+    }
+
+    /**
+     * Returns the absolute value of this expression.
+     */
+    public MDDoubleExpression abs()
+    {
+        return new UnaryExpression(UnaryOperator.ABS, null, this);
+    }
+
+    /**
+     * Returns the square root of this expression.
+     */
+    public MDDoubleExpression sqrt()
+    {
+        return new UnaryExpression(UnaryOperator.SQRT, null, this);
+    }
+
+    /**
+     * Returns <var>operator</var> applied to this expression. Note that <var>operator</var> may be
+     * called from several threads concurrently.
+     */
+    public MDDoubleExpression map(MDDoubleArrayOperations.IUnaryOperator operator)
+    {
+        return new UnaryExpression(null, operator, this);
+    }
+
+    //
+    // Evaluation
+    //
+
+    /**
+     * Returns the dimensions of the expression, or <code>null</code> for a constant expression.
+     */
+    public int[] dimensions()
+    {
+        return (dimensions == null) ? null : dimensions.clone();
+    }
+
+    /**
+     * Evaluates the expression into a new array.
+     * 
+     * @throws IllegalStateException If this is a constant expression.
+     */
+    public MDDoubleArray evaluate()
+    {
+        if (dimensions == null)
+        {
+            throw new IllegalStateException("Constant expression has no dimensions.");
+        }
+        final MDDoubleArray result = new MDDoubleArray(dimensions.clone());
+        evaluateInto(result);
+        return result;
+    }
+
+    /**
+     * Evaluates the expression into <var>result</var>. <var>result</var> may be one of the operands
+     * of the expression. A constant expression fills <var>result</var> with its value.
+     */
+    public void evaluateInto(MDDoubleArray result)
+    {
+        result.checkNotFrozen();
+        if (dimensions != null && Arrays.equals(dimensions, result.dimensions) == false)
+        {
+            throw new IllegalArgumentException("Dimensions " + ArrayUtils.toString(dimensions)
+                    + " and " + ArrayUtils.toString(result.dimensions) + " differ.");
+        }
+        final double[] r = result.getAsFlatArray();
+        final int depth = getScratchDepth();
+        ParallelLoops.forRange(result.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    // Buffer 0 holds the result of a block, so that the operands can still be
+                    // read if result is one of them.
+                    final int blockSize = Math.min(BLOCK_SIZE, to - from);
+                    final double[][] scratch = new double[depth + 1][blockSize];
+                    for (int start = from; start < to; start += BLOCK_SIZE)
+                    {
+                        final int length = Math.min(BLOCK_SIZE, to - start);
+                        evaluate(start, length, scratch[0], scratch, 1);
+                        System.arraycopy(scratch[0], 0, r, start, length);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Stores the values of the elements <code>[from, from + length)</code> in
+     * <code>out[0, length)</code>, using the buffers <code>scratch[scratchIndex...]</code> for
+     * intermediate results.
+     */
+    abstract void evaluate(int from, int length, double[] out, double[][] scratch,
+            int scratchIndex);
+
+    /**
+     * Returns the number of scratch buffers needed to evaluate this expression.
+     */
+    abstract int getScratchDepth();
+
+    static int[] getCommonDimensions(MDDoubleExpression left, MDDoubleExpression right)
+    {
+        if (left.dimensions == null)
+        {
+            return right.dimensions;
+        }
+        if (right.dimensions != null && Arrays.equals(left.dimensions, right.dimensions) == false)
+        {
+            throw new IllegalArgumentException("Dimensions " + ArrayUtils.toString(left.dimensions)
+                    + " and " + ArrayUtils.toString(right.dimensions) + " differ.");
+        }
+        return left.dimensions;
+    }
+
+    //
+    // Nodes
+    //
+
+    private static final class ArrayExpression extends MDDoubleExpression
+    {
+        private final MDDoubleArray array;
+
+        ArrayExpression(MDDoubleArray array)
+        {
+            super(array.dimensions());
+            this.array = array;
+        }
+
+        @Override
+        void evaluate(int from, int length, double[] out, double[][] scratch,
+                int scratchIndex)
+        {
+            System.arraycopy(array.getAsFlatArray(), from, out, 0, length);
+        }
+
+        @Override
+        int getScratchDepth()
+        {
+            return 0;
+        }
+    }
+
+    private static final class ConstantExpression extends MDDoubleExpression
+    {
+        private final double value;
+
+        ConstantExpression(double value)
+        {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        void evaluate(int from, int length, double[] out, double[][] scratch,
+                int scratchIndex)
+        {
+            Arrays.fill(out, 0, length, value);
+        }
+
+        @Override
+        int getScratchDepth()
+        {
+            return 0;
+        }
+    }
+
+    private static final class UnaryExpression extends MDDoubleExpression
+    {
+        private final UnaryOperator operator;
+
+        private final MDDoubleArrayOperations.IUnaryOperator function;
+
+        private final MDDoubleExpression operand;
+
+        UnaryExpression(UnaryOperator operator, MDDoubleArrayOperations.IUnaryOperator function,
+                MDDoubleExpression operand)
+        {
+            super(operand.dimensions);
+            this.operator = operator;
+            this.function = function;
+            this.operand = operand;
+        }
+
+        @Override
+        void evaluate(int from, int length, double[] out, double[][] scratch,
+                int scratchIndex)
+        {
+            operand.evaluate(from, length, out, scratch, scratchIndex);
+            if (function != null)
+            {
+                for (int i = 0; i < length; ++i)
+                {
+                    out[i] = function.apply(out[i]);
+                }
+                return;
+            }
+            switch (operator)
+            {
+                case NEGATE:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = -out[i];
+                    }
+                    break;
+                case ABS:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.abs(out[i]);
+                    }
+                    break;
+                case SQRT:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.sqrt(out[i]);
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        int getScratchDepth()
+        {
+            return operand.getScratchDepth();
+        }
+    }
+
+    private static final class BinaryExpression extends MDDoubleExpression
+    {
+        private final BinaryOperator operator;
+
+        private final MDDoubleExpression left;
+
+        private final MDDoubleExpression right;
+
+        BinaryExpression(BinaryOperator operator, MDDoubleExpression left, MDDoubleExpression right)
+        {
+            super(getCommonDimensions(left, right));
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void evaluate(int from, int length, double[] out, double[][] scratch,
+                int scratchIndex)
+        {
+            left.evaluate(from, length, out, scratch, scratchIndex);
+            // Array and constant operands on the right are read directly, without a copy.
+            if (right instanceof ConstantExpression)
+            {
+                apply(operator, out, ((ConstantExpression) right).value, length);
+            } else if (right instanceof ArrayExpression)
+            {
+                apply(operator, out, ((ArrayExpression) right).array.getAsFlatArray(), from,
+                        length);
+            } else
+            {
+                final double[] operand = scratch[scratchIndex];
+                right.evaluate(from, length, operand, scratch, scratchIndex + 1);
+                apply(operator, out, operand, 0, length);
+            }
+        }
+
+        @Override
+        int getScratchDepth()
+        {
+            final int rightDepth =
+                    (right instanceof ConstantExpression || right instanceof ArrayExpression) ? 0
+                            : right.getScratchDepth() + 1;
+            return Math.max(left.getScratchDepth(), rightDepth);
+        }
+
+        private static void apply(BinaryOperator operator, double[] out, double[] operand,
+                int offset, int length)
+        {
+            switch (operator)
+            {
+                case ADD:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] += operand[offset + i];
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] -= operand[offset + i];
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] *= operand[offset + i];
+                    }
+                    break;
+                case DIVIDE:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] /= operand[offset + i];
+                    }
+                    break;
+                case MIN:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.min(out[i], operand[offset + i]);
+                    }
+                    break;
+                case MAX:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.max(out[i], operand[offset + i]);
+                    }
+                    break;
+            }
+        }
+
+        private static void apply(BinaryOperator operator, double[] out, double value, int length)
+        {
+            switch (operator)
+            {
+                case ADD:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] += value;
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] -= value;
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] *= value;
+                    }
+                    break;
+                case DIVIDE:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] /= value;
+                    }
+                    break;
+                case MIN:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.min(out[i], value);
+                    }
+                    break;
+                case MAX:
+                    for (int i = 0; i < length; ++i)
+                    {
+                        out[i] = Math.max(out[i], value);
+                    }
+                    break;
+            }
+        }
+    }
+
+}
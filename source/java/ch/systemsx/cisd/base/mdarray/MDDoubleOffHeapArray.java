@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * A multi-dimensional <code>double</code> array that is stored off-heap and can hold more than
+ * <code>Integer.MAX_VALUE</code> elements.
+ *
+ * @author agent
+ */
+public final class MDDoubleOffHeapArray extends MDAbstractOffHeapArray<Double>
+{
+    private final DoubleBuffer[] views;
+
+    /**
+     * Creates an empty {@link MDDoubleOffHeapArray} with the <var>dimensions</var>.
+     */
+    public MDDoubleOffHeapArray(long[] dimensions)
+    {
+        this(dimensions, DEFAULT_SEGMENT_SIZE_SHIFT);
+    }
+
+    /**
+     * Creates a {@link MDDoubleOffHeapArray} with the dimensions and values of <var>array</var>.
+     */
+    public MDDoubleOffHeapArray(MDDoubleArray array)
+    {
+        this(array.longDimensions());
+        copyFrom(array.getAsFlatArray(), 0, 0, array.size());
+    }
+
+    MDDoubleOffHeapArray(long[] dimensions, int segmentSizeShift)
+    {
+        super(dimensions, NativeData.DOUBLE_SIZE, segmentSizeShift);
+        this.views = new DoubleBuffer[segments.length];
+        for (int i = 0; i < segments.length; ++i)
+        {
+            views[i] = segments[i].asDoubleBuffer();
+        }
+    }
+
+    @Override
+    protected void releaseViews()
+    {
+        Arrays.fill(views, null);
+    }
+
+    @Override
+    public Double getAsObject(long linearIndex)
+    {
+        return get(linearIndex);
+    }
+
+    @Override
+    public Double getAsObject(long... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Double value, long... indices)
+    {
+        set(value, indices);
+    }
+
+    @Override
+    public void setToObject(Double value, long linearIndex)
+    {
+        set(value, linearIndex);
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public double get(long... indices)
+    {
+        return get(computeIndex(indices));
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>linearIndex</var>. For a
+     * one-dimensional array, this is the index of the element.
+     */
+    public double get(long linearIndex)
+    {
+        return views[segment(linearIndex)].get(offset(linearIndex));
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public double get(long indexX, long indexY)
+    {
+        return get(computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public double get(long indexX, long indexY, long indexZ)
+    {
+        return get(computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(double value, long... indices)
+    {
+        set(value, computeIndex(indices));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>linearIndex</var>. For a
+     * one-dimensional array, this is the index of the element.
+     */
+    public void set(double value, long linearIndex)
+    {
+        views[segment(linearIndex)].put(offset(linearIndex), value);
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(double value, long indexX, long indexY)
+    {
+        set(value, computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(double value, long indexX, long indexY, long indexZ)
+    {
+        set(value, computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Copies <var>length</var> elements, starting at <var>linearIndex</var>, into <var>dest</var>,
+     * starting at <var>destStart</var>.
+     */
+    public void copyTo(long linearIndex, double[] dest, int destStart, int length)
+    {
+        checkRange(linearIndex, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final DoubleBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.get(dest, destStart + done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Copies <var>length</var> elements from <var>src</var>, starting at <var>srcStart</var>, into
+     * this array, starting at <var>linearIndex</var>.
+     */
+    public void copyFrom(double[] src, int srcStart, long linearIndex, int length)
+    {
+        checkRange(linearIndex, length);
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final DoubleBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.put(src, srcStart + done, chunk);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    @Override
+    public void copyToByte(long linearIndex, byte[] dest, int destStart, int length,
+            NativeData.ByteOrder byteOrder)
+    {
+        checkRange(linearIndex, length);
+        final DoubleBuffer target =
+                ByteBuffer.wrap(dest, destStart, length * NativeData.DOUBLE_SIZE)
+                        .order(getNioByteOrder(byteOrder)).asDoubleBuffer();
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final DoubleBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            view.limit(offset + chunk);
+            target.put(view);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    @Override
+    public void copyFromByte(byte[] src, int srcStart, long linearIndex, int length,
+            NativeData.ByteOrder byteOrder)
+    {
+        checkRange(linearIndex, length);
+        final DoubleBuffer source =
+                ByteBuffer.wrap(src, srcStart, length * NativeData.DOUBLE_SIZE)
+                        .order(getNioByteOrder(byteOrder)).asDoubleBuffer();
+        long index = linearIndex;
+        int done = 0;
+        while (done < length)
+        {
+            final int offset = offset(index);
+            final int chunk = Math.min(length - done, segmentLength - offset);
+            final DoubleBuffer view = views[segment(index)].duplicate();
+            view.position(offset);
+            source.limit(done + chunk);
+            view.put(source);
+            done += chunk;
+            index += chunk;
+        }
+    }
+
+    /**
+     * Returns a copy of this array as a {@link MDDoubleArray}.
+     *
+     * @throws IllegalArgumentException If this array is too large to be represented as a
+     *             {@link MDDoubleArray}.
+     */
+    public MDDoubleArray toMDArray()
+    {
+        final MDDoubleArray result = new MDDoubleArray(dimensions);
+        copyTo(0, result.getAsFlatArray(), 0, result.size());
+        return result;
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+
+/**
+ * A sparse multi-dimensional <code>double</code> array. See {@link MDAbstractSparseArray} for
+ * details.
+ *
+ * @author agent
+ */
+public final class MDDoubleSparseArray extends MDAbstractSparseArray<Double>
+{
+    /**
+     * Creates an empty {@link MDDoubleSparseArray} with the <var>dimensions</var> in
+     * {@link SparseFormat#COO}.
+     */
+    public MDDoubleSparseArray(int[] dimensions)
+    {
+        this(dimensions, SparseFormat.COO);
+    }
+
+    /**
+     * Creates an empty {@link MDDoubleSparseArray} with the <var>dimensions</var> in
+     * <var>format</var>.
+     */
+    public MDDoubleSparseArray(int[] dimensions, SparseFormat format)
+    {
+        super(dimensions);
+        initialize(format, new int[0], new double[0], 0);
+    }
+
+    /**
+     * Creates a {@link MDDoubleSparseArray} in {@link SparseFormat#COO} with the dimensions and
+     * non-zero values of the dense <var>array</var>. <code>-0.0</code> counts as non-zero.
+     */
+    public MDDoubleSparseArray(MDDoubleArray array)
+    {
+        this(array, SparseFormat.COO);
+    }
+
+    /**
+     * Creates a {@link MDDoubleSparseArray} in <var>format</var> with the dimensions and non-zero
+     * values of the dense <var>array</var>. <code>-0.0</code> counts as non-zero.
+     */
+    public MDDoubleSparseArray(MDDoubleArray array, SparseFormat format)
+    {
+        super(array.dimensions);
+        final double[] dense = array.getAsFlatArray();
+        final int length = array.size();
+        int count = 0;
+        for (int i = 0; i < length; ++i)
+        {
+            if (Double.doubleToRawLongBits(dense[i]) != 0)
+            {
+                ++count;
+            }
+        }
+        final int[] linearIndices = new int[count];
+        final double[] nonZeroValues = new double[count];
+        int pos = 0;
+        for (int i = 0; i < length; ++i)
+        {
+            if (Double.doubleToRawLongBits(dense[i]) != 0)
+            {
+                linearIndices[pos] = i;
+                nonZeroValues[pos] = dense[i];
+                ++pos;
+            }
+        }
+        initialize(format, linearIndices, nonZeroValues, count);
+    }
+
+    @Override
+    protected Object createValues(int length)
+    {
+        return new double[length];
+    }
+
+    @Override
+    public Double getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Double value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    /**
+     * Returns the value at <var>linearIndex</var>.
+     * 
+     * @throws IndexOutOfBoundsException If <var>linearIndex</var> is not in
+     *             <code>[0, size())</code>.
+     */
+    public double getByLinearIndex(int linearIndex)
+    {
+        checkLinearIndex(linearIndex);
+        final int pos = index.find(linearIndex);
+        return (pos < 0) ? 0 : ((double[]) values)[pos];
+    }
+
+    /**
+     * Sets the <var>value</var> at <var>linearIndex</var>. Setting a value of 0 removes the entry,
+     * while <code>-0.0</code> is stored as an entry to keep its sign.
+     * 
+     * @throws IndexOutOfBoundsException If <var>linearIndex</var> is not in
+     *             <code>[0, size())</code>.
+     */
+    public void setByLinearIndex(double value, int linearIndex)
+    {
+        checkLinearIndex(linearIndex);
+        if (Double.doubleToRawLongBits(value) == 0)
+        {
+            remove(linearIndex);
+        } else
+        {
+            // findOrInsert() may replace the values array, so call it first.
+            final int pos = findOrInsert(linearIndex);
+            ((double[]) values)[pos] = value;
+        }
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public double get(int... indices)
+    {
+        return getByLinearIndex(computeIndex(indices));
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public double get(int indexX, int indexY)
+    {
+        return getByLinearIndex(computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public double get(int indexX, int indexY, int indexZ)
+    {
+        return getByLinearIndex(computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(double value, int... indices)
+    {
+        setByLinearIndex(value, computeIndex(indices));
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(double value, int indexX, int indexY)
+    {
+        setByLinearIndex(value, computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(double value, int indexX, int indexY, int indexZ)
+    {
+        setByLinearIndex(value, computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Returns a copy of the values of the non-zero entries, in the order of
+     * {@link #getNonZeroLinearIndices()}.
+     */
+    public double[] getNonZeroValues()
+    {
+        return ArrayUtils.subarray((double[]) values, 0, numberOfNonZeros());
+    }
+
+    /**
+     * Calls <var>processor</var> for all non-zero entries of this array in row-major order.
+     * <p>
+     * <b>The index array that is passed to <var>processor</var> is reused for all entries.</b>
+     */
+    public void forEachNonZero(MDDoubleArray.IValueProcessor processor)
+    {
+        final int count = numberOfNonZeros();
+        final int[] linearIndices = index.getLinearIndices();
+        final double[] nonZeroValues = (double[]) values;
+        final int[] indices = new int[dimensions.length];
+        for (int pos = 0; pos < count; ++pos)
+        {
+            computeReverseIndex(linearIndices[pos], indices);
+            processor.process(indices, nonZeroValues[pos]);
+        }
+    }
+
+    /**
+     * Returns a copy of this array in <var>format</var>.
+     */
+    public MDDoubleSparseArray toFormat(SparseFormat format)
+    {
+        final MDDoubleSparseArray result = new MDDoubleSparseArray(dimensions, format);
+        result.initialize(format, getNonZeroLinearIndices(), getNonZeroValues(),
+                numberOfNonZeros());
+        return result;
+    }
+
+    /**
+     * Returns this array as a dense {@link MDDoubleArray}.
+     */
+    public MDDoubleArray toMDArray()
+    {
+        final MDDoubleArray result = new MDDoubleArray(dimensions());
+        final double[] dense = result.getAsFlatArray();
+        final int count = numberOfNonZeros();
+        final int[] linearIndices = index.getLinearIndices();
+        final double[] nonZeroValues = (double[]) values;
+        for (int pos = 0; pos < count; ++pos)
+        {
+            dense[linearIndices[pos]] = nonZeroValues[pos];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,1137 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+/**
+ * Element-wise operations and reductions on {@link MDFloatArray}s. Operations on large arrays are
+ * split into ranges that run in parallel on a fork-join pool.
+ * <p>
+ * Only the first {@link MDAbstractArray#size()} elements of the arrays are processed, the spare
+ * capacity is ignored. The operations that take a <var>result</var> array write to it in place;
+ * <var>result</var> may be one of the operands.
+ *
+ * @author agent
+ */
+public final class MDFloatArrayOperations
+{
+    /** The length of the runs that are sorted by insertion sort before merging. */
+    private static final int INSERTION_SORT_LENGTH = 16;
+
+    /**
+     * A function that maps a <code>float</code> value to a <code>float</code> value.
+     */
+    public interface IUnaryOperator
+    {
+        float apply(float value);
+    }
+
+    private MDFloatArrayOperations()
+    {
+        // Not to be instantiated.
+    }
+
+    //
+    // Element-wise operations
+    //
+
+    /**
+     * Returns a new array with the element-wise sum of <var>a</var> and <var>b</var>. The
+     * operands are broadcast to common dimensions, see
+     * {@link #add(MDFloatArray, MDFloatArray, MDFloatArray)}.
+     */
+    public static MDFloatArray add(MDFloatArray a, MDFloatArray b)
+    {
+        final MDFloatArray result =
+                new MDFloatArray(MDArrayBroadcasting.getBroadcastDimensions(a.dimensions,
+                        b.dimensions));
+        add(a, b, result);
+        return result;
+    }
+
+    /**
+     * Stores the element-wise sum of <var>a</var> and <var>b</var> in <var>result</var>.
+     * <p>
+     * If <var>a</var> and <var>b</var> have different dimensions, they are broadcast following
+     * the rules of NumPy: the dimensions are aligned at the last axis and an operand with
+     * dimension 1 on an axis, or without the axis, is repeated along it. The smaller operand is
+     * read in place, <var>result</var> needs to have the broadcast dimensions.
+     */
+    public static void add(MDFloatArray a, MDFloatArray b, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        if (Arrays.equals(a.dimensions, b.dimensions) == false)
+        {
+            broadcast(a, b, result, MDArrayBroadcasting.Operation.ADD);
+            return;
+        }
+        MDAbstractArray.checkSameDimensions(a, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] y = b.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        r[i] = (x[i] + y[i]);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns a new array with the element-wise difference of <var>a</var> and <var>b</var>. The
+     * operands are broadcast to common dimensions, see
+     * {@link #subtract(MDFloatArray, MDFloatArray, MDFloatArray)}.
+     */
+    public static MDFloatArray subtract(MDFloatArray a, MDFloatArray b)
+    {
+        final MDFloatArray result =
+                new MDFloatArray(MDArrayBroadcasting.getBroadcastDimensions(a.dimensions,
+                        b.dimensions));
+        subtract(a, b, result);
+        return result;
+    }
+
+    /**
+     * Stores the element-wise difference of <var>a</var> and <var>b</var> in <var>result</var>.
+     * <p>
+     * If <var>a</var> and <var>b</var> have different dimensions, they are broadcast following
+     * the rules of NumPy: the dimensions are aligned at the last axis and an operand with
+     * dimension 1 on an axis, or without the axis, is repeated along it. The smaller operand is
+     * read in place, <var>result</var> needs to have the broadcast dimensions.
+     */
+    public static void subtract(MDFloatArray a, MDFloatArray b, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        if (Arrays.equals(a.dimensions, b.dimensions) == false)
+        {
+            broadcast(a, b, result, MDArrayBroadcasting.Operation.SUBTRACT);
+            return;
+        }
+        MDAbstractArray.checkSameDimensions(a, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] y = b.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        r[i] = (x[i] - y[i]);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns a new array with the element-wise product of <var>a</var> and <var>b</var>. The
+     * operands are broadcast to common dimensions, see
+     * {@link #multiply(MDFloatArray, MDFloatArray, MDFloatArray)}.
+     */
+    public static MDFloatArray multiply(MDFloatArray a, MDFloatArray b)
+    {
+        final MDFloatArray result =
+                new MDFloatArray(MDArrayBroadcasting.getBroadcastDimensions(a.dimensions,
+                        b.dimensions));
+        multiply(a, b, result);
+        return result;
+    }
+
+    /**
+     * Stores the element-wise product of <var>a</var> and <var>b</var> in <var>result</var>.
+     * <p>
+     * If <var>a</var> and <var>b</var> have different dimensions, they are broadcast following
+     * the rules of NumPy: the dimensions are aligned at the last axis and an operand with
+     * dimension 1 on an axis, or without the axis, is repeated along it. The smaller operand is
+     * read in place, <var>result</var> needs to have the broadcast dimensions.
+     */
+    public static void multiply(MDFloatArray a, MDFloatArray b, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        if (Arrays.equals(a.dimensions, b.dimensions) == false)
+        {
+            broadcast(a, b, result, MDArrayBroadcasting.Operation.MULTIPLY);
+            return;
+        }
+        MDAbstractArray.checkSameDimensions(a, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] y = b.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        r[i] = (x[i] * y[i]);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Stores the element-wise <var>operation</var> of <var>a</var> and <var>b</var>, which have
+     * different dimensions, in <var>result</var>.
+     */
+    private static void broadcast(MDFloatArray a, MDFloatArray b, MDFloatArray result,
+            final MDArrayBroadcasting.Operation operation)
+    {
+        final int[] dimensions = MDArrayBroadcasting.checkBroadcastDimensions(a, b, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] y = b.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        MDArrayBroadcasting.forRuns(a.dimensions, b.dimensions, dimensions,
+                new MDArrayBroadcasting.IRunAction()
+                    {
+                        @Override
+                        public void run(int resultPos, int posA, int strideA, int posB,
+                                int strideB, int length)
+                        {
+                            applyRun(operation, x, posA, strideA, y, posB, strideB, r,
+                                    resultPos, length);
+                        }
+                    });
+    }
+
+    /**
+     * Applies <var>operation</var> to a run of <var>length</var> elements, where each operand
+     * either advances along the run (stride 1) or is a constant (stride 0).
+     */
+    private static void applyRun(MDArrayBroadcasting.Operation operation, float[] x, int posA,
+            int strideA, float[] y, int posB, int strideB, float[] r, int resultPos, int length)
+    {
+        if (strideA == 1 && strideB == 1)
+        {
+            switch (operation)
+            {
+                case ADD:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k] + y[posB + k]);
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k] - y[posB + k]);
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k] * y[posB + k]);
+                    }
+                    break;
+            }
+        } else if (strideB == 0)
+        {
+            final float v = y[posB];
+            switch (operation)
+            {
+                case ADD:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k * strideA] + v);
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k * strideA] - v);
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (x[posA + k * strideA] * v);
+                    }
+                    break;
+            }
+        } else
+        {
+            final float v = x[posA];
+            switch (operation)
+            {
+                case ADD:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (v + y[posB + k]);
+                    }
+                    break;
+                case SUBTRACT:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (v - y[posB + k]);
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int k = 0; k < length; ++k)
+                    {
+                        r[resultPos + k] = (v * y[posB + k]);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns a new array with the elements of <var>a</var> multiplied by <var>factor</var>.
+     */
+    public static MDFloatArray scale(MDFloatArray a, float factor)
+    {
+        final MDFloatArray result = new MDFloatArray(a.dimensions());
+        scale(a, factor, result);
+        return result;
+    }
+
+    /**
+     * Stores the elements of <var>a</var> multiplied by <var>factor</var> in <var>result</var>.
+     */
+    public static void scale(MDFloatArray a, final float factor, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(a, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        r[i] = (x[i] * factor);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns a new array with the elements of <var>a</var> clamped to the range
+     * <code>[min, max]</code>.
+     */
+    public static MDFloatArray clamp(MDFloatArray a, float min, float max)
+    {
+        final MDFloatArray result = new MDFloatArray(a.dimensions());
+        clamp(a, min, max, result);
+        return result;
+    }
+
+    /**
+     * Stores the elements of <var>a</var> clamped to the range <code>[min, max]</code> in
+     * <var>result</var>.
+     */
+    public static void clamp(MDFloatArray a, final float min, final float max,
+            MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(a, result);
+        if (min > max)
+        {
+            throw new IllegalArgumentException("min (" + min + ") > max (" + max + ")");
+        }
+        final float[] x = a.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        final float value = x[i];
+                        r[i] = (value < min) ? min : (value > max) ? max : value;
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns a new array with <var>operator</var> applied to the elements of <var>a</var>.
+     */
+    public static MDFloatArray map(MDFloatArray a, IUnaryOperator operator)
+    {
+        final MDFloatArray result = new MDFloatArray(a.dimensions());
+        map(a, operator, result);
+        return result;
+    }
+
+    /**
+     * Stores <var>operator</var> applied to the elements of <var>a</var> in <var>result</var>. Note
+     * that <var>operator</var> may be called from several threads concurrently.
+     */
+    public static void map(MDFloatArray a, final IUnaryOperator operator, MDFloatArray result)
+    {
+        result.checkNotFrozen();
+        MDAbstractArray.checkSameDimensions(a, result);
+        final float[] x = a.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forRange(a.size(), new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    for (int i = from; i < to; ++i)
+                    {
+                        r[i] = operator.apply(x[i]);
+                    }
+                }
+            });
+    }
+
+    //
+    // Reductions
+    //
+
+    /**
+     * Returns the sum of all elements of <var>a</var>.
+     */
+    public static double sum(MDFloatArray a)
+    {
+        final float[] x = a.getAsFlatArray();
+        return ParallelLoops.reduceRange(a.size(), new ParallelLoops.IRangeReduction<Double>()
+            {
+                @Override
+                public Double reduce(int from, int to)
+                {
+                    double sum = 0;
+                    for (int i = from; i < to; ++i)
+                    {
+                        sum += x[i];
+                    }
+                    return sum;
+                }
+
+                @Override
+                public Double merge(Double left, Double right)
+                {
+                    return left + right;
+                }
+            });
+    }
+
+    /**
+     * Returns the minimum of all elements of <var>a</var>.
+     *
+     * @throws IllegalArgumentException If <var>a</var> is empty.
+     */
+    public static float min(MDFloatArray a)
+    {
+        return a.getAsFlatArray()[argmin(a)];
+    }
+
+    /**
+     * Returns the maximum of all elements of <var>a</var>.
+     *
+     * @throws IllegalArgumentException If <var>a</var> is empty.
+     */
+    public static float max(MDFloatArray a)
+    {
+        return a.getAsFlatArray()[argmax(a)];
+    }
+
+    /**
+     * Returns the arithmetic mean of all elements of <var>a</var>, or <code>NaN</code>, if
+     * <var>a</var> is empty.
+     */
+    public static double mean(MDFloatArray a)
+    {
+        return sum(a) / a.size();
+    }
+
+    /**
+     * Returns the (population) variance of all elements of <var>a</var>, or <code>NaN</code>, if
+     * <var>a</var> is empty.
+     */
+    public static double variance(MDFloatArray a)
+    {
+        final double mean = mean(a);
+        final float[] x = a.getAsFlatArray();
+        final double sumOfSquares =
+                ParallelLoops.reduceRange(a.size(), new ParallelLoops.IRangeReduction<Double>()
+                    {
+                        @Override
+                        public Double reduce(int from, int to)
+                        {
+                            double sum = 0;
+                            for (int i = from; i < to; ++i)
+                            {
+                                final double deviation = x[i] - mean;
+                                sum += deviation * deviation;
+                            }
+                            return sum;
+                        }
+
+                        @Override
+                        public Double merge(Double left, Double right)
+                        {
+                            return left + right;
+                        }
+                    });
+        return sumOfSquares / a.size();
+    }
+
+    /**
+     * Returns the linear index of the first minimal element of <var>a</var>.
+     *
+     * @throws IllegalArgumentException If <var>a</var> is empty.
+     */
+    public static int argmin(MDFloatArray a)
+    {
+        return argExtremum(a, false);
+    }
+
+    /**
+     * Returns the linear index of the first maximal element of <var>a</var>.
+     *
+     * @throws IllegalArgumentException If <var>a</var> is empty.
+     */
+    public static int argmax(MDFloatArray a)
+    {
+        return argExtremum(a, true);
+    }
+
+    private static int argExtremum(MDFloatArray a, final boolean max)
+    {
+        if (a.size() == 0)
+        {
+            throw new IllegalArgumentException("Array is empty.");
+        }
+        final float[] x = a.getAsFlatArray();
+        return ParallelLoops.reduceRange(a.size(), new ParallelLoops.IRangeReduction<Integer>()
+            {
+                @Override
+                public Integer reduce(int from, int to)
+                {
+                    int best = from;
+                    if (max)
+                    {
+                        for (int i = from + 1; i < to; ++i)
+                        {
+                            if (x[i] > x[best])
+                            {
+                                best = i;
+                            }
+                        }
+                    } else
+                    {
+                        for (int i = from + 1; i < to; ++i)
+                        {
+                            if (x[i] < x[best])
+                            {
+                                best = i;
+                            }
+                        }
+                    }
+                    return best;
+                }
+
+                @Override
+                public Integer merge(Integer left, Integer right)
+                {
+                    final float leftValue = x[left];
+                    final float rightValue = x[right];
+                    return (max ? rightValue > leftValue : rightValue < leftValue) ? right : left;
+                }
+            });
+    }
+
+    //
+    // Reductions along an axis
+    //
+
+    /**
+     * Returns the sums of the elements of <var>a</var> along <var>axis</var>. The result has the
+     * dimensions of <var>a</var> with <var>axis</var> removed.
+     */
+    public static MDDoubleArray sum(MDFloatArray a, int axis)
+    {
+        final MDDoubleArray result =
+                new MDDoubleArray(MDAbstractArray.getReducedDimensions(a, axis));
+        final float[] x = a.getAsFlatArray();
+        final double[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    for (int j = 0, o = offset; j < count; ++j, o += stride)
+                    {
+                        for (int p = from; p < to; ++p)
+                        {
+                            r[p] += x[o + p];
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the minima of the elements of <var>a</var> along <var>axis</var>. The result has the
+     * dimensions of <var>a</var> with <var>axis</var> removed.
+     *
+     * @throws IllegalArgumentException If <var>a</var> has an extent of 0 along <var>axis</var>.
+     */
+    public static MDFloatArray min(MDFloatArray a, int axis)
+    {
+        return extremum(a, axis, false);
+    }
+
+    /**
+     * Returns the maxima of the elements of <var>a</var> along <var>axis</var>. The result has the
+     * dimensions of <var>a</var> with <var>axis</var> removed.
+     *
+     * @throws IllegalArgumentException If <var>a</var> has an extent of 0 along <var>axis</var>.
+     */
+    public static MDFloatArray max(MDFloatArray a, int axis)
+    {
+        return extremum(a, axis, true);
+    }
+
+    private static MDFloatArray extremum(MDFloatArray a, int axis, final boolean max)
+    {
+        final MDFloatArray result =
+                new MDFloatArray(MDAbstractArray.getReducedDimensions(a, axis));
+        checkNotEmpty(a, axis);
+        final float[] x = a.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    System.arraycopy(x, offset + from, r, from, to - from);
+                    for (int j = 1, o = offset + stride; j < count; ++j, o += stride)
+                    {
+                        if (max)
+                        {
+                            for (int p = from; p < to; ++p)
+                            {
+                                if (x[o + p] > r[p])
+                                {
+                                    r[p] = x[o + p];
+                                }
+                            }
+                        } else
+                        {
+                            for (int p = from; p < to; ++p)
+                            {
+                                if (x[o + p] < r[p])
+                                {
+                                    r[p] = x[o + p];
+                                }
+                            }
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the arithmetic means of the elements of <var>a</var> along <var>axis</var>. The
+     * result has the dimensions of <var>a</var> with <var>axis</var> removed.
+     */
+    public static MDDoubleArray mean(MDFloatArray a, int axis)
+    {
+        final MDDoubleArray result =
+                new MDDoubleArray(MDAbstractArray.getReducedDimensions(a, axis));
+        final float[] x = a.getAsFlatArray();
+        final double[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    for (int j = 0, o = offset; j < count; ++j, o += stride)
+                    {
+                        for (int p = from; p < to; ++p)
+                        {
+                            r[p] += x[o + p];
+                        }
+                    }
+                    for (int p = from; p < to; ++p)
+                    {
+                        r[p] /= count;
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the (population) variances of the elements of <var>a</var> along <var>axis</var>.
+     * The result has the dimensions of <var>a</var> with <var>axis</var> removed.
+     */
+    public static MDDoubleArray variance(MDFloatArray a, int axis)
+    {
+        final MDDoubleArray mean = mean(a, axis);
+        final MDDoubleArray result = new MDDoubleArray(mean.dimensions());
+        final float[] x = a.getAsFlatArray();
+        final double[] m = mean.getAsFlatArray();
+        final double[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    for (int j = 0, o = offset; j < count; ++j, o += stride)
+                    {
+                        for (int p = from; p < to; ++p)
+                        {
+                            final double deviation = x[o + p] - m[p];
+                            r[p] += deviation * deviation;
+                        }
+                    }
+                    for (int p = from; p < to; ++p)
+                    {
+                        r[p] /= count;
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the indices along <var>axis</var> of the first maximal elements of <var>a</var>. The
+     * result has the dimensions of <var>a</var> with <var>axis</var> removed.
+     *
+     * @throws IllegalArgumentException If <var>a</var> has an extent of 0 along <var>axis</var>.
+     */
+    public static MDIntArray argmax(MDFloatArray a, int axis)
+    {
+        final MDIntArray result = new MDIntArray(MDAbstractArray.getReducedDimensions(a, axis));
+        checkNotEmpty(a, axis);
+        final float[] x = a.getAsFlatArray();
+        final int[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    for (int j = 1, o = offset + stride; j < count; ++j, o += stride)
+                    {
+                        for (int p = from; p < to; ++p)
+                        {
+                            if (x[o + p] > x[offset + r[p] * stride + p])
+                            {
+                                r[p] = j;
+                            }
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    //
+    // Sorting and selection along an axis
+    //
+
+    /**
+     * Sorts the elements of <var>a</var> in place in ascending order along <var>axis</var>. The
+     * lanes along <var>axis</var> are sorted in parallel.
+     */
+    public static void sort(MDFloatArray a, int axis)
+    {
+        a.checkNotFrozen();
+        final float[] x = a.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    if (stride == 1)
+                    {
+                        for (int p = from; p < to; ++p)
+                        {
+                            Arrays.sort(x, offset + p, offset + p + count);
+                        }
+                        return;
+                    }
+                    final float[] lane = new float[count];
+                    for (int p = from; p < to; ++p)
+                    {
+                        gather(x, offset + p, stride, lane);
+                        Arrays.sort(lane);
+                        for (int j = 0, o = offset + p; j < count; ++j, o += stride)
+                        {
+                            x[o] = lane[j];
+                        }
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns the indices along <var>axis</var> that sort the elements of <var>a</var> in
+     * ascending order. The sort is stable, equal elements keep their order. The result has the
+     * dimensions of <var>a</var>.
+     */
+    public static MDIntArray argsort(MDFloatArray a, int axis)
+    {
+        final MDIntArray result = new MDIntArray(a.dimensions());
+        final float[] x = a.getAsFlatArray();
+        final int[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    final float[] lane = new float[count];
+                    final int[] indices = new int[count];
+                    final int[] buffer = new int[count];
+                    for (int p = from; p < to; ++p)
+                    {
+                        gather(x, offset + p, stride, lane);
+                        sortIndices(lane, false, indices, buffer);
+                        for (int j = 0, o = offset + p; j < count; ++j, o += stride)
+                        {
+                            r[o] = indices[j];
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the <var>k</var> largest elements of <var>a</var> along <var>axis</var> in
+     * descending order. The result has the dimensions of <var>a</var> with the extent along
+     * <var>axis</var> replaced by <var>k</var>.
+     * 
+     * @throws IllegalArgumentException If <var>k</var> is negative or larger than the extent of
+     *             <var>a</var> along <var>axis</var>.
+     */
+    public static MDFloatArray topK(MDFloatArray a, int axis, final int k)
+    {
+        final MDFloatArray result = new MDFloatArray(getTopKDimensions(a, axis, k));
+        if (k == 0)
+        {
+            return result;
+        }
+        final float[] x = a.getAsFlatArray();
+        final float[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    final float[] lane = new float[count];
+                    final int resultOffset = (from / stride) * stride * (k - 1);
+                    for (int p = from; p < to; ++p)
+                    {
+                        gather(x, offset + p, stride, lane);
+                        select(lane, count, count - k);
+                        Arrays.sort(lane, count - k, count);
+                        for (int j = 0, o = resultOffset + p; j < k; ++j, o += stride)
+                        {
+                            r[o] = lane[count - 1 - j];
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the indices along <var>axis</var> of the <var>k</var> largest elements of
+     * <var>a</var>, ordered by descending value. Of equal elements, the one with the lower index
+     * comes first. The result has the dimensions of <var>a</var> with the extent along
+     * <var>axis</var> replaced by <var>k</var>.
+     * 
+     * @throws IllegalArgumentException If <var>k</var> is negative or larger than the extent of
+     *             <var>a</var> along <var>axis</var>.
+     */
+    public static MDIntArray argTopK(MDFloatArray a, int axis, final int k)
+    {
+        final MDIntArray result = new MDIntArray(getTopKDimensions(a, axis, k));
+        if (k == 0)
+        {
+            return result;
+        }
+        final float[] x = a.getAsFlatArray();
+        final int[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    final float[] lane = new float[count];
+                    final int[] indices = new int[count];
+                    final int[] buffer = new int[count];
+                    final int resultOffset = (from / stride) * stride * (k - 1);
+                    for (int p = from; p < to; ++p)
+                    {
+                        gather(x, offset + p, stride, lane);
+                        sortIndices(lane, true, indices, buffer);
+                        for (int j = 0, o = resultOffset + p; j < k; ++j, o += stride)
+                        {
+                            r[o] = indices[j];
+                        }
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * Returns the <var>q</var>-quantile of the elements of <var>a</var>. Between the closest
+     * ranks, the quantile is interpolated linearly, thus <code>q = 0.5</code> gives the median.
+     * The quantile is found by selection in a copy of the elements in linear expected time,
+     * without sorting them.
+     * 
+     * @throws IllegalArgumentException If <var>q</var> is not in <code>[0, 1]</code> or if
+     *             <var>a</var> is empty.
+     */
+    public static double quantile(MDFloatArray a, double q)
+    {
+        checkQuantile(q);
+        if (a.size() == 0)
+        {
+            throw new IllegalArgumentException("Array is empty.");
+        }
+        final float[] values = a.getCopyAsFlatArray();
+        return quantile(values, values.length, q);
+    }
+
+    /**
+     * Returns the <var>q</var>-quantiles of the elements of <var>a</var> along <var>axis</var>.
+     * The result has the dimensions of <var>a</var> with <var>axis</var> removed.
+     * 
+     * @throws IllegalArgumentException If <var>q</var> is not in <code>[0, 1]</code> or if
+     *             <var>a</var> has an extent of 0 along <var>axis</var>.
+     * @see #quantile(MDFloatArray, double)
+     */
+    public static MDDoubleArray quantile(MDFloatArray a, int axis, final double q)
+    {
+        checkQuantile(q);
+        final MDDoubleArray result =
+                new MDDoubleArray(MDAbstractArray.getReducedDimensions(a, axis));
+        checkNotEmpty(a, axis);
+        final float[] x = a.getAsFlatArray();
+        final double[] r = result.getAsFlatArray();
+        ParallelLoops.forAxis(a, axis, new ParallelLoops.IAxisAction()
+            {
+                @Override
+                public void run(int from, int to, int offset, int stride, int count)
+                {
+                    final float[] lane = new float[count];
+                    for (int p = from; p < to; ++p)
+                    {
+                        gather(x, offset + p, stride, lane);
+                        r[p] = quantile(lane, count, q);
+                    }
+                }
+            });
+        return result;
+    }
+
+    private static void gather(float[] source, int start, int stride, float[] lane)
+    {
+        for (int j = 0, o = start; j < lane.length; ++j, o += stride)
+        {
+            lane[j] = source[o];
+        }
+    }
+
+    private static double quantile(float[] values, int length, double q)
+    {
+        final double position = q * (length - 1);
+        final int lower = (int) position;
+        select(values, length, lower);
+        final double lowerValue = values[lower];
+        if (position == lower)
+        {
+            return lowerValue;
+        }
+        // After the selection, the next larger element is the minimum of the upper part.
+        float upper = values[lower + 1];
+        for (int i = lower + 2; i < length; ++i)
+        {
+            if (Float.compare(values[i], upper) < 0)
+            {
+                upper = values[i];
+            }
+        }
+        return lowerValue + (position - lower) * (upper - lowerValue);
+    }
+
+    /**
+     * Reorders the first <var>length</var> elements of <var>values</var> such that the element at
+     * <var>kth</var> is the one that would be there if they were sorted, all elements before are
+     * less or equal and all elements after are greater or equal (quickselect).
+     */
+    private static void select(float[] values, int length, int kth)
+    {
+        int lo = 0;
+        int hi = length - 1;
+        while (hi > lo)
+        {
+            final int mid = (lo + hi) >>> 1;
+            if (Float.compare(values[mid], values[lo]) < 0)
+            {
+                swap(values, lo, mid);
+            }
+            if (Float.compare(values[hi], values[lo]) < 0)
+            {
+                swap(values, lo, hi);
+            }
+            if (Float.compare(values[hi], values[mid]) < 0)
+            {
+                swap(values, mid, hi);
+            }
+            final float pivot = values[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j)
+            {
+                while (Float.compare(values[i], pivot) < 0)
+                {
+                    ++i;
+                }
+                while (Float.compare(values[j], pivot) > 0)
+                {
+                    --j;
+                }
+                if (i <= j)
+                {
+                    swap(values, i, j);
+                    ++i;
+                    --j;
+                }
+            }
+            if (kth <= j)
+            {
+                hi = j;
+            } else if (kth >= i)
+            {
+                lo = i;
+            } else
+            {
+                return;
+            }
+        }
+    }
+
+    private static void swap(float[] values, int i, int j)
+    {
+        final float value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * Stores the indices that sort <var>values</var> in <var>indices</var>. The sort is a stable
+     * merge sort, <var>buffer</var> needs to have the same length as <var>values</var>.
+     */
+    private static void sortIndices(float[] values, boolean descending, int[] indices,
+            int[] buffer)
+    {
+        final int length = values.length;
+        final int sign = descending ? -1 : 1;
+        for (int i = 0; i < length; ++i)
+        {
+            indices[i] = i;
+        }
+        for (int start = 0; start < length; start += INSERTION_SORT_LENGTH)
+        {
+            final int end = Math.min(length, start + INSERTION_SORT_LENGTH);
+            for (int i = start + 1; i < end; ++i)
+            {
+                final int index = indices[i];
+                int j = i - 1;
+                while (j >= start && sign * Float.compare(values[indices[j]], values[index]) > 0)
+                {
+                    indices[j + 1] = indices[j];
+                    --j;
+                }
+                indices[j + 1] = index;
+            }
+        }
+        int[] source = indices;
+        int[] target = buffer;
+        for (int width = INSERTION_SORT_LENGTH; width < length; width *= 2)
+        {
+            for (int lo = 0; lo < length; lo += 2 * width)
+            {
+                final int mid = Math.min(lo + width, length);
+                final int hi = Math.min(lo + 2 * width, length);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi)
+                {
+                    if (sign * Float.compare(values[source[j]], values[source[i]]) < 0)
+                    {
+                        target[k++] = source[j++];
+                    } else
+                    {
+                        target[k++] = source[i++];
+                    }
+                }
+                System.arraycopy(source, i, target, k, mid - i);
+                System.arraycopy(source, j, target, k + mid - i, hi - j);
+            }
+            final int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != indices)
+        {
+            System.arraycopy(source, 0, indices, 0, length);
+        }
+    }
+
+    private static int[] getTopKDimensions(MDFloatArray a, int axis, int k)
+    {
+        if (k < 0 || k > a.size(axis))
+        {
+            throw new IllegalArgumentException("Illegal k " + k + " for extent " + a.size(axis)
+                    + " along axis " + axis + ".");
+        }
+        final int[] dimensions = a.dimensions();
+        dimensions[axis] = k;
+        return dimensions;
+    }
+
+    private static void checkQuantile(double q)
+    {
+        if ((q >= 0 && q <= 1) == false)
+        {
+            throw new IllegalArgumentException("Quantile " + q + " is not in [0, 1].");
+        }
+    }
+
+    private static void checkNotEmpty(MDFloatArray a, int axis)
+    {
+        if (a.size(axis) == 0)
+        {
+            throw new IllegalArgumentException("Array is empty along axis " + axis + ".");
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+/**
+ * An appendable multi-dimensional <code>float</code> array that stores its hyper-rows in chunks.
+ * See {@link MDAbstractChunkedArray} for details.
+ *
+ * @author agent
+ */
+public final class MDFloatChunkedArray extends MDAbstractChunkedArray<Float>
+{
+    private float[][] chunks = new float[0][];
+
+    /**
+     * Creates an empty {@link MDFloatChunkedArray} with the <var>dimensions</var> and the default
+     * number of hyper-rows per chunk.
+     */
+    public MDFloatChunkedArray(int[] dimensions)
+    {
+        this(dimensions, getDefaultHyperRowsPerChunk(dimensions));
+    }
+
+    /**
+     * Creates an empty {@link MDFloatChunkedArray} with the <var>dimensions</var> that stores
+     * <var>hyperRowsPerChunk</var> hyper-rows per chunk.
+     */
+    public MDFloatChunkedArray(int[] dimensions, int hyperRowsPerChunk)
+    {
+        super(dimensions, hyperRowsPerChunk);
+        incNumberOfHyperRows(dimensions[0]);
+    }
+
+    @Override
+    protected void adaptNumberOfChunks(int newNumberOfChunks)
+    {
+        final int oldNumberOfChunks = chunks.length;
+        chunks = Arrays.copyOf(chunks, newNumberOfChunks);
+        for (int i = oldNumberOfChunks; i < newNumberOfChunks; ++i)
+        {
+            chunks[i] = new float[hyperRowsPerChunk() * hyperRowLength];
+        }
+    }
+
+    @Override
+    public Float getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Float value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public float get(int... indices)
+    {
+        return chunks[indices[0] >>> chunkShift][computeIndexInChunk(indices)];
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public float get(int indexX, int indexY)
+    {
+        return chunks[indexX >>> chunkShift][computeIndexInChunk(indexX, indexY)];
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public float get(int indexX, int indexY, int indexZ)
+    {
+        return chunks[indexX >>> chunkShift][computeIndexInChunk(indexX, indexY, indexZ)];
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(float value, int... indices)
+    {
+        chunks[indices[0] >>> chunkShift][computeIndexInChunk(indices)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY)
+    {
+        chunks[indexX >>> chunkShift][computeIndexInChunk(indexX, indexY)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY, int indexZ)
+    {
+        chunks[indexX >>> chunkShift][computeIndexInChunk(indexX, indexY, indexZ)] = value;
+    }
+
+    /**
+     * Copies the hyper-row with index <var>hyperRow</var> into <var>dest</var>, starting at
+     * <var>destPos</var>.
+     */
+    public void getHyperRow(int hyperRow, float[] dest, int destPos)
+    {
+        checkHyperRow(hyperRow);
+        System.arraycopy(chunks[hyperRow >>> chunkShift], (hyperRow & chunkMask) * hyperRowLength,
+                dest, destPos, hyperRowLength);
+    }
+
+    /**
+     * Copies one hyper-row from <var>src</var>, starting at <var>srcPos</var>, into the
+     * hyper-row with index <var>hyperRow</var>.
+     */
+    public void setHyperRow(int hyperRow, float[] src, int srcPos)
+    {
+        checkHyperRow(hyperRow);
+        System.arraycopy(src, srcPos, chunks[hyperRow >>> chunkShift], (hyperRow & chunkMask)
+                * hyperRowLength, hyperRowLength);
+    }
+
+    /**
+     * Appends <var>count</var> hyper-rows from <var>src</var>, starting at <var>srcPos</var>.
+     * 
+     * @throws IndexOutOfBoundsException If <var>src</var> does not hold <var>count</var>
+     *             hyper-rows starting at <var>srcPos</var>. The array is not changed then.
+     */
+    public void appendHyperRows(float[] src, int srcPos, int count)
+    {
+        checkSourceRange(src.length, srcPos, count);
+        final int firstHyperRow = dimensions[0];
+        incNumberOfHyperRows(count);
+        for (int i = 0; i < count; ++i)
+        {
+            setHyperRow(firstHyperRow + i, src, srcPos + i * hyperRowLength);
+        }
+    }
+
+    /**
+     * Returns a copy of this array as a {@link MDFloatArray}.
+     */
+    public MDFloatArray toMDArray()
+    {
+        final MDFloatArray result = new MDFloatArray(dimensions());
+        final float[] dest = result.getAsFlatArray();
+        final int rowsPerChunk = hyperRowsPerChunk();
+        for (int row = 0; row < dimensions[0]; row += rowsPerChunk)
+        {
+            final int rows = Math.min(rowsPerChunk, dimensions[0] - row);
+            System.arraycopy(chunks[row >>> chunkShift], 0, dest, row * hyperRowLength, rows
+                    * hyperRowLength);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import org.apache.commons.lang.ArrayUtils;
+
+/**
+ * A sparse multi-dimensional <code>float</code> array. See {@link MDAbstractSparseArray} for
+ * details.
+ *
+ * @author agent
+ */
+public final class MDFloatSparseArray extends MDAbstractSparseArray<Float>
+{
+    /**
+     * Creates an empty {@link MDFloatSparseArray} with the <var>dimensions</var> in
+     * {@link SparseFormat#COO}.
+     */
+    public MDFloatSparseArray(int[] dimensions)
+    {
+        this(dimensions, SparseFormat.COO);
+    }
+
+    /**
+     * Creates an empty {@link MDFloatSparseArray} with the <var>dimensions</var> in
+     * <var>format</var>.
+     */
+    public MDFloatSparseArray(int[] dimensions, SparseFormat format)
+    {
+        super(dimensions);
+        initialize(format, new int[0], new float[0], 0);
+    }
+
+    /**
+     * Creates a {@link MDFloatSparseArray} in {@link SparseFormat#COO} with the dimensions and
+     * non-zero values of the dense <var>array</var>. <code>-0.0</code> counts as non-zero.
+     */
+    public MDFloatSparseArray(MDFloatArray array)
+    {
+        this(array, SparseFormat.COO);
+    }
+
+    /**
+     * Creates a {@link MDFloatSparseArray} in <var>format</var> with the dimensions and non-zero
+     * values of the dense <var>array</var>. <code>-0.0</code> counts as non-zero.
+     */
+    public MDFloatSparseArray(MDFloatArray array, SparseFormat format)
+    {
+        super(array.dimensions);
+        final float[] dense = array.getAsFlatArray();
+        final int length = array.size();
+        int count = 0;
+        for (int i = 0; i < length; ++i)
+        {
+            if (Float.floatToRawIntBits(dense[i]) != 0)
+            {
+                ++count;
+            }
+        }
+        final int[] linearIndices = new int[count];
+        final float[] nonZeroValues = new float[count];
+        int pos = 0;
+        for (int i = 0; i < length; ++i)
+        {
+            if (Float.floatToRawIntBits(dense[i]) != 0)
+            {
+                linearIndices[pos] = i;
+                nonZeroValues[pos] = dense[i];
+                ++pos;
+            }
+        }
+        initialize(format, linearIndices, nonZeroValues, count);
+    }
+
+    @Override
+    protected Object createValues(int length)
+    {
+        return new float[length];
+    }
+
+    @Override
+    public Float getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Float value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    /**
+     * Returns the value at <var>linearIndex</var>.
+     * 
+     * @throws IndexOutOfBoundsException If <var>linearIndex</var> is not in
+     *             <code>[0, size())</code>.
+     */
+    public float getByLinearIndex(int linearIndex)
+    {
+        checkLinearIndex(linearIndex);
+        final int pos = index.find(linearIndex);
+        return (pos < 0) ? 0 : ((float[]) values)[pos];
+    }
+
+    /**
+     * Sets the <var>value</var> at <var>linearIndex</var>. Setting a value of 0 removes the entry,
+     * while <code>-0.0</code> is stored as an entry to keep its sign.
+     * 
+     * @throws IndexOutOfBoundsException If <var>linearIndex</var> is not in
+     *             <code>[0, size())</code>.
+     */
+    public void setByLinearIndex(float value, int linearIndex)
+    {
+        checkLinearIndex(linearIndex);
+        if (Float.floatToRawIntBits(value) == 0)
+        {
+            remove(linearIndex);
+        } else
+        {
+            // findOrInsert() may replace the values array, so call it first.
+            final int pos = findOrInsert(linearIndex);
+            ((float[]) values)[pos] = value;
+        }
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public float get(int... indices)
+    {
+        return getByLinearIndex(computeIndex(indices));
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public float get(int indexX, int indexY)
+    {
+        return getByLinearIndex(computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public float get(int indexX, int indexY, int indexZ)
+    {
+        return getByLinearIndex(computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(float value, int... indices)
+    {
+        setByLinearIndex(value, computeIndex(indices));
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY)
+    {
+        setByLinearIndex(value, computeIndex(indexX, indexY));
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY, int indexZ)
+    {
+        setByLinearIndex(value, computeIndex(indexX, indexY, indexZ));
+    }
+
+    /**
+     * Returns a copy of the values of the non-zero entries, in the order of
+     * {@link #getNonZeroLinearIndices()}.
+     */
+    public float[] getNonZeroValues()
+    {
+        return ArrayUtils.subarray((float[]) values, 0, numberOfNonZeros());
+    }
+
+    /**
+     * Calls <var>processor</var> for all non-zero entries of this array in row-major order.
+     * <p>
+     * <b>The index array that is passed to <var>processor</var> is reused for all entries.</b>
+     */
+    public void forEachNonZero(MDFloatArray.IValueProcessor processor)
+    {
+        final int count = numberOfNonZeros();
+        final int[] linearIndices = index.getLinearIndices();
+        final float[] nonZeroValues = (float[]) values;
+        final int[] indices = new int[dimensions.length];
+        for (int pos = 0; pos < count; ++pos)
+        {
+            computeReverseIndex(linearIndices[pos], indices);
+            processor.process(indices, nonZeroValues[pos]);
+        }
+    }
+
+    /**
+     * Returns a copy of this array in <var>format</var>.
+     */
+    public MDFloatSparseArray toFormat(SparseFormat format)
+    {
+        final MDFloatSparseArray result = new MDFloatSparseArray(dimensions, format);
+        result.initialize(format, getNonZeroLinearIndices(), getNonZeroValues(),
+                numberOfNonZeros());
+        return result;
+    }
+
+    /**
+     * Returns this array as a dense {@link MDFloatArray}.
+     */
+    public MDFloatArray toMDArray()
+    {
+        final MDFloatArray result = new MDFloatArray(dimensions());
+        final float[] dense = result.getAsFlatArray();
+        final int count = numberOfNonZeros();
+        final int[] linearIndices = index.getLinearIndices();
+        final float[] nonZeroValues = (float[]) values;
+        for (int pos = 0; pos < count; ++pos)
+        {
+            dense[linearIndices[pos]] = nonZeroValues[pos];
+        }
+        return result;
+    }
+
+}
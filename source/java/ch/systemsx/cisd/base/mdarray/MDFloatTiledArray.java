@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * A multi-dimensional <code>float</code> array that is stored in tiles. See
+ * {@link MDAbstractTiledArray} for the layout.
+ *
+ * @author agent
+ */
+public final class MDFloatTiledArray extends MDAbstractTiledArray<Float>
+{
+    private final float[] array;
+
+    /**
+     * Creates an empty {@link MDFloatTiledArray} with the <var>dimensions</var> and the default
+     * tile dimensions.
+     */
+    public MDFloatTiledArray(int[] dimensions)
+    {
+        this(dimensions, getDefaultTileDimensions(dimensions.length));
+    }
+
+    /**
+     * Creates an empty {@link MDFloatTiledArray} with the <var>dimensions</var> and
+     * <var>tileDimensions</var>.
+     */
+    public MDFloatTiledArray(int[] dimensions, int[] tileDimensions)
+    {
+        super(dimensions, tileDimensions);
+        this.array = new float[backingArrayLength];
+    }
+
+    /**
+     * Creates a {@link MDFloatTiledArray} with the dimensions and values of <var>array</var> and
+     * the default tile dimensions.
+     */
+    public MDFloatTiledArray(MDFloatArray array)
+    {
+        this(array, getDefaultTileDimensions(array.rank()));
+    }
+
+    /**
+     * Creates a {@link MDFloatTiledArray} with the dimensions and values of <var>array</var> and
+     * the <var>tileDimensions</var>.
+     */
+    public MDFloatTiledArray(MDFloatArray array, int[] tileDimensions)
+    {
+        this(array.dimensions(), tileDimensions);
+        copyFromRowMajor(array.getAsFlatArray(), this.array);
+    }
+
+    @Override
+    public Float getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Float value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    /**
+     * Returns the backing array of this array, in tiled order and including the padding. Changes
+     * to the returned object will change the array directly.
+     */
+    public float[] getBackingArray()
+    {
+        return array;
+    }
+
+    /**
+     * Returns a copy of the array in flattened, row-major form.
+     */
+    public float[] getCopyAsFlatArray()
+    {
+        final float[] result = new float[size];
+        copyToRowMajor(array, result);
+        return result;
+    }
+
+    /**
+     * Returns a copy of this array as a row-major {@link MDFloatArray}.
+     */
+    public MDFloatArray toMDArray()
+    {
+        return new MDFloatArray(getCopyAsFlatArray(), dimensions());
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     */
+    public float get(int... indices)
+    {
+        return array[computeIndex(indices)];
+    }
+
+    /**
+     * Returns the value of a two-dimensional array at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public float get(int indexX, int indexY)
+    {
+        return array[computeIndex(indexX, indexY)];
+    }
+
+    /**
+     * Returns the value of a three-dimensional array at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public float get(int indexX, int indexY, int indexZ)
+    {
+        return array[computeIndex(indexX, indexY, indexZ)];
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>.
+     */
+    public void set(float value, int... indices)
+    {
+        array[computeIndex(indices)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional array at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY)
+    {
+        array[computeIndex(indexX, indexY)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional array at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for arrays other than three-dimensional!</b>
+     */
+    public void set(float value, int indexX, int indexY, int indexZ)
+    {
+        array[computeIndex(indexX, indexY, indexZ)] = value;
+    }
+
+    /**
+     * Copies all elements along <var>axis</var> that share the other indices of <var>indices</var>
+     * into <var>dest</var>, starting at <var>destStart</var>. The index of <var>axis</var> in
+     * <var>indices</var> is ignored. For a two-dimensional array and <code>axis == 0</code>, this
+     * is a column. The elements are read tile by tile.
+     */
+    public void getLine(int axis, int[] indices, float[] dest, int destStart)
+    {
+        final int[] index = getLineStart(axis, indices);
+        final int length = dimensions[axis];
+        final int tileLength = tileDimensions[axis];
+        final int stride = getStrideInTile(axis);
+        for (int start = 0; start < length; start += tileLength)
+        {
+            index[axis] = start;
+            int pos = computeIndex(index);
+            final int end = Math.min(length, start + tileLength);
+            for (int i = destStart + start; i < destStart + end; ++i)
+            {
+                dest[i] = array[pos];
+                pos += stride;
+            }
+        }
+    }
+
+    /**
+     * Copies the elements of <var>src</var>, starting at <var>srcStart</var>, to all elements
+     * along <var>axis</var> that share the other indices of <var>indices</var>. The index of
+     * <var>axis</var> in <var>indices</var> is ignored. The elements are written tile by tile.
+     */
+    public void setLine(int axis, int[] indices, float[] src, int srcStart)
+    {
+        final int[] index = getLineStart(axis, indices);
+        final int length = dimensions[axis];
+        final int tileLength = tileDimensions[axis];
+        final int stride = getStrideInTile(axis);
+        for (int start = 0; start < length; start += tileLength)
+        {
+            index[axis] = start;
+            int pos = computeIndex(index);
+            final int end = Math.min(length, start + tileLength);
+            for (int i = srcStart + start; i < srcStart + end; ++i)
+            {
+                array[pos] = src[i];
+                pos += stride;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the column <var>indexY</var> of a two-dimensional array.
+     * <p>
+     * <b>Do not call for arrays other than two-dimensional!</b>
+     */
+    public float[] getColumn(int indexY)
+    {
+        assert 2 == dimensions.length;
+
+        final float[] result = new float[dimensions[0]];
+        getLine(0, new int[]
+            { 0, indexY }, result, 0);
+        return result;
+    }
+
+    /**
+     * Returns the transpose of this two-dimensional array. The result has the transposed tile
+     * dimensions, so that each tile is transposed into exactly one tile of the result.
+     *
+     * @throws IllegalArgumentException If this array is not two-dimensional.
+     */
+    public MDFloatTiledArray transpose()
+    {
+        final MDFloatTiledArray result =
+                new MDFloatTiledArray(getTransposed(dimensions), getTransposed(tileDimensions));
+        final int tileRows = tileDimensions[0];
+        final int tileColumns = tileDimensions[1];
+        final int numberOfTiles = getNumberOfTiles();
+        for (int tile = 0; tile < numberOfTiles; ++tile)
+        {
+            int pos = tile << tileSizeShift;
+            final int destTileStart = getTransposedTile(tile) << tileSizeShift;
+            for (int i = 0; i < tileRows; ++i)
+            {
+                for (int j = 0; j < tileColumns; ++j)
+                {
+                    result.array[destTileStart + j * tileRows + i] = array[pos++];
+                }
+            }
+        }
+        return result;
+    }
+
+}
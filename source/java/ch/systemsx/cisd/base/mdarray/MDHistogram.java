@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * A histogram with equally wide bins over the range <code>[min, max]</code>, as computed by
+ * {@link MDArrayHistograms}.
+ * <p>
+ * Bin <var>i</var> covers the values <code>[min + i * binWidth, min + (i + 1) * binWidth)</code>,
+ * the last bin also includes <var>max</var>. Besides the counts, the histogram reports how many
+ * elements it has processed and how long that took, so that the throughput of the computation can
+ * be monitored.
+ *
+ * @author agent
+ */
+public final class MDHistogram
+{
+    private final double min;
+
+    private final double max;
+
+    private final long[] counts;
+
+    private final long underflow;
+
+    private final long overflow;
+
+    private final long nanCount;
+
+    private final long elementCount;
+
+    private final int elementSize;
+
+    private final long elapsedNanos;
+
+    MDHistogram(double min, double max, long[] counts, long underflow, long overflow,
+            long nanCount, long elementCount, int elementSize, long elapsedNanos)
+    {
+        this.min = min;
+        this.max = max;
+        this.counts = counts;
+        this.underflow = underflow;
+        this.overflow = overflow;
+        this.nanCount = nanCount;
+        this.elementCount = elementCount;
+        this.elementSize = elementSize;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the lower bound of the range of the histogram.
+     */
+    public double getMin()
+    {
+        return min;
+    }
+
+    /**
+     * Returns the upper bound of the range of the histogram.
+     */
+    public double getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Returns the number of bins.
+     */
+    public int getNumberOfBins()
+    {
+        return counts.length;
+    }
+
+    /**
+     * Returns the width of each bin.
+     */
+    public double getBinWidth()
+    {
+        return (max - min) / counts.length;
+    }
+
+    /**
+     * Returns the lower edge of bin <var>bin</var>.
+     */
+    public double getBinLowerEdge(int bin)
+    {
+        return min + bin * getBinWidth();
+    }
+
+    /**
+     * Returns the number of values in bin <var>bin</var>.
+     */
+    public long getCount(int bin)
+    {
+        return counts[bin];
+    }
+
+    /**
+     * Returns a copy of the counts of all bins.
+     */
+    public long[] getCounts()
+    {
+        return counts.clone();
+    }
+
+    /**
+     * Returns the number of values below {@link #getMin()}. Always 0 if the histogram has been
+     * computed with range clamping.
+     */
+    public long getUnderflow()
+    {
+        return underflow;
+    }
+
+    /**
+     * Returns the number of values above {@link #getMax()}. Always 0 if the histogram has been
+     * computed with range clamping.
+     */
+    public long getOverflow()
+    {
+        return overflow;
+    }
+
+    /**
+     * Returns the number of <code>NaN</code> values, which are not counted in any bin.
+     */
+    public long getNaNCount()
+    {
+        return nanCount;
+    }
+
+    /**
+     * Returns the sum of the counts of all bins.
+     */
+    public long getTotalCount()
+    {
+        long total = 0;
+        for (long count : counts)
+        {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of elements that have been processed to compute the histogram.
+     */
+    public long getElementCount()
+    {
+        return elementCount;
+    }
+
+    /**
+     * Returns the time it took to compute the histogram, in nanoseconds.
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of elements processed per second.
+     */
+    public double getElementsPerSecond()
+    {
+        return elementCount * 1e9 / Math.max(1L, elapsedNanos);
+    }
+
+    /**
+     * Returns the number of bytes of array data processed per second.
+     */
+    public double getBytesPerSecond()
+    {
+        return getElementsPerSecond() * elementSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MDHistogram [bins=" + counts.length + ", range=[" + min + ", " + max
+                + "], underflow=" + underflow + ", overflow=" + overflow + ", NaN=" + nanCount
+                + ", elements=" + elementCount + ", elapsed=" + (elapsedNanos / 1000) + " us, "
+                + String.format("%.1f MB/s", getBytesPerSecond() / 1e6) + "]";
+    }
+
+}
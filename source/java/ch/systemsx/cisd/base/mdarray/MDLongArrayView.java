@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * A strided view on the backing array of a {@link MDLongArray}.
+ *
+ * @author agent
+ */
+public final class MDLongArrayView extends MDAbstractArrayView<Long>
+{
+    private final long[] array;
+
+    /**
+     * Creates a {@link MDLongArrayView} that covers all elements of <var>array</var>. The view is
+     * read-only if <var>array</var> is frozen.
+     */
+    public MDLongArrayView(MDLongArray array)
+    {
+        this(array.getAsFlatArray(), 0, array.dimensions(), computeStrides(array.dimensions()),
+                array.isFrozen());
+    }
+
+    /**
+     * Creates a {@link MDLongArrayView} on <var>backingArray</var> with the given
+     * <var>offset</var>, <var>dimensions</var> and <var>strides</var>.
+     */
+    public MDLongArrayView(long[] backingArray, int offset, int[] dimensions, int[] strides)
+    {
+        this(backingArray, offset, dimensions, strides, false);
+    }
+
+    private MDLongArrayView(long[] backingArray, int offset, int[] dimensions, int[] strides,
+            boolean readOnly)
+    {
+        super(backingArray, offset, dimensions, strides, readOnly);
+        this.array = backingArray;
+    }
+
+    @Override
+    protected MDLongArrayView createView(int newOffset, int[] newDimensions, int[] newStrides)
+    {
+        return new MDLongArrayView(array, newOffset, newDimensions, newStrides, readOnly);
+    }
+
+    @Override
+    protected void copyStrided(int srcPos, int stride, Object dest, int destPos, int count)
+    {
+        final long[] destArray = (long[]) dest;
+        for (int i = 0, j = srcPos; i < count; ++i, j += stride)
+        {
+            destArray[destPos + i] = array[j];
+        }
+    }
+
+    @Override
+    public Long getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Long value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    /**
+     * Returns the backing array of this view. Changes to the returned object will change the view
+     * directly.
+     */
+    public long[] getBackingArray()
+    {
+        return array;
+    }
+
+    /**
+     * Returns the view in flattened form. If the view covers its backing array in row-major
+     * order, this is the backing array and changes to the returned object will change the view
+     * directly. Otherwise, the elements are copied into a new array.
+     */
+    public long[] getAsFlatArray()
+    {
+        return isBackingArrayFlatArray() ? array : getCopyAsFlatArray();
+    }
+
+    /**
+     * Returns a copy of the view in flattened form. Changes to the returned object will <i>not</i>
+     * change the view.
+     */
+    public long[] getCopyAsFlatArray()
+    {
+        final long[] result = new long[size];
+        copyToFlatArray(result);
+        return result;
+    }
+
+    /**
+     * Returns the view as a {@link MDLongArray}. The returned array shares its storage with this
+     * view if {@link #getAsFlatArray()} returns the backing array. It is frozen then if this view
+     * is read-only.
+     */
+    public MDLongArray toMDArray()
+    {
+        final MDLongArray result = new MDLongArray(getAsFlatArray(), dimensions());
+        if (readOnly && isBackingArrayFlatArray())
+        {
+            result.freeze();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the view at the position defined by <var>indices</var>.
+     */
+    public long get(int... indices)
+    {
+        return array[computeIndex(indices)];
+    }
+
+    /**
+     * Returns the value of a one-dimensional view at the position defined by <var>index</var>.
+     * <p>
+     * <b>Do not call for views other than one-dimensional!</b>
+     */
+    public long get(int index)
+    {
+        return array[offset + index * strides[0]];
+    }
+
+    /**
+     * Returns the value of a two-dimensional view at the position defined by <var>indexX</var> and
+     * <var>indexY</var>.
+     * <p>
+     * <b>Do not call for views other than two-dimensional!</b>
+     */
+    public long get(int indexX, int indexY)
+    {
+        return array[computeIndex(indexX, indexY)];
+    }
+
+    /**
+     * Returns the value of a three-dimensional view at the position defined by <var>indexX</var>,
+     * <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for views other than three-dimensional!</b>
+     */
+    public long get(int indexX, int indexY, int indexZ)
+    {
+        return array[computeIndex(indexX, indexY, indexZ)];
+    }
+
+    /**
+     * Sets the <var>value</var> of the view at the position defined by <var>indices</var>.
+     */
+    public void set(long value, int... indices)
+    {
+        checkNotReadOnly();
+        array[computeIndex(indices)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a one-dimensional view at the position defined by
+     * <var>index</var>.
+     * <p>
+     * <b>Do not call for views other than one-dimensional!</b>
+     */
+    public void set(long value, int index)
+    {
+        checkNotReadOnly();
+        array[offset + index * strides[0]] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a two-dimensional view at the position defined by
+     * <var>indexX</var> and <var>indexY</var>.
+     * <p>
+     * <b>Do not call for views other than two-dimensional!</b>
+     */
+    public void set(long value, int indexX, int indexY)
+    {
+        checkNotReadOnly();
+        array[computeIndex(indexX, indexY)] = value;
+    }
+
+    /**
+     * Sets the <var>value</var> of a three-dimensional view at the position defined by
+     * <var>indexX</var>, <var>indexY</var> and <var>indexZ</var>.
+     * <p>
+     * <b>Do not call for views other than three-dimensional!</b>
+     */
+    public void set(long value, int indexX, int indexY, int indexZ)
+    {
+        checkNotReadOnly();
+        array[computeIndex(indexX, indexY, indexZ)] = value;
+    }
+
+    @Override
+    public MDLongArrayView slice(int axis, int index)
+    {
+        return (MDLongArrayView) super.slice(axis, index);
+    }
+
+    @Override
+    public MDLongArrayView range(int axis, int start, int end, int step)
+    {
+        return (MDLongArrayView) super.range(axis, start, end, step);
+    }
+
+    @Override
+    public MDLongArrayView block(int[] blockOffset, int[] blockDimensions)
+    {
+        return (MDLongArrayView) super.block(blockOffset, blockDimensions);
+    }
+
+    @Override
+    public MDLongArrayView permute(int... axes)
+    {
+        return (MDLongArrayView) super.permute(axes);
+    }
+
+    @Override
+    public MDLongArrayView transpose()
+    {
+        return (MDLongArrayView) super.transpose();
+    }
+
+    @Override
+    public MDLongArrayView reshape(int... newDimensions)
+    {
+        return (MDLongArrayView) super.reshape(newDimensions);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * A multi-dimensional <code>long</code> array that many threads can append hyper-rows to
+ * concurrently. See {@link MDAbstractConcurrentArray} for details.
+ *
+ * @author agent
+ */
+public final class MDLongConcurrentArray extends MDAbstractConcurrentArray<Long>
+{
+    /**
+     * Creates a {@link MDLongConcurrentArray} with the <var>dimensions</var> and the default size
+     * of the first segment. The first <code>dimensions[0]</code> hyper-rows are published and 0.
+     */
+    public MDLongConcurrentArray(int[] dimensions)
+    {
+        this(dimensions, getDefaultInitialSegmentHyperRows(dimensions));
+    }
+
+    /**
+     * Creates a {@link MDLongConcurrentArray} with the <var>dimensions</var> and a first segment
+     * of <var>initialSegmentHyperRows</var> hyper-rows. The first <code>dimensions[0]</code>
+     * hyper-rows are published and 0.
+     */
+    public MDLongConcurrentArray(int[] dimensions, int initialSegmentHyperRows)
+    {
+        super(dimensions, initialSegmentHyperRows);
+    }
+
+    @Override
+    protected Object createSegmentData(int length)
+    {
+        return new long[length];
+    }
+
+    @Override
+    public Long getAsObject(int... indices)
+    {
+        return get(indices);
+    }
+
+    @Override
+    public void setToObject(Long value, int... indices)
+    {
+        set(value, indices);
+    }
+
+    private long[] getSegmentData(int segmentIndex)
+    {
+        return (long[]) getSegment(segmentIndex).data;
+    }
+
+    /**
+     * Returns the value of array at the position defined by <var>indices</var>.
+     * 
+     * @throws IndexOutOfBoundsException If the hyper-row <code>indices[0]</code> is not
+     *             published.
+     */
+    public long get(int... indices)
+    {
+        checkPublished(indices[0]);
+        final int segmentIndex = getSegmentIndex(indices[0]);
+        return getSegmentData(segmentIndex)[computeIndexInSegment(segmentIndex, indices)];
+    }
+
+    /**
+     * Sets the <var>value</var> of array at the position defined by <var>indices</var>. The
+     * hyper-row <code>indices[0]</code> needs to be reserved by the calling thread.
+     */
+    public void set(long value, int... indices)
+    {
+        checkReserved(indices[0], 1);
+        final int segmentIndex = getSegmentIndex(indices[0]);
+        getSegmentData(segmentIndex)[computeIndexInSegment(segmentIndex, indices)] = value;
+    }
+
+    /**
+     * Copies the published hyper-row with index <var>hyperRow</var> into <var>dest</var>,
+     * starting at <var>destPos</var>.
+     */
+    public void getHyperRow(int hyperRow, long[] dest, int destPos)
+    {
+        checkPublished(hyperRow);
+        final int segmentIndex = getSegmentIndex(hyperRow);
+        System.arraycopy(getSegmentData(segmentIndex), (hyperRow - getSegmentStart(segmentIndex))
+                * hyperRowLength, dest, destPos, hyperRowLength);
+    }
+
+    /**
+     * Copies one hyper-row from <var>src</var>, starting at <var>srcPos</var>, into the
+     * hyper-row with index <var>hyperRow</var>, which needs to be reserved by the calling thread.
+     */
+    public void setHyperRow(int hyperRow, long[] src, int srcPos)
+    {
+        checkReserved(hyperRow, 1);
+        final int segmentIndex = getSegmentIndex(hyperRow);
+        System.arraycopy(src, srcPos, getSegmentData(segmentIndex),
+                (hyperRow - getSegmentStart(segmentIndex)) * hyperRowLength, hyperRowLength);
+    }
+
+    /**
+     * Appends <var>count</var> hyper-rows from <var>src</var>, starting at <var>srcPos</var>.
+     * Reserves, writes and commits the hyper-rows. The hyper-rows are committed even if writing
+     * them fails, so that they do not block the publication of later hyper-rows.
+     * 
+     * @return The index of the first appended hyper-row.
+     * @throws IndexOutOfBoundsException If <var>src</var> does not hold <var>count</var>
+     *             hyper-rows starting at <var>srcPos</var>. No hyper-rows are reserved then.
+     */
+    public int appendHyperRows(long[] src, int srcPos, int count)
+    {
+        checkSourceRange(src.length, srcPos, count);
+        final int firstHyperRow = reserveHyperRows(count);
+        try
+        {
+            for (int i = 0; i < count; ++i)
+            {
+                setHyperRow(firstHyperRow + i, src, srcPos + i * hyperRowLength);
+            }
+        } finally
+        {
+            commitHyperRows(firstHyperRow, count);
+        }
+        return firstHyperRow;
+    }
+
+    /**
+     * Returns a copy of the published prefix of this array as a {@link MDLongArray}.
+     */
+    public MDLongArray toMDArray()
+    {
+        final int[] dimensions = dimensions();
+        final MDLongArray result = new MDLongArray(dimensions);
+        final long[] dest = result.getAsFlatArray();
+        int row = 0;
+        while (row < dimensions[0])
+        {
+            final int segmentIndex = getSegmentIndex(row);
+            final int end = Math.min(dimensions[0], getSegmentEnd(segmentIndex));
+            System.arraycopy(getSegmentData(segmentIndex), (row - getSegmentStart(segmentIndex))
+                    * hyperRowLength, dest, row * hyperRowLength, (end - row) * hyperRowLength);
+            row = end;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+/**
+ * Matrix products of two-dimensional {@link MDFloatArray}s and {@link MDDoubleArray}s. The
+ * matrices are read directly from the row-major flattened arrays; transposed operands are handled
+ * by the indexing, without copying the matrix.
+ * <p>
+ * The matrix product <code>gemm()</code> is blocked: the inner dimension and the columns of the
+ * result are split into blocks of {@link #K_BLOCK} and {@link #N_BLOCK}, so that a block of the
+ * right operand stays in the CPU cache while it is applied to all rows of the result. A block of a
+ * transposed right operand is packed into a buffer once, which all tasks share. The innermost
+ * loop runs along a row of the result. For each block, the rows of the result are split into
+ * ranges of at least {@link #M_BLOCK} rows that are computed in parallel on a fork-join pool.
+ *
+ * @author agent
+ */
+public final class MDMatrixOperations
+{
+    /** The block size along the inner dimension of a matrix product. */
+    static final int K_BLOCK = 128;
+
+    /** The block size along the columns of the result of a matrix product. */
+    static final int N_BLOCK = 256;
+
+    /** The minimal number of rows of the result that a parallel task computes. */
+    static final int M_BLOCK = 64;
+
+    private MDMatrixOperations()
+    {
+        // Not to be instantiated.
+    }
+
+    //
+    // float
+    //
+
+    /**
+     * Returns the product of the matrix <var>a</var> and <var>b</var>, where <var>b</var> is
+     * either a matrix or a vector.
+     */
+    public static MDFloatArray multiply(MDFloatArray a, MDFloatArray b)
+    {
+        checkRank(a, 2, "a");
+        if (b.rank() == 1)
+        {
+            final MDFloatArray y = new MDFloatArray(new int[]
+                { a.size(0) });
+            gemv(1, a, false, b, 0, y);
+            return y;
+        }
+        checkRank(b, 2, "b");
+        final MDFloatArray c = new MDFloatArray(new int[]
+            { a.size(0), b.size(1) });
+        gemm(1, a, false, b, false, 0, c);
+        return c;
+    }
+
+    /**
+     * Computes <code>c = alpha * op(a) * op(b) + beta * c</code>, where <code>op(x)</code> is
+     * <var>x</var> or its transpose. All arrays need to be matrices, <var>c</var> must not be
+     * <var>a</var> or <var>b</var>. If <var>beta</var> is 0, the values of <var>c</var> are
+     * ignored.
+     */
+    public static void gemm(final float alpha, MDFloatArray a, final boolean transposeA,
+            MDFloatArray b, final boolean transposeB, float beta, MDFloatArray c)
+    {
+        c.checkNotFrozen();
+        checkRank(a, 2, "a");
+        checkRank(b, 2, "b");
+        checkRank(c, 2, "c");
+        checkNotAliased(c, a, b);
+        final int m = transposeA ? a.size(1) : a.size(0);
+        final int k = transposeA ? a.size(0) : a.size(1);
+        final int n = transposeB ? b.size(0) : b.size(1);
+        final int kb = transposeB ? b.size(1) : b.size(0);
+        if (k != kb || c.size(0) != m || c.size(1) != n)
+        {
+            throw new IllegalArgumentException("Incompatible matrix dimensions: op(a) is " + m
+                    + "x" + k + ", op(b) is " + kb + "x" + n + ", c is " + c.size(0) + "x"
+                    + c.size(1) + ".");
+        }
+        final float[] x = a.getAsFlatArray();
+        final float[] y = b.getAsFlatArray();
+        final float[] r = c.getAsFlatArray();
+        scale(r, m * n, beta);
+        if (k == 0 || alpha == 0)
+        {
+            return;
+        }
+        final float[] panel = transposeB ? new float[K_BLOCK * N_BLOCK] : null;
+        final float[] bArray = transposeB ? panel : y;
+        final int aStride = transposeA ? m : 1;
+        for (int kkBlock = 0; kkBlock < k; kkBlock += K_BLOCK)
+        {
+            final int kk = kkBlock;
+            final int kEnd = Math.min(k, kk + K_BLOCK);
+            for (int jjBlock = 0; jjBlock < n; jjBlock += N_BLOCK)
+            {
+                final int jj = jjBlock;
+                final int jEnd = Math.min(n, jj + N_BLOCK);
+                if (transposeB)
+                {
+                    // Pack the block of op(b) once, so that its rows are contiguous.
+                    for (int j = jj; j < jEnd; ++j)
+                    {
+                        for (int l = kk; l < kEnd; ++l)
+                        {
+                            panel[(l - kk) * N_BLOCK + (j - jj)] = y[j * k + l];
+                        }
+                    }
+                }
+                ParallelLoops.forRange(m, getGrain((long) (kEnd - kk) * (jEnd - jj)),
+                        new ParallelLoops.IRangeAction()
+                            {
+                                @Override
+                                public void run(int from, int to)
+                                {
+                                    for (int i = from; i < to; ++i)
+                                    {
+                                        final int cRow = i * n;
+                                        final int aRow = transposeA ? i : i * k;
+                                        for (int l = kk; l < kEnd; ++l)
+                                        {
+                                            final float ail = alpha * x[aRow + l * aStride];
+                                            final int bRow =
+                                                    transposeB ? (l - kk) * N_BLOCK - jj : l * n;
+                                            for (int j = jj; j < jEnd; ++j)
+                                            {
+                                                r[cRow + j] += ail * bArray[bRow + j];
+                                            }
+                                        }
+                                    }
+                                }
+                            });
+            }
+        }
+    }
+
+    /**
+     * Computes <code>y = alpha * op(a) * x + beta * y</code>, where <code>op(a)</code> is
+     * <var>a</var> or its transpose. <var>a</var> needs to be a matrix, <var>x</var> and
+     * <var>y</var> need to be vectors and <var>y</var> must not be <var>x</var>. If <var>beta</var>
+     * is 0, the values of <var>y</var> are ignored.
+     */
+    public static void gemv(final float alpha, MDFloatArray a, boolean transposeA,
+            MDFloatArray x, float beta, MDFloatArray y)
+    {
+        y.checkNotFrozen();
+        checkRank(a, 2, "a");
+        checkRank(x, 1, "x");
+        checkRank(y, 1, "y");
+        checkNotAliased(y, x, x);
+        final int rows = a.size(0);
+        final int columns = a.size(1);
+        final int m = transposeA ? columns : rows;
+        final int n = transposeA ? rows : columns;
+        if (x.size(0) != n || y.size(0) != m)
+        {
+            throw new IllegalArgumentException("Incompatible dimensions: op(a) is " + m + "x" + n
+                    + ", x has length " + x.size(0) + ", y has length " + y.size(0) + ".");
+        }
+        final float[] av = a.getAsFlatArray();
+        final float[] xv = x.getAsFlatArray();
+        final float[] yv = y.getAsFlatArray();
+        scale(yv, m, beta);
+        if (n == 0 || alpha == 0)
+        {
+            return;
+        }
+        if (transposeA == false)
+        {
+            ParallelLoops.forRange(m, getGrain(n), new ParallelLoops.IRangeAction()
+                {
+                    @Override
+                    public void run(int from, int to)
+                    {
+                        for (int i = from; i < to; ++i)
+                        {
+                            final int row = i * columns;
+                            float sum = 0;
+                            for (int j = 0; j < columns; ++j)
+                            {
+                                sum += av[row + j] * xv[j];
+                            }
+                            yv[i] += alpha * sum;
+                        }
+                    }
+                });
+        } else
+        {
+            // Walk a row by row, so that the transposed matrix is read contiguously.
+            ParallelLoops.forRange(m, getGrain(n), new ParallelLoops.IRangeAction()
+                {
+                    @Override
+                    public void run(int from, int to)
+                    {
+                        for (int i = 0; i < rows; ++i)
+                        {
+                            final int row = i * columns;
+                            final float xi = alpha * xv[i];
+                            for (int j = from; j < to; ++j)
+                            {
+                                yv[j] += av[row + j] * xi;
+                            }
+                        }
+                    }
+                });
+        }
+    }
+
+    private static void scale(final float[] values, int length, final float factor)
+    {
+        if (factor == 1)
+        {
+            return;
+        }
+        ParallelLoops.forRange(length, new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    if (factor == 0)
+                    {
+                        Arrays.fill(values, from, to, 0);
+                    } else
+                    {
+                        for (int i = from; i < to; ++i)
+                        {
+                            values[i] *= factor;
+                        }
+                    }
+                }
+            });
+    }
+
+    //
+    // double
+    //
+
+    /**
+     * Returns the product of the matrix <var>a</var> and <var>b</var>, where <var>b</var> is
+     * either a matrix or a vector.
+     */
+    public static MDDoubleArray multiply(MDDoubleArray a, MDDoubleArray b)
+    {
+        checkRank(a, 2, "a");
+        if (b.rank() == 1)
+        {
+            final MDDoubleArray y = new MDDoubleArray(new int[]
+                { a.size(0) });
+            gemv(1, a, false, b, 0, y);
+            return y;
+        }
+        checkRank(b, 2, "b");
+        final MDDoubleArray c = new MDDoubleArray(new int[]
+            { a.size(0), b.size(1) });
+        gemm(1, a, false, b, false, 0, c);
+        return c;
+    }
+
+    /**
+     * Computes <code>c = alpha * op(a) * op(b) + beta * c</code>, where <code>op(x)</code> is
+     * <var>x</var> or its transpose. All arrays need to be matrices, <var>c</var> must not be
+     * <var>a</var> or <var>b</var>. If <var>beta</var> is 0, the values of <var>c</var> are
+     * ignored.
+     */
+    public static void gemm(final double alpha, MDDoubleArray a, final boolean transposeA,
+            MDDoubleArray b, final boolean transposeB, double beta, MDDoubleArray c)
+    {
+        c.checkNotFrozen();
+        checkRank(a, 2, "a");
+        checkRank(b, 2, "b");
+        checkRank(c, 2, "c");
+        checkNotAliased(c, a, b);
+        final int m = transposeA ? a.size(1) : a.size(0);
+        final int k = transposeA ? a.size(0) : a.size(1);
+        final int n = transposeB ? b.size(0) : b.size(1);
+        final int kb = transposeB ? b.size(1) : b.size(0);
+        if (k != kb || c.size(0) != m || c.size(1) != n)
+        {
+            throw new IllegalArgumentException("Incompatible matrix dimensions: op(a) is " + m
+                    + "x" + k + ", op(b) is " + kb + "x" + n + ", c is " + c.size(0) + "x"
+                    + c.size(1) + ".");
+        }
+        final double[] x = a.getAsFlatArray();
+        final double[] y = b.getAsFlatArray();
+        final double[] r = c.getAsFlatArray();
+        scale(r, m * n, beta);
+        if (k == 0 || alpha == 0)
+        {
+            return;
+        }
+        final double[] panel = transposeB ? new double[K_BLOCK * N_BLOCK] : null;
+        final double[] bArray = transposeB ? panel : y;
+        final int aStride = transposeA ? m : 1;
+        for (int kkBlock = 0; kkBlock < k; kkBlock += K_BLOCK)
+        {
+            final int kk = kkBlock;
+            final int kEnd = Math.min(k, kk + K_BLOCK);
+            for (int jjBlock = 0; jjBlock < n; jjBlock += N_BLOCK)
+            {
+                final int jj = jjBlock;
+                final int jEnd = Math.min(n, jj + N_BLOCK);
+                if (transposeB)
+                {
+                    // Pack the block of op(b) once, so that its rows are contiguous.
+                    for (int j = jj; j < jEnd; ++j)
+                    {
+                        for (int l = kk; l < kEnd; ++l)
+                        {
+                            panel[(l - kk) * N_BLOCK + (j - jj)] = y[j * k + l];
+                        }
+                    }
+                }
+                ParallelLoops.forRange(m, getGrain((long) (kEnd - kk) * (jEnd - jj)),
+                        new ParallelLoops.IRangeAction()
+                            {
+                                @Override
+                                public void run(int from, int to)
+                                {
+                                    for (int i = from; i < to; ++i)
+                                    {
+                                        final int cRow = i * n;
+                                        final int aRow = transposeA ? i : i * k;
+                                        for (int l = kk; l < kEnd; ++l)
+                                        {
+                                            final double ail = alpha * x[aRow + l * aStride];
+                                            final int bRow =
+                                                    transposeB ? (l - kk) * N_BLOCK - jj : l * n;
+                                            for (int j = jj; j < jEnd; ++j)
+                                            {
+                                                r[cRow + j] += ail * bArray[bRow + j];
+                                            }
+                                        }
+                                    }
+                                }
+                            });
+            }
+        }
+    }
+
+    /**
+     * Computes <code>y = alpha * op(a) * x + beta * y</code>, where <code>op(a)</code> is
+     * <var>a</var> or its transpose. <var>a</var> needs to be a matrix, <var>x</var> and
+     * <var>y</var> need to be vectors and <var>y</var> must not be <var>x</var>. If <var>beta</var>
+     * is 0, the values of <var>y</var> are ignored.
+     */
+    public static void gemv(final double alpha, MDDoubleArray a, boolean transposeA,
+            MDDoubleArray x, double beta, MDDoubleArray y)
+    {
+        y.checkNotFrozen();
+        checkRank(a, 2, "a");
+        checkRank(x, 1, "x");
+        checkRank(y, 1, "y");
+        checkNotAliased(y, x, x);
+        final int rows = a.size(0);
+        final int columns = a.size(1);
+        final int m = transposeA ? columns : rows;
+        final int n = transposeA ? rows : columns;
+        if (x.size(0) != n || y.size(0) != m)
+        {
+            throw new IllegalArgumentException("Incompatible dimensions: op(a) is " + m + "x" + n
+                    + ", x has length " + x.size(0) + ", y has length " + y.size(0) + ".");
+        }
+        final double[] av = a.getAsFlatArray();
+        final double[] xv = x.getAsFlatArray();
+        final double[] yv = y.getAsFlatArray();
+        scale(yv, m, beta);
+        if (n == 0 || alpha == 0)
+        {
+            return;
+        }
+        if (transposeA == false)
+        {
+            ParallelLoops.forRange(m, getGrain(n), new ParallelLoops.IRangeAction()
+                {
+                    @Override
+                    public void run(int from, int to)
+                    {
+                        for (int i = from; i < to; ++i)
+                        {
+                            final int row = i * columns;
+                            double sum = 0;
+                            for (int j = 0; j < columns; ++j)
+                            {
+                                sum += av[row + j] * xv[j];
+                            }
+                            yv[i] += alpha * sum;
+                        }
+                    }
+                });
+        } else
+        {
+            // Walk a row by row, so that the transposed matrix is read contiguously.
+            ParallelLoops.forRange(m, getGrain(n), new ParallelLoops.IRangeAction()
+                {
+                    @Override
+                    public void run(int from, int to)
+                    {
+                        for (int i = 0; i < rows; ++i)
+                        {
+                            final int row = i * columns;
+                            final double xi = alpha * xv[i];
+                            for (int j = from; j < to; ++j)
+                            {
+                                yv[j] += av[row + j] * xi;
+                            }
+                        }
+                    }
+                });
+        }
+    }
+
+    private static void scale(final double[] values, int length, final double factor)
+    {
+        if (factor == 1)
+        {
+            return;
+        }
+        ParallelLoops.forRange(length, new ParallelLoops.IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    if (factor == 0)
+                    {
+                        Arrays.fill(values, from, to, 0);
+                    } else
+                    {
+                        for (int i = from; i < to; ++i)
+                        {
+                            values[i] *= factor;
+                        }
+                    }
+                }
+            });
+    }
+
+    /**
+     * Returns the number of rows per parallel task, if each row costs <var>workPerRow</var>. A
+     * task gets at least {@link #M_BLOCK} rows, so that a block of the right operand of a matrix
+     * product is applied to a number of rows while it is in the CPU cache.
+     */
+    private static int getGrain(long workPerRow)
+    {
+        return (int) Math.max(M_BLOCK, ParallelLoops.THRESHOLD / Math.max(1, workPerRow));
+    }
+
+    private static void checkRank(MDAbstractArray<?> array, int rank, String name)
+    {
+        if (array.rank() != rank)
+        {
+            throw new IllegalArgumentException("Array " + name + " needs to have rank " + rank
+                    + ", but has rank " + array.rank() + ".");
+        }
+    }
+
+    private static void checkNotAliased(MDAbstractArray<?> result, MDAbstractArray<?> operand1,
+            MDAbstractArray<?> operand2)
+    {
+        if (result.getAsFlatArray() == operand1.getAsFlatArray()
+                || result.getAsFlatArray() == operand2.getAsFlatArray())
+        {
+            throw new IllegalArgumentException("The result must not be one of the operands.");
+        }
+    }
+
+}
@@ -0,0 +1,506 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.ArrayUtils;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+import ch.systemsx.cisd.base.mdarray.MDRecordSchema.FieldType;
+
+/**
+ * A multi-dimensional array of records, stored as one primitive MD array per field ("struct of
+ * arrays") rather than as one object per element like {@link MDArray}.
+ * <p>
+ * The layout of the records is given by a {@link MDRecordSchema}. Each field is held in a typed
+ * MD array with the dimensions of the record array, e.g. a field of type
+ * {@link FieldType#FLOAT} in a {@link MDFloatArray} that is returned by
+ * {@link #getFloatField(String)}. The field arrays are the storage of the record array, not
+ * copies, so they can be read, written and passed to the MD array operations directly. A scan
+ * over one field only touches the memory of this field.
+ * <p>
+ * For bulk I/O, the values of a field can be converted to and from bytes with
+ * {@link #getFieldAsBytes(int, ByteOrder)} and {@link #setFieldFromBytes(int, byte[], int,
+ * ByteOrder)}, and the whole array to and from packed records (the fields of each record in schema
+ * order without padding) with {@link #copyToRecordBytes(int, int, byte[], int, ByteOrder)} and
+ * {@link #copyFromRecordBytes(byte[], int, int, int, ByteOrder)}. The byte conversions are done by
+ * {@link NativeData}.
+ *
+ * @author agent
+ */
+public final class MDRecordArray
+{
+    /** The number of records converted in one chunk of the packed record I/O. */
+    private static final int CHUNK_RECORDS = 1 << 12;
+
+    private final MDRecordSchema schema;
+
+    private final int[] dimensions;
+
+    private final int size;
+
+    private final MDAbstractArray<?>[] fields;
+
+    /**
+     * Creates a record array with the <var>dimensions</var>, all fields initialized to 0.
+     */
+    public MDRecordArray(MDRecordSchema schema, int... dimensions)
+    {
+        this.schema = schema;
+        this.dimensions = dimensions.clone();
+        this.size = MDAbstractArray.getLength(dimensions);
+        this.fields = new MDAbstractArray<?>[schema.getNumberOfFields()];
+        for (int i = 0; i < fields.length; ++i)
+        {
+            fields[i] = createField(schema.getField(i).getType(), dimensions);
+        }
+    }
+
+    /**
+     * Creates a record array from the arrays of its <var>fields</var>, which become the storage of
+     * the record array.
+     *
+     * @throws IllegalArgumentException If the number or the types of the <var>fields</var> do not
+     *             match the <var>schema</var> or the <var>fields</var> have different dimensions.
+     */
+    public MDRecordArray(MDRecordSchema schema, MDAbstractArray<?>... fields)
+    {
+        if (fields.length != schema.getNumberOfFields())
+        {
+            throw new IllegalArgumentException("Schema has " + schema.getNumberOfFields()
+                    + " fields, but " + fields.length + " field arrays are given.");
+        }
+        for (int i = 0; i < fields.length; ++i)
+        {
+            final FieldType type = schema.getField(i).getType();
+            if (getFieldClass(type).isInstance(fields[i]) == false)
+            {
+                throw new IllegalArgumentException("Field '" + schema.getField(i).getName()
+                        + "' of type " + type + " cannot be stored in a "
+                        + fields[i].getClass().getSimpleName() + ".");
+            }
+            MDAbstractArray.checkSameDimensions(fields[0], fields[i]);
+        }
+        this.schema = schema;
+        this.dimensions = fields[0].dimensions();
+        this.size = MDAbstractArray.getLength(dimensions);
+        this.fields = fields.clone();
+    }
+
+    /**
+     * Creates a record array with the <var>dimensions</var> from the packed records in
+     * <var>data</var>.
+     */
+    public static MDRecordArray fromRecordBytes(MDRecordSchema schema, byte[] data,
+            ByteOrder byteOrder, int... dimensions)
+    {
+        final MDRecordArray result = new MDRecordArray(schema, dimensions);
+        result.copyFromRecordBytes(data, 0, 0, result.size, byteOrder);
+        return result;
+    }
+
+    /**
+     * Returns the schema of the records.
+     */
+    public MDRecordSchema getSchema()
+    {
+        return schema;
+    }
+
+    /**
+     * Returns the rank of the array.
+     */
+    public int rank()
+    {
+        return dimensions.length;
+    }
+
+    /**
+     * Returns the dimensions of the array.
+     */
+    public int[] dimensions()
+    {
+        return dimensions.clone();
+    }
+
+    /**
+     * Returns the number of records in the array.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the array of field <var>fieldIndex</var>. Changes to the returned object will change
+     * the record array directly.
+     */
+    public MDAbstractArray<?> getField(int fieldIndex)
+    {
+        return fields[fieldIndex];
+    }
+
+    /**
+     * Returns the array of the <code>byte</code> field <var>name</var>.
+     */
+    public MDByteArray getByteField(String name)
+    {
+        return getByteField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>byte</code> field <var>fieldIndex</var>.
+     */
+    public MDByteArray getByteField(int fieldIndex)
+    {
+        return (MDByteArray) getField(fieldIndex, FieldType.BYTE);
+    }
+
+    /**
+     * Returns the array of the <code>short</code> field <var>name</var>.
+     */
+    public MDShortArray getShortField(String name)
+    {
+        return getShortField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>short</code> field <var>fieldIndex</var>.
+     */
+    public MDShortArray getShortField(int fieldIndex)
+    {
+        return (MDShortArray) getField(fieldIndex, FieldType.SHORT);
+    }
+
+    /**
+     * Returns the array of the <code>int</code> field <var>name</var>.
+     */
+    public MDIntArray getIntField(String name)
+    {
+        return getIntField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>int</code> field <var>fieldIndex</var>.
+     */
+    public MDIntArray getIntField(int fieldIndex)
+    {
+        return (MDIntArray) getField(fieldIndex, FieldType.INT);
+    }
+
+    /**
+     * Returns the array of the <code>long</code> field <var>name</var>.
+     */
+    public MDLongArray getLongField(String name)
+    {
+        return getLongField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>long</code> field <var>fieldIndex</var>.
+     */
+    public MDLongArray getLongField(int fieldIndex)
+    {
+        return (MDLongArray) getField(fieldIndex, FieldType.LONG);
+    }
+
+    /**
+     * Returns the array of the <code>float</code> field <var>name</var>.
+     */
+    public MDFloatArray getFloatField(String name)
+    {
+        return getFloatField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>float</code> field <var>fieldIndex</var>.
+     */
+    public MDFloatArray getFloatField(int fieldIndex)
+    {
+        return (MDFloatArray) getField(fieldIndex, FieldType.FLOAT);
+    }
+
+    /**
+     * Returns the array of the <code>double</code> field <var>name</var>.
+     */
+    public MDDoubleArray getDoubleField(String name)
+    {
+        return getDoubleField(schema.getFieldIndex(name));
+    }
+
+    /**
+     * Returns the array of the <code>double</code> field <var>fieldIndex</var>.
+     */
+    public MDDoubleArray getDoubleField(int fieldIndex)
+    {
+        return (MDDoubleArray) getField(fieldIndex, FieldType.DOUBLE);
+    }
+
+    //
+    // Bulk I/O
+    //
+
+    /**
+     * Returns the values of field <var>fieldIndex</var> as bytes in <var>byteOrder</var>.
+     */
+    public byte[] getFieldAsBytes(int fieldIndex, ByteOrder byteOrder)
+    {
+        final byte[] result = new byte[size * schema.getField(fieldIndex).getType().getSize()];
+        copyFieldToBytes(fieldIndex, 0, result, 0, size, byteOrder);
+        return result;
+    }
+
+    /**
+     * Sets the values of field <var>fieldIndex</var> from the bytes in <var>data</var>, starting
+     * at <var>offset</var>, in <var>byteOrder</var>.
+     */
+    public void setFieldFromBytes(int fieldIndex, byte[] data, int offset, ByteOrder byteOrder)
+    {
+        copyBytesToField(data, offset, fieldIndex, 0, size, byteOrder);
+    }
+
+    /**
+     * Returns all records packed into bytes in <var>byteOrder</var>.
+     */
+    public byte[] toRecordBytes(ByteOrder byteOrder)
+    {
+        final byte[] result = new byte[size * schema.getRecordSize()];
+        copyToRecordBytes(0, size, result, 0, byteOrder);
+        return result;
+    }
+
+    /**
+     * Copies the records <code>[start, start + count)</code> packed into <var>dest</var>, starting
+     * at <var>destOffset</var>, in <var>byteOrder</var>.
+     */
+    public void copyToRecordBytes(int start, int count, byte[] dest, int destOffset,
+            ByteOrder byteOrder)
+    {
+        checkRecordRange(start, count, dest.length - destOffset);
+        final int recordSize = schema.getRecordSize();
+        final byte[] buffer = new byte[Math.min(count, CHUNK_RECORDS) * FieldType.LONG.getSize()];
+        for (int chunkStart = 0; chunkStart < count; chunkStart += CHUNK_RECORDS)
+        {
+            final int len = Math.min(CHUNK_RECORDS, count - chunkStart);
+            for (int f = 0; f < fields.length; ++f)
+            {
+                final int fieldSize = schema.getField(f).getType().getSize();
+                copyFieldToBytes(f, start + chunkStart, buffer, 0, len, byteOrder);
+                int src = 0;
+                int dst = destOffset + chunkStart * recordSize + schema.getFieldOffset(f);
+                for (int r = 0; r < len; ++r)
+                {
+                    for (int b = 0; b < fieldSize; ++b)
+                    {
+                        dest[dst + b] = buffer[src + b];
+                    }
+                    src += fieldSize;
+                    dst += recordSize;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the records <code>[start, start + count)</code> from the packed records in
+     * <var>src</var>, starting at <var>srcOffset</var>, in <var>byteOrder</var>.
+     */
+    public void copyFromRecordBytes(byte[] src, int srcOffset, int start, int count,
+            ByteOrder byteOrder)
+    {
+        checkRecordRange(start, count, src.length - srcOffset);
+        final int recordSize = schema.getRecordSize();
+        final byte[] buffer = new byte[Math.min(count, CHUNK_RECORDS) * FieldType.LONG.getSize()];
+        for (int chunkStart = 0; chunkStart < count; chunkStart += CHUNK_RECORDS)
+        {
+            final int len = Math.min(CHUNK_RECORDS, count - chunkStart);
+            for (int f = 0; f < fields.length; ++f)
+            {
+                final int fieldSize = schema.getField(f).getType().getSize();
+                int pos = srcOffset + chunkStart * recordSize + schema.getFieldOffset(f);
+                int dst = 0;
+                for (int r = 0; r < len; ++r)
+                {
+                    for (int b = 0; b < fieldSize; ++b)
+                    {
+                        buffer[dst + b] = src[pos + b];
+                    }
+                    dst += fieldSize;
+                    pos += recordSize;
+                }
+                copyBytesToField(buffer, 0, f, start + chunkStart, len, byteOrder);
+            }
+        }
+    }
+
+    private void checkRecordRange(int start, int count, int availableBytes)
+    {
+        if (start < 0 || count < 0 || (long) start + count > size
+                || (long) count * schema.getRecordSize() > availableBytes)
+        {
+            throw new IndexOutOfBoundsException("Records [" + start + ", " + (start + count)
+                    + ") out of range for " + size + " records and " + availableBytes
+                    + " bytes.");
+        }
+    }
+
+    private void copyFieldToBytes(int fieldIndex, int start, byte[] out, int outStart,
+            int count, ByteOrder byteOrder)
+    {
+        final MDAbstractArray<?> field = fields[fieldIndex];
+        switch (schema.getField(fieldIndex).getType())
+        {
+            case BYTE:
+                System.arraycopy(((MDByteArray) field).getAsFlatArray(), start, out, outStart,
+                        count);
+                break;
+            case SHORT:
+                NativeData.copyShortToByte(((MDShortArray) field).getAsFlatArray(), start, out,
+                        outStart, count, byteOrder);
+                break;
+            case INT:
+                NativeData.copyIntToByte(((MDIntArray) field).getAsFlatArray(), start, out,
+                        outStart, count, byteOrder);
+                break;
+            case LONG:
+                NativeData.copyLongToByte(((MDLongArray) field).getAsFlatArray(), start, out,
+                        outStart, count, byteOrder);
+                break;
+            case FLOAT:
+                NativeData.copyFloatToByte(((MDFloatArray) field).getAsFlatArray(), start, out,
+                        outStart, count, byteOrder);
+                break;
+            case DOUBLE:
+                NativeData.copyDoubleToByte(((MDDoubleArray) field).getAsFlatArray(), start, out,
+                        outStart, count, byteOrder);
+                break;
+        }
+    }
+
+    private void copyBytesToField(byte[] in, int inStart, int fieldIndex, int start, int count,
+            ByteOrder byteOrder)
+    {
+        final MDAbstractArray<?> field = fields[fieldIndex];
+        field.checkNotFrozen();
+        switch (schema.getField(fieldIndex).getType())
+        {
+            case BYTE:
+                System.arraycopy(in, inStart, ((MDByteArray) field).getAsFlatArray(), start,
+                        count);
+                break;
+            case SHORT:
+                NativeData.copyByteToShort(in, inStart, ((MDShortArray) field).getAsFlatArray(),
+                        start, count, byteOrder);
+                break;
+            case INT:
+                NativeData.copyByteToInt(in, inStart, ((MDIntArray) field).getAsFlatArray(),
+                        start, count, byteOrder);
+                break;
+            case LONG:
+                NativeData.copyByteToLong(in, inStart, ((MDLongArray) field).getAsFlatArray(),
+                        start, count, byteOrder);
+                break;
+            case FLOAT:
+                NativeData.copyByteToFloat(in, inStart, ((MDFloatArray) field).getAsFlatArray(),
+                        start, count, byteOrder);
+                break;
+            case DOUBLE:
+                NativeData.copyByteToDouble(in, inStart,
+                        ((MDDoubleArray) field).getAsFlatArray(), start, count, byteOrder);
+                break;
+        }
+    }
+
+    private MDAbstractArray<?> getField(int fieldIndex, FieldType type)
+    {
+        final MDRecordSchema.Field field = schema.getField(fieldIndex);
+        if (field.getType() != type)
+        {
+            throw new IllegalArgumentException("Field '" + field.getName() + "' is of type "
+                    + field.getType() + ", not " + type + ".");
+        }
+        return fields[fieldIndex];
+    }
+
+    private static MDAbstractArray<?> createField(FieldType type, int[] dimensions)
+    {
+        switch (type)
+        {
+            case BYTE:
+                return new MDByteArray(dimensions);
+            case SHORT:
+                return new MDShortArray(dimensions);
+            case INT:
+                return new MDIntArray(dimensions);
+            case LONG:
+                return new MDLongArray(dimensions);
+            case FLOAT:
+                return new MDFloatArray(dimensions);
+            default:
+                return new MDDoubleArray(dimensions);
+        }
+    }
+
+    private static Class<?> getFieldClass(FieldType type)
+    {
+        switch (type)
+        {
+            case BYTE:
+                return MDByteArray.class;
+            case SHORT:
+                return MDShortArray.class;
+            case INT:
+                return MDIntArray.class;
+            case LONG:
+                return MDLongArray.class;
+            case FLOAT:
+                return MDFloatArray.class;
+            default:
+                return MDDoubleArray.class;
+        }
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * schema.hashCode() + Arrays.hashCode(fields);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+        final MDRecordArray other = (MDRecordArray) obj;
+        return schema.equals(other.schema) && Arrays.equals(fields, other.fields);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MDRecordArray " + ArrayUtils.toString(dimensions) + " of " + schema;
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import ch.systemsx.cisd.base.convert.NativeData;
+
+/**
+ * The schema of a {@link MDRecordArray}: an ordered list of named fields of primitive type.
+ * <p>
+ * In the packed byte representation of a record, the fields follow each other in schema order
+ * without padding, see {@link #getFieldOffset(int)} and {@link #getRecordSize()}.
+ *
+ * @author agent
+ */
+public final class MDRecordSchema
+{
+    /**
+     * The primitive type of a field.
+     */
+    public enum FieldType
+    {
+        BYTE(1), SHORT(NativeData.SHORT_SIZE), INT(NativeData.INT_SIZE), LONG(
+                NativeData.LONG_SIZE), FLOAT(NativeData.FLOAT_SIZE), DOUBLE(
+                NativeData.DOUBLE_SIZE);
+
+        private final int size;
+
+        private FieldType(int size)
+        {
+            this.size = size;
+        }
+
+        /**
+         * Returns the size of a value of this type, in bytes.
+         */
+        public int getSize()
+        {
+            return size;
+        }
+    }
+
+    /**
+     * A named field of a record.
+     */
+    public static final class Field
+    {
+        private final String name;
+
+        private final FieldType type;
+
+        public Field(String name, FieldType type)
+        {
+            if (name == null || type == null)
+            {
+                throw new NullPointerException("Field name and type must not be null.");
+            }
+            this.name = name;
+            this.type = type;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public FieldType getType()
+        {
+            return type;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * name.hashCode() + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass())
+            {
+                return false;
+            }
+            final Field other = (Field) obj;
+            return name.equals(other.name) && type == other.type;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name + ":" + type;
+        }
+    }
+
+    private final Field[] fields;
+
+    private final int[] offsets;
+
+    private final int recordSize;
+
+    private final Map<String, Integer> indexByName;
+
+    /**
+     * Creates a schema with the given <var>fields</var>.
+     *
+     * @throws IllegalArgumentException If there are no fields or two fields have the same name.
+     */
+    public MDRecordSchema(Field... fields)
+    {
+        if (fields.length == 0)
+        {
+            throw new IllegalArgumentException("A record schema needs at least one field.");
+        }
+        this.fields = fields.clone();
+        this.offsets = new int[fields.length];
+        this.indexByName = new HashMap<String, Integer>();
+        int offset = 0;
+        for (int i = 0; i < fields.length; ++i)
+        {
+            if (indexByName.put(fields[i].getName(), i) != null)
+            {
+                throw new IllegalArgumentException("Duplicate field name '" + fields[i].getName()
+                        + "'.");
+            }
+            offsets[i] = offset;
+            offset += fields[i].getType().getSize();
+        }
+        this.recordSize = offset;
+    }
+
+    /**
+     * Returns the number of fields.
+     */
+    public int getNumberOfFields()
+    {
+        return fields.length;
+    }
+
+    /**
+     * Returns the field with index <var>fieldIndex</var>.
+     */
+    public Field getField(int fieldIndex)
+    {
+        return fields[fieldIndex];
+    }
+
+    /**
+     * Returns the index of the field <var>name</var>.
+     *
+     * @throws IllegalArgumentException If the schema has no field of this name.
+     */
+    public int getFieldIndex(String name)
+    {
+        final Integer index = indexByName.get(name);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("Unknown field '" + name + "'.");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the offset of field <var>fieldIndex</var> in the packed representation of a record,
+     * in bytes.
+     */
+    public int getFieldOffset(int fieldIndex)
+    {
+        return offsets[fieldIndex];
+    }
+
+    /**
+     * Returns the size of the packed representation of a record, in bytes.
+     */
+    public int getRecordSize()
+    {
+        return recordSize;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(fields);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+        return Arrays.equals(fields, ((MDRecordSchema) obj).fields);
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(fields);
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Helper class to run loops over index ranges on a fork-join pool. Ranges are split in halves
+ * until they are shorter than the parallel threshold, ranges shorter than the threshold are run in
+ * the calling thread.
+ * <p>
+ * The threshold can be set with the property <code>mdarray.parallel.threshold</code>, the
+ * parallelism of the pool with the property <code>mdarray.parallel.threads</code>.
+ *
+ * @author agent
+ */
+final class ParallelLoops
+{
+    /** The minimal number of elements a range needs to have to be split. */
+    static final int THRESHOLD = Math.max(1, Integer.getInteger("mdarray.parallel.threshold",
+            1 << 15));
+
+    private static final int PARALLELISM = Integer.getInteger("mdarray.parallel.threads", Runtime
+            .getRuntime().availableProcessors());
+
+    /**
+     * An action on the index range <code>[from, to)</code>.
+     */
+    interface IRangeAction
+    {
+        void run(int from, int to);
+    }
+
+    /**
+     * A reduction of the index range <code>[from, to)</code> to a partial result and the merging of
+     * two partial results of adjacent ranges.
+     */
+    interface IRangeReduction<R>
+    {
+        R reduce(int from, int to);
+
+        R merge(R left, R right);
+    }
+
+    /**
+     * An action on the result positions <code>[from, to)</code> of a reduction along an axis. The
+     * <var>j</var>-th element along the axis for the result position <var>p</var> is at
+     * <code>offset + j * stride + p</code>, for <code>j</code> in <code>[0, count)</code>.
+     */
+    interface IAxisAction
+    {
+        void run(int from, int to, int offset, int stride, int count);
+    }
+
+    private static final class PoolHolder
+    {
+        static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, PARALLELISM));
+    }
+
+    private ParallelLoops()
+    {
+        // Not to be instantiated.
+    }
+
+    /**
+     * Returns the fork-join pool that the loops run on.
+     */
+    static ForkJoinPool getPool()
+    {
+        return PoolHolder.POOL;
+    }
+
+    /**
+     * Returns <code>true</code>, if a loop over <var>length</var> elements is run in parallel.
+     */
+    static boolean isParallel(long length)
+    {
+        return length >= 2L * THRESHOLD && PARALLELISM > 1;
+    }
+
+    /**
+     * Runs <var>action</var> on the range <code>[0, length)</code>.
+     */
+    static void forRange(int length, IRangeAction action)
+    {
+        forRange(length, THRESHOLD, action);
+    }
+
+    /**
+     * Runs <var>action</var> on the range <code>[0, length)</code>, not splitting ranges shorter
+     * than <var>grain</var>. Use a grain smaller than {@link #THRESHOLD} if the work per index is
+     * large.
+     */
+    static void forRange(int length, int grain, IRangeAction action)
+    {
+        final int effectiveGrain = Math.max(1, grain);
+        if (length < 2L * effectiveGrain || PARALLELISM <= 1)
+        {
+            action.run(0, length);
+        } else
+        {
+            getPool().invoke(new RangeAction(action, 0, length, effectiveGrain));
+        }
+    }
+
+    /**
+     * Reduces the range <code>[0, length)</code> with <var>reduction</var>.
+     */
+    static <R> R reduceRange(int length, IRangeReduction<R> reduction)
+    {
+        return reduceRange(length, THRESHOLD, reduction);
+    }
+
+    /**
+     * Reduces the range <code>[0, length)</code> with <var>reduction</var>, not splitting ranges
+     * shorter than <var>grain</var>. Use a grain larger than {@link #THRESHOLD} if the partial
+     * results are expensive to create or to merge.
+     */
+    static <R> R reduceRange(int length, int grain, IRangeReduction<R> reduction)
+    {
+        final int effectiveGrain = Math.max(1, grain);
+        if (length < 2L * effectiveGrain || PARALLELISM <= 1)
+        {
+            return reduction.reduce(0, length);
+        } else
+        {
+            return getPool().invoke(
+                    new RangeReduction<R>(reduction, 0, length, effectiveGrain));
+        }
+    }
+
+    /**
+     * Returns the number of threads that the loops run on.
+     */
+    static int getParallelism()
+    {
+        return Math.max(1, PARALLELISM);
+    }
+
+    /**
+     * Runs <var>action</var> on all result positions of a reduction of <var>array</var> along
+     * <var>axis</var>. The result positions are the linear indices of an array with the dimensions
+     * {@link MDAbstractArray#getReducedDimensions(MDAbstractArray, int)}.
+     */
+    static void forAxis(MDAbstractArray<?> array, int axis, final IAxisAction action)
+    {
+        final int[] dimensions = array.dimensions;
+        final int count = dimensions[axis];
+        int outerLength = 1;
+        for (int i = 0; i < axis; ++i)
+        {
+            outerLength *= dimensions[i];
+        }
+        int innerLength = 1;
+        for (int i = axis + 1; i < dimensions.length; ++i)
+        {
+            innerLength *= dimensions[i];
+        }
+        final int inner = innerLength;
+        forRange(outerLength * inner, THRESHOLD / Math.max(1, count), new IRangeAction()
+            {
+                @Override
+                public void run(int from, int to)
+                {
+                    int start = from;
+                    while (start < to)
+                    {
+                        final int outer = start / inner;
+                        final int end = Math.min(to, (outer + 1) * inner);
+                        action.run(start, end, outer * inner * (count - 1), inner, count);
+                        start = end;
+                    }
+                }
+            });
+    }
+
+    private static final class RangeAction extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final IRangeAction action;
+
+        private final int from;
+
+        private final int to;
+
+        private final int grain;
+
+        RangeAction(IRangeAction action, int from, int to, int grain)
+        {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from < 2 * grain)
+            {
+                action.run(from, to);
+            } else
+            {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new RangeAction(action, from, middle, grain), new RangeAction(action,
+                        middle, to, grain));
+            }
+        }
+    }
+
+    private static final class RangeReduction<R> extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final IRangeReduction<R> reduction;
+
+        private final int from;
+
+        private final int to;
+
+        private final int grain;
+
+        RangeReduction(IRangeReduction<R> reduction, int from, int to, int grain)
+        {
+            this.reduction = reduction;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected R compute()
+        {
+            if (to - from < 2 * grain)
+            {
+                return reduction.reduce(from, to);
+            } else
+            {
+                final int middle = (from + to) >>> 1;
+                final RangeReduction<R> left =
+                        new RangeReduction<R>(reduction, from, middle, grain);
+                final RangeReduction<R> right =
+                        new RangeReduction<R>(reduction, middle, to, grain);
+                left.fork();
+                final R rightResult = right.compute();
+                return reduction.merge(left.join(), rightResult);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * The scalar implementation of {@link IArrayKernels}. The loops are kept simple so that the JIT
+ * compiler can vectorize them where it is able to. The dot products use four independent
+ * accumulators to not be bound by the latency of the floating point addition.
+ *
+ * @author agent
+ */
+final class ScalarArrayKernels implements IArrayKernels
+{
+    @Override
+    public String getName()
+    {
+        return "scalar";
+    }
+
+    @Override
+    public void scale(float[] x, float factor, float[] result, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            result[i] = x[i] * factor;
+        }
+    }
+
+    @Override
+    public void scale(double[] x, double factor, double[] result, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            result[i] = x[i] * factor;
+        }
+    }
+
+    @Override
+    public void threshold(float[] x, float threshold, float[] result, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            result[i] = (x[i] < threshold) ? 0f : x[i];
+        }
+    }
+
+    @Override
+    public void threshold(double[] x, double threshold, double[] result, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            result[i] = (x[i] < threshold) ? 0.0 : x[i];
+        }
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, float[] y, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, double[] y, int from, int to)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    @Override
+    public float dot(float[] x, float[] y, int from, int to)
+    {
+        float sum0 = 0f;
+        float sum1 = 0f;
+        float sum2 = 0f;
+        float sum3 = 0f;
+        int i = from;
+        for (; i <= to - 4; i += 4)
+        {
+            sum0 += x[i] * y[i];
+            sum1 += x[i + 1] * y[i + 1];
+            sum2 += x[i + 2] * y[i + 2];
+            sum3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < to; ++i)
+        {
+            sum0 += x[i] * y[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    @Override
+    public double dot(double[] x, double[] y, int from, int to)
+    {
+        double sum0 = 0.0;
+        double sum1 = 0.0;
+        double sum2 = 0.0;
+        double sum3 = 0.0;
+        int i = from;
+        for (; i <= to - 4; i += 4)
+        {
+            sum0 += x[i] * y[i];
+            sum1 += x[i + 1] * y[i + 1];
+            sum2 += x[i + 2] * y[i + 2];
+            sum3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < to; ++i)
+        {
+            sum0 += x[i] * y[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+}
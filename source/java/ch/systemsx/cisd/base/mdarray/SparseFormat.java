@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.base.mdarray;
+
+/**
+ * The storage formats of the index of a sparse multi-dimensional array.
+ *
+ * @author agent
+ */
+public enum SparseFormat
+{
+    /**
+     * Coordinate format: the linear index of each non-zero entry is stored. Best for arrays with
+     * very few non-zero entries and for building arrays.
+     */
+    COO,
+
+    /**
+     * Compressed sparse row format: the non-zero entries are grouped by hyper-row, and for each
+     * entry, its index within the hyper-row is stored. Best for arrays that are accessed hyper-row
+     * by hyper-row.
+     */
+    CSR
+}
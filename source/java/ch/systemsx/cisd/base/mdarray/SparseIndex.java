@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ch.systemsx.cisd.base.mdarray;
+
+import java.util.Arrays;
+
+/**
+ * The index of a sparse multi-dimensional array. The non-zero entries are kept in ascending order
+ * of their linear index, entry <var>pos</var> having its value at position <var>pos</var> of the
+ * value array.
+ *
+ * @author agent
+ */
+abstract class SparseIndex
+{
+    /**
+     * Creates an index in <var>format</var> for an array with <var>dimensions</var> and the first
+     * <var>count</var> entries of <var>sortedLinearIndices</var>, which need to be strictly
+     * ascending. The index may take ownership of <var>sortedLinearIndices</var>.
+     */
+    static SparseIndex create(SparseFormat format, int[] dimensions, int[] sortedLinearIndices,
+            int count)
+    {
+        switch (format)
+        {
+            case COO:
+                return new COOIndex(sortedLinearIndices, count);
+            case CSR:
+                return new CSRIndex(dimensions, sortedLinearIndices, count);
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    /**
+     * Returns the format of this index.
+     */
+    abstract SparseFormat getFormat();
+
+    /**
+     * Returns the number of entries.
+     */
+    abstract int size();
+
+    /**
+     * Returns the number of entries the index can hold without growing.
+     */
+    abstract int capacity();
+
+    /**
+     * Sets the capacity to <var>newCapacity</var>, which is at least {@link #size()}.
+     */
+    abstract void setCapacity(int newCapacity);
+
+    /**
+     * Returns the position of the entry with <var>linearIndex</var>, or
+     * <code>-(insertionPoint + 1)</code>, if there is no such entry.
+     */
+    abstract int find(int linearIndex);
+
+    /**
+     * Inserts an entry with <var>linearIndex</var> at <var>pos</var>. The capacity needs to be
+     * large enough.
+     */
+    abstract void insert(int pos, int linearIndex);
+
+    /**
+     * Removes the entry at <var>pos</var>.
+     */
+    abstract void remove(int pos);
+
+    /**
+     * Returns an array with the linear indices of all entries in its first {@link #size()}
+     * elements. The array may be internal to the index and must not be modified.
+     */
+    abstract int[] getLinearIndices();
+
+    /**
+     * The coordinate format.
+     */
+    static final class COOIndex extends SparseIndex
+    {
+        private int[] linearIndices;
+
+        private int size;
+
+        COOIndex(int[] sortedLinearIndices, int count)
+        {
+            this.linearIndices = sortedLinearIndices;
+            this.size = count;
+        }
+
+        @Override
+        SparseFormat getFormat()
+        {
+            return SparseFormat.COO;
+        }
+
+        @Override
+        int size()
+        {
+            return size;
+        }
+
+        @Override
+        int capacity()
+        {
+            return linearIndices.length;
+        }
+
+        @Override
+        void setCapacity(int newCapacity)
+        {
+            linearIndices = Arrays.copyOf(linearIndices, newCapacity);
+        }
+
+        @Override
+        int find(int linearIndex)
+        {
+            return Arrays.binarySearch(linearIndices, 0, size, linearIndex);
+        }
+
+        @Override
+        void insert(int pos, int linearIndex)
+        {
+            System.arraycopy(linearIndices, pos, linearIndices, pos + 1, size - pos);
+            linearIndices[pos] = linearIndex;
+            ++size;
+        }
+
+        @Override
+        void remove(int pos)
+        {
+            System.arraycopy(linearIndices, pos + 1, linearIndices, pos, size - pos - 1);
+            --size;
+        }
+
+        @Override
+        int[] getLinearIndices()
+        {
+            return linearIndices;
+        }
+    }
+
+    /**
+     * The compressed sparse row format.
+     */
+    static final class CSRIndex extends SparseIndex
+    {
+        private final int hyperRowLength;
+
+        /** Entries of hyper-row r are at <code>[rowPointers[r], rowPointers[r + 1])</code>. */
+        private final int[] rowPointers;
+
+        private int[] columnIndices;
+
+        CSRIndex(int[] dimensions, int[] sortedLinearIndices, int count)
+        {
+            this.hyperRowLength = Math.max(1, MDAbstractArrayView.computeStrides(dimensions)[0]);
+            this.rowPointers = new int[dimensions[0] + 1];
+            this.columnIndices = new int[Math.max(count, sortedLinearIndices.length)];
+            for (int i = 0; i < count; ++i)
+            {
+                ++rowPointers[sortedLinearIndices[i] / hyperRowLength + 1];
+                columnIndices[i] = sortedLinearIndices[i] % hyperRowLength;
+            }
+            for (int r = 0; r < dimensions[0]; ++r)
+            {
+                rowPointers[r + 1] += rowPointers[r];
+            }
+        }
+
+        @Override
+        SparseFormat getFormat()
+        {
+            return SparseFormat.CSR;
+        }
+
+        @Override
+        int size()
+        {
+            return rowPointers[rowPointers.length - 1];
+        }
+
+        @Override
+        int capacity()
+        {
+            return columnIndices.length;
+        }
+
+        @Override
+        void setCapacity(int newCapacity)
+        {
+            columnIndices = Arrays.copyOf(columnIndices, newCapacity);
+        }
+
+        @Override
+        int find(int linearIndex)
+        {
+            final int row = linearIndex / hyperRowLength;
+            return Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1],
+                    linearIndex % hyperRowLength);
+        }
+
+        @Override
+        void insert(int pos, int linearIndex)
+        {
+            System.arraycopy(columnIndices, pos, columnIndices, pos + 1, size() - pos);
+            columnIndices[pos] = linearIndex % hyperRowLength;
+            for (int r = linearIndex / hyperRowLength + 1; r < rowPointers.length; ++r)
+            {
+                ++rowPointers[r];
+            }
+        }
+
+        @Override
+        void remove(int pos)
+        {
+            final int size = size();
+            int row = 0;
+            while (rowPointers[row + 1] <= pos)
+            {
+                ++row;
+            }
+            System.arraycopy(columnIndices, pos + 1, columnIndices, pos, size - pos - 1);
+            for (int r = row + 1; r < rowPointers.length; ++r)
+            {
+                --rowPointers[r];
+            }
+        }
+
+        @Override
+        int[] getLinearIndices()
+        {
+            final int[] result = new int[size()];
+            for (int r = 0; r < rowPointers.length - 1; ++r)
+            {
+                final int rowStart = r * hyperRowLength;
+                for (int pos = rowPointers[r]; pos < rowPointers[r + 1]; ++pos)
+                {
+                    result[pos] = rowStart + columnIndices[pos];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the row pointers. Must not be modified.
+         */
+        int[] getRowPointers()
+        {
+            return rowPointers;
+        }
+
+        /**
+         * Returns the index within the hyper-row of all entries. Must not be modified.
+         */
+        int[] getColumnIndices()
+        {
+            return columnIndices;
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The implementation of {@link IArrayKernels} based on the Vector API, using the preferred
+ * species of the platform. This class is only compiled on Java 16 or newer and put into the
+ * versioned part of the multi-release jar. It is loaded by {@link MDArrayKernels} via reflection.
+ *
+ * @author agent
+ */
+final class VectorArrayKernels implements IArrayKernels
+{
+    private static final int MIN_VECTOR_BITS = 128;
+
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * @throws UnsupportedOperationException If the platform does not offer vectors of at least
+     *             128 bits.
+     */
+    public VectorArrayKernels()
+    {
+        if (FLOAT_SPECIES.vectorBitSize() < MIN_VECTOR_BITS)
+        {
+            throw new UnsupportedOperationException("Vector size "
+                    + FLOAT_SPECIES.vectorBitSize() + " bit is too small.");
+        }
+    }
+
+    @Override
+    public String getName()
+    {
+        return "vector (" + FLOAT_SPECIES.vectorBitSize() + " bit)";
+    }
+
+    @Override
+    public void scale(float[] x, float factor, float[] result, int from, int to)
+    {
+        final int upperBound = from + FLOAT_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += FLOAT_SPECIES.length())
+        {
+            FloatVector.fromArray(FLOAT_SPECIES, x, i).mul(factor).intoArray(result, i);
+        }
+        for (; i < to; ++i)
+        {
+            result[i] = x[i] * factor;
+        }
+    }
+
+    @Override
+    public void scale(double[] x, double factor, double[] result, int from, int to)
+    {
+        final int upperBound = from + DOUBLE_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += DOUBLE_SPECIES.length())
+        {
+            DoubleVector.fromArray(DOUBLE_SPECIES, x, i).mul(factor).intoArray(result, i);
+        }
+        for (; i < to; ++i)
+        {
+            result[i] = x[i] * factor;
+        }
+    }
+
+    @Override
+    public void threshold(float[] x, float threshold, float[] result, int from, int to)
+    {
+        final int upperBound = from + FLOAT_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += FLOAT_SPECIES.length())
+        {
+            final FloatVector v = FloatVector.fromArray(FLOAT_SPECIES, x, i);
+            v.blend(0f, v.lt(threshold)).intoArray(result, i);
+        }
+        for (; i < to; ++i)
+        {
+            result[i] = (x[i] < threshold) ? 0f : x[i];
+        }
+    }
+
+    @Override
+    public void threshold(double[] x, double threshold, double[] result, int from, int to)
+    {
+        final int upperBound = from + DOUBLE_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += DOUBLE_SPECIES.length())
+        {
+            final DoubleVector v = DoubleVector.fromArray(DOUBLE_SPECIES, x, i);
+            v.blend(0.0, v.lt(threshold)).intoArray(result, i);
+        }
+        for (; i < to; ++i)
+        {
+            result[i] = (x[i] < threshold) ? 0.0 : x[i];
+        }
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, float[] y, int from, int to)
+    {
+        final int upperBound = from + FLOAT_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += FLOAT_SPECIES.length())
+        {
+            // No fused multiply-add, to give the same rounding as the scalar implementation.
+            FloatVector.fromArray(FLOAT_SPECIES, x, i).mul(alpha)
+                    .add(FloatVector.fromArray(FLOAT_SPECIES, y, i)).intoArray(y, i);
+        }
+        for (; i < to; ++i)
+        {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, double[] y, int from, int to)
+    {
+        final int upperBound = from + DOUBLE_SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upperBound; i += DOUBLE_SPECIES.length())
+        {
+            // No fused multiply-add, to give the same rounding as the scalar implementation.
+            DoubleVector.fromArray(DOUBLE_SPECIES, x, i).mul(alpha)
+                    .add(DoubleVector.fromArray(DOUBLE_SPECIES, y, i)).intoArray(y, i);
+        }
+        for (; i < to; ++i)
+        {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    @Override
+    public float dot(float[] x, float[] y, int from, int to)
+    {
+        final int upperBound = from + FLOAT_SPECIES.loopBound(to - from);
+        FloatVector sum = FloatVector.zero(FLOAT_SPECIES);
+        int i = from;
+        for (; i < upperBound; i += FLOAT_SPECIES.length())
+        {
+            sum = FloatVector.fromArray(FLOAT_SPECIES, x, i).fma(
+                    FloatVector.fromArray(FLOAT_SPECIES, y, i), sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < to; ++i)
+        {
+            result += x[i] * y[i];
+        }
+        return result;
+    }
+
+    @Override
+    public double dot(double[] x, double[] y, int from, int to)
+    {
+        final int upperBound = from + DOUBLE_SPECIES.loopBound(to - from);
+        DoubleVector sum = DoubleVector.zero(DOUBLE_SPECIES);
+        int i = from;
+        for (; i < upperBound; i += DOUBLE_SPECIES.length())
+        {
+            sum = DoubleVector.fromArray(DOUBLE_SPECIES, x, i).fma(
+                    DoubleVector.fromArray(DOUBLE_SPECIES, y, i), sum);
+        }
+        double result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < to; ++i)
+        {
+            result += x[i] * y[i];
+        }
+        return result;
+    }
+
+}
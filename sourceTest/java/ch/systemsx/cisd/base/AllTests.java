@@ -19,9 +19,27 @@ package ch.systemsx.cisd.base;
 import ch.systemsx.cisd.base.convert.NativeDataTests;
 import ch.systemsx.cisd.base.convert.NativeTaggedArrayTests;
 import ch.systemsx.cisd.base.exceptions.IOExceptionUncheckedTests;
+import ch.systemsx.cisd.base.image.MDArrayImagesTests;
+import ch.systemsx.cisd.base.io.BufferedRandomAccessFileImplTests;
 import ch.systemsx.cisd.base.io.ByteBufferRandomAccessFileTests;
 import ch.systemsx.cisd.base.io.RandomAccessFileImplTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayArrowIOTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayHistogramsTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayKernelsTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayNumpyIOTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayOperationsTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayPoolTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayRegionsTests;
 import ch.systemsx.cisd.base.mdarray.MDArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDArrayViewTests;
+import ch.systemsx.cisd.base.mdarray.MDChunkedArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDConcurrentArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDExpressionTests;
+import ch.systemsx.cisd.base.mdarray.MDMatrixOperationsTests;
+import ch.systemsx.cisd.base.mdarray.MDOffHeapArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDRecordArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDSparseArrayTests;
+import ch.systemsx.cisd.base.mdarray.MDTiledArrayTests;
 import ch.systemsx.cisd.base.namedthread.NamingThreadPoolExecutorTest;
 import ch.systemsx.cisd.base.unix.Unix;
 import ch.systemsx.cisd.base.unix.UnixTests;
@@ -46,8 +64,44 @@ public class AllTests
         System.out.println();
         RandomAccessFileImplTests.main(args);
         System.out.println();
+        BufferedRandomAccessFileImplTests.main(args);
+        System.out.println();
         MDArrayTests.main(args);
         System.out.println();
+        MDOffHeapArrayTests.main(args);
+        System.out.println();
+        MDArrayViewTests.main(args);
+        System.out.println();
+        MDArrayOperationsTests.main(args);
+        System.out.println();
+        MDArrayKernelsTests.main(args);
+        System.out.println();
+        MDTiledArrayTests.main(args);
+        System.out.println();
+        MDChunkedArrayTests.main(args);
+        System.out.println();
+        MDConcurrentArrayTests.main(args);
+        System.out.println();
+        MDArrayRegionsTests.main(args);
+        System.out.println();
+        MDSparseArrayTests.main(args);
+        System.out.println();
+        MDArrayPoolTests.main(args);
+        System.out.println();
+        MDExpressionTests.main(args);
+        System.out.println();
+        MDMatrixOperationsTests.main(args);
+        System.out.println();
+        MDArrayHistogramsTests.main(args);
+        System.out.println();
+        MDRecordArrayTests.main(args);
+        System.out.println();
+        MDArrayArrowIOTests.main(args);
+        System.out.println();
+        MDArrayNumpyIOTests.main(args);
+        System.out.println();
+        MDArrayImagesTests.main(args);
+        System.out.println();
         NamingThreadPoolExecutorTest.main(args);
         System.out.println();
         if (Unix.isOperational())
@@ -17,6 +17,8 @@
 package ch.systemsx.cisd.base.convert;
 
 import java.lang.reflect.InvocationTargetException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 
@@ -413,6 +415,101 @@ public class NativeTaggedArrayTests
         assertTrue(longArr.equals(convertedLongArr));
     }
 
+    @Test
+    public static void testEncodeFloat1DIntoByteArrayWithOffset()
+    {
+        final float[] floatArr = new float[]
+            { 1.1f, -3.2f, 1001.5f };
+        final int encodedSize = NativeTaggedArray.encodedSize(floatArr);
+        assertEquals(3 * 4 + 4 + 4, encodedSize);
+        final byte[] buffer = new byte[encodedSize + 7];
+        assertEquals(encodedSize, NativeTaggedArray.encodeInto(buffer, 7, floatArr));
+        final byte[] taggedArr = new byte[encodedSize];
+        System.arraycopy(buffer, 7, taggedArr, 0, encodedSize);
+        assertTrue(Arrays.equals(NativeTaggedArray.toByteArray(floatArr), taggedArr));
+        assertTrue(Arrays.equals(floatArr, NativeTaggedArray.tryToFloatArray1D(taggedArr)));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public static void testEncodeIntoTooSmallByteArray()
+    {
+        final int[] intArr = new int[]
+            { 1, 2, 3 };
+        NativeTaggedArray.encodeInto(new byte[NativeTaggedArray.encodedSize(intArr)], 1, intArr);
+    }
+
+    @Test
+    public static void testEncodeDouble2DIntoHeapByteBuffer()
+    {
+        final MDDoubleArray doubleArr = new MDDoubleArray(new double[]
+            { 1, 2, 3, 4 }, new int[] { 2, 2 });
+        final ByteOrder nonNativeByteOrder =
+                (NativeData.getNativeByteOrder() == ByteOrder.LITTLE_ENDIAN) ? ByteOrder.BIG_ENDIAN
+                        : ByteOrder.LITTLE_ENDIAN;
+        final int encodedSize = NativeTaggedArray.encodedSize(doubleArr);
+        assertEquals(4 * 8 + 2 * 4 + 4, encodedSize);
+        final ByteBuffer buffer = ByteBuffer.allocate(encodedSize + 3);
+        buffer.position(3);
+        assertEquals(encodedSize,
+                NativeTaggedArray.encodeInto(buffer, doubleArr, nonNativeByteOrder));
+        assertEquals(encodedSize + 3, buffer.position());
+        final byte[] taggedArr = new byte[encodedSize];
+        System.arraycopy(buffer.array(), 3, taggedArr, 0, encodedSize);
+        assertTrue(Arrays.equals(NativeTaggedArray.toByteArray(doubleArr, nonNativeByteOrder),
+                taggedArr));
+        assertEquals(doubleArr, NativeTaggedArray.tryToDoubleArray(taggedArr));
+    }
+
+    @Test
+    public static void testEncodeIntoDirectByteBuffer()
+    {
+        final short[] shortArr = new short[]
+            { 1, -2, 3000 };
+        final MDLongArray longArr = new MDLongArray(new long[]
+            { 1, 2, 3, 4, 5, 6 }, new int[] { 3, 2 });
+        final ByteOrder nonNativeByteOrder =
+                (NativeData.getNativeByteOrder() == ByteOrder.LITTLE_ENDIAN) ? ByteOrder.BIG_ENDIAN
+                        : ByteOrder.LITTLE_ENDIAN;
+        final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(NativeTaggedArray.encodedSize(shortArr)
+                        + NativeTaggedArray.encodedSize(longArr));
+        NativeTaggedArray.encodeInto(buffer, shortArr, nonNativeByteOrder);
+        NativeTaggedArray.encodeInto(buffer, longArr);
+        assertEquals(0, buffer.remaining());
+        assertEquals(java.nio.ByteOrder.BIG_ENDIAN, buffer.order());
+        buffer.flip();
+        final byte[] taggedShortArr = new byte[NativeTaggedArray.encodedSize(shortArr)];
+        buffer.get(taggedShortArr);
+        final byte[] taggedLongArr = new byte[NativeTaggedArray.encodedSize(longArr)];
+        buffer.get(taggedLongArr);
+        assertEquals(nonNativeByteOrder, NativeArrayEncoding.tryGetEncoding(taggedShortArr)
+                .getByteOrder());
+        assertTrue(Arrays.equals(shortArr, NativeTaggedArray.tryToShortArray1D(taggedShortArr)));
+        assertEquals(longArr, NativeTaggedArray.tryToLongArray(taggedLongArr));
+    }
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public static void testEncodeIntoTooSmallByteBuffer()
+    {
+        final float[] floatArr = new float[]
+            { 1f, 2f };
+        NativeTaggedArray.encodeInto(
+                ByteBuffer.allocateDirect(NativeTaggedArray.encodedSize(floatArr) - 1), floatArr);
+    }
+
+    @Test
+    public static void testEncodeIntArrayWithSpareCapacity()
+    {
+        final MDIntArray intArr = new MDIntArray(new int[]
+            { 2, 2 }, 5);
+        intArr.set(1, 0, 0);
+        intArr.set(4, 1, 1);
+        assertEquals(4 * 4 + 2 * 4 + 4, NativeTaggedArray.encodedSize(intArr));
+        final byte[] taggedArr = NativeTaggedArray.toByteArray(intArr);
+        assertEquals(NativeTaggedArray.encodedSize(intArr), taggedArr.length);
+        assertEquals(intArr, NativeTaggedArray.tryToIntArray(taggedArr));
+    }
+
     private void afterClass()
     {
     }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.image;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.WritableRaster;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+import ch.systemsx.cisd.base.mdarray.MDByteArray;
+import ch.systemsx.cisd.base.mdarray.MDShortArray;
+
+/**
+ * Test cases for {@link MDArrayImages}.
+ *
+ * @author agent
+ */
+public class MDArrayImagesTests
+{
+    @Test
+    public void testGrayByteImage()
+    {
+        final MDByteArray array = new MDByteArray(new int[]
+            { 2, 3 });
+        array.set((byte) 200, 1, 2);
+        final BufferedImage image = MDArrayImages.toImage(array);
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+        assertEquals(3, image.getWidth());
+        assertEquals(2, image.getHeight());
+        assertEquals(200, image.getRaster().getSample(2, 1, 0));
+        assertSame(array.getAsFlatArray(),
+                ((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+        // Writes go both ways.
+        image.getRaster().setSample(0, 1, 0, 17);
+        assertEquals(17, array.get(1, 0));
+        array.set((byte) 5, 0, 1);
+        assertEquals(5, image.getRaster().getSample(1, 0, 0));
+    }
+
+    @Test
+    public void testFrozenArrayIsCopied()
+    {
+        final MDShortArray array = new MDShortArray(new short[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 });
+        array.freeze();
+        final BufferedImage image = MDArrayImages.toImage(array);
+        assertNotSame(array.getAsFlatArray(),
+                ((DataBufferUShort) image.getRaster().getDataBuffer()).getData());
+        assertEquals(6, image.getRaster().getSample(2, 1, 0));
+        image.getRaster().setSample(2, 1, 0, 17);
+        assertEquals(6, array.get(1, 2));
+    }
+
+    @Test
+    public void testGrayShortImage()
+    {
+        final MDShortArray array = new MDShortArray(new int[]
+            { 4, 5, 1 });
+        array.set((short) 60000, 3, 4, 0);
+        final BufferedImage image = MDArrayImages.toImage(array);
+        assertEquals(BufferedImage.TYPE_USHORT_GRAY, image.getType());
+        assertEquals(60000, image.getRaster().getSample(4, 3, 0));
+        assertSame(array.getAsFlatArray(),
+                ((DataBufferUShort) image.getRaster().getDataBuffer()).getData());
+    }
+
+    @Test
+    public void testRGBImage()
+    {
+        final MDByteArray array = new MDByteArray(new int[]
+            { 2, 2, 3 });
+        array.set((byte) 255, 0, 1, 0);
+        array.set((byte) 128, 0, 1, 1);
+        array.set((byte) 1, 0, 1, 2);
+        final BufferedImage image = MDArrayImages.toImage(array);
+        assertEquals(0xFF000000 | (255 << 16) | (128 << 8) | 1, image.getRGB(1, 0));
+        image.setRGB(0, 1, 0x00102030);
+        assertEquals(0x10, array.get(1, 0, 0));
+        assertEquals(0x20, array.get(1, 0, 1));
+        assertEquals(0x30, array.get(1, 0, 2));
+    }
+
+    @Test
+    public void testRGBAImage()
+    {
+        final MDByteArray array = new MDByteArray(new int[]
+            { 1, 1, 4 });
+        array.set((byte) 10, 0, 0, 0);
+        array.set((byte) 20, 0, 0, 1);
+        array.set((byte) 30, 0, 0, 2);
+        array.set((byte) 255, 0, 0, 3);
+        final BufferedImage image = MDArrayImages.toImage(array);
+        assertTrue(image.getColorModel().hasAlpha());
+        assertEquals(0xFF0A141E, image.getRGB(0, 0));
+    }
+
+    @Test
+    public void testRasterRoundTripWithoutCopy()
+    {
+        final MDShortArray array = new MDShortArray(new int[]
+            { 3, 2, 3 });
+        final WritableRaster raster = MDArrayImages.toRaster(array);
+        assertEquals(3, raster.getNumBands());
+        final MDShortArray wrapped = MDArrayImages.toMDShortArray(raster);
+        assertSame(array.getAsFlatArray(), wrapped.getAsFlatArray());
+        assertTrue(Arrays.equals(array.dimensions(), wrapped.dimensions()));
+    }
+
+    @Test
+    public void testWrapStandardGrayImage()
+    {
+        final BufferedImage image = new BufferedImage(4, 3, BufferedImage.TYPE_BYTE_GRAY);
+        image.getRaster().setSample(3, 2, 0, 99);
+        final MDByteArray array = MDArrayImages.toMDByteArray(image);
+        assertTrue(Arrays.equals(new int[]
+            { 3, 4 }, array.dimensions()));
+        assertSame(((DataBufferByte) image.getRaster().getDataBuffer()).getData(),
+                array.getAsFlatArray());
+        assertEquals(99, array.get(2, 3));
+    }
+
+    @Test
+    public void testCopyBGRImage()
+    {
+        final BufferedImage image = new BufferedImage(2, 1, BufferedImage.TYPE_3BYTE_BGR);
+        image.setRGB(1, 0, 0x00010203);
+        final MDByteArray array = MDArrayImages.toMDByteArray(image);
+        assertNotSame(((DataBufferByte) image.getRaster().getDataBuffer()).getData(),
+                array.getAsFlatArray());
+        assertTrue(Arrays.equals(new int[]
+            { 1, 2, 3 }, array.dimensions()));
+        assertEquals(1, array.get(0, 1, 0));
+        assertEquals(2, array.get(0, 1, 1));
+        assertEquals(3, array.get(0, 1, 2));
+    }
+
+    @Test
+    public void testCopyIntRGBImage()
+    {
+        final BufferedImage image = new BufferedImage(1, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 1, 0x00FF8001);
+        final MDShortArray array = MDArrayImages.toMDShortArray(image);
+        assertTrue(Arrays.equals(new int[]
+            { 2, 1, 3 }, array.dimensions()));
+        assertEquals(0xFF, array.get(1, 0, 0));
+        assertEquals(0x80, array.get(1, 0, 1));
+        assertEquals(0x01, array.get(1, 0, 2));
+    }
+
+    @Test
+    public void testCopySubRaster()
+    {
+        final MDByteArray array = new MDByteArray(new byte[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 });
+        final WritableRaster child =
+                MDArrayImages.toRaster(array).createWritableChild(1, 0, 2, 2, 0, 0, null);
+        final MDByteArray result = MDArrayImages.toMDByteArray(child);
+        assertEquals(new MDByteArray(new byte[]
+            { 2, 3, 5, 6 }, new int[]
+            { 2, 2 }), result);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWrongNumberOfBands()
+    {
+        MDArrayImages.toImage(new MDByteArray(new int[]
+            { 2, 2, 2 }));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWrongRank()
+    {
+        MDArrayImages.toRaster(new MDShortArray(new int[]
+            { 5 }));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayImagesTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayImagesTests test = new MDArrayImagesTests();
+        for (Method m : MDArrayImagesTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
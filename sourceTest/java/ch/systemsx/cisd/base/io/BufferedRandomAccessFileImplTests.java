@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+import ch.systemsx.cisd.base.exceptions.IOExceptionUnchecked;
+
+/**
+ * Test cases for {@link BufferedRandomAccessFileImpl}. The shared tests run with a small buffer,
+ * so that they cross page boundaries.
+ *
+ * @author agent
+ */
+public class BufferedRandomAccessFileImplTests extends IRandomAccessFileTests
+{
+    private static final int BUFFER_SIZE = 16;
+
+    @Override
+    protected IRandomAccessFile createRandomAccessFile(String name)
+    {
+        return new BufferedRandomAccessFileImpl(create(name), "rw", BUFFER_SIZE);
+    }
+
+    @Override
+    protected IRandomAccessFile createRandomAccessFile(String name, byte[] content)
+    {
+        final IRandomAccessFile f =
+                new BufferedRandomAccessFileImpl(create(name), "rw", BUFFER_SIZE);
+        f.write(content);
+        f.seek(0L);
+        return f;
+    }
+
+    @Test
+    public void testWriteBackOnSeekAndClose() throws IOException
+    {
+        final File file = create("testWriteBackOnSeekAndClose");
+        final BufferedRandomAccessFileImpl raf =
+                new BufferedRandomAccessFileImpl(file, "rw", BUFFER_SIZE);
+        raf.writeInt(42);
+        assertEquals(4, raf.length());
+        assertEquals(0, file.length());
+        raf.seek(100);
+        assertEquals(4, file.length());
+        raf.writeLong(-1L);
+        assertEquals(108, raf.length());
+        raf.close();
+        final byte[] content = FileUtils.readFileToByteArray(file);
+        assertEquals(108, content.length);
+        assertEquals(42, content[3]);
+        assertEquals(-1, content[107]);
+    }
+
+    @Test
+    public void testFlushAndSetLength() throws IOException
+    {
+        final File file = create("testFlushAndSetLength");
+        final BufferedRandomAccessFileImpl raf =
+                new BufferedRandomAccessFileImpl(file, "rw", BUFFER_SIZE);
+        raf.write(new byte[10]);
+        raf.flush();
+        assertEquals(10, file.length());
+        raf.writeShort(7);
+        raf.setLength(5);
+        assertEquals(5, raf.length());
+        assertEquals(5, raf.getFilePointer());
+        assertEquals(-1, raf.read());
+        raf.setLength(20);
+        raf.seek(18);
+        assertEquals(0, raf.readShort());
+        raf.close();
+        assertEquals(20, file.length());
+    }
+
+    @Test
+    public void testWrapRandomAccessFileAtOffset() throws IOException
+    {
+        final File file = create("testWrapRandomAccessFileAtOffset");
+        FileUtils.writeByteArrayToFile(file, new byte[]
+            { 0, 0, 0, 0, 0, 0, 0, 5 });
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.seek(4);
+        final BufferedRandomAccessFileImpl raf = new BufferedRandomAccessFileImpl(randomAccessFile);
+        assertEquals(4, raf.getFilePointer());
+        assertEquals(5, raf.readInt());
+        raf.close();
+    }
+
+    @Test(expectedExceptions = IOExceptionUnchecked.class)
+    public void testWriteReadOnly() throws IOException
+    {
+        final File file = create("testWriteReadOnly");
+        FileUtils.writeByteArrayToFile(file, new byte[4]);
+        final BufferedRandomAccessFileImpl raf = new BufferedRandomAccessFileImpl(file, "r");
+        try
+        {
+            raf.writeInt(1);
+        } finally
+        {
+            raf.close();
+        }
+    }
+
+    @Test(expectedExceptions = IOExceptionUnchecked.class)
+    public void testReadPastEnd()
+    {
+        final IRandomAccessFile raf = createRandomAccessFile("testReadPastEnd", new byte[6]);
+        try
+        {
+            raf.readInt();
+            raf.readInt();
+        } finally
+        {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testUTFAndLine()
+    {
+        final IRandomAccessFile raf = createRandomAccessFile("testUTFAndLine");
+        raf.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+        raf.writeUTF("gr\u00fc\u00dfe aus Z\u00fcrich");
+        raf.writeBytes("line 1\r\nline 2\rline 3\n");
+        raf.seek(0);
+        assertEquals("gr\u00fc\u00dfe aus Z\u00fcrich", raf.readUTF());
+        assertEquals("line 1", raf.readLine());
+        assertEquals("line 2", raf.readLine());
+        assertEquals("line 3", raf.readLine());
+        assertNull(raf.readLine());
+        raf.close();
+    }
+
+    /**
+     * Performs the same random operations on a {@link BufferedRandomAccessFileImpl} and a
+     * {@link RandomAccessFileImpl} and compares the results and the final files.
+     */
+    @Test
+    public void testCompareWithUnbuffered() throws IOException
+    {
+        final Random random = new Random(17);
+        final File bufferedFile = create("testCompareWithUnbuffered-buffered");
+        final File plainFile = create("testCompareWithUnbuffered-plain");
+        final IRandomAccessFile buffered =
+                new BufferedRandomAccessFileImpl(bufferedFile, "rw", 64);
+        final IRandomAccessFile plain = new RandomAccessFileImpl(plainFile, "rw");
+        for (int i = 0; i < 20000; ++i)
+        {
+            final int op = random.nextInt(12);
+            final String msg = "Operation " + i + " (" + op + ")";
+            switch (op)
+            {
+                case 0:
+                {
+                    final long pos = random.nextInt((int) plain.length() + 20);
+                    buffered.seek(pos);
+                    plain.seek(pos);
+                    break;
+                }
+                case 1:
+                {
+                    final int v = random.nextInt();
+                    buffered.writeInt(v);
+                    plain.writeInt(v);
+                    break;
+                }
+                case 2:
+                {
+                    final long v = random.nextLong();
+                    buffered.writeLong(v);
+                    plain.writeLong(v);
+                    break;
+                }
+                case 3:
+                {
+                    final byte[] b = new byte[random.nextInt(200)];
+                    random.nextBytes(b);
+                    buffered.write(b);
+                    plain.write(b);
+                    break;
+                }
+                case 4:
+                {
+                    final int v = random.nextInt();
+                    buffered.writeShort(v);
+                    plain.writeShort(v);
+                    buffered.write(v);
+                    plain.write(v);
+                    break;
+                }
+                case 5:
+                case 6:
+                {
+                    final long available = plain.length() - plain.getFilePointer();
+                    assertEquals(msg, available, buffered.length() - buffered.getFilePointer());
+                    if (available >= 8)
+                    {
+                        assertEquals(msg, plain.readLong(), buffered.readLong());
+                    } else if (available >= 4)
+                    {
+                        assertEquals(msg, plain.readFloat(), buffered.readFloat());
+                    } else if (available >= 2)
+                    {
+                        assertEquals(msg, plain.readUnsignedShort(), buffered.readUnsignedShort());
+                    } else
+                    {
+                        assertEquals(msg, plain.read(), buffered.read());
+                    }
+                    break;
+                }
+                case 7:
+                {
+                    final int len = random.nextInt(300);
+                    final byte[] b1 = new byte[len];
+                    final byte[] b2 = new byte[len];
+                    assertEquals(msg, plain.read(b1), buffered.read(b2));
+                    assertTrue(msg, Arrays.equals(b1, b2));
+                    break;
+                }
+                case 8:
+                {
+                    final ByteOrder order =
+                            random.nextBoolean() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+                    buffered.setByteOrder(order);
+                    plain.setByteOrder(order);
+                    break;
+                }
+                case 9:
+                {
+                    if (random.nextInt(10) == 0)
+                    {
+                        final long len = random.nextInt((int) plain.length() + 50);
+                        buffered.setLength(len);
+                        plain.setLength(len);
+                    }
+                    break;
+                }
+                case 10:
+                {
+                    final int n = random.nextInt(100);
+                    assertEquals(msg, plain.skipBytes(n), buffered.skipBytes(n));
+                    break;
+                }
+                default:
+                {
+                    final double v = random.nextDouble();
+                    buffered.writeDouble(v);
+                    plain.writeDouble(v);
+                    break;
+                }
+            }
+            assertEquals(msg, plain.getFilePointer(), buffered.getFilePointer());
+            assertEquals(msg, plain.length(), buffered.length());
+        }
+        buffered.close();
+        plain.close();
+        assertTrue(Arrays.equals(FileUtils.readFileToByteArray(plainFile),
+                FileUtils.readFileToByteArray(bufferedFile)));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + BufferedRandomAccessFileImplTests.class.getSimpleName());
+        System.out.println();
+        final BufferedRandomAccessFileImplTests test = new BufferedRandomAccessFileImplTests();
+        try
+        {
+            for (Method m : BufferedRandomAccessFileImplTests.class.getMethods())
+            {
+                final Test testAnnotation = m.getAnnotation(Test.class);
+                if (testAnnotation == null)
+                {
+                    continue;
+                }
+                if (m.getParameterTypes().length == 0)
+                {
+                    System.out.println("Running " + m.getName());
+                    test.setUp();
+                    try
+                    {
+                        m.invoke(test);
+                    } catch (InvocationTargetException wrapperThrowable)
+                    {
+                        final Throwable th = wrapperThrowable.getCause();
+                        boolean exceptionFound = false;
+                        for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                        {
+                            if (expectedExClazz == th.getClass())
+                            {
+                                exceptionFound = true;
+                                break;
+                            }
+                        }
+                        if (exceptionFound == false)
+                        {
+                            throw th;
+                        }
+                    }
+                }
+            }
+            System.out.println("Tests OK!");
+        } finally
+        {
+            test.afterClass();
+        }
+    }
+
+}
@@ -78,6 +78,26 @@ public abstract class IRandomAccessFileTests extends AbstractFileSystemTestCase
         raf.close();
     }
 
+    @Test
+    public void testShortAndCharByteOrder()
+    {
+        final IRandomAccessFile raf = createRandomAccessFile("testShortAndCharByteOrder");
+        raf.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+        raf.writeShort(0x0102);
+        raf.writeChar(0x0304);
+        final byte[] buf = new byte[4];
+        raf.seek(0);
+        raf.read(buf);
+        assertEquals(2, buf[0]);
+        assertEquals(1, buf[1]);
+        assertEquals(4, buf[2]);
+        assertEquals(3, buf[3]);
+        raf.seek(0);
+        assertEquals(0x0102, raf.readShort());
+        assertEquals(0x0304, raf.readChar());
+        raf.close();
+    }
+
     @Test
     public void testMark()
     {
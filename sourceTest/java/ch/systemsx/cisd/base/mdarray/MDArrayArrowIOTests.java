@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDArrayArrowIO}.
+ *
+ * @author agent
+ */
+public class MDArrayArrowIOTests
+{
+    private static Map<String, MDAbstractArray<?>> createColumns()
+    {
+        final Map<String, MDAbstractArray<?>> columns =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        final int[] dimensions = new int[]
+            { 2, 3 };
+        columns.put("bytes", new MDByteArray(new byte[]
+            { 1, -2, 3, -4, 5, -6 }, dimensions));
+        columns.put("shorts", new MDShortArray(new short[]
+            { 100, -200, 300, -400, 500, Short.MIN_VALUE }, new int[]
+            { 6 }));
+        columns.put("ints", new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, Integer.MAX_VALUE }, new int[]
+            { 3, 2 }));
+        columns.put("longs", new MDLongArray(new long[]
+            { 1L << 40, 2, 3, 4, 5, -6 }, new int[]
+            { 1, 2, 3 }));
+        columns.put("floats", new MDFloatArray(new float[]
+            { 0.5f, 1.5f, Float.NaN, -1f, 1e10f, 0f }, dimensions));
+        columns.put("doubles", new MDDoubleArray(new double[]
+            { Math.PI, Math.E, -0.0, 1e-300, 2, 3 }, dimensions));
+        return columns;
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        final Map<String, MDAbstractArray<?>> columns = createColumns();
+        final ByteBuffer buffer = MDArrayArrowIO.toByteBuffer(columns);
+        assertTrue(buffer.isDirect());
+        assertEquals(0, buffer.position());
+        final Map<String, MDAbstractArray<?>> result = MDArrayArrowIO.fromByteBuffer(buffer);
+        assertEquals(new ArrayList<String>(columns.keySet()),
+                new ArrayList<String>(result.keySet()));
+        for (String name : columns.keySet())
+        {
+            assertEquals(name, columns.get(name), result.get(name));
+        }
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testUnalignedColumnEnds()
+    {
+        final Map<String, MDAbstractArray<?>> columns =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        columns.put("temp", new MDFloatArray(new float[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 }));
+        columns.put("id", new MDLongArray(new long[]
+            { 10, 20, 30, 40, 50, 60 }, new int[]
+            { 6 }));
+        final ByteBuffer buffer = MDArrayArrowIO.toByteBuffer(columns);
+        final Map<String, MDAbstractArray<?>> result = MDArrayArrowIO.fromByteBuffer(buffer);
+        assertEquals(columns.get("temp"), result.get("temp"));
+        assertEquals(columns.get("id"), result.get("id"));
+    }
+
+    @Test
+    public void testLayout()
+    {
+        final Map<String, MDAbstractArray<?>> columns =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        columns.put("x", new MDIntArray(new int[]
+            { 7, 8, 9 }, new int[]
+            { 3 }));
+        final ByteBuffer buffer =
+                MDArrayArrowIO.toByteBuffer(columns).order(ByteOrder.LITTLE_ENDIAN);
+        final byte[] magic = new byte[8];
+        buffer.get(magic);
+        assertTrue(Arrays.equals(new byte[]
+            { 'A', 'R', 'R', 'O', 'W', '1', 0, 0 }, magic));
+        // Schema message: continuation marker and 8-byte aligned metadata length.
+        assertEquals(0xFFFFFFFF, buffer.getInt(8));
+        assertEquals(0, buffer.getInt(12) % 8);
+        final int batchStart = 16 + buffer.getInt(12);
+        assertEquals(0xFFFFFFFF, buffer.getInt(batchStart));
+        final int bodyStart = batchStart + 8 + buffer.getInt(batchStart + 4);
+        assertEquals(0, bodyStart % 8);
+        assertEquals(7, buffer.getInt(bodyStart));
+        assertEquals(9, buffer.getInt(bodyStart + 8));
+        final int end = buffer.limit();
+        for (int i = 0; i < 6; ++i)
+        {
+            assertEquals("ARROW1".charAt(i), (char) buffer.get(end - 6 + i));
+        }
+    }
+
+    @Test
+    public void testReuseBuffer()
+    {
+        final Map<String, MDAbstractArray<?>> columns = createColumns();
+        final ByteBuffer first = MDArrayArrowIO.toByteBuffer(columns);
+        final ByteBuffer reuse = ByteBuffer.allocateDirect(first.limit() + 100);
+        final ByteBuffer second = MDArrayArrowIO.toByteBuffer(columns, reuse);
+        assertSame(reuse, second);
+        assertEquals(first.limit(), second.limit());
+        assertEquals(first, second);
+        final ByteBuffer tooSmall = ByteBuffer.allocateDirect(16);
+        assertTrue(tooSmall != MDArrayArrowIO.toByteBuffer(columns, tooSmall));
+    }
+
+    @Test
+    public void testReadFromOffset()
+    {
+        final ByteBuffer file = MDArrayArrowIO.toByteBuffer(createColumns());
+        final ByteBuffer shifted = ByteBuffer.allocate(file.limit() + 13);
+        shifted.position(13);
+        shifted.put(file);
+        shifted.position(13);
+        final Map<String, MDAbstractArray<?>> result = MDArrayArrowIO.fromByteBuffer(shifted);
+        assertEquals(createColumns().get("doubles"), result.get("doubles"));
+    }
+
+    @Test
+    public void testLargeColumnsAndFile() throws Exception
+    {
+        final float[] values = new float[100003];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = i * 0.25f;
+        }
+        final Map<String, MDAbstractArray<?>> columns =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        columns.put("v", new MDFloatArray(values, new int[]
+            { values.length }));
+        final File file = File.createTempFile("mdarray", ".arrow");
+        file.deleteOnExit();
+        try
+        {
+            MDArrayArrowIO.write(file, columns);
+            final Map<String, MDAbstractArray<?>> result = MDArrayArrowIO.read(file);
+            assertEquals(columns.get("v"), result.get("v"));
+        } finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDifferentSizes()
+    {
+        final Map<String, MDAbstractArray<?>> columns = createColumns();
+        columns.put("other", new MDIntArray(new int[]
+            { 5 }));
+        MDArrayArrowIO.toByteBuffer(columns);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnsupportedType()
+    {
+        final Map<String, MDAbstractArray<?>> columns =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        columns.put("objects", new MDArray<String>(String.class, new int[]
+            { 2 }));
+        MDArrayArrowIO.toByteBuffer(columns);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNotAnArrowFile()
+    {
+        MDArrayArrowIO.fromByteBuffer(ByteBuffer.wrap(new byte[100]));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayArrowIOTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayArrowIOTests test = new MDArrayArrowIOTests();
+        for (Method m : MDArrayArrowIOTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
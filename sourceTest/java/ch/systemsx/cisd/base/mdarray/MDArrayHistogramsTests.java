@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDArrayHistograms}.
+ *
+ * @author agent
+ */
+public class MDArrayHistogramsTests
+{
+    @Test
+    public void testIntegerBins()
+    {
+        final MDShortArray array = new MDShortArray(new short[]
+            { -3, 0, 1, 2, 3, 4, 7, 8, 9, 100 }, new int[]
+            { 2, 5 });
+        final MDHistogram histogram = MDArrayHistograms.histogram(array, 4, 0, 8, false);
+        assertEquals(4, histogram.getNumberOfBins());
+        assertEquals(2.0, histogram.getBinWidth());
+        assertEquals(4.0, histogram.getBinLowerEdge(2));
+        // The last bin includes the upper bound 8.
+        assertTrue(Arrays.toString(histogram.getCounts()), Arrays.equals(new long[]
+            { 2, 2, 1, 2 }, histogram.getCounts()));
+        assertEquals(1, histogram.getUnderflow());
+        assertEquals(2, histogram.getOverflow());
+        assertEquals(0, histogram.getNaNCount());
+        assertEquals(7, histogram.getTotalCount());
+        assertEquals(10, histogram.getElementCount());
+    }
+
+    @Test
+    public void testClamp()
+    {
+        final MDIntArray array = new MDIntArray(new int[]
+            { -30, 0, 5, 9, 10, 11, 1000 }, new int[]
+            { 7 });
+        final MDHistogram histogram = MDArrayHistograms.histogram(array, 2, 0, 10, true);
+        assertTrue(Arrays.toString(histogram.getCounts()), Arrays.equals(new long[]
+            { 2, 5 }, histogram.getCounts()));
+        assertEquals(0, histogram.getUnderflow());
+        assertEquals(0, histogram.getOverflow());
+    }
+
+    @Test
+    public void testFloatingPointWithNaN()
+    {
+        final MDFloatArray array = new MDFloatArray(new float[]
+            { 0.1f, 0.5f, Float.NaN, 0.99f, 1f, -0.5f, 0.25f }, new int[]
+            { 7 });
+        final MDHistogram histogram = MDArrayHistograms.histogram(array, 4, 0, 1, false);
+        assertTrue(Arrays.toString(histogram.getCounts()), Arrays.equals(new long[]
+            { 1, 1, 1, 2 }, histogram.getCounts()));
+        assertEquals(1, histogram.getUnderflow());
+        assertEquals(0, histogram.getOverflow());
+        assertEquals(1, histogram.getNaNCount());
+    }
+
+    @Test
+    public void testIntegerBinningMatchesExactDivision()
+    {
+        final Random random = new Random(17);
+        final int[] values = new int[1000];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = random.nextInt(400) - 120;
+        }
+        final MDIntArray array = new MDIntArray(values, new int[]
+            { values.length });
+        final MDHistogram histogram = MDArrayHistograms.histogram(array, 7, -100, 250, false);
+        final long[] expected = new long[7];
+        long underflow = 0;
+        long overflow = 0;
+        for (int v : values)
+        {
+            if (v < -100)
+            {
+                ++underflow;
+            } else if (v > 250)
+            {
+                ++overflow;
+            } else
+            {
+                ++expected[Math.min(6, (v + 100) * 7 / 350)];
+            }
+        }
+        assertTrue(Arrays.toString(histogram.getCounts()),
+                Arrays.equals(expected, histogram.getCounts()));
+        assertEquals(underflow, histogram.getUnderflow());
+        assertEquals(overflow, histogram.getOverflow());
+    }
+
+    @Test
+    public void testRegion()
+    {
+        final Random random = new Random(3);
+        final int[] dimensions = new int[]
+            { 6, 9, 11 };
+        final double[] values = new double[MDAbstractArray.getLength(dimensions)];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = random.nextDouble() * 10;
+        }
+        final MDDoubleArray array = new MDDoubleArray(values, dimensions);
+        final int[] offset = new int[]
+            { 1, 2, 3 };
+        final int[] regionDimensions = new int[]
+            { 4, 5, 6 };
+        final MDDoubleArray region = new MDDoubleArray(regionDimensions);
+        MDArrayRegions.copyRegion(array, offset, region, new int[3], regionDimensions);
+        final MDHistogram expected = MDArrayHistograms.histogram(region, 13, 1, 9, false);
+        final MDHistogram histogram =
+                MDArrayHistograms.histogram(array, offset, regionDimensions, 13, 1, 9, false);
+        assertTrue(Arrays.equals(expected.getCounts(), histogram.getCounts()));
+        assertEquals(expected.getUnderflow(), histogram.getUnderflow());
+        assertEquals(expected.getOverflow(), histogram.getOverflow());
+        assertEquals(120, histogram.getElementCount());
+    }
+
+    @Test
+    public void testUnsignedShortFullRange()
+    {
+        final Random random = new Random(5);
+        final int[] dimensions = new int[]
+            { 300, 517 };
+        final short[] values = new short[MDAbstractArray.getLength(dimensions)];
+        final long[] expected = new long[1 << 16];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = (short) random.nextInt(1 << 16);
+            ++expected[values[i] & 0xFFFF];
+        }
+        final MDShortArray array = new MDShortArray(values, dimensions);
+        final MDHistogram histogram = MDArrayHistograms.unsignedHistogram(array);
+        assertTrue(Arrays.equals(expected, histogram.getCounts()));
+        assertEquals(values.length, histogram.getElementCount());
+        assertTrue(histogram.getElapsedNanos() >= 0);
+        assertTrue(histogram.getBytesPerSecond() > 0);
+        assertEquals(2 * histogram.getElementsPerSecond(), histogram.getBytesPerSecond(), 1e-6);
+
+        // 12-bit bins via the shift path, compared on a region.
+        final int[] offset = new int[]
+            { 10, 20 };
+        final int[] regionDimensions = new int[]
+            { 250, 400 };
+        final long[] expectedCoarse = new long[16];
+        for (int i = 0; i < regionDimensions[0]; ++i)
+        {
+            for (int j = 0; j < regionDimensions[1]; ++j)
+            {
+                ++expectedCoarse[(array.get(offset[0] + i, offset[1] + j) & 0xFFFF) >>> 12];
+            }
+        }
+        final MDHistogram coarse =
+                MDArrayHistograms.unsignedHistogram(array, offset, regionDimensions, 16, 0,
+                        1 << 16, false);
+        assertTrue(Arrays.toString(coarse.getCounts()),
+                Arrays.equals(expectedCoarse, coarse.getCounts()));
+        assertEquals(0, coarse.getUnderflow());
+        assertEquals(0, coarse.getOverflow());
+    }
+
+    @Test
+    public void testUnsignedByte()
+    {
+        final MDByteArray array = new MDByteArray(new byte[]
+            { 0, 1, -1, -128, 127, -1 }, new int[]
+            { 6 });
+        final MDHistogram histogram = MDArrayHistograms.unsignedHistogram(array);
+        assertEquals(256, histogram.getNumberOfBins());
+        assertEquals(1, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(127));
+        assertEquals(1, histogram.getCount(128));
+        assertEquals(2, histogram.getCount(255));
+        final MDHistogram signed = MDArrayHistograms.histogram(array, 2, -128, 128, false);
+        assertTrue(Arrays.equals(new long[]
+            { 3, 3 }, signed.getCounts()));
+    }
+
+    @Test
+    public void testLargeLongArray()
+    {
+        final Random random = new Random(11);
+        final long[] values = new long[200000];
+        final long[] expected = new long[10];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = random.nextInt(1000);
+            ++expected[(int) (values[i] / 100)];
+        }
+        final MDHistogram histogram =
+                MDArrayHistograms.histogram(new MDLongArray(values, new int[]
+                    { 400, 500 }), 10, 0, 1000, false);
+        assertTrue(Arrays.equals(expected, histogram.getCounts()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalRange()
+    {
+        MDArrayHistograms.histogram(new MDFloatArray(new int[]
+            { 3 }), 10, 1, 1, false);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalNumberOfBins()
+    {
+        MDArrayHistograms.histogram(new MDFloatArray(new int[]
+            { 3 }), 0, 0, 1, false);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testRegionOutOfRange()
+    {
+        MDArrayHistograms.histogram(new MDIntArray(new int[]
+            { 3, 4 }), new int[]
+            { 1, 1 }, new int[]
+            { 3, 3 }, 10, 0, 1, false);
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayHistogramsTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayHistogramsTests test = new MDArrayHistogramsTests();
+        for (Method m : MDArrayHistogramsTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDArrayKernels}.
+ *
+ * @author agent
+ */
+public class MDArrayKernelsTests
+{
+    // Not a multiple of any vector length, so that the tail loops are exercised.
+    private static final int SIZE = 1027;
+
+    private static MDFloatArray createFloatArray(float start)
+    {
+        final MDFloatArray array = new MDFloatArray(new int[]
+            { SIZE });
+        for (int i = 0; i < SIZE; ++i)
+        {
+            array.set(start + (i % 17) - 8, i);
+        }
+        return array;
+    }
+
+    private static MDDoubleArray createDoubleArray(double start)
+    {
+        final MDDoubleArray array = new MDDoubleArray(new int[]
+            { SIZE });
+        for (int i = 0; i < SIZE; ++i)
+        {
+            array.set(start + (i % 17) - 8, i);
+        }
+        return array;
+    }
+
+    @Test
+    public void testImplementationName()
+    {
+        assertTrue(MDArrayKernels.getImplementationName().length() > 0);
+        assertEquals(MDArrayKernels.getImplementationName().equals("scalar") == false,
+                MDArrayKernels.isVectorized());
+    }
+
+    @Test
+    public void testScaleFloat()
+    {
+        final MDFloatArray array = createFloatArray(0.5f);
+        final MDFloatArray result = new MDFloatArray(array.dimensions());
+        MDArrayKernels.scale(array, 1.5f, result);
+        for (int i = 0; i < SIZE; ++i)
+        {
+            assertEquals(array.get(i) * 1.5f, result.get(i));
+        }
+        MDArrayKernels.scale(array, 2f, array);
+        assertEquals(2f * (0.5f - 8), array.get(0));
+    }
+
+    @Test
+    public void testScaleDouble()
+    {
+        final MDDoubleArray array = createDoubleArray(0.25);
+        final MDDoubleArray result = new MDDoubleArray(array.dimensions());
+        MDArrayKernels.scale(array, -3.0, result);
+        for (int i = 0; i < SIZE; ++i)
+        {
+            assertEquals(array.get(i) * -3.0, result.get(i));
+        }
+    }
+
+    @Test
+    public void testThresholdFloat()
+    {
+        final MDFloatArray array = createFloatArray(0f);
+        array.set(Float.NaN, SIZE - 1);
+        final MDFloatArray result = new MDFloatArray(array.dimensions());
+        MDArrayKernels.threshold(array, 2f, result);
+        for (int i = 0; i < SIZE - 1; ++i)
+        {
+            assertEquals((array.get(i) < 2f) ? 0f : array.get(i), result.get(i));
+        }
+        assertTrue(Float.isNaN(result.get(SIZE - 1)));
+    }
+
+    @Test
+    public void testThresholdDouble()
+    {
+        final MDDoubleArray array = createDoubleArray(0.0);
+        MDArrayKernels.threshold(array, -1.0, array);
+        for (int i = 0; i < SIZE; ++i)
+        {
+            final double value = (i % 17) - 8;
+            assertEquals((value < -1.0) ? 0.0 : value, array.get(i));
+        }
+    }
+
+    @Test
+    public void testAxpy()
+    {
+        final MDFloatArray x = createFloatArray(0.5f);
+        final MDFloatArray y = createFloatArray(3f);
+        MDArrayKernels.axpy(0.75f, x, y);
+        for (int i = 0; i < SIZE; ++i)
+        {
+            assertEquals(3f + (i % 17) - 8 + 0.75f * x.get(i), y.get(i));
+        }
+        final MDDoubleArray xd = createDoubleArray(0.5);
+        final MDDoubleArray yd = createDoubleArray(3.0);
+        MDArrayKernels.axpy(-2.0, xd, yd);
+        for (int i = 0; i < SIZE; ++i)
+        {
+            assertEquals(3.0 + (i % 17) - 8 + -2.0 * xd.get(i), yd.get(i));
+        }
+    }
+
+    @Test
+    public void testDot()
+    {
+        final MDFloatArray x = createFloatArray(0.5f);
+        final MDFloatArray y = createFloatArray(-1f);
+        final MDDoubleArray xd = createDoubleArray(0.5);
+        final MDDoubleArray yd = createDoubleArray(-1.0);
+        double expected = 0.0;
+        for (int i = 0; i < SIZE; ++i)
+        {
+            expected += xd.get(i) * yd.get(i);
+        }
+        assertEquals(expected, MDArrayKernels.dot(xd, yd), 1e-9);
+        assertEquals(expected, MDArrayKernels.dot(x, y), 1e-2);
+        assertEquals(0.0, MDArrayKernels.dot(new MDDoubleArray(new int[]
+            { 0 }), new MDDoubleArray(new int[]
+            { 0 })));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDifferentDimensions()
+    {
+        MDArrayKernels.dot(new MDFloatArray(new int[]
+            { 2, 3 }), new MDFloatArray(new int[]
+            { 3, 2 }));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayKernelsTests.class.getSimpleName());
+        System.out.println("Kernels: " + MDArrayKernels.getImplementationName());
+        System.out.println();
+        final MDArrayKernelsTests test = new MDArrayKernelsTests();
+        for (Method m : MDArrayKernelsTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
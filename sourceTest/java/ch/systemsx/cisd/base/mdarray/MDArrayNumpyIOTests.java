@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+import ch.systemsx.cisd.base.exceptions.IOExceptionUnchecked;
+
+/**
+ * Test cases for {@link MDArrayNumpyIO}.
+ *
+ * @author agent
+ */
+public class MDArrayNumpyIOTests
+{
+    private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+    private static Map<String, MDAbstractArray<?>> createArrays()
+    {
+        final Map<String, MDAbstractArray<?>> arrays =
+                new LinkedHashMap<String, MDAbstractArray<?>>();
+        arrays.put("bytes", new MDByteArray(new byte[]
+            { 1, -2, 3, -4, 5, -6 }, new int[]
+            { 2, 3 }));
+        arrays.put("shorts", new MDShortArray(new short[]
+            { 100, -200, 300, -400, 500, Short.MIN_VALUE }, new int[]
+            { 6 }));
+        arrays.put("ints", new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, Integer.MAX_VALUE }, new int[]
+            { 3, 2 }));
+        arrays.put("longs", new MDLongArray(new long[]
+            { 1L << 40, 2, 3, 4, 5, -6 }, new int[]
+            { 1, 2, 3 }));
+        arrays.put("floats", new MDFloatArray(new float[]
+            { 0.5f, 1.5f, Float.NaN, -1f, 1e10f, 0f }, new int[]
+            { 2, 3 }));
+        arrays.put("doubles", new MDDoubleArray(new double[]
+            { Math.PI, Math.E, -0.0, 1e-300 }, new int[]
+            { 2, 1, 2 }));
+        return arrays;
+    }
+
+    /**
+     * Creates the bytes of a <code>.npy</code> file of format version 1.0 with the given
+     * <var>header</var> dictionary and <var>data</var>.
+     */
+    private static byte[] createNpy(String header, byte[] data)
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x93);
+        out.write('N');
+        out.write('U');
+        out.write('M');
+        out.write('P');
+        out.write('Y');
+        out.write(1);
+        out.write(0);
+        final byte[] headerBytes = (header + "\n").getBytes(LATIN1);
+        out.write(headerBytes.length);
+        out.write(headerBytes.length >>> 8);
+        out.write(headerBytes, 0, headerBytes.length);
+        out.write(data, 0, data.length);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRoundTripStream()
+    {
+        for (ByteOrder byteOrder : new ByteOrder[]
+            { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN, ByteOrder.NATIVE })
+        {
+            for (MDAbstractArray<?> array : createArrays().values())
+            {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                MDArrayNumpyIO.writeNpy(out, array, byteOrder);
+                final MDAbstractArray<?> result =
+                        MDArrayNumpyIO.readNpy(new ByteArrayInputStream(out.toByteArray()));
+                assertEquals(byteOrder + ": " + array, array, result);
+            }
+        }
+    }
+
+    @Test
+    public void testHeader()
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MDArrayNumpyIO.writeNpy(out, createArrays().get("ints"), ByteOrder.BIG_ENDIAN);
+        final byte[] bytes = out.toByteArray();
+        assertEquals((byte) 0x93, bytes[0]);
+        assertEquals("NUMPY", new String(bytes, 1, 5, LATIN1));
+        assertEquals(1, bytes[6]);
+        final int headerLength = (bytes[8] & 0xFF) | ((bytes[9] & 0xFF) << 8);
+        assertEquals(0, (10 + headerLength) % 64);
+        final String header = new String(bytes, 10, headerLength, LATIN1);
+        assertEquals("{'descr': '>i4', 'fortran_order': False, 'shape': (3, 2), }", header.trim());
+        assertEquals('\n', header.charAt(headerLength - 1));
+        assertEquals(10 + headerLength + 6 * 4, bytes.length);
+        assertEquals(2, ByteBuffer.wrap(bytes, 10 + headerLength + 4, 4).getInt());
+
+        final ByteArrayOutputStream out1D = new ByteArrayOutputStream();
+        MDArrayNumpyIO.writeNpy(out1D, createArrays().get("shorts"), ByteOrder.LITTLE_ENDIAN);
+        assertTrue(new String(out1D.toByteArray(), LATIN1).contains(
+                "{'descr': '<i2', 'fortran_order': False, 'shape': (6,), }"));
+    }
+
+    @Test
+    public void testFortranOrder()
+    {
+        // The 2x3 array { { 1, 2, 3 }, { 4, 5, 6 } } in column-major order.
+        final byte[] data = ByteBuffer.allocate(6 * 8).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                .putLong(1).putLong(4).putLong(2).putLong(5).putLong(3).putLong(6).array();
+        final MDAbstractArray<?> result =
+                MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                        "{'descr': '<i8', 'fortran_order': True, 'shape': (2, 3), }", data)));
+        assertEquals(new MDLongArray(new long[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 }), result);
+    }
+
+    @Test
+    public void testFortranOrder3D()
+    {
+        final int[] dimensions = new int[]
+            { 3, 4, 5 };
+        final byte[] data = new byte[60];
+        // Element (i, j, k) has the value 20 * i + 5 * j + k and the Fortran index i + 3j + 12k.
+        for (int i = 0; i < 3; ++i)
+        {
+            for (int j = 0; j < 4; ++j)
+            {
+                for (int k = 0; k < 5; ++k)
+                {
+                    data[i + 3 * j + 12 * k] = (byte) (20 * i + 5 * j + k);
+                }
+            }
+        }
+        final MDByteArray result =
+                (MDByteArray) MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                        "{'descr': '|u1', 'fortran_order': True, 'shape': (3, 4, 5), }", data)));
+        assertTrue(Arrays.equals(dimensions, result.dimensions()));
+        for (int i = 0; i < 60; ++i)
+        {
+            assertEquals(i, result.getAsFlatArray()[i]);
+        }
+    }
+
+    @Test
+    public void testForeignDescrs()
+    {
+        final byte[] bigEndianInts = ByteBuffer.allocate(8).putInt(-7).putInt(1 << 20).array();
+        assertEquals(new MDIntArray(new int[]
+            { -7, 1 << 20 }, new int[]
+            { 2 }), MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                "{'descr': '>u4', 'fortran_order': False, 'shape': (2L,), }", bigEndianInts))));
+        assertEquals(new MDByteArray(new byte[]
+            { 1, 0, 1 }, new int[]
+            { 3 }), MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                "{\"descr\": \"|b1\", \"fortran_order\": False, \"shape\": (3,)}", new byte[]
+                    { 1, 0, 1 }))));
+        final byte[] scalar = ByteBuffer.allocate(4).order(java.nio.ByteOrder.LITTLE_ENDIAN)
+                .putFloat(2.5f).array();
+        assertEquals(new MDFloatArray(new float[]
+            { 2.5f }, new int[]
+            { 1 }), MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                "{'descr': '<f4', 'fortran_order': False, 'shape': (), }", scalar))));
+    }
+
+    @Test
+    public void testFile() throws Exception
+    {
+        final double[] values = new double[300001];
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = i / 7.0;
+        }
+        final MDDoubleArray large = new MDDoubleArray(values, new int[]
+            { 300001 });
+        final File file = File.createTempFile("mdarray", ".npy");
+        file.deleteOnExit();
+        try
+        {
+            MDArrayNumpyIO.writeNpy(file, large);
+            assertEquals(large, MDArrayNumpyIO.readNpy(file));
+            MDArrayNumpyIO.writeNpy(file, createArrays().get("longs"), ByteOrder.BIG_ENDIAN);
+            assertEquals(createArrays().get("longs"), MDArrayNumpyIO.readNpy(file));
+        } finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testNpz() throws Exception
+    {
+        final File file = File.createTempFile("mdarray", ".npz");
+        file.deleteOnExit();
+        try
+        {
+            for (boolean compress : new boolean[]
+                { false, true })
+            {
+                final Map<String, MDAbstractArray<?>> arrays = createArrays();
+                MDArrayNumpyIO.writeNpz(file, arrays, compress);
+                final Map<String, MDAbstractArray<?>> result = MDArrayNumpyIO.readNpz(file);
+                assertEquals(new ArrayList<String>(arrays.keySet()),
+                        new ArrayList<String>(result.keySet()));
+                for (String name : arrays.keySet())
+                {
+                    assertEquals(name, arrays.get(name), result.get(name));
+                }
+            }
+        } finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNotNpy()
+    {
+        MDArrayNumpyIO.readNpy(new ByteArrayInputStream(new byte[100]));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnsupportedDescr()
+    {
+        MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                "{'descr': '<c16', 'fortran_order': False, 'shape': (1,), }", new byte[16])));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnsupportedArrayType()
+    {
+        MDArrayNumpyIO.writeNpy(new ByteArrayOutputStream(), new MDArray<String>(String.class,
+                new int[]
+                    { 2 }), ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test(expectedExceptions = IOExceptionUnchecked.class)
+    public void testTruncatedData()
+    {
+        MDArrayNumpyIO.readNpy(new ByteArrayInputStream(createNpy(
+                "{'descr': '<i4', 'fortran_order': False, 'shape': (4,), }", new byte[10])));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayNumpyIOTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayNumpyIOTests test = new MDArrayNumpyIOTests();
+        for (Method m : MDArrayNumpyIOTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
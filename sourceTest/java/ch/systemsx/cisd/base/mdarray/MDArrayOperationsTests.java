@@ -0,0 +1,470 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for the MD array operations, e.g. {@link MDDoubleArrayOperations}.
+ *
+ * @author agent
+ */
+public class MDArrayOperationsTests
+{
+    // Large enough to be split into ranges that run in parallel.
+    private static final int LARGE_SIZE = 8 * ParallelLoops.THRESHOLD + 17;
+
+    private static MDDoubleArray createLargeArray()
+    {
+        final MDDoubleArray array = new MDDoubleArray(new int[]
+            { LARGE_SIZE });
+        for (int i = 0; i < LARGE_SIZE; ++i)
+        {
+            array.set(i % 100, i);
+        }
+        return array;
+    }
+
+    @Test
+    public void testElementWise()
+    {
+        final MDDoubleArray a = new MDDoubleArray(new double[]
+            { 1, 2, 3, 4 }, new int[]
+            { 2, 2 });
+        final MDDoubleArray b = new MDDoubleArray(new double[]
+            { 10, 20, 30, 40 }, new int[]
+            { 2, 2 });
+        assertTrue(Arrays.equals(new double[]
+            { 11, 22, 33, 44 }, MDDoubleArrayOperations.add(a, b).getAsFlatArray()));
+        assertTrue(Arrays.equals(new double[]
+            { 9, 18, 27, 36 }, MDDoubleArrayOperations.subtract(b, a).getAsFlatArray()));
+        assertTrue(Arrays.equals(new double[]
+            { 10, 40, 90, 160 }, MDDoubleArrayOperations.multiply(a, b).getAsFlatArray()));
+        assertTrue(Arrays.equals(new double[]
+            { 0.5, 1, 1.5, 2 }, MDDoubleArrayOperations.scale(a, 0.5).getAsFlatArray()));
+        assertTrue(Arrays.equals(new double[]
+            { 2, 2, 3, 3 }, MDDoubleArrayOperations.clamp(a, 2, 3).getAsFlatArray()));
+        MDDoubleArrayOperations.map(a, new MDDoubleArrayOperations.IUnaryOperator()
+            {
+                @Override
+                public double apply(double value)
+                {
+                    return value * value;
+                }
+            }, a);
+        assertTrue(Arrays.equals(new double[]
+            { 1, 4, 9, 16 }, a.getAsFlatArray()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testElementWiseDifferentDimensions()
+    {
+        MDIntArrayOperations.add(new MDIntArray(new int[]
+            { 2, 3 }), new MDIntArray(new int[]
+            { 3, 2 }));
+    }
+
+    @Test
+    public void testElementWiseOverflow()
+    {
+        final MDShortArray a = new MDShortArray(new short[]
+            { Short.MAX_VALUE, 1 }, new int[]
+            { 2 });
+        final MDShortArray sum = MDShortArrayOperations.add(a, a);
+        assertEquals((short) -2, sum.get(0));
+        assertEquals((short) 2, sum.get(1));
+        assertEquals(Short.MAX_VALUE + 1L, MDShortArrayOperations.sum(a, 0).get(0));
+    }
+
+    @Test
+    public void testElementWiseLarge()
+    {
+        final MDDoubleArray a = createLargeArray();
+        final MDDoubleArray result = MDDoubleArrayOperations.add(a, a);
+        for (int i = 0; i < LARGE_SIZE; ++i)
+        {
+            assertEquals(2.0 * (i % 100), result.get(i));
+        }
+    }
+
+    @Test
+    public void testBroadcastVectorAgainst3D()
+    {
+        final MDFloatArray a = new MDFloatArray(new int[]
+            { 2, 3, 4 });
+        for (int i = 0; i < a.size(); ++i)
+        {
+            a.set(i, i);
+        }
+        final MDFloatArray channels = new MDFloatArray(new float[]
+            { 1000, 2000, 3000, 4000 }, new int[]
+            { 4 });
+        final MDFloatArray sum = MDFloatArrayOperations.add(a, channels);
+        assertTrue(Arrays.equals(new int[]
+            { 2, 3, 4 }, sum.dimensions()));
+        final MDFloatArray difference = MDFloatArrayOperations.subtract(channels, a);
+        for (int i = 0; i < 2; ++i)
+        {
+            for (int j = 0; j < 3; ++j)
+            {
+                for (int k = 0; k < 4; ++k)
+                {
+                    assertEquals(a.get(i, j, k) + 1000 * (k + 1), sum.get(i, j, k));
+                    assertEquals(1000 * (k + 1) - a.get(i, j, k), difference.get(i, j, k));
+                }
+            }
+        }
+        // Per-row correction in place.
+        final MDFloatArray rows = new MDFloatArray(new float[]
+            { 2, 3, 4 }, new int[]
+            { 3, 1 });
+        final MDFloatArray copy = new MDFloatArray(a.getCopyAsFlatArray(), a.dimensions());
+        MDFloatArrayOperations.multiply(copy, rows, copy);
+        assertEquals(a.get(1, 2, 3) * 4, copy.get(1, 2, 3));
+        assertEquals(a.get(0, 1, 0) * 3, copy.get(0, 1, 0));
+    }
+
+    @Test
+    public void testBroadcastBothOperands()
+    {
+        final MDIntArray column = new MDIntArray(new int[]
+            { 1, 2, 3 }, new int[]
+            { 3, 1 });
+        final MDIntArray row = new MDIntArray(new int[]
+            { 10, 20, 30, 40 }, new int[]
+            { 1, 4 });
+        final MDIntArray product = MDIntArrayOperations.multiply(column, row);
+        assertTrue(Arrays.equals(new int[]
+            { 3, 4 }, product.dimensions()));
+        assertTrue(Arrays.toString(product.getAsFlatArray()), Arrays.equals(new int[]
+            { 10, 20, 30, 40, 20, 40, 60, 80, 30, 60, 90, 120 }, product.getAsFlatArray()));
+        final MDByteArray bytes = MDByteArrayOperations.add(new MDByteArray(new byte[]
+            { 100, -100 }, new int[]
+            { 2 }), new MDByteArray(new byte[]
+            { 100 }, new int[]
+            { 1 }));
+        assertTrue(Arrays.equals(new byte[]
+            { (byte) 200, 0 }, bytes.getAsFlatArray()));
+    }
+
+    @Test
+    public void testBroadcastLarge()
+    {
+        final MDDoubleArray a = createLargeArray();
+        final MDDoubleArray matrix = new MDDoubleArray(a.getAsFlatArray(), new int[]
+            { 1, LARGE_SIZE });
+        final MDDoubleArray column = new MDDoubleArray(new double[]
+            { 1, 2, 3 }, new int[]
+            { 3, 1 });
+        final MDDoubleArray result = MDDoubleArrayOperations.subtract(matrix, column);
+        for (int i = 0; i < 3; ++i)
+        {
+            for (int j = 0; j < LARGE_SIZE; ++j)
+            {
+                assertEquals((j % 100) - (i + 1.0), result.get(i, j));
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBroadcastWrongResultDimensions()
+    {
+        MDFloatArrayOperations.add(new MDFloatArray(new int[]
+            { 3, 4 }), new MDFloatArray(new int[]
+            { 4 }), new MDFloatArray(new int[]
+            { 4 }));
+    }
+
+    @Test
+    public void testReductions()
+    {
+        final MDIntArray a = new MDIntArray(new int[]
+            { 3, -1, 7, 7, 2, 0 }, new int[]
+            { 2, 3 });
+        assertEquals(18L, MDIntArrayOperations.sum(a));
+        assertEquals(-1, MDIntArrayOperations.min(a));
+        assertEquals(7, MDIntArrayOperations.max(a));
+        assertEquals(2, MDIntArrayOperations.argmax(a));
+        assertEquals(1, MDIntArrayOperations.argmin(a));
+        assertEquals(3.0, MDIntArrayOperations.mean(a), 1e-10);
+        assertEquals(58.0 / 6, MDIntArrayOperations.variance(a), 1e-10);
+    }
+
+    @Test
+    public void testReductionsLarge()
+    {
+        final MDDoubleArray a = createLargeArray();
+        a.set(1000, LARGE_SIZE - 3);
+        double sum = 0;
+        for (int i = 0; i < LARGE_SIZE; ++i)
+        {
+            sum += a.get(i);
+        }
+        assertEquals(sum, MDDoubleArrayOperations.sum(a), 1e-6);
+        assertEquals(1000.0, MDDoubleArrayOperations.max(a));
+        assertEquals(LARGE_SIZE - 3, MDDoubleArrayOperations.argmax(a));
+        assertEquals(0.0, MDDoubleArrayOperations.min(a));
+        assertEquals(sum / LARGE_SIZE, MDDoubleArrayOperations.mean(a), 1e-10);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testMinOfEmptyArray()
+    {
+        MDFloatArrayOperations.min(new MDFloatArray(new int[]
+            { 0 }));
+    }
+
+    @Test
+    public void testReductionsAlongAxis()
+    {
+        // 2 x 3 x 2
+        final MDFloatArray a = new MDFloatArray(new float[]
+            { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 }, new int[]
+            { 2, 3, 2 });
+        assertEquals(new MDDoubleArray(new double[]
+            { 8, 10, 12, 14, 16, 18 }, new int[]
+            { 3, 2 }), MDFloatArrayOperations.sum(a, 0));
+        assertEquals(new MDDoubleArray(new double[]
+            { 9, 12, 27, 30 }, new int[]
+            { 2, 2 }), MDFloatArrayOperations.sum(a, 1));
+        assertEquals(new MDFloatArray(new float[]
+            { 1, 3, 5, 7, 9, 11 }, new int[]
+            { 2, 3 }), MDFloatArrayOperations.min(a, 2));
+        assertEquals(new MDFloatArray(new float[]
+            { 5, 6, 11, 12 }, new int[]
+            { 2, 2 }), MDFloatArrayOperations.max(a, 1));
+        assertEquals(new MDDoubleArray(new double[]
+            { 3, 4, 9, 10 }, new int[]
+            { 2, 2 }), MDFloatArrayOperations.mean(a, 1));
+        assertEquals(new MDDoubleArray(new double[]
+            { 8.0 / 3, 8.0 / 3, 8.0 / 3, 8.0 / 3 }, new int[]
+            { 2, 2 }), MDFloatArrayOperations.variance(a, 1));
+        assertEquals(new MDIntArray(new int[]
+            { 2, 2, 2, 2 }, new int[]
+            { 2, 2 }), MDFloatArrayOperations.argmax(a, 1));
+        assertEquals(new MDDoubleArray(new double[]
+            { 78 }, new int[]
+            { 1 }), MDFloatArrayOperations.sum(new MDFloatArray(a.getAsFlatArray(), new int[]
+            { 12 }), 0));
+    }
+
+    @Test
+    public void testReductionsAlongAxisLarge()
+    {
+        final int rows = 7;
+        final int columns = 2 * ParallelLoops.THRESHOLD + 3;
+        final MDLongArray a = new MDLongArray(new int[]
+            { rows, columns });
+        for (int i = 0; i < rows; ++i)
+        {
+            for (int j = 0; j < columns; ++j)
+            {
+                a.set(i * j, i, j);
+            }
+        }
+        final MDLongArray columnSums = MDLongArrayOperations.sum(a, 0);
+        final MDLongArray rowSums = MDLongArrayOperations.sum(a, 1);
+        final MDIntArray columnArgmax = MDLongArrayOperations.argmax(a, 0);
+        for (int j = 0; j < columns; ++j)
+        {
+            assertEquals(21L * j, columnSums.get(j));
+            assertEquals(j == 0 ? 0 : rows - 1, columnArgmax.get(j));
+        }
+        for (int i = 0; i < rows; ++i)
+        {
+            assertEquals((long) i * columns * (columns - 1) / 2, rowSums.get(i));
+        }
+    }
+
+    @Test
+    public void testSortAlongAxis()
+    {
+        // 2 x 3 x 2
+        final MDIntArray a = new MDIntArray(new int[]
+            { 5, 1, 3, 6, 4, 2, 9, 7, 8, 12, 7, 10 }, new int[]
+            { 2, 3, 2 });
+        final MDIntArray sortedAxis1 = new MDIntArray(a.getCopyAsFlatArray(), a.dimensions());
+        MDIntArrayOperations.sort(sortedAxis1, 1);
+        assertEquals(new MDIntArray(new int[]
+            { 3, 1, 4, 2, 5, 6, 7, 7, 8, 10, 9, 12 }, new int[]
+            { 2, 3, 2 }), sortedAxis1);
+        assertEquals(new MDIntArray(new int[]
+            { 1, 0, 2, 2, 0, 1, 2, 0, 1, 2, 0, 1 }, new int[]
+            { 2, 3, 2 }), MDIntArrayOperations.argsort(a, 1));
+        final MDIntArray sortedAxis2 = new MDIntArray(a.getCopyAsFlatArray(), a.dimensions());
+        MDIntArrayOperations.sort(sortedAxis2, 2);
+        assertEquals(new MDIntArray(new int[]
+            { 1, 5, 3, 6, 2, 4, 7, 9, 8, 12, 7, 10 }, new int[]
+            { 2, 3, 2 }), sortedAxis2);
+    }
+
+    @Test
+    public void testArgsortIsStable()
+    {
+        final MDShortArray a = new MDShortArray(new short[]
+            { 3, 1, 3, 1, 2, 3, 1, 2, 2, 3, 1, 1, 3, 2, 1, 3, 2, 1, 3, 1, 2, 3, 1, 2, 1 },
+                new int[]
+                    { 25 });
+        final int[] indices = MDShortArrayOperations.argsort(a, 0).getAsFlatArray();
+        for (int i = 1; i < indices.length; ++i)
+        {
+            final int previous = a.get(indices[i - 1]);
+            final int current = a.get(indices[i]);
+            assertTrue(previous < current || (previous == current && indices[i - 1] < indices[i]));
+        }
+    }
+
+    @Test
+    public void testTopK()
+    {
+        final MDFloatArray a = new MDFloatArray(new float[]
+            { 3, Float.NaN, -1, 7, 7, 0, 2, 5, 9, 1, 4, 4 }, new int[]
+            { 2, 6 });
+        assertEquals(new MDFloatArray(new float[]
+            { Float.NaN, 7, 7, 9, 5, 4 }, new int[]
+            { 2, 3 }), MDFloatArrayOperations.topK(a, 1, 3));
+        assertEquals(new MDIntArray(new int[]
+            { 1, 3, 4, 2, 1, 4 }, new int[]
+            { 2, 3 }), MDFloatArrayOperations.argTopK(a, 1, 3));
+        assertEquals(new MDFloatArray(new float[]
+            { 3, 5, 9, 7, 7, 4 }, new int[]
+            { 1, 6 }), MDFloatArrayOperations.topK(new MDFloatArray(new float[]
+            { 3, 1, 9, 7, 7, 0, 2, 5, -9, 1, 4, 4 }, new int[]
+            { 2, 6 }), 0, 1));
+        assertEquals(0, MDFloatArrayOperations.topK(a, 1, 0).size());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTopKTooLarge()
+    {
+        MDByteArrayOperations.topK(new MDByteArray(new int[]
+            { 2, 3 }), 0, 3);
+    }
+
+    @Test
+    public void testQuantile()
+    {
+        final MDDoubleArray a = new MDDoubleArray(new double[]
+            { 7, 1, 3, 5, 10, 20, 40, 30 }, new int[]
+            { 2, 4 });
+        assertEquals(1.0, MDDoubleArrayOperations.quantile(a, 0));
+        assertEquals(40.0, MDDoubleArrayOperations.quantile(a, 1));
+        assertEquals(8.5, MDDoubleArrayOperations.quantile(a, 0.5));
+        assertEquals(new MDDoubleArray(new double[]
+            { 4, 25 }, new int[]
+            { 2 }), MDDoubleArrayOperations.quantile(a, 1, 0.5));
+        assertEquals(new MDDoubleArray(new double[]
+            { 5.5, 32.5 }, new int[]
+            { 2 }), MDDoubleArrayOperations.quantile(a, 1, 0.75));
+        assertEquals(new MDDoubleArray(new double[]
+            { 10, 20, 40, 30 }, new int[]
+            { 4 }), MDDoubleArrayOperations.quantile(a, 0, 1));
+        assertEquals(2.0, MDByteArrayOperations.quantile(new MDByteArray(new byte[]
+            { 4, -3, 2, 2, 9 }, new int[]
+            { 5 }), 0.5));
+    }
+
+    @Test
+    public void testQuantileLarge()
+    {
+        final MDDoubleArray a = createLargeArray();
+        final double[] sorted = a.getCopyAsFlatArray();
+        Arrays.sort(sorted);
+        for (double q : new double[]
+            { 0, 0.1, 0.25, 0.5, 0.9, 0.999, 1 })
+        {
+            final double position = q * (LARGE_SIZE - 1);
+            final int lower = (int) position;
+            final double expected =
+                    (lower == position) ? sorted[lower] : sorted[lower] + (position - lower)
+                            * (sorted[lower + 1] - sorted[lower]);
+            assertEquals(expected, MDDoubleArrayOperations.quantile(a, q));
+        }
+        final MDLongArray b = new MDLongArray(new int[]
+            { 3, LARGE_SIZE / 3 });
+        for (int i = 0; i < b.size(); ++i)
+        {
+            b.getAsFlatArray()[i] = (i * 7919L) % 1000;
+        }
+        MDLongArrayOperations.sort(b, 1);
+        for (int i = 0; i < 3; ++i)
+        {
+            for (int j = 1; j < b.size(1); ++j)
+            {
+                assertTrue(b.get(i, j - 1) <= b.get(i, j));
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalQuantile()
+    {
+        MDIntArrayOperations.quantile(new MDIntArray(new int[]
+            { 3 }), 1.5);
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayOperationsTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayOperationsTests test = new MDArrayOperationsTests();
+        for (Method m : MDArrayOperationsTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDArrayPool}.
+ *
+ * @author agent
+ */
+public class MDArrayPoolTests
+{
+    @Test
+    public void testGetSizeClass()
+    {
+        assertEquals(16, MDArrayPool.getSizeClass(0));
+        assertEquals(16, MDArrayPool.getSizeClass(16));
+        assertEquals(20, MDArrayPool.getSizeClass(17));
+        assertEquals(40, MDArrayPool.getSizeClass(33));
+        assertEquals(64, MDArrayPool.getSizeClass(64));
+        assertEquals(80, MDArrayPool.getSizeClass(65));
+        assertEquals(1280, MDArrayPool.getSizeClass(1025));
+        assertEquals(Integer.MAX_VALUE - 100, MDArrayPool.getSizeClass(Integer.MAX_VALUE - 100));
+        for (int length = 1; length < 5000; ++length)
+        {
+            final int sizeClass = MDArrayPool.getSizeClass(length);
+            assertTrue(sizeClass >= length);
+            assertTrue(length <= 16 || sizeClass <= length * 1.25);
+            assertEquals(sizeClass, MDArrayPool.getSizeClass(sizeClass));
+        }
+    }
+
+    @Test
+    public void testReuseBackingArray()
+    {
+        final MDArrayPool pool = new MDArrayPool(1 << 20);
+        final double[] backingArray;
+        try (MDArrayPool.Lease<MDDoubleArray> lease = pool.leaseDoubleArray(10, 10))
+        {
+            final MDDoubleArray array = lease.get();
+            assertEquals(100, array.size());
+            assertTrue(array.capacity() >= 100);
+            array.set(17.0, 3, 4);
+            backingArray = array.getAsFlatArray();
+        }
+        assertEquals(1, pool.getNumberOfPooledArrays());
+        assertEquals(112L * 8, pool.getPooledBytes());
+        // Different shape, same size class.
+        try (MDArrayPool.Lease<MDDoubleArray> lease = pool.leaseDoubleArray(5, 21))
+        {
+            final MDDoubleArray array = lease.get();
+            assertSame(backingArray, array.getAsFlatArray());
+            assertEquals(0.0, array.get(0, 4 * 10 + 3));
+            assertEquals(105, array.size());
+            assertTrue(Arrays.equals(new int[]
+                { 5, 21 }, array.dimensions()));
+            assertEquals(0, pool.getNumberOfPooledArrays());
+        }
+        // Same size class, different type.
+        try (MDArrayPool.Lease<MDLongArray> lease = pool.leaseLongArray(100))
+        {
+            assertEquals(112, lease.get().capacity());
+        }
+        assertEquals(2, pool.getNumberOfPooledArrays());
+    }
+
+    @Test
+    public void testSpareCapacity()
+    {
+        final MDArrayPool pool = new MDArrayPool(1 << 20);
+        try (MDArrayPool.Lease<MDIntArray> lease = pool.leaseIntArray(33, 1))
+        {
+            final MDIntArray array = lease.get();
+            assertEquals(40, array.capacity());
+            final int[] backingArray = array.getAsFlatArray();
+            array.incNumberOfHyperRows(7);
+            assertSame(backingArray, array.getAsFlatArray());
+            array.incNumberOfHyperRows(1);
+            assertNotSame(backingArray, array.getAsFlatArray());
+        }
+        // The grown backing array has length 80 which is a size class.
+        assertEquals(1, pool.getNumberOfPooledArrays());
+        try (MDArrayPool.Lease<MDShortArray> lease = pool.leaseShortArray(17, 3))
+        {
+            // 51 elements are rounded up to 56, which hold one complete spare hyper-row.
+            final MDShortArray array = lease.get();
+            final short[] backingArray = array.getAsFlatArray();
+            assertEquals(56, backingArray.length);
+            array.incNumberOfHyperRows(1);
+            assertSame(backingArray, array.getAsFlatArray());
+            array.set((short) 5, 17, 2);
+            array.incNumberOfHyperRows(1);
+            assertNotSame(backingArray, array.getAsFlatArray());
+            assertEquals(5, array.get(17, 2));
+        }
+    }
+
+    @Test
+    public void testEviction()
+    {
+        final MDArrayPool pool = new MDArrayPool(3 * 64 * 8);
+        final MDArrayPool.Lease<MDDoubleArray> lease1 = pool.leaseDoubleArray(64);
+        final MDArrayPool.Lease<MDDoubleArray> lease2 = pool.leaseDoubleArray(64);
+        final MDArrayPool.Lease<MDDoubleArray> lease3 = pool.leaseDoubleArray(64);
+        final MDArrayPool.Lease<MDDoubleArray> lease4 = pool.leaseDoubleArray(64);
+        final double[] backingArray3 = lease3.get().getAsFlatArray();
+        final double[] backingArray4 = lease4.get().getAsFlatArray();
+        lease1.close();
+        lease2.close();
+        lease3.close();
+        assertEquals(3 * 64 * 8L, pool.getPooledBytes());
+        lease4.close();
+        lease4.close();
+        assertEquals(3, pool.getNumberOfPooledArrays());
+        assertEquals(3 * 64 * 8L, pool.getPooledBytes());
+        // The most recently returned array is handed out first.
+        final MDArrayPool.Lease<MDDoubleArray> lease5 = pool.leaseDoubleArray(8, 8);
+        assertSame(backingArray4, lease5.get().getAsFlatArray());
+        final MDArrayPool.Lease<MDDoubleArray> lease6 = pool.leaseDoubleArray(64);
+        assertSame(backingArray3, lease6.get().getAsFlatArray());
+        // Too large for the pool.
+        pool.leaseDoubleArray(1000).close();
+        assertEquals(1, pool.getNumberOfPooledArrays());
+        pool.clear();
+        assertEquals(0, pool.getNumberOfPooledArrays());
+        assertEquals(0L, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testFrozenArrayIsNotRecycled()
+    {
+        final MDArrayPool pool = new MDArrayPool(1 << 20);
+        final MDFloatArray frozenArray;
+        try (MDArrayPool.Lease<MDFloatArray> lease = pool.leaseFloatArray(4, 4))
+        {
+            frozenArray = lease.get();
+            frozenArray.set(3.5f, 1, 2);
+            frozenArray.freeze();
+        }
+        assertEquals(0, pool.getNumberOfPooledArrays());
+        try (MDArrayPool.Lease<MDFloatArray> lease = pool.leaseFloatArray(4, 4))
+        {
+            final MDFloatArray array = lease.get();
+            assertNotSame(frozenArray.getAsFlatArray(), array.getAsFlatArray());
+            array.set(-1f, 1, 2);
+        }
+        assertEquals(3.5f, frozenArray.get(1, 2));
+        assertEquals(1, pool.getNumberOfPooledArrays());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetAfterClose()
+    {
+        final MDArrayPool pool = new MDArrayPool(1 << 10);
+        final MDArrayPool.Lease<MDByteArray> lease = pool.leaseByteArray(2, 2);
+        lease.close();
+        lease.get();
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayPoolTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayPoolTests test = new MDArrayPoolTests();
+        for (Method m : MDArrayPoolTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
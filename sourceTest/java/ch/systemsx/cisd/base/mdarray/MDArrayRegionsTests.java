@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDArrayRegions}.
+ *
+ * @author agent
+ */
+public class MDArrayRegionsTests
+{
+    private static MDIntArray createArray(int... dimensions)
+    {
+        final MDIntArray array = new MDIntArray(dimensions);
+        final int[] values = array.getAsFlatArray();
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = i + 1;
+        }
+        return array;
+    }
+
+    private static void checkCopy(MDIntArray src, int[] srcOffset, MDIntArray dst,
+            int[] dstOffset, int[] blockShape)
+    {
+        final MDIntArray expected = new MDIntArray(dst.getCopyAsFlatArray(), dst.dimensions());
+        final MDArrayCursor cursor = new MDIntArray(blockShape).cursor();
+        final int[] srcIndex = new int[blockShape.length];
+        final int[] dstIndex = new int[blockShape.length];
+        while (cursor.next())
+        {
+            for (int i = 0; i < blockShape.length; ++i)
+            {
+                srcIndex[i] = srcOffset[i] + cursor.getIndex(i);
+                dstIndex[i] = dstOffset[i] + cursor.getIndex(i);
+            }
+            expected.set(src.get(srcIndex), dstIndex);
+        }
+        MDArrayRegions.copyRegion(src, srcOffset, dst, dstOffset, blockShape);
+        assertEquals(expected, dst);
+    }
+
+    @Test
+    public void testCopy1D()
+    {
+        checkCopy(createArray(10), new int[]
+            { 2 }, new MDIntArray(new int[]
+            { 7 }), new int[]
+            { 1 }, new int[]
+            { 5 });
+    }
+
+    @Test
+    public void testCopy2D()
+    {
+        checkCopy(createArray(6, 8), new int[]
+            { 1, 2 }, new MDIntArray(new int[]
+            { 5, 5 }), new int[]
+            { 2, 1 }, new int[]
+            { 3, 4 });
+        // Whole hyper-rows in both arrays: one run.
+        checkCopy(createArray(6, 8), new int[]
+            { 1, 0 }, new MDIntArray(new int[]
+            { 4, 8 }), new int[]
+            { 0, 0 }, new int[]
+            { 4, 8 });
+    }
+
+    @Test
+    public void testCopy4D()
+    {
+        checkCopy(createArray(3, 4, 5, 6), new int[]
+            { 1, 1, 0, 0 }, new MDIntArray(new int[]
+            { 2, 5, 5, 6 }), new int[]
+            { 0, 2, 0, 0 }, new int[]
+            { 2, 3, 5, 6 });
+        checkCopy(createArray(3, 4, 5, 6), new int[]
+            { 0, 1, 2, 3 }, new MDIntArray(new int[]
+            { 4, 4, 4, 4 }), new int[]
+            { 1, 0, 1, 0 }, new int[]
+            { 3, 2, 3, 3 });
+    }
+
+    @Test
+    public void testCopyLarge()
+    {
+        // Large enough to be copied in parallel.
+        final int rows = 4 * ParallelLoops.THRESHOLD / 64 + 3;
+        checkCopy(createArray(rows, 100), new int[]
+            { 1, 10 }, new MDIntArray(new int[]
+            { rows, 80 }), new int[]
+            { 0, 5 }, new int[]
+            { rows - 1, 64 });
+    }
+
+    @Test
+    public void testCopyOtherTypes()
+    {
+        final MDDoubleArray src = new MDDoubleArray(new double[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 });
+        final MDDoubleArray dst = new MDDoubleArray(new int[]
+            { 2, 2 });
+        MDArrayRegions.copyRegion(src, new int[]
+            { 0, 1 }, dst, new int[]
+            { 0, 0 }, new int[]
+            { 2, 2 });
+        assertEquals(new MDDoubleArray(new double[]
+            { 2, 3, 5, 6 }, new int[]
+            { 2, 2 }), dst);
+        final MDArray<String> srcT = new MDArray<String>(new String[]
+            { "a", "b", "c", "d" }, new int[]
+            { 4 });
+        final MDArray<String> dstT = new MDArray<String>(String.class, new int[]
+            { 2 });
+        MDArrayRegions.copyRegion(srcT, new int[]
+            { 2 }, dstT, new int[]
+            { 0 }, new int[]
+            { 2 });
+        assertEquals("c", dstT.get(0));
+        assertEquals("d", dstT.get(1));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testOutOfRange()
+    {
+        MDArrayRegions.copyRegion(createArray(3, 3), new int[]
+            { 1, 1 }, createArray(3, 3), new int[]
+            { 0, 0 }, new int[]
+            { 3, 1 });
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayRegionsTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayRegionsTests test = new MDArrayRegionsTests();
+        for (Method m : MDArrayRegionsTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -17,8 +17,16 @@
 package ch.systemsx.cisd.base.mdarray;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -140,6 +148,420 @@ public class MDArrayTests
             { 9, 1, 2 }), array.computeIndex(9, 1, 2));
     }
 
+    @Test
+    public void testComputeIndex4()
+    {
+        final MDIntArray array = new MDIntArray(new int[]
+            { 3, 4, 5, 6 });
+        assertTrue(Arrays.equals(new int[]
+            { 120, 30, 6, 1 }, array.strides()));
+        assertEquals(120 * 2 + 30 * 3 + 6 * 4 + 5, array.computeIndex(2, 3, 4, 5));
+        assertEquals(array.computeIndex(2, 3, 4, 5), array.computeIndex(new int[]
+            { 2, 3, 4, 5 }));
+        array.set(17, 2, 3, 4, 5);
+        assertEquals(17, array.get(2, 3, 4, 5));
+        assertEquals(17, array.getAsFlatArray()[120 * 2 + 30 * 3 + 6 * 4 + 5]);
+        final MDIntArray array5 = new MDIntArray(new int[]
+            { 2, 3, 4, 5, 6 });
+        assertEquals(360 + 2 * 120 + 3 * 30 + 4 * 6 + 5, array5.computeIndex(new int[]
+            { 1, 2, 3, 4, 5 }));
+        assertTrue(Arrays.equals(new int[]
+            { 1, 2, 3, 4, 5 }, array5.computeReverseIndex(array5.computeIndex(new int[]
+            { 1, 2, 3, 4, 5 }))));
+    }
+
+    @Test
+    public void testComputeIndices()
+    {
+        final int[][] dimensionsList = new int[][]
+            {
+                { 10 },
+                { 10, 7 },
+                { 10, 7, 3 },
+                { 2, 7, 3, 4, 2 } };
+        for (int[] dims : dimensionsList)
+        {
+            final MDIntArray array = new MDIntArray(dims);
+            final int count = 5;
+            final int[] indices = new int[count * dims.length];
+            for (int i = 0; i < indices.length; ++i)
+            {
+                indices[i] = (i * 7) % dims[i % dims.length];
+            }
+            final int[] linearIndices = new int[count];
+            array.computeIndices(indices, linearIndices, count);
+            for (int i = 0; i < count; ++i)
+            {
+                assertEquals(array.computeIndex(Arrays.copyOfRange(indices, i * dims.length,
+                        (i + 1) * dims.length)), linearIndices[i]);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testComputeIndicesTooShort()
+    {
+        new MDIntArray(new int[]
+            { 3, 3 }).computeIndices(new int[3], new int[2], 2);
+    }
+
+    @Test
+    public void testStridesAfterChangeOfHyperRowCount() throws Exception
+    {
+        final MDFloatArray array = new MDFloatArray(new int[]
+            { 2, 3, 4 });
+        array.incNumberOfHyperRows(5);
+        assertTrue(Arrays.equals(new int[]
+            { 12, 4, 1 }, array.strides()));
+        array.set(3f, 6, 2, 3);
+        assertEquals(3f, array.getAsFlatArray()[6 * 12 + 2 * 4 + 3]);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(array);
+        oos.close();
+        final MDFloatArray copy =
+                (MDFloatArray) new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))
+                        .readObject();
+        assertTrue(Arrays.equals(new int[]
+            { 12, 4, 1 }, copy.strides()));
+        assertEquals(3f, copy.get(6, 2, 3));
+    }
+
+    /**
+     * An {@link MDIntArray} with dimensions <code>{ 4, 2 }</code> and capacity for 6 hyper-rows,
+     * serialized in the legacy format that writes the full <var>flattenedArray</var> field.
+     */
+    private static final String LEGACY_SERIALIZED_INT_ARRAY =
+            "aced00057372002863682e73797374656d73782e636973642e626173652e6d6461727261"
+            + "792e4d44496e74417272617900000000000000010200015b000e666c617474656e656441"
+            + "727261797400025b497872002d63682e73797374656d73782e636973642e626173652e6d"
+            + "6461727261792e4d44416273747261637441727261790000000000000001020004490011"
+            + "63617061636974794879706572526f777349000e6879706572526f774c656e6774684900"
+            + "0473697a655b000a64696d656e73696f6e7371007e000178700000000600000002000000"
+            + "08757200025b494dba602676eab2a502000078700000000200000004000000027571007e"
+            + "00040000000c00000001000000020000000300000004000000050000000600000000ffff"
+            + "fff900000000000000000000000000000000";
+
+    private static Object serializeAndDeserialize(Object object) throws Exception
+    {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(object);
+        oos.close();
+        return new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())).readObject();
+    }
+
+    @Test
+    public void testSerializationWritesOnlySize() throws Exception
+    {
+        final MDDoubleArray array = new MDDoubleArray(new int[]
+            { 1000, 10 });
+        for (int i = 0; i < array.size(); ++i)
+        {
+            array.getAsFlatArray()[i] = i * 0.5;
+        }
+        array.incNumberOfHyperRows(1);
+        array.set(-1.0, 1000, 9);
+        assertTrue(array.capacity() > array.size());
+        final MDDoubleArray copy = (MDDoubleArray) serializeAndDeserialize(array);
+        assertEquals(array, copy);
+        assertEquals(array.size(), copy.capacity());
+        assertEquals(-1.0, copy.get(1000, 9));
+        copy.incNumberOfHyperRows(1);
+        copy.set(2.0, 1001, 0);
+        assertEquals(2.0, copy.get(1001, 0));
+    }
+
+    @Test
+    public void testSerializationAllTypes() throws Exception
+    {
+        final int[] dims = new int[]
+            { 3, 4 };
+        final MDByteArray bytes = new MDByteArray(dims);
+        final MDShortArray shorts = new MDShortArray(dims);
+        final MDIntArray ints = new MDIntArray(dims);
+        final MDLongArray longs = new MDLongArray(dims);
+        final MDFloatArray floats = new MDFloatArray(dims);
+        for (int i = 0; i < 12; ++i)
+        {
+            bytes.getAsFlatArray()[i] = (byte) (i - 6);
+            shorts.getAsFlatArray()[i] = (short) (1000 * i - 6);
+            ints.getAsFlatArray()[i] = 100000 * i - 6;
+            longs.getAsFlatArray()[i] = (1L << 40) * i - 6;
+            floats.getAsFlatArray()[i] = i / 3f;
+        }
+        assertEquals(bytes, serializeAndDeserialize(bytes));
+        assertEquals(shorts, serializeAndDeserialize(shorts));
+        assertEquals(ints, serializeAndDeserialize(ints));
+        assertEquals(longs, serializeAndDeserialize(longs));
+        assertEquals(floats, serializeAndDeserialize(floats));
+        final MDFloatArray empty = new MDFloatArray(new int[]
+            { 0, 5 });
+        assertEquals(empty, serializeAndDeserialize(empty));
+    }
+
+    @Test
+    public void testReleaseWithoutBulkFormatFailsToDeserialize() throws Exception
+    {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(new MDIntArray(new int[]
+            { 1, 2, 3 }, new int[]
+            { 3 }));
+        oos.close();
+        // Simulates a release that only knows the legacy format.
+        final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(
+                bos.toByteArray()))
+            {
+                @Override
+                protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException,
+                        ClassNotFoundException
+                {
+                    if (desc.getName().equals(
+                            MDArraySerialization.SerializedArray.class.getName()))
+                    {
+                        throw new ClassNotFoundException(desc.getName());
+                    }
+                    return super.resolveClass(desc);
+                }
+            };
+        try
+        {
+            ois.readObject();
+            fail("Reading the bulk format without its serialized form class needs to fail.");
+        } catch (ClassNotFoundException ex)
+        {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testDeserializeLegacyFormat() throws Exception
+    {
+        final byte[] serialized = new byte[LEGACY_SERIALIZED_INT_ARRAY.length() / 2];
+        for (int i = 0; i < serialized.length; ++i)
+        {
+            serialized[i] =
+                    (byte) Integer.parseInt(
+                            LEGACY_SERIALIZED_INT_ARRAY.substring(2 * i, 2 * i + 2), 16);
+        }
+        final MDIntArray array =
+                (MDIntArray) new ObjectInputStream(new ByteArrayInputStream(serialized))
+                        .readObject();
+        assertTrue(Arrays.equals(new int[]
+            { 4, 2 }, array.dimensions()));
+        assertEquals(8, array.size());
+        assertEquals(12, array.capacity());
+        assertEquals(-7, array.get(3, 1));
+        assertEquals(new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, 6, 0, -7 }, new int[]
+            { 4, 2 }), array);
+    }
+
+    @Test
+    public void testFreeze()
+    {
+        final MDIntArray array = new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 });
+        final int hashCode = array.hashCode();
+        assertFalse(array.isFrozen());
+        array.freeze();
+        assertTrue(array.isFrozen());
+        assertEquals(hashCode, array.hashCode());
+        assertEquals(hashCode, array.hashCode());
+        assertEquals(5, array.get(1, 1));
+        try
+        {
+            array.set(17, 1, 1);
+            fail("Frozen array must not be changed.");
+        } catch (IllegalStateException ex)
+        {
+            // expected
+        }
+        try
+        {
+            array.incNumberOfHyperRows(1);
+            fail("Frozen array must not be changed.");
+        } catch (IllegalStateException ex)
+        {
+            // expected
+        }
+        final MDIntArray other = new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, 7 }, new int[]
+            { 2, 3 });
+        other.freeze();
+        assertFalse(array.equals(other));
+        assertFalse(other.equals(array));
+    }
+
+    @Test
+    public void testFrozenDestinationOfOperations()
+    {
+        final MDFloatArray a = new MDFloatArray(new float[]
+            { 4, 3, 2, 1 }, new int[]
+            { 2, 2 });
+        final MDFloatArray frozen = new MDFloatArray(new float[]
+            { 1, 2, 3, 4 }, new int[]
+            { 2, 2 });
+        frozen.freeze();
+        final int hashCode = frozen.hashCode();
+        final Runnable[] operations = new Runnable[]
+            { new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDFloatArrayOperations.add(a, a, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDFloatArrayOperations.scale(a, 2f, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDFloatArrayOperations.sort(frozen, 0);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDArrayRegions.copyRegion(a, new int[]
+                            { 0, 0 }, frozen, new int[]
+                            { 0, 0 }, new int[]
+                            { 1, 1 });
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDFloatExpression.of(a).add(1f).evaluateInto(frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDMatrixOperations.gemm(1f, a, false, a, false, 0f, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDArrayKernels.scale(a, 2f, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDArrayKernels.threshold(a, 2f, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        MDArrayKernels.axpy(2f, a, frozen);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        new MDFloatArrayView(frozen).set(7f, 1, 1);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        new MDFloatArrayView(frozen).transpose().slice(0, 1).set(7f, 0);
+                    }
+                }, new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        new MDFloatArrayView(frozen).toMDArray().set(7f, 0, 0);
+                    }
+                } };
+        for (int i = 0; i < operations.length; ++i)
+        {
+            try
+            {
+                operations[i].run();
+                fail("Operation " + i + ": frozen array must not be changed.");
+            } catch (IllegalStateException ex)
+            {
+                // expected
+            }
+        }
+        assertEquals(hashCode, frozen.hashCode());
+        assertEquals(new MDFloatArray(new float[]
+            { 1, 2, 3, 4 }, new int[]
+            { 2, 2 }), frozen);
+        final MDFloatArrayView view = new MDFloatArrayView(frozen).transpose();
+        assertTrue(view.isReadOnly());
+        assertEquals(3f, view.get(0, 1));
+        assertFalse(new MDFloatArrayView(a).isReadOnly());
+    }
+
+    @Test
+    public void testHashCodeAndEqualsCoverOnlySize()
+    {
+        final MDFloatArray array = new MDFloatArray(new float[]
+            { 1, 2, 3, 4 }, new int[]
+            { 2, 2 });
+        array.incNumberOfHyperRows(1);
+        array.set(Float.NaN, 2, 1);
+        final MDFloatArray other = new MDFloatArray(new float[]
+            { 1, 2, 3, 4, 0, Float.NaN }, new int[]
+            { 3, 2 });
+        assertTrue(array.capacity() > array.size());
+        assertEquals(other, array);
+        assertEquals(other.hashCode(), array.hashCode());
+        array.decNumberOfHyperRows(1);
+        assertFalse(other.equals(array));
+    }
+
+    @Test
+    public void testHashCodeAndEqualsOfLargeArrays()
+    {
+        final int length = 5 * (1 << 16) + 3;
+        final double[] values = new double[length];
+        final Integer[] objects = new Integer[length];
+        for (int i = 0; i < length; ++i)
+        {
+            values[i] = Math.sin(i);
+            objects[i] = (i % 7 == 0) ? null : Integer.valueOf(i);
+        }
+        final MDDoubleArray array = new MDDoubleArray(values, new int[]
+            { length });
+        final MDDoubleArray copy = new MDDoubleArray(values.clone(), new int[]
+            { length });
+        assertEquals(31 * (31 + Arrays.hashCode(values)) + Arrays.hashCode(new int[]
+            { length }), array.hashCode());
+        assertEquals(array, copy);
+        copy.set(0.5, length - 2);
+        assertFalse(array.equals(copy));
+        final MDArray<Integer> objectArray = new MDArray<Integer>(objects, new int[]
+            { length });
+        assertEquals(31 * (31 + Arrays.hashCode(objects)) + Arrays.hashCode(new int[]
+            { length }), objectArray.hashCode());
+        assertEquals(objectArray, new MDArray<Integer>(objects.clone(), new int[]
+            { length }));
+    }
+
     @Test
     public void testEmptyMatrix()
     {
@@ -266,6 +688,74 @@ public class MDArrayTests
         }
     }
 
+    @Test
+    public void testMDIntArrayCursor()
+    {
+        final int[] linArray = new int[120];
+        for (int i = 0; i < linArray.length; ++i)
+        {
+            linArray[i] = i;
+        }
+        final MDIntArray array = new MDIntArray(linArray, new int[]
+            { 2, 3, 4, 5 });
+        final MDArrayCursor cursor = array.cursor();
+        assertEquals(-1, cursor.getLinearIndex());
+        int count = 0;
+        while (cursor.next())
+        {
+            assertEquals(count, cursor.getLinearIndex());
+            assertTrue(Arrays.equals(array.computeReverseIndex(count), cursor.getIndex()));
+            ++count;
+        }
+        assertEquals(120, count);
+        assertEquals(false, cursor.hasNext());
+        cursor.moveTo(59);
+        assertTrue(cursor.next());
+        assertTrue(Arrays.equals(new int[]
+            { 1, 0, 0, 0 }, cursor.getIndex()));
+        assertEquals(1, cursor.getIndex(0));
+        cursor.reset();
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getLinearIndex());
+        assertEquals(false, new MDIntArray(new int[]
+            { 0, 3 }).cursor().next());
+    }
+
+    @Test
+    public void testForEach()
+    {
+        final MDFloatArray array = new MDFloatArray(new float[]
+            { 1f, 2f, 3f, 4f, 5f, 6f }, new int[]
+            { 2, 3 });
+        final float[] sums = new float[2];
+        array.forEach(new MDFloatArray.IValueProcessor()
+            {
+                @Override
+                public void process(int[] index, float value)
+                {
+                    assertEquals(array.get(index[0], index[1]), value);
+                    sums[index[0]] += value;
+                }
+            });
+        assertTrue(Arrays.equals(new float[]
+            { 6f, 15f }, sums));
+        final MDShortArray shortArray = new MDShortArray(new int[]
+            { 4 });
+        shortArray.incNumberOfHyperRows(1);
+        shortArray.set((short) 7, 4);
+        final int[] count = new int[1];
+        shortArray.forEach(new MDShortArray.IValueProcessor()
+            {
+                @Override
+                public void process(int[] index, short value)
+                {
+                    assertEquals((index[0] == 4) ? 7 : 0, value);
+                    ++count[0];
+                }
+            });
+        assertEquals(5, count[0]);
+    }
+
     @Test
     public void testMDFloatArrayMatrix()
     {
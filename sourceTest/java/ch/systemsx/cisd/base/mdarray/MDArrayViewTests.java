@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDAbstractArrayView}.
+ *
+ * @author agent
+ */
+public class MDArrayViewTests
+{
+    private static MDDoubleArray create2DArray()
+    {
+        // 3 x 4
+        return new MDDoubleArray(new double[]
+            { 0, 1, 2, 3, 10, 11, 12, 13, 20, 21, 22, 23 }, new int[]
+            { 3, 4 });
+    }
+
+    @Test
+    public void testFullView()
+    {
+        final MDDoubleArray array = create2DArray();
+        final MDDoubleArrayView view = new MDDoubleArrayView(array);
+        assertTrue(view.isContiguous());
+        assertSame(array.getAsFlatArray(), view.getAsFlatArray());
+        assertEquals(12.0, view.get(1, 2));
+        view.set(-1.0, 2, 3);
+        assertEquals(-1.0, array.get(2, 3));
+        assertEquals(array, view.toMDArray());
+    }
+
+    @Test
+    public void testTranspose()
+    {
+        final MDDoubleArray array = create2DArray();
+        final MDDoubleArrayView transposed = new MDDoubleArrayView(array).transpose();
+        assertTrue(Arrays.equals(new int[]
+            { 4, 3 }, transposed.dimensions()));
+        assertFalse(transposed.isContiguous());
+        assertEquals(21.0, transposed.get(1, 2));
+        assertTrue(Arrays.equals(new double[]
+            { 0, 10, 20, 1, 11, 21, 2, 12, 22, 3, 13, 23 }, transposed.getAsFlatArray()));
+        assertEquals(new MDDoubleArray(array.toMatrix()), transposed.transpose().toMDArray());
+    }
+
+    @Test
+    public void testSliceAndRange()
+    {
+        final MDDoubleArray array = create2DArray();
+        final MDDoubleArrayView view = new MDDoubleArrayView(array);
+        final MDDoubleArrayView row = view.slice(0, 1);
+        assertEquals(1, row.rank());
+        assertTrue(Arrays.equals(new double[]
+            { 10, 11, 12, 13 }, row.getAsFlatArray()));
+        final MDDoubleArrayView column = view.slice(1, 2);
+        assertTrue(Arrays.equals(new double[]
+            { 2, 12, 22 }, column.getAsFlatArray()));
+        column.set(99.0, 1);
+        assertEquals(99.0, array.get(1, 2));
+        final MDDoubleArrayView stepped = view.range(1, 1, 4, 2);
+        assertTrue(Arrays.equals(new int[]
+            { 3, 2 }, stepped.dimensions()));
+        assertTrue(Arrays.equals(new double[]
+            { 1, 3, 11, 13, 21, 23 }, stepped.getAsFlatArray()));
+    }
+
+    @Test
+    public void testBlock()
+    {
+        final MDIntArray array = new MDIntArray(new int[]
+            { 4, 5, 6 });
+        for (int i = 0; i < array.size(); ++i)
+        {
+            array.getAsFlatArray()[i] = i;
+        }
+        final MDIntArrayView block = new MDIntArrayView(array).block(new int[]
+            { 1, 2, 3 }, new int[]
+            { 2, 2, 2 });
+        assertEquals(array.get(1, 2, 3), block.get(0, 0, 0));
+        assertEquals(array.get(2, 3, 4), block.get(1, 1, 1));
+        final int[] flat = block.getAsFlatArray();
+        assertEquals(8, flat.length);
+        assertEquals(array.get(2, 2, 4), flat[5]);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testBlockOutOfBounds()
+    {
+        new MDIntArrayView(new MDIntArray(new int[]
+            { 4, 5 })).block(new int[]
+            { 3, 0 }, new int[]
+            { 2, 5 });
+    }
+
+    @Test
+    public void testPermute()
+    {
+        final MDFloatArray array = new MDFloatArray(new int[]
+            { 2, 3, 4 });
+        array.set(7f, 1, 2, 3);
+        final MDFloatArrayView permuted = new MDFloatArrayView(array).permute(2, 0, 1);
+        assertTrue(Arrays.equals(new int[]
+            { 4, 2, 3 }, permuted.dimensions()));
+        assertEquals(7f, permuted.get(3, 1, 2));
+        assertEquals(array, permuted.permute(1, 2, 0).toMDArray());
+    }
+
+    @Test
+    public void testReshape()
+    {
+        final MDDoubleArray array = create2DArray();
+        final MDDoubleArrayView view = new MDDoubleArrayView(array);
+        final MDDoubleArrayView reshaped = view.reshape(2, 6);
+        assertSame(array.getAsFlatArray(), reshaped.getAsFlatArray());
+        assertEquals(12.0, reshaped.get(1, 0));
+        // A range of rows is still contiguous within each row.
+        final MDDoubleArrayView columns = view.range(1, 0, 4, 2).reshape(6);
+        assertTrue(Arrays.equals(new double[]
+            { 0, 2, 10, 12, 20, 22 }, columns.getAsFlatArray()));
+        final MDDoubleArrayView rows = view.range(0, 1, 3, 1).reshape(2, 2, 2);
+        assertEquals(23.0, rows.get(1, 1, 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testReshapeNeedsCopy()
+    {
+        new MDDoubleArrayView(create2DArray()).transpose().reshape(12);
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDArrayViewTests.class.getSimpleName());
+        System.out.println();
+        final MDArrayViewTests test = new MDArrayViewTests();
+        for (Method m : MDArrayViewTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDAbstractChunkedArray}.
+ *
+ * @author agent
+ */
+public class MDChunkedArrayTests
+{
+    @Test
+    public void testDefaultHyperRowsPerChunk()
+    {
+        assertEquals(1 << 20, MDAbstractChunkedArray.getDefaultHyperRowsPerChunk(new int[]
+            { 0 }));
+        assertEquals(1 << 10, MDAbstractChunkedArray.getDefaultHyperRowsPerChunk(new int[]
+            { 0, 32, 32 }));
+        assertEquals(1 << 11, MDAbstractChunkedArray.getDefaultHyperRowsPerChunk(new int[]
+            { 0, 1000 }));
+        assertEquals(1, MDAbstractChunkedArray.getDefaultHyperRowsPerChunk(new int[]
+            { 0, 2048, 2048 }));
+    }
+
+    @Test
+    public void testGrowWithoutCopy()
+    {
+        final MDFloatChunkedArray array = new MDFloatChunkedArray(new int[]
+            { 3, 2, 2 }, 4);
+        assertEquals(3, array.numberOfHyperRows());
+        assertEquals(4, array.capacityHyperRows());
+        array.set(1.5f, 2, 1, 1);
+        array.appendHyperRows(new float[]
+            { 1, 2, 3, 4, 5, 6, 7, 8 }, 0, 2);
+        assertEquals(5, array.numberOfHyperRows());
+        assertEquals(8, array.capacityHyperRows());
+        assertEquals(20, array.size());
+        assertEquals(1.5f, array.get(2, 1, 1));
+        assertEquals(1f, array.get(3, 0, 0));
+        assertEquals(8f, array.get(new int[]
+            { 4, 1, 1 }));
+        final float[] row = new float[4];
+        array.getHyperRow(4, row, 0);
+        assertTrue(Arrays.equals(new float[]
+            { 5, 6, 7, 8 }, row));
+        final MDFloatArray copy = array.toMDArray();
+        assertTrue(Arrays.equals(new int[]
+            { 5, 2, 2 }, copy.dimensions()));
+        assertEquals(1.5f, copy.get(2, 1, 1));
+        assertEquals(7f, copy.get(4, 1, 0));
+    }
+
+    @Test
+    public void testShrinkAndTrim()
+    {
+        final MDIntChunkedArray array = new MDIntChunkedArray(new int[]
+            { 9, 3 }, 2);
+        assertEquals(10, array.capacityHyperRows());
+        array.set(42, 2, 1);
+        array.decNumberOfHyperRows(6);
+        assertEquals(3, array.numberOfHyperRows());
+        assertEquals(10, array.capacityHyperRows());
+        array.trimToSize();
+        assertEquals(4, array.capacityHyperRows());
+        assertEquals(42, array.get(2, 1));
+        assertEquals(42, array.getAsObject(2, 1).intValue());
+        assertEquals(new MDIntArray(new int[]
+            { 0, 0, 0, 0, 0, 0, 0, 42, 0 }, new int[]
+            { 3, 3 }), array.toMDArray());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testHyperRowOutOfRange()
+    {
+        new MDShortChunkedArray(new int[]
+            { 2, 3 }).setHyperRow(2, new short[3], 0);
+    }
+
+    @Test
+    public void testAppendFromShortSource()
+    {
+        final MDLongChunkedArray array = new MDLongChunkedArray(new int[]
+            { 1, 4 }, 2);
+        try
+        {
+            array.appendHyperRows(new long[6], 0, 2);
+            fail("Appending from a too short source array needs to fail.");
+        } catch (IndexOutOfBoundsException ex)
+        {
+            // Expected.
+        }
+        assertEquals(1, array.numberOfHyperRows());
+        assertEquals(4, array.size());
+        array.appendHyperRows(new long[]
+            { 0, 0, 1, 2, 3, 4 }, 2, 1);
+        assertEquals(2, array.numberOfHyperRows());
+        assertEquals(4L, array.get(1, 3));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testChunkSizeNotPowerOfTwo()
+    {
+        new MDDoubleChunkedArray(new int[]
+            { 2, 3 }, 3);
+    }
+
+    @Test
+    public void testGrowthPolicies()
+    {
+        assertSame(GrowthPolicies.DOUBLING, new MDIntArray(new int[]
+            { 1 }).getGrowthPolicy());
+        assertEquals(20, GrowthPolicies.DOUBLING.computeNewCapacity(10, 11));
+        assertEquals(15, GrowthPolicies.factor(1.5).computeNewCapacity(10, 11));
+        assertEquals(30, GrowthPolicies.factor(1.5).computeNewCapacity(10, 30));
+        assertEquals(11, GrowthPolicies.EXACT.computeNewCapacity(10, 11));
+        assertEquals(110, GrowthPolicies.increment(100).computeNewCapacity(10, 11));
+        assertEquals(1004, GrowthPolicies.capped(GrowthPolicies.DOUBLING, 4)
+                .computeNewCapacity(1000, 1001));
+        assertEquals(1010, GrowthPolicies.capped(GrowthPolicies.DOUBLING, 4)
+                .computeNewCapacity(1000, 1010));
+        assertEquals(Integer.MAX_VALUE, GrowthPolicies.DOUBLING.computeNewCapacity(
+                Integer.MAX_VALUE / 2 + 1, Integer.MAX_VALUE / 2 + 2));
+    }
+
+    @Test
+    public void testGrowthPolicyAndTrimToSize()
+    {
+        final MDLongArray array = new MDLongArray(new int[]
+            { 2, 3 });
+        array.setGrowthPolicy(GrowthPolicies.increment(5));
+        array.set(7L, 1, 2);
+        array.incNumberOfHyperRows(1);
+        assertEquals(7 * 3, array.capacity());
+        array.incNumberOfHyperRows(5);
+        assertEquals(12 * 3, array.capacity());
+        array.decNumberOfHyperRows(4);
+        array.trimToSize();
+        assertEquals(4 * 3, array.capacity());
+        assertEquals(4 * 3, array.getAsFlatArray().length);
+        assertEquals(7L, array.get(1, 2));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDChunkedArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDChunkedArrayTests test = new MDChunkedArrayTests();
+        for (Method m : MDChunkedArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDAbstractConcurrentArray}.
+ *
+ * @author agent
+ */
+public class MDConcurrentArrayTests
+{
+    @Test
+    public void testSegments()
+    {
+        final MDIntConcurrentArray array = new MDIntConcurrentArray(new int[]
+            { 0, 2 }, 4);
+        assertEquals(0, array.getSegmentIndex(0));
+        assertEquals(0, array.getSegmentIndex(3));
+        assertEquals(1, array.getSegmentIndex(4));
+        assertEquals(1, array.getSegmentIndex(11));
+        assertEquals(2, array.getSegmentIndex(12));
+        assertEquals(12, array.getSegmentStart(2));
+        assertEquals(28, array.getSegmentEnd(2));
+    }
+
+    @Test
+    public void testInitialHyperRows()
+    {
+        final MDFloatConcurrentArray array = new MDFloatConcurrentArray(new int[]
+            { 3, 2, 2 });
+        assertEquals(3, array.numberOfPublishedHyperRows());
+        assertEquals(3, array.rank());
+        assertEquals(0f, array.get(2, 1, 1));
+        assertEquals(new MDFloatArray(new int[]
+            { 3, 2, 2 }), array.toMDArray());
+    }
+
+    @Test
+    public void testPublishInOrder()
+    {
+        final MDShortConcurrentArray array = new MDShortConcurrentArray(new int[]
+            { 0, 3 }, 1);
+        final int first = array.reserveHyperRows(2);
+        final int second = array.reserveHyperRows(3);
+        assertEquals(0, first);
+        assertEquals(2, second);
+        assertEquals(5, array.numberOfReservedHyperRows());
+        for (int i = 0; i < 3; ++i)
+        {
+            array.setHyperRow(second + i, new short[]
+                { 7, 8, (short) i }, 0);
+        }
+        array.commitHyperRows(second, 3);
+        // The second block is committed, but not published as the first block is missing.
+        assertEquals(0, array.numberOfPublishedHyperRows());
+        array.set((short) 5, first + 1, 2);
+        array.commitHyperRows(first, 2);
+        assertEquals(5, array.numberOfPublishedHyperRows());
+        assertEquals(5, array.get(1, 2));
+        final short[] row = new short[3];
+        array.getHyperRow(4, row, 0);
+        assertTrue(Arrays.equals(new short[]
+            { 7, 8, 2 }, row));
+        assertTrue(Arrays.equals(new int[]
+            { 5, 3 }, array.toMDArray().dimensions()));
+    }
+
+    @Test
+    public void testAppendFromShortSource()
+    {
+        final MDIntConcurrentArray array = new MDIntConcurrentArray(new int[]
+            { 0, 2 }, 1);
+        try
+        {
+            array.appendHyperRows(new int[]
+                { 1, 2, 3 }, 0, 2);
+            fail("Appending from a too short source array needs to fail.");
+        } catch (IndexOutOfBoundsException ex)
+        {
+            // Expected.
+        }
+        assertEquals(0, array.numberOfReservedHyperRows());
+        assertEquals(0, array.appendHyperRows(new int[]
+            { 1, 2, 3, 4 }, 0, 2));
+        assertEquals(2, array.numberOfPublishedHyperRows());
+        assertEquals(4, array.get(1, 1));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetUnpublished()
+    {
+        final MDDoubleConcurrentArray array = new MDDoubleConcurrentArray(new int[]
+            { 0, 3 });
+        array.reserveHyperRows(1);
+        array.get(0, 0);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testSetUnreserved()
+    {
+        new MDLongConcurrentArray(new int[]
+            { 1 }).set(1L, 1);
+    }
+
+    @Test
+    public void testConcurrentAppends() throws Exception
+    {
+        final int numberOfThreads = 4;
+        final int hyperRowsPerThread = 5000;
+        final MDIntConcurrentArray array = new MDIntConcurrentArray(new int[]
+            { 0, 2 }, 16);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final Thread[] producers = new Thread[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; ++t)
+        {
+            final int threadNo = t;
+            producers[t] = new Thread(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        try
+                        {
+                            start.await();
+                            for (int i = 0; i < hyperRowsPerThread; i += 2)
+                            {
+                                array.appendHyperRows(new int[]
+                                    { threadNo, i, threadNo, i + 1 }, 0, 2);
+                            }
+                        } catch (Throwable th)
+                        {
+                            failure.set(th);
+                        }
+                    }
+                });
+            producers[t].start();
+        }
+        start.countDown();
+        // Read the published prefix while the producers are running.
+        int checked = 0;
+        final int total = numberOfThreads * hyperRowsPerThread;
+        while (checked < total && failure.get() == null)
+        {
+            final int published = array.numberOfPublishedHyperRows();
+            for (; checked < published; ++checked)
+            {
+                final int thread = array.get(checked, 0);
+                assertTrue(thread >= 0 && thread < numberOfThreads);
+            }
+        }
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+        if (failure.get() != null)
+        {
+            throw new RuntimeException(failure.get());
+        }
+        assertEquals(total, array.numberOfPublishedHyperRows());
+        final boolean[][] seen = new boolean[numberOfThreads][hyperRowsPerThread];
+        final MDIntArray copy = array.toMDArray();
+        for (int i = 0; i < total; ++i)
+        {
+            final int thread = copy.get(i, 0);
+            final int index = copy.get(i, 1);
+            assertEquals(false, seen[thread][index]);
+            seen[thread][index] = true;
+        }
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDConcurrentArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDConcurrentArrayTests test = new MDConcurrentArrayTests();
+        for (Method m : MDConcurrentArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDFloatExpression} and {@link MDDoubleExpression}.
+ *
+ * @author agent
+ */
+public class MDExpressionTests
+{
+    private static MDFloatArray createFloatArray(int[] dimensions, int seed)
+    {
+        final MDFloatArray array = new MDFloatArray(dimensions);
+        final float[] values = array.getAsFlatArray();
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = ((i * 31 + seed * 17) % 101) / 7f + 1f;
+        }
+        return array;
+    }
+
+    private static MDDoubleArray createDoubleArray(int[] dimensions, int seed)
+    {
+        final MDDoubleArray array = new MDDoubleArray(dimensions);
+        final double[] values = array.getAsFlatArray();
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = ((i * 31 + seed * 17) % 101) / 7.0 - 3.0;
+        }
+        return array;
+    }
+
+    @Test
+    public void testFlatFieldCorrection()
+    {
+        // More than one block and not a multiple of the block size.
+        final int[] dims = new int[]
+            { 7, 301 };
+        final MDFloatArray image = createFloatArray(dims, 1);
+        final MDFloatArray dark = createFloatArray(dims, 2);
+        final MDFloatArray flat = createFloatArray(dims, 3);
+        final MDFloatArray result =
+                MDFloatExpression.of(image).subtract(dark).multiply(2.5f).divide(flat).evaluate();
+        for (int i = 0; i < image.size(); ++i)
+        {
+            final float expected = (image.get(i) - dark.get(i)) * 2.5f / flat.get(i);
+            assertEquals(expected, result.get(i));
+        }
+    }
+
+    @Test
+    public void testNestedExpressions()
+    {
+        final int[] dims = new int[]
+            { 3, 1000 };
+        final MDDoubleArray a = createDoubleArray(dims, 1);
+        final MDDoubleArray b = createDoubleArray(dims, 2);
+        final MDDoubleArray c = createDoubleArray(dims, 3);
+        final MDDoubleExpression expression =
+                MDDoubleExpression
+                        .of(a)
+                        .multiply(MDDoubleExpression.of(b).add(c))
+                        .subtract(
+                                MDDoubleExpression.constant(1.0).divide(
+                                        MDDoubleExpression.of(c).subtract(
+                                                MDDoubleExpression.of(b).abs().negate())))
+                        .max(MDDoubleExpression.constant(-2.0)).sqrt();
+        assertEquals(3, expression.getScratchDepth());
+        final MDDoubleArray result = expression.evaluate();
+        for (int i = 0; i < a.size(); ++i)
+        {
+            final double expected =
+                    Math.sqrt(Math.max(a.get(i) * (b.get(i) + c.get(i)) - 1.0
+                            / (c.get(i) - -Math.abs(b.get(i))), -2.0));
+            assertEquals(expected, result.get(i));
+        }
+    }
+
+    @Test
+    public void testEvaluateIntoOperand()
+    {
+        final int[] dims = new int[]
+            { 2500 };
+        final MDFloatArray a = createFloatArray(dims, 1);
+        final MDFloatArray b = createFloatArray(dims, 2);
+        final MDFloatArray expected = MDFloatArrayOperations.subtract(b, a);
+        MDFloatExpression.of(b).subtract(a).evaluateInto(a);
+        assertEquals(expected, a);
+    }
+
+    @Test
+    public void testMapAndClamp()
+    {
+        final int[] dims = new int[]
+            { 10, 10 };
+        final MDFloatArray a = createFloatArray(dims, 5);
+        final MDFloatArrayOperations.IUnaryOperator square =
+                new MDFloatArrayOperations.IUnaryOperator()
+                    {
+                        @Override
+                        public float apply(float value)
+                        {
+                            return value * value;
+                        }
+                    };
+        final MDFloatArray result = MDFloatExpression.of(a).map(square).clamp(4f, 100f).evaluate();
+        assertEquals(MDFloatArrayOperations.clamp(
+                MDFloatArrayOperations.multiply(a, a), 4f, 100f), result);
+    }
+
+    @Test
+    public void testConstantExpression()
+    {
+        final MDDoubleArray result = new MDDoubleArray(new int[]
+            { 4 });
+        MDDoubleExpression.constant(2.0).multiply(3.0).evaluateInto(result);
+        assertEquals(new MDDoubleArray(new double[]
+            { 6, 6, 6, 6 }, new int[]
+            { 4 }), result);
+        assertNull(MDDoubleExpression.constant(1.0).dimensions());
+    }
+
+    @Test
+    public void testLargeArray()
+    {
+        final int[] dims = new int[]
+            { 1 << 17 };
+        final MDDoubleArray a = createDoubleArray(dims, 1);
+        final MDDoubleArray b = createDoubleArray(dims, 2);
+        final MDDoubleArray result = MDDoubleExpression.of(a).add(b).multiply(a).evaluate();
+        assertEquals(MDDoubleArrayOperations.multiply(MDDoubleArrayOperations.add(a, b), a),
+                result);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDifferentDimensions()
+    {
+        MDFloatExpression.of(new MDFloatArray(new int[]
+            { 2, 3 })).add(new MDFloatArray(new int[]
+            { 3, 2 }));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testEvaluateConstant()
+    {
+        MDFloatExpression.constant(1f).evaluate();
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDExpressionTests.class.getSimpleName());
+        System.out.println();
+        final MDExpressionTests test = new MDExpressionTests();
+        for (Method m : MDExpressionTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDMatrixOperations}.
+ *
+ * @author agent
+ */
+public class MDMatrixOperationsTests
+{
+    private static MDDoubleArray createMatrix(int rows, int columns, int seed)
+    {
+        final MDDoubleArray matrix = new MDDoubleArray(new int[]
+            { rows, columns });
+        final double[] values = matrix.getAsFlatArray();
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = ((i * 37 + seed * 11) % 23) - 11;
+        }
+        return matrix;
+    }
+
+    private static MDDoubleArray createVector(int length, int seed)
+    {
+        return new MDDoubleArray(createMatrix(1, length, seed).getAsFlatArray(), new int[]
+            { length });
+    }
+
+    private static double get(MDDoubleArray matrix, boolean transpose, int i, int j)
+    {
+        return transpose ? matrix.get(j, i) : matrix.get(i, j);
+    }
+
+    private static void checkGemm(int m, int k, int n, boolean transposeA, boolean transposeB)
+    {
+        final MDDoubleArray a = transposeA ? createMatrix(k, m, 1) : createMatrix(m, k, 1);
+        final MDDoubleArray b = transposeB ? createMatrix(n, k, 2) : createMatrix(k, n, 2);
+        final MDDoubleArray c = createMatrix(m, n, 3);
+        final MDDoubleArray expected = new MDDoubleArray(new int[]
+            { m, n });
+        for (int i = 0; i < m; ++i)
+        {
+            for (int j = 0; j < n; ++j)
+            {
+                double sum = 0;
+                for (int l = 0; l < k; ++l)
+                {
+                    sum += get(a, transposeA, i, l) * get(b, transposeB, l, j);
+                }
+                expected.set(2 * sum - 0.5 * c.get(i, j), i, j);
+            }
+        }
+        MDMatrixOperations.gemm(2, a, transposeA, b, transposeB, -0.5, c);
+        assertEquals("transposeA=" + transposeA + ", transposeB=" + transposeB, expected, c);
+    }
+
+    @Test
+    public void testGemm()
+    {
+        // Sizes that are not multiples of the block sizes.
+        checkGemm(37, 300, 270, false, false);
+        checkGemm(37, 300, 270, true, false);
+        checkGemm(37, 300, 270, false, true);
+        checkGemm(37, 300, 270, true, true);
+        checkGemm(1, 1, 1, true, true);
+        // More rows than fit into one parallel task, so that tasks share the packed blocks.
+        checkGemm(3 * MDMatrixOperations.M_BLOCK + 5, 150, 260, false, true);
+        checkGemm(3 * MDMatrixOperations.M_BLOCK + 5, 150, 260, true, false);
+    }
+
+    @Test
+    public void testGemv()
+    {
+        final MDDoubleArray a = createMatrix(50, 70, 1);
+        final MDDoubleArray vx = createVector(70, 2);
+        final MDDoubleArray vz = createVector(50, 3);
+        final MDDoubleArray y = MDMatrixOperations.multiply(a, vx);
+        final MDDoubleArray z = new MDDoubleArray(new int[]
+            { 70 });
+        z.set(42.0, 3);
+        MDMatrixOperations.gemv(3, a, true, vz, 0, z);
+        for (int i = 0; i < 50; ++i)
+        {
+            double sum = 0;
+            for (int j = 0; j < 70; ++j)
+            {
+                sum += a.get(i, j) * vx.get(j);
+            }
+            assertEquals(sum, y.get(i));
+        }
+        for (int j = 0; j < 70; ++j)
+        {
+            double sum = 0;
+            for (int i = 0; i < 50; ++i)
+            {
+                sum += a.get(i, j) * vz.get(i);
+            }
+            assertEquals(3 * sum, z.get(j));
+        }
+    }
+
+    @Test
+    public void testMultiplyFloat()
+    {
+        final MDFloatArray a = new MDFloatArray(new float[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 2, 3 });
+        final MDFloatArray b = new MDFloatArray(new float[]
+            { 1, 0, 0, 1, 2, 2 }, new int[]
+            { 3, 2 });
+        assertEquals(new MDFloatArray(new float[]
+            { 7, 8, 16, 17 }, new int[]
+            { 2, 2 }), MDMatrixOperations.multiply(a, b));
+        final MDFloatArray c = new MDFloatArray(new int[]
+            { 3, 3 });
+        MDMatrixOperations.gemm(1f, a, true, a, false, 0f, c);
+        assertEquals(new MDFloatArray(new float[]
+            { 17, 22, 27, 22, 29, 36, 27, 36, 45 }, new int[]
+            { 3, 3 }), c);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIncompatibleDimensions()
+    {
+        MDMatrixOperations.multiply(createMatrix(2, 3, 1), createMatrix(2, 3, 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAliasedResult()
+    {
+        final MDDoubleArray a = createMatrix(3, 3, 1);
+        MDMatrixOperations.gemm(1, a, false, createMatrix(3, 3, 2), false, 0, a);
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDMatrixOperationsTests.class.getSimpleName());
+        System.out.println();
+        final MDMatrixOperationsTests test = new MDMatrixOperationsTests();
+        for (Method m : MDMatrixOperationsTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
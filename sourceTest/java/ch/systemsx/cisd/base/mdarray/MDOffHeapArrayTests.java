@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+import ch.systemsx.cisd.base.convert.NativeData;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+
+/**
+ * Test cases for {@link MDAbstractOffHeapArray}.
+ *
+ * @author agent
+ */
+public class MDOffHeapArrayTests
+{
+    // 16 bytes per segment
+    private static final int SMALL_SEGMENT_SIZE_SHIFT = 4;
+
+    @Test
+    public void testGetLength()
+    {
+        assertEquals(0L, MDAbstractOffHeapArray.getLength(new long[0]));
+        assertEquals(15L, MDAbstractOffHeapArray.getLength(new long[]
+            { 3, 5 }));
+        assertEquals(3L * Integer.MAX_VALUE, MDAbstractOffHeapArray.getLength(new long[]
+            { 3, Integer.MAX_VALUE }));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testGetLengthOverflow()
+    {
+        MDAbstractOffHeapArray.getLength(new long[]
+            { Long.MAX_VALUE / 2, 3 });
+    }
+
+    @Test
+    public void testComputeIndex()
+    {
+        final MDIntOffHeapArray array = new MDIntOffHeapArray(new long[]
+            { 2, 7, 3 });
+        assertEquals(3 * 7 * 1 + 3 * 3 + 2, array.computeIndex(1L, 3L, 2L));
+        assertEquals(3 * 7 * 1 + 3 * 3 + 2, array.computeIndex(new long[]
+            { 1, 3, 2 }));
+        assertTrue(Arrays.equals(new long[]
+            { 1, 3, 2 }, array.computeReverseIndex(3 * 7 * 1 + 3 * 3 + 2)));
+    }
+
+    @Test
+    public void testSegmentedGetAndSet()
+    {
+        final MDFloatOffHeapArray array = new MDFloatOffHeapArray(new long[]
+            { 3, 5 }, SMALL_SEGMENT_SIZE_SHIFT);
+        assertEquals(15, array.size());
+        assertEquals(4, array.numberOfSegments());
+        for (int i = 0; i < 3; ++i)
+        {
+            for (int j = 0; j < 5; ++j)
+            {
+                array.set(10 * i + j, i, j);
+            }
+        }
+        for (int i = 0; i < 15; ++i)
+        {
+            assertEquals(10f * (i / 5) + i % 5, array.get((long) i));
+        }
+        assertEquals(23f, array.get(2L, 3L));
+        assertEquals(23f, array.getAsObject(new long[]
+            { 2, 3 }).floatValue());
+    }
+
+    @Test
+    public void testCopyToAndFromArrays()
+    {
+        final MDDoubleOffHeapArray array = new MDDoubleOffHeapArray(new long[]
+            { 11 }, SMALL_SEGMENT_SIZE_SHIFT);
+        assertEquals(6, array.numberOfSegments());
+        final double[] values = new double[]
+            { 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        array.copyFrom(values, 2, 1, 7);
+        final double[] copy = new double[11];
+        array.copyTo(0, copy, 0, 11);
+        assertTrue(Arrays.toString(copy), Arrays.equals(new double[]
+            { 0, 3, 4, 5, 6, 7, 8, 9, 0, 0, 0 }, copy));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testCopyOutOfRange()
+    {
+        final MDShortOffHeapArray array = new MDShortOffHeapArray(new long[]
+            { 5 });
+        array.copyTo(2, new short[5], 0, 4);
+    }
+
+    @Test
+    public void testCopyToAndFromByte()
+    {
+        final MDLongOffHeapArray array = new MDLongOffHeapArray(new long[]
+            { 2, 3 }, SMALL_SEGMENT_SIZE_SHIFT);
+        final long[] values = new long[]
+            { 1, -2, 3, 1L << 40, 5, 6 };
+        final byte[] bigEndian = NativeData.longToByte(values, ByteOrder.BIG_ENDIAN);
+        array.copyFromByte(bigEndian, 0, 0, 6, ByteOrder.BIG_ENDIAN);
+        assertEquals(1L << 40, array.get(1L, 0L));
+        final byte[] littleEndian = new byte[6 * NativeData.LONG_SIZE];
+        array.copyToByte(0, littleEndian, 0, 6, ByteOrder.LITTLE_ENDIAN);
+        assertTrue(Arrays.equals(values,
+                NativeData.byteToLong(littleEndian, ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    @Test
+    public void testConvertFromAndToMDArray()
+    {
+        final MDIntArray mdArray = new MDIntArray(new int[]
+            { 1, 2, 3, 4, 5, 6 }, new int[]
+            { 3, 2 });
+        final MDIntOffHeapArray array = new MDIntOffHeapArray(mdArray);
+        assertTrue(Arrays.equals(new long[]
+            { 3, 2 }, array.longDimensions()));
+        assertEquals(4, array.get(1L, 1L));
+        assertEquals(mdArray, array.toMDArray());
+        final MDByteOffHeapArray byteArray = new MDByteOffHeapArray(new long[]
+            { 4 }, SMALL_SEGMENT_SIZE_SHIFT);
+        byteArray.set((byte) 17, 3L);
+        assertEquals(new MDByteArray(new byte[]
+            { 0, 0, 0, 17 }, new int[]
+            { 4 }), byteArray.toMDArray());
+    }
+
+    @Test
+    public void testClose()
+    {
+        final MDFloatOffHeapArray array = new MDFloatOffHeapArray(new long[]
+            { 10 }, SMALL_SEGMENT_SIZE_SHIFT);
+        array.set(2f, 9L);
+        assertFalse(array.isClosed());
+        array.close();
+        assertTrue(array.isClosed());
+        array.close();
+        assertEquals(3, array.numberOfSegments());
+        assertEquals(10L, array.size());
+        try
+        {
+            array.get(9L);
+            fail("Element access after close() must fail.");
+        } catch (IllegalStateException ex)
+        {
+            assertEquals("Array is closed.", ex.getMessage());
+        }
+        try
+        {
+            array.copyTo(0, new float[10], 0, 10);
+            fail("Copying after close() must fail.");
+        } catch (IllegalStateException ex)
+        {
+            // expected
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testSetAfterClose()
+    {
+        final MDByteOffHeapArray array = new MDByteOffHeapArray(new long[]
+            { 2, 2 });
+        array.close();
+        array.set((byte) 1, 1L, 1L);
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDOffHeapArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDOffHeapArrayTests test = new MDOffHeapArrayTests();
+        for (Method m : MDOffHeapArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+import ch.systemsx.cisd.base.convert.NativeData;
+import ch.systemsx.cisd.base.convert.NativeData.ByteOrder;
+import ch.systemsx.cisd.base.mdarray.MDRecordSchema.Field;
+import ch.systemsx.cisd.base.mdarray.MDRecordSchema.FieldType;
+
+/**
+ * Test cases for {@link MDRecordArray} and {@link MDRecordSchema}.
+ *
+ * @author agent
+ */
+public class MDRecordArrayTests
+{
+    private static final MDRecordSchema SCHEMA = new MDRecordSchema(new Field("flag",
+            FieldType.BYTE), new Field("x", FieldType.FLOAT), new Field("id", FieldType.LONG),
+            new Field("count", FieldType.SHORT), new Field("value", FieldType.DOUBLE), new Field(
+                    "index", FieldType.INT));
+
+    private static MDRecordArray createArray(int... dimensions)
+    {
+        final MDRecordArray array = new MDRecordArray(SCHEMA, dimensions);
+        for (int i = 0; i < array.size(); ++i)
+        {
+            array.getByteField("flag").set((byte) i, i);
+            array.getFloatField("x").set(i * 0.5f, i);
+            array.getLongField("id").set((1L << 40) + i, i);
+            array.getShortField("count").set((short) (3 * i), i);
+            array.getDoubleField("value").set(-i / 3.0, i);
+            array.getIntField("index").set(i * 1000, i);
+        }
+        return array;
+    }
+
+    @Test
+    public void testSchema()
+    {
+        assertEquals(6, SCHEMA.getNumberOfFields());
+        assertEquals(1 + 4 + 8 + 2 + 8 + 4, SCHEMA.getRecordSize());
+        assertEquals(3, SCHEMA.getFieldIndex("count"));
+        assertEquals(13, SCHEMA.getFieldOffset(3));
+        assertEquals(FieldType.DOUBLE, SCHEMA.getField(4).getType());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateFieldName()
+    {
+        new MDRecordSchema(new Field("a", FieldType.INT), new Field("a", FieldType.FLOAT));
+    }
+
+    @Test
+    public void testFieldArraysAreStorage()
+    {
+        final MDRecordArray array = createArray(2, 3);
+        assertTrue(Arrays.equals(new int[]
+            { 2, 3 }, array.dimensions()));
+        assertEquals(6, array.size());
+        final MDFloatArray x = array.getFloatField("x");
+        assertSame(x, array.getFloatField(1));
+        assertTrue(Arrays.equals(new int[]
+            { 2, 3 }, x.dimensions()));
+        assertEquals(2.5f, x.get(1, 2));
+        MDFloatArrayOperations.scale(x, 2f, x);
+        assertEquals(5f, array.getFloatField("x").get(1, 2));
+        assertEquals(5000, array.getIntField("index").get(1, 2));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testWrongFieldType()
+    {
+        createArray(3).getIntField("x");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownField()
+    {
+        createArray(3).getFloatField("y");
+    }
+
+    @Test
+    public void testRecordBytes()
+    {
+        final MDRecordArray array = createArray(5);
+        final byte[] bytes = array.toRecordBytes(ByteOrder.BIG_ENDIAN);
+        assertEquals(5 * SCHEMA.getRecordSize(), bytes.length);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < 5; ++i)
+        {
+            assertEquals((byte) i, buffer.get());
+            assertEquals(i * 0.5f, buffer.getFloat());
+            assertEquals((1L << 40) + i, buffer.getLong());
+            assertEquals((short) (3 * i), buffer.getShort());
+            assertEquals(-i / 3.0, buffer.getDouble());
+            assertEquals(i * 1000, buffer.getInt());
+        }
+        final MDRecordArray copy =
+                MDRecordArray.fromRecordBytes(SCHEMA, bytes, ByteOrder.BIG_ENDIAN, 5);
+        assertEquals(array, copy);
+    }
+
+    @Test
+    public void testRecordBytesMultipleChunks()
+    {
+        final MDRecordArray array = createArray(3, 4001);
+        final byte[] bytes = array.toRecordBytes(ByteOrder.LITTLE_ENDIAN);
+        final MDRecordArray copy = new MDRecordArray(SCHEMA, 3, 4001);
+        copy.copyFromRecordBytes(bytes, 0, 0, copy.size(), ByteOrder.LITTLE_ENDIAN);
+        assertEquals(array, copy);
+        // A partial copy at an offset.
+        final byte[] part = new byte[10 + 7 * SCHEMA.getRecordSize()];
+        array.copyToRecordBytes(5000, 7, part, 10, ByteOrder.LITTLE_ENDIAN);
+        assertEquals(5001 * 1000, ByteBuffer.wrap(part, 10 + SCHEMA.getRecordSize() * 2 - 4, 4)
+                .order(java.nio.ByteOrder.LITTLE_ENDIAN).getInt());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testRecordBytesOutOfRange()
+    {
+        createArray(4).copyToRecordBytes(2, 3, new byte[1000], 0, ByteOrder.BIG_ENDIAN);
+    }
+
+    @Test
+    public void testFieldBytes()
+    {
+        final MDRecordArray array = createArray(4);
+        final byte[] bytes = array.getFieldAsBytes(1, ByteOrder.LITTLE_ENDIAN);
+        assertTrue(Arrays.equals(array.getFloatField(1).getAsFlatArray(),
+                NativeData.byteToFloat(bytes, ByteOrder.LITTLE_ENDIAN)));
+        final MDRecordArray other = new MDRecordArray(SCHEMA, 4);
+        other.setFieldFromBytes(1, bytes, 0, ByteOrder.LITTLE_ENDIAN);
+        assertEquals(array.getFloatField("x"), other.getFloatField("x"));
+    }
+
+    @Test
+    public void testFromFieldArrays()
+    {
+        final MDRecordSchema schema =
+                new MDRecordSchema(new Field("a", FieldType.INT), new Field("b",
+                        FieldType.DOUBLE));
+        final MDIntArray a = new MDIntArray(new int[]
+            { 1, 2, 3, 4 }, new int[]
+            { 2, 2 });
+        final MDDoubleArray b = new MDDoubleArray(new int[]
+            { 2, 2 });
+        final MDRecordArray array = new MDRecordArray(schema, a, b);
+        assertSame(a, array.getIntField("a"));
+        assertEquals(4 * 12, array.toRecordBytes(ByteOrder.BIG_ENDIAN).length);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testFromFieldArraysWrongType()
+    {
+        new MDRecordArray(new MDRecordSchema(new Field("a", FieldType.INT)), new MDFloatArray(
+                new int[]
+                    { 2 }));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testFromFieldArraysDifferentDimensions()
+    {
+        new MDRecordArray(new MDRecordSchema(new Field("a", FieldType.INT), new Field("b",
+                FieldType.INT)), new MDIntArray(new int[]
+            { 2 }), new MDIntArray(new int[]
+            { 3 }));
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDRecordArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDRecordArrayTests test = new MDRecordArrayTests();
+        for (Method m : MDRecordArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
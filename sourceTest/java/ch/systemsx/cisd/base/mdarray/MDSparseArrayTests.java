@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDAbstractSparseArray}.
+ *
+ * @author agent
+ */
+public class MDSparseArrayTests
+{
+    @Test
+    public void testSetAndGet()
+    {
+        for (SparseFormat format : SparseFormat.values())
+        {
+            final MDIntSparseArray array = new MDIntSparseArray(new int[]
+                { 4, 5, 6 }, format);
+            assertEquals(format, array.getFormat());
+            assertEquals(120, array.size());
+            array.set(7, 3, 4, 5);
+            array.set(3, 0, 0, 1);
+            array.set(5, 2, 0, 0);
+            array.set(9, 0, 0, 1);
+            assertEquals(3, array.numberOfNonZeros());
+            assertEquals(9, array.get(0, 0, 1));
+            assertEquals(5, array.get(new int[]
+                { 2, 0, 0 }));
+            assertEquals(7, array.getAsObject(3, 4, 5).intValue());
+            assertEquals(0, array.get(1, 1, 1));
+            assertTrue(Arrays.equals(new int[]
+                { 1, 60, 119 }, array.getNonZeroLinearIndices()));
+            assertTrue(Arrays.equals(new int[]
+                { 9, 5, 7 }, array.getNonZeroValues()));
+            array.set(0, 2, 0, 0);
+            assertEquals(2, array.numberOfNonZeros());
+            assertEquals(0, array.get(2, 0, 0));
+            assertEquals(7, array.get(3, 4, 5));
+            array.trimToSize();
+            assertEquals(7, array.get(3, 4, 5));
+        }
+    }
+
+    @Test
+    public void testDenseConversion()
+    {
+        final MDByteArray dense = new MDByteArray(new int[]
+            { 7, 9 });
+        dense.set((byte) 1, 0, 3);
+        dense.set((byte) -4, 4, 8);
+        dense.set((byte) 2, 6, 0);
+        for (SparseFormat format : SparseFormat.values())
+        {
+            final MDByteSparseArray sparse = new MDByteSparseArray(dense, format);
+            assertEquals(3, sparse.numberOfNonZeros());
+            assertEquals(-4, sparse.get(4, 8));
+            assertEquals(dense, sparse.toMDArray());
+            final SparseFormat other =
+                    (format == SparseFormat.COO) ? SparseFormat.CSR : SparseFormat.COO;
+            final MDByteSparseArray converted = sparse.toFormat(other);
+            assertEquals(other, converted.getFormat());
+            assertEquals(dense, converted.toMDArray());
+        }
+    }
+
+    @Test
+    public void testForEachNonZero()
+    {
+        final MDFloatSparseArray sparse = new MDFloatSparseArray(new int[]
+            { 3, 4 }, SparseFormat.CSR);
+        sparse.set(1.5f, 2, 3);
+        sparse.set(-1f, 0, 1);
+        final StringBuilder b = new StringBuilder();
+        sparse.forEachNonZero(new MDFloatArray.IValueProcessor()
+            {
+                @Override
+                public void process(int[] index, float value)
+                {
+                    b.append(Arrays.toString(index)).append('=').append(value).append(';');
+                }
+            });
+        assertEquals("[0, 1]=-1.0;[2, 3]=1.5;", b.toString());
+    }
+
+    @Test
+    public void testLinearIndexOutOfRange()
+    {
+        for (SparseFormat format : SparseFormat.values())
+        {
+            final MDIntSparseArray array = new MDIntSparseArray(new int[]
+                { 2, 3 }, format);
+            for (int linearIndex : new int[]
+                { -1, 6 })
+            {
+                try
+                {
+                    array.setByLinearIndex(1, linearIndex);
+                    fail(format + ": set at " + linearIndex + " needs to fail.");
+                } catch (IndexOutOfBoundsException ex)
+                {
+                    // Expected.
+                }
+                try
+                {
+                    array.getByLinearIndex(linearIndex);
+                    fail(format + ": get at " + linearIndex + " needs to fail.");
+                } catch (IndexOutOfBoundsException ex)
+                {
+                    // Expected.
+                }
+            }
+            assertEquals(0, array.numberOfNonZeros());
+        }
+    }
+
+    @Test
+    public void testNegativeZero()
+    {
+        final MDDoubleSparseArray sparse = new MDDoubleSparseArray(new MDDoubleArray(new double[]
+            { 0.0, -0.0, 1.0 }, new int[]
+            { 3 }));
+        assertEquals(2, sparse.numberOfNonZeros());
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                Double.doubleToRawLongBits(sparse.get(1)));
+        final MDFloatSparseArray floats = new MDFloatSparseArray(new int[]
+            { 2 });
+        floats.set(-0.0f, 0);
+        assertEquals(1, floats.numberOfNonZeros());
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(floats.get(0)));
+        floats.set(0.0f, 0);
+        assertEquals(0, floats.numberOfNonZeros());
+    }
+
+    @Test
+    public void testRandomUpdates()
+    {
+        final int[] dimensions = new int[]
+            { 13, 11 };
+        final MDLongArray expected = new MDLongArray(dimensions);
+        final MDLongSparseArray coo = new MDLongSparseArray(dimensions, SparseFormat.COO);
+        final MDLongSparseArray csr = new MDLongSparseArray(dimensions, SparseFormat.CSR);
+        long seed = 17;
+        for (int i = 0; i < 1000; ++i)
+        {
+            seed = (seed * 6364136223846793005L + 1442695040888963407L);
+            final int x = (int) ((seed >>> 33) % 13);
+            final int y = (int) ((seed >>> 17) % 11);
+            final long value = (seed >>> 60) % 3;
+            expected.set(value, x, y);
+            coo.set(value, x, y);
+            csr.set(value, x, y);
+        }
+        assertEquals(expected, coo.toMDArray());
+        assertEquals(expected, csr.toMDArray());
+        assertEquals(coo.numberOfNonZeros(), csr.numberOfNonZeros());
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDSparseArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDSparseArrayTests test = new MDSparseArrayTests();
+        for (Method m : MDSparseArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}
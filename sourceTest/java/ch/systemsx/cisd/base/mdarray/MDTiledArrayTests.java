@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 ETH Zuerich, CISD
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ch.systemsx.cisd.base.mdarray;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import ch.systemsx.cisd.base.BuildAndEnvironmentInfo;
+
+/**
+ * Test cases for {@link MDAbstractTiledArray}.
+ *
+ * @author agent
+ */
+public class MDTiledArrayTests
+{
+    private static MDShortArray createArray(int... dimensions)
+    {
+        final MDShortArray array = new MDShortArray(dimensions);
+        final short[] values = array.getAsFlatArray();
+        for (int i = 0; i < values.length; ++i)
+        {
+            values[i] = (short) i;
+        }
+        return array;
+    }
+
+    @Test
+    public void testDefaultTileDimensions()
+    {
+        assertTrue(Arrays.equals(new int[]
+            { 4096 }, MDAbstractTiledArray.getDefaultTileDimensions(1)));
+        assertTrue(Arrays.equals(new int[]
+            { 64, 64 }, MDAbstractTiledArray.getDefaultTileDimensions(2)));
+        assertTrue(Arrays.equals(new int[]
+            { 16, 16, 16 }, MDAbstractTiledArray.getDefaultTileDimensions(3)));
+    }
+
+    @Test
+    public void testLayout2D()
+    {
+        final MDIntTiledArray array = new MDIntTiledArray(new int[]
+            { 5, 3 }, new int[]
+            { 2, 2 });
+        // 3 x 2 tiles of 4 elements each
+        assertEquals(24, array.getBackingArray().length);
+        assertEquals(0, array.computeIndex(0, 0));
+        assertEquals(1, array.computeIndex(0, 1));
+        assertEquals(2, array.computeIndex(1, 0));
+        assertEquals(4, array.computeIndex(0, 2));
+        assertEquals(8, array.computeIndex(2, 0));
+        assertEquals(8 + 4 + 2, array.computeIndex(3, 2));
+        assertEquals(array.computeIndex(3, 2), array.computeIndex(new int[]
+            { 3, 2 }));
+        array.set(17, 4, 2);
+        assertEquals(17, array.get(4, 2));
+        assertEquals(17, array.getAsObject(4, 2).intValue());
+    }
+
+    @Test
+    public void testConversion2D()
+    {
+        final MDShortArray rowMajor = createArray(37, 70);
+        final MDShortTiledArray tiled = new MDShortTiledArray(rowMajor, new int[]
+            { 8, 16 });
+        for (int i = 0; i < 37; ++i)
+        {
+            for (int j = 0; j < 70; ++j)
+            {
+                assertEquals(rowMajor.get(i, j), tiled.get(i, j));
+            }
+        }
+        assertEquals(rowMajor, tiled.toMDArray());
+    }
+
+    @Test
+    public void testConversion3D()
+    {
+        final MDShortArray rowMajor = createArray(5, 9, 17);
+        final MDShortTiledArray tiled = new MDShortTiledArray(rowMajor, new int[]
+            { 4, 4, 8 });
+        for (int i = 0; i < 5; ++i)
+        {
+            for (int j = 0; j < 9; ++j)
+            {
+                for (int k = 0; k < 17; ++k)
+                {
+                    assertEquals(rowMajor.get(i, j, k), tiled.get(i, j, k));
+                    assertEquals(tiled.get(i, j, k), tiled.get(new int[]
+                        { i, j, k }));
+                }
+            }
+        }
+        assertEquals(rowMajor, tiled.toMDArray());
+    }
+
+    @Test
+    public void testConversion1DAnd4D()
+    {
+        final MDFloatArray array1D = new MDFloatArray(new float[]
+            { 1, 2, 3, 4, 5 }, new int[]
+            { 5 });
+        assertEquals(array1D, new MDFloatTiledArray(array1D, new int[]
+            { 2 }).toMDArray());
+        final MDShortArray array4D = createArray(3, 2, 5, 4);
+        final MDShortTiledArray tiled4D = new MDShortTiledArray(array4D);
+        assertEquals(array4D.get(2, 1, 3, 2), tiled4D.get(2, 1, 3, 2));
+        assertEquals(array4D, tiled4D.toMDArray());
+    }
+
+    @Test
+    public void testColumnAndLines()
+    {
+        final MDShortArray rowMajor = createArray(37, 70);
+        final MDShortTiledArray tiled = new MDShortTiledArray(rowMajor, new int[]
+            { 8, 16 });
+        for (int j = 0; j < 70; ++j)
+        {
+            final short[] column = tiled.getColumn(j);
+            assertEquals(37, column.length);
+            for (int i = 0; i < 37; ++i)
+            {
+                assertEquals(rowMajor.get(i, j), column[i]);
+            }
+        }
+        final short[] row = new short[72];
+        tiled.getLine(1, new int[]
+            { 20, 5 }, row, 2);
+        for (int j = 0; j < 70; ++j)
+        {
+            assertEquals(rowMajor.get(20, j), row[j + 2]);
+        }
+        final MDDoubleTiledArray volume = new MDDoubleTiledArray(new int[]
+            { 5, 9, 17 }, new int[]
+            { 4, 4, 8 });
+        final double[] line = new double[]
+            { 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        volume.setLine(1, new int[]
+            { 4, 0, 11 }, line, 0);
+        for (int j = 0; j < 9; ++j)
+        {
+            assertEquals(j + 1.0, volume.get(4, j, 11));
+        }
+        assertEquals(0.0, volume.get(4, 8, 10));
+        final double[] copy = new double[9];
+        volume.getLine(1, new int[]
+            { 4, 3, 11 }, copy, 0);
+        assertTrue(Arrays.equals(line, copy));
+    }
+
+    @Test
+    public void testTranspose()
+    {
+        final MDShortArray rowMajor = createArray(37, 70);
+        final MDShortTiledArray tiled = new MDShortTiledArray(rowMajor, new int[]
+            { 8, 16 });
+        final MDShortTiledArray transposed = tiled.transpose();
+        assertTrue(Arrays.equals(new int[]
+            { 70, 37 }, transposed.dimensions()));
+        assertTrue(Arrays.equals(new int[]
+            { 16, 8 }, transposed.tileDimensions()));
+        for (int i = 0; i < 37; ++i)
+        {
+            for (int j = 0; j < 70; ++j)
+            {
+                assertEquals(rowMajor.get(i, j), transposed.get(j, i));
+            }
+        }
+        assertEquals(rowMajor, transposed.transpose().toMDArray());
+        final MDLongTiledArray empty = new MDLongTiledArray(new int[]
+            { 0, 3 });
+        assertTrue(Arrays.equals(new int[]
+            { 3, 0 }, empty.transpose().dimensions()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTransposeNeedsRankTwo()
+    {
+        new MDIntTiledArray(new int[]
+            { 2, 2, 2 }).transpose();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTileNotPowerOfTwo()
+    {
+        new MDDoubleTiledArray(new int[]
+            { 10, 10 }, new int[]
+            { 4, 3 });
+    }
+
+    public static void main(String[] args) throws Throwable
+    {
+        System.out.println(BuildAndEnvironmentInfo.INSTANCE);
+        System.out.println("Test class: " + MDTiledArrayTests.class.getSimpleName());
+        System.out.println();
+        final MDTiledArrayTests test = new MDTiledArrayTests();
+        for (Method m : MDTiledArrayTests.class.getMethods())
+        {
+            final Test testAnnotation = m.getAnnotation(Test.class);
+            if (testAnnotation == null)
+            {
+                continue;
+            }
+            if (m.getParameterTypes().length == 0)
+            {
+                System.out.println("Running " + m.getName());
+                try
+                {
+                    m.invoke(test);
+                } catch (InvocationTargetException wrapperThrowable)
+                {
+                    final Throwable th = wrapperThrowable.getCause();
+                    boolean exceptionFound = false;
+                    for (Class<?> expectedExClazz : testAnnotation.expectedExceptions())
+                    {
+                        if (expectedExClazz == th.getClass())
+                        {
+                            exceptionFound = true;
+                            break;
+                        }
+                    }
+                    if (exceptionFound == false)
+                    {
+                        throw th;
+                    }
+                }
+            }
+        }
+        System.out.println("Tests OK!");
+    }
+
+}